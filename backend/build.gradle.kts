@@ -17,6 +17,7 @@ plugins {
     alias(libs.plugins.license.report)
     alias(libs.plugins.test.logger)
     alias(libs.plugins.node.gradle)
+    alias(libs.plugins.jmh)
 }
 
 group = "de.bund.digitalservice"
@@ -39,6 +40,20 @@ repositories {
 
 jacoco { toolVersion = libs.versions.jacoco.get() }
 
+jmh {
+    // Benchmarks of the request path which run without OpenSearch, fed from the e2e-data fixtures.
+    // The JSON report can be diffed between commits, e.g. with https://jmh.morethan.io
+    jmhVersion = libs.versions.jmh.asProvider().get()
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+    humanOutputFile = layout.buildDirectory.file("reports/jmh/human.txt")
+    profilers = listOf("gc")
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    jvmArgsAppend = listOf("-Dbenchmark.e2e-data=${projectDir.resolve("e2e-data")}")
+}
+
 testlogger {
     theme = ThemeType.MOCHA
 }
@@ -76,6 +91,7 @@ dependencies {
     implementation(libs.commons.text)
 
     implementation(libs.commons.csv)
+    implementation(libs.commons.compress)
 
     implementation(libs.saxon.he)
     implementation(libs.jaxb.moxy)
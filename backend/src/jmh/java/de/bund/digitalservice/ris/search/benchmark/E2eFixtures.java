@@ -0,0 +1,172 @@
+package de.bund.digitalservice.ris.search.benchmark;
+
+import de.bund.digitalservice.ris.search.mapper.AdministrativeDirectiveLdmlToOpenSearchMapper;
+import de.bund.digitalservice.ris.search.mapper.CaseLawLdmlToOpenSearchMapper;
+import de.bund.digitalservice.ris.search.mapper.LiteratureLdmlToOpenSearchMapper;
+import de.bund.digitalservice.ris.search.mapper.NormLdmlToOpenSearchMapper;
+import de.bund.digitalservice.ris.search.mapper.SliLiteratureLdmlToOpenSearchMapper;
+import de.bund.digitalservice.ris.search.models.ldml.caselaw.CaseLawLdml;
+import de.bund.digitalservice.ris.search.models.ldml.directive.AdministrativeDirectiveLdml;
+import de.bund.digitalservice.ris.search.models.ldml.literature.LiteratureType;
+import de.bund.digitalservice.ris.search.models.opensearch.AdministrativeDirective;
+import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationUnit;
+import de.bund.digitalservice.ris.search.models.opensearch.Literature;
+import de.bund.digitalservice.ris.search.models.opensearch.Norm;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maps the documents of the e2e-data fixtures to the entities the search returns, the same way the
+ * import jobs do. The location of the fixtures is passed by the jmh task as system property.
+ */
+final class E2eFixtures {
+
+  private static final Path ROOT = Path.of(System.getProperty("benchmark.e2e-data", "e2e-data"));
+
+  private static final Class<?> SLI_LITERATURE_LDML =
+      de.bund.digitalservice.ris.search.models.ldml.literature.sli.LiteratureLdml.class;
+  private static final Class<?> ULI_LITERATURE_LDML =
+      de.bund.digitalservice.ris.search.models.ldml.literature.uli.LiteratureLdml.class;
+
+  private E2eFixtures() {}
+
+  /** An LDML document with the JAXB type of its root element. */
+  record LdmlDocument(Class<?> type, byte[] content) {}
+
+  /** A norm manifestation with its attachments, keyed like in the bucket. */
+  record NormDocument(String fileName, String content, Map<String, String> attachments) {}
+
+  static List<Norm> norms() {
+    try (Stream<Path> files = xmlFiles("norm")) {
+      return files
+          .filter(file -> file.getFileName().toString().startsWith("regelungstext"))
+          .map(
+              file ->
+                  NormLdmlToOpenSearchMapper.parseNorm(
+                      file.toString(), read(file), Map.of(), false))
+          .flatMap(Optional::stream)
+          .toList();
+    }
+  }
+
+  /** Reads the norm manifestations, each with the attachments next to it. */
+  static List<NormDocument> normDocuments() {
+    Path root = ROOT.resolve("norm");
+    List<Path> files;
+    try (Stream<Path> xmlFiles = xmlFiles("norm")) {
+      files = xmlFiles.toList();
+    }
+    return files.stream()
+        .filter(file -> file.getFileName().toString().startsWith("regelungstext"))
+        .map(
+            file ->
+                new NormDocument(
+                    root.relativize(file).toString(), read(file), attachments(root, file, files)))
+        .toList();
+  }
+
+  private static Map<String, String> attachments(Path root, Path file, List<Path> files) {
+    return files.stream()
+        .filter(attachment -> attachment.getParent().equals(file.getParent()))
+        .filter(attachment -> attachment.getFileName().toString().startsWith("anlage-"))
+        .collect(
+            Collectors.toMap(
+                attachment -> root.relativize(attachment).toString(), E2eFixtures::read));
+  }
+
+  static List<CaseLawDocumentationUnit> caseLaw() {
+    CaseLawLdmlToOpenSearchMapper mapper = new CaseLawLdmlToOpenSearchMapper();
+    try (Stream<Path> files = xmlFiles("caselaw")) {
+      return files.map(file -> mapper.fromString(read(file))).toList();
+    }
+  }
+
+  static List<Literature> literature() {
+    try (Stream<Path> files = xmlFiles("literature")) {
+      return files.map(E2eFixtures::mapLiterature).flatMap(Optional::stream).toList();
+    }
+  }
+
+  private static Optional<Literature> mapLiterature(Path file) {
+    return switch (LiteratureType.getByDocumentNumber(file.getFileName().toString())) {
+      case SLI ->
+          Optional.of(SliLiteratureLdmlToOpenSearchMapper.mapLdml(read(file), Instant.now()));
+      case ULI -> Optional.of(LiteratureLdmlToOpenSearchMapper.mapLdml(read(file)));
+      case UNKNOWN -> Optional.empty();
+    };
+  }
+
+  static List<AdministrativeDirective> administrativeDirectives() {
+    try (Stream<Path> files = xmlFiles("administrative-directive")) {
+      return files
+          .map(file -> AdministrativeDirectiveLdmlToOpenSearchMapper.map(read(file), Instant.now()))
+          .toList();
+    }
+  }
+
+  /**
+   * Reads the LDML documents of case law, literature and administrative directives, with the JAXB
+   * root type each of them is unmarshalled to.
+   */
+  static List<LdmlDocument> ldmlDocuments() {
+    List<LdmlDocument> documents = new ArrayList<>();
+    try (Stream<Path> files = xmlFiles("caselaw")) {
+      files.forEach(file -> documents.add(new LdmlDocument(CaseLawLdml.class, readBytes(file))));
+    }
+    try (Stream<Path> files = xmlFiles("literature")) {
+      files.forEach(
+          file -> {
+            switch (LiteratureType.getByDocumentNumber(file.getFileName().toString())) {
+              case SLI -> documents.add(new LdmlDocument(SLI_LITERATURE_LDML, readBytes(file)));
+              case ULI -> documents.add(new LdmlDocument(ULI_LITERATURE_LDML, readBytes(file)));
+              case UNKNOWN -> {
+                // not imported either
+              }
+            }
+          });
+    }
+    try (Stream<Path> files = xmlFiles("administrative-directive")) {
+      files.forEach(
+          file ->
+              documents.add(
+                  new LdmlDocument(AdministrativeDirectiveLdml.class, readBytes(file))));
+    }
+    return documents;
+  }
+
+  private static Stream<Path> xmlFiles(String directory) {
+    try {
+      return Files.walk(ROOT.resolve(directory))
+          .filter(Files::isRegularFile)
+          .filter(file -> file.getFileName().toString().endsWith(".xml"))
+          .sorted();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] readBytes(Path file) {
+    try {
+      return Files.readAllBytes(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String read(Path file) {
+    try {
+      return Files.readString(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package de.bund.digitalservice.ris.search.benchmark;
+
+import de.bund.digitalservice.ris.search.benchmark.E2eFixtures.LdmlDocument;
+import de.bund.digitalservice.ris.search.models.ldml.LdmlBindings;
+import jakarta.xml.bind.JAXB;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.xml.transform.stream.StreamSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmarks unmarshalling the LDML documents of the e2e-data fixtures, one document per
+ * invocation, cycling through case law, literature and administrative directives. {@code
+ * jaxbUnmarshal} is the way the mappers unmarshalled before {@link LdmlBindings}, which only keeps
+ * the context of the last used type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class LdmlUnmarshalBenchmark {
+
+  private List<LdmlDocument> documents;
+  private int next;
+
+  /** Reads the fixtures and builds the contexts, like the warm-up at startup does. */
+  @Setup
+  public void setUp() {
+    documents = E2eFixtures.ldmlDocuments();
+    LdmlBindings.warmUp();
+  }
+
+  /** Unmarshals a document with a context and unmarshaller looked up by {@link JAXB}. */
+  @Benchmark
+  public Object jaxbUnmarshal() {
+    LdmlDocument document = nextDocument();
+    return JAXB.unmarshal(
+        new StreamSource(new ByteArrayInputStream(document.content())), document.type());
+  }
+
+  /** Unmarshals a document with the shared context and a pooled unmarshaller. */
+  @Benchmark
+  public Object ldmlBindingsUnmarshal() {
+    LdmlDocument document = nextDocument();
+    return LdmlBindings.unmarshal(document.content(), document.type());
+  }
+
+  private LdmlDocument nextDocument() {
+    LdmlDocument document = documents.get(next);
+    next = (next + 1) % documents.size();
+    return document;
+  }
+}
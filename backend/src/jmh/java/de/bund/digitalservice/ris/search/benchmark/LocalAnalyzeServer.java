@@ -0,0 +1,104 @@
+package de.bund.digitalservice.ris.search.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.data.client.orhlc.AbstractOpenSearchConfiguration;
+import org.opensearch.data.client.orhlc.ClientConfiguration;
+import org.opensearch.data.client.orhlc.RestClients;
+
+/**
+ * Local stand-in for the {@code _analyze} API of OpenSearch, so the SearchTermParser can be
+ * benchmarked with its real client round trip but without a cluster. Texts are tokenized with the
+ * Lucene standard analyzer, which is close enough to the custom German analyzer for measuring the
+ * cost of the request path.
+ */
+final class LocalAnalyzeServer implements AutoCloseable {
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final Analyzer analyzer = new StandardAnalyzer();
+  private final HttpServer server;
+  private final RestHighLevelClient client;
+
+  LocalAnalyzeServer() {
+    try {
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    server.createContext("/", this::handle);
+    server.start();
+    client =
+        RestClients.create(
+                ClientConfiguration.builder()
+                    .connectedTo("localhost:" + server.getAddress().getPort())
+                    .build())
+            .rest();
+  }
+
+  /** A configuration whose client talks to this server, as the SearchTermParser expects it. */
+  AbstractOpenSearchConfiguration configuration() {
+    return new AbstractOpenSearchConfiguration() {
+      @Override
+      public RestHighLevelClient opensearchClient() {
+        return client;
+      }
+    };
+  }
+
+  @Override
+  public void close() throws IOException {
+    client.close();
+    server.stop(0);
+    analyzer.close();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    JsonNode request;
+    try (InputStream body = exchange.getRequestBody()) {
+      request = objectMapper.readTree(body);
+    }
+    ObjectNode response = objectMapper.createObjectNode();
+    ArrayNode tokens = response.putArray("tokens");
+    int position = 0;
+    for (JsonNode text : request.path("text")) {
+      try (TokenStream stream = analyzer.tokenStream("text", text.asText())) {
+        CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+        OffsetAttribute offset = stream.addAttribute(OffsetAttribute.class);
+        stream.reset();
+        while (stream.incrementToken()) {
+          tokens
+              .addObject()
+              .put("token", term.toString())
+              .put("start_offset", offset.startOffset())
+              .put("end_offset", offset.endOffset())
+              .put("type", "<ALPHANUM>")
+              .put("position", position++);
+        }
+        stream.end();
+      }
+    }
+    byte[] bytes = objectMapper.writeValueAsBytes(response);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
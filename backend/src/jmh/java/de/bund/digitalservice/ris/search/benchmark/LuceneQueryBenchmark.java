@@ -0,0 +1,40 @@
+package de.bund.digitalservice.ris.search.benchmark;
+
+import de.bund.digitalservice.ris.search.exception.CustomValidationException;
+import de.bund.digitalservice.ris.search.utils.LuceneQueryTools;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Benchmarks the handling of the Lucene queries of the advanced search. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LuceneQueryBenchmark {
+
+  @Param({
+    "Kündigung",
+    "courtType:BGH AND decisionDate:[2020-01-01 TO 2024-12-31]",
+    "(headline:\"fristlose Kündigung\" OR tenor:Mietvertrag) AND NOT documentType:Beschluss"
+  })
+  public String query;
+
+  /** Validates the query, as every advanced search request does. */
+  @Benchmark
+  public void validateLuceneQuery(Blackhole blackhole) throws CustomValidationException {
+    LuceneQueryTools.validateLuceneQuery(query);
+    blackhole.consume(query);
+  }
+
+  /** Rewrites the query into the article query of a norms advanced search. */
+  @Benchmark
+  public String joinAllTermsWithOr() throws CustomValidationException {
+    return LuceneQueryTools.joinAllTermsWithOr(query);
+  }
+}
@@ -0,0 +1,48 @@
+package de.bund.digitalservice.ris.search.benchmark;
+
+import de.bund.digitalservice.ris.search.benchmark.E2eFixtures.NormDocument;
+import de.bund.digitalservice.ris.search.mapper.NormLdmlToOpenSearchMapper;
+import de.bund.digitalservice.ris.search.models.opensearch.Norm;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks parsing the norms of the e2e-data fixtures with their attachments, one norm per
+ * invocation, with the DOM path and with the single-pass StAX extraction. Run with {@code -prof gc}
+ * to compare the allocations as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NormParseBenchmark {
+
+  @Param({"false", "true"})
+  private boolean streaming;
+
+  private List<NormDocument> documents;
+  private int next;
+
+  /** Reads the fixtures. */
+  @Setup
+  public void setUp() {
+    documents = E2eFixtures.normDocuments();
+  }
+
+  /** Parses the next norm. */
+  @Benchmark
+  public Optional<Norm> parseNorm() {
+    NormDocument document = documents.get(next);
+    next = (next + 1) % documents.size();
+    return NormLdmlToOpenSearchMapper.parseNorm(
+        document.fileName(), document.content(), document.attachments(), false, streaming);
+  }
+}
@@ -0,0 +1,114 @@
+package de.bund.digitalservice.ris.search.benchmark;
+
+import de.bund.digitalservice.ris.search.models.ParsedSearchTerm;
+import de.bund.digitalservice.ris.search.models.api.parameters.NormsSearchParams;
+import de.bund.digitalservice.ris.search.models.api.parameters.UniversalSearchParams;
+import de.bund.digitalservice.ris.search.service.AdministrativeDirectiveSimpleSearchType;
+import de.bund.digitalservice.ris.search.service.CaseLawSimpleSearchType;
+import de.bund.digitalservice.ris.search.service.LiteratureSimpleSearchType;
+import de.bund.digitalservice.ris.search.service.NormSimpleSearchType;
+import de.bund.digitalservice.ris.search.service.SearchTermParser;
+import de.bund.digitalservice.ris.search.service.SimpleSearchQueryBuilder;
+import de.bund.digitalservice.ris.search.service.SimpleSearchType;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.opensearch.data.client.orhlc.NativeSearchQuery;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Benchmarks parsing the search term and building the OpenSearch query of a simple search. Without
+ * the local analyzer, the analyzer round trip of the SearchTermParser goes to a {@link
+ * LocalAnalyzeServer}. A cache size of 0 measures the tokenization of every search term.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryBuildingBenchmark {
+
+  @Param({
+    "Kündigung",
+    "BGH Urteil Schadensersatz § 823 BGB",
+    "\"Vertrag mit Schutzwirkung zugunsten Dritter\" Haftung Arzt"
+  })
+  public String searchTerm;
+
+  @Param({"true", "false"})
+  public boolean localAnalyzer;
+
+  @Param({"0", "10000"})
+  public long cacheSize;
+
+  private final Pageable pageable = PageRequest.of(0, 10);
+  private LocalAnalyzeServer analyzeServer;
+  private SearchTermParser searchTermParser;
+  private SimpleSearchQueryBuilder queryBuilder;
+  private UniversalSearchParams params;
+  private List<SimpleSearchType> caseLawSearchTypes;
+  private List<SimpleSearchType> allDocumentsSearchTypes;
+
+  /** Starts the analyzer stand-in and prepares the parameters of the searches. */
+  @Setup
+  public void setUp() {
+    analyzeServer = new LocalAnalyzeServer();
+    searchTermParser =
+        new SearchTermParser(analyzeServer.configuration(), localAnalyzer, cacheSize);
+    queryBuilder = new SimpleSearchQueryBuilder(searchTermParser);
+
+    params = new UniversalSearchParams();
+    params.setSearchTerm(searchTerm);
+    params.setDateFrom(LocalDate.of(2000, 1, 1));
+
+    NormsSearchParams normsParams = new NormsSearchParams();
+    normsParams.setMostRelevantOn(LocalDate.of(2025, 1, 1));
+    caseLawSearchTypes = List.of(new CaseLawSimpleSearchType(null));
+    allDocumentsSearchTypes =
+        List.of(
+            new NormSimpleSearchType(normsParams),
+            new CaseLawSimpleSearchType(null),
+            new LiteratureSimpleSearchType(null),
+            new AdministrativeDirectiveSimpleSearchType(null));
+  }
+
+  /** Stops the analyzer stand-in. */
+  @TearDown
+  public void tearDown() throws IOException {
+    analyzeServer.close();
+  }
+
+  /** Splits the search term into phrases and analyzed tokens. */
+  @Benchmark
+  public ParsedSearchTerm parseSearchTerm() {
+    return searchTermParser.parse(searchTerm);
+  }
+
+  /** Builds the query of a case law search. */
+  @Benchmark
+  public NativeSearchQuery buildCaseLawQuery() {
+    return queryBuilder.buildQuery(caseLawSearchTypes, params, pageable);
+  }
+
+  /** Builds the query of a search over all document kinds. */
+  @Benchmark
+  public NativeSearchQuery buildAllDocumentsQuery() {
+    return queryBuilder.buildQuery(allDocumentsSearchTypes, params, pageable);
+  }
+
+  /** Builds the query of a search over all document kinds and renders it as sent to OpenSearch. */
+  @Benchmark
+  public String buildAndRenderAllDocumentsQuery() {
+    NativeSearchQuery query = queryBuilder.buildQuery(allDocumentsSearchTypes, params, pageable);
+    return query.getQuery().toString();
+  }
+}
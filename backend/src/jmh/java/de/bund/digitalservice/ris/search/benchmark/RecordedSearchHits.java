@@ -0,0 +1,157 @@
+package de.bund.digitalservice.ris.search.benchmark;
+
+import de.bund.digitalservice.ris.search.models.opensearch.AbstractSearchEntity;
+import de.bund.digitalservice.ris.search.models.opensearch.AdministrativeDirective;
+import de.bund.digitalservice.ris.search.models.opensearch.Article;
+import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationUnit;
+import de.bund.digitalservice.ris.search.models.opensearch.Literature;
+import de.bund.digitalservice.ris.search.models.opensearch.Norm;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.SearchHitsImpl;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+
+/**
+ * Builds the {@link SearchHits} OpenSearch returns for a search: the fixture documents with
+ * highlighted fragments of their texts and, for norms, the matching articles as inner hits.
+ */
+final class RecordedSearchHits {
+
+  static final long TOTAL_HITS = 1_000;
+  private static final int FRAGMENT_LENGTH = 150;
+
+  private RecordedSearchHits() {}
+
+  static SearchHits<Norm> norms(List<Norm> norms, int size) {
+    return searchHits(norms, size, RecordedSearchHits::normHit);
+  }
+
+  static SearchHits<CaseLawDocumentationUnit> caseLaw(
+      List<CaseLawDocumentationUnit> caseLaw, int size) {
+    return searchHits(caseLaw, size, RecordedSearchHits::caseLawHit);
+  }
+
+  /** One page of a search over all document kinds, the hits alternate between the kinds. */
+  static SearchHits<AbstractSearchEntity> allDocuments(
+      List<Norm> norms,
+      List<CaseLawDocumentationUnit> caseLaw,
+      List<Literature> literature,
+      List<AdministrativeDirective> administrativeDirectives,
+      int size) {
+    List<SearchHit<AbstractSearchEntity>> hits = new ArrayList<>();
+    for (int i = 0; hits.size() < size; i++) {
+      hits.add(cast(normHit(norms.get(i % norms.size()))));
+      hits.add(cast(caseLawHit(caseLaw.get(i % caseLaw.size()))));
+      hits.add(cast(literatureHit(literature.get(i % literature.size()))));
+      hits.add(
+          cast(
+              administrativeDirectiveHit(
+                  administrativeDirectives.get(i % administrativeDirectives.size()))));
+    }
+    return searchHits(hits.subList(0, size));
+  }
+
+  private static <T> SearchHits<T> searchHits(
+      List<T> documents, int size, Function<T, SearchHit<T>> toHit) {
+    List<SearchHit<T>> hits = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      hits.add(toHit.apply(documents.get(i % documents.size())));
+    }
+    return searchHits(hits);
+  }
+
+  private static <T> SearchHits<T> searchHits(List<SearchHit<T>> hits) {
+    return new SearchHitsImpl<>(
+        TOTAL_HITS,
+        TotalHitsRelation.EQUAL_TO,
+        1,
+        Duration.ofMillis(20),
+        null,
+        null,
+        hits,
+        null,
+        null,
+        null);
+  }
+
+  private static SearchHit<Norm> normHit(Norm norm) {
+    Map<String, List<String>> highlights = new HashMap<>();
+    addFragment(highlights, Norm.Fields.OFFICIAL_TITLE, norm.getOfficialTitle());
+
+    List<SearchHit<Article>> articleHits = new ArrayList<>();
+    List<Article> articles = norm.getArticles() == null ? List.of() : norm.getArticles();
+    for (Article article : articles.subList(0, Math.min(3, articles.size()))) {
+      Map<String, List<String>> articleHighlights = new HashMap<>();
+      addFragment(articleHighlights, "name", article.getName());
+      addFragment(articleHighlights, "text", article.getText());
+      articleHits.add(searchHit("articles", article.getId(), articleHighlights, Map.of(), article));
+    }
+    Map<String, SearchHits<?>> innerHits = Map.of("top_three_articles", searchHits(articleHits));
+    return searchHit("norms", norm.getId(), highlights, innerHits, norm);
+  }
+
+  private static SearchHit<CaseLawDocumentationUnit> caseLawHit(CaseLawDocumentationUnit caseLaw) {
+    Map<String, List<String>> highlights = new HashMap<>();
+    addFragment(highlights, CaseLawDocumentationUnit.Fields.HEADLINE, caseLaw.headline());
+    addFragment(highlights, CaseLawDocumentationUnit.Fields.TENOR, caseLaw.tenor());
+    addFragment(
+        highlights, CaseLawDocumentationUnit.Fields.DECISION_GROUNDS, caseLaw.decisionGrounds());
+    return searchHit("caselaws", caseLaw.id(), highlights, Map.of(), caseLaw);
+  }
+
+  private static SearchHit<Literature> literatureHit(Literature literature) {
+    Map<String, List<String>> highlights = new HashMap<>();
+    addFragment(highlights, Literature.Fields.MAIN_TITLE, literature.mainTitle());
+    return searchHit("literature", literature.id(), highlights, Map.of(), literature);
+  }
+
+  private static SearchHit<AdministrativeDirective> administrativeDirectiveHit(
+      AdministrativeDirective directive) {
+    Map<String, List<String>> highlights = new HashMap<>();
+    addFragment(highlights, AdministrativeDirective.Fields.HEADLINE, directive.headline());
+    return searchHit(
+        "administrative_directive", directive.id(), highlights, Map.of(), directive);
+  }
+
+  private static <T> SearchHit<T> searchHit(
+      String index,
+      String id,
+      Map<String, List<String>> highlights,
+      Map<String, SearchHits<?>> innerHits,
+      T content) {
+    return new SearchHit<>(
+        index, id, null, 1, null, highlights, innerHits, null, null, null, content);
+  }
+
+  /** Adds a fragment of the text with its first word marked, as the highlighter returns it. */
+  private static void addFragment(Map<String, List<String>> highlights, String field, String text) {
+    if (text == null || text.isBlank()) {
+      return;
+    }
+    String fragment = text.strip();
+    fragment = fragment.substring(0, Math.min(FRAGMENT_LENGTH, fragment.length()));
+    int firstWordEnd = fragment.indexOf(' ');
+    if (firstWordEnd < 0) {
+      firstWordEnd = fragment.length();
+    }
+    highlights.put(
+        field,
+        List.of(
+            "<mark>"
+                + fragment.substring(0, firstWordEnd)
+                + "</mark>"
+                + fragment.substring(firstWordEnd)));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static SearchHit<AbstractSearchEntity> cast(
+      SearchHit<? extends AbstractSearchEntity> hit) {
+    return (SearchHit<AbstractSearchEntity>) hit;
+  }
+}
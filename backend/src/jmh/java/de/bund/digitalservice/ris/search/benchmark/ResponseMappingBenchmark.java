@@ -0,0 +1,91 @@
+package de.bund.digitalservice.ris.search.benchmark;
+
+import de.bund.digitalservice.ris.search.config.ApiConfig;
+import de.bund.digitalservice.ris.search.mapper.CaseLawSearchSchemaMapper;
+import de.bund.digitalservice.ris.search.mapper.DocumentResponseMapper;
+import de.bund.digitalservice.ris.search.mapper.NormSearchResponseMapper;
+import de.bund.digitalservice.ris.search.models.opensearch.AbstractSearchEntity;
+import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationUnit;
+import de.bund.digitalservice.ris.search.models.opensearch.Norm;
+import de.bund.digitalservice.ris.search.schema.AbstractDocumentSchema;
+import de.bund.digitalservice.ris.search.schema.CaseLawSearchSchema;
+import de.bund.digitalservice.ris.search.schema.CollectionSchema;
+import de.bund.digitalservice.ris.search.schema.LegislationExpressionSearchSchema;
+import de.bund.digitalservice.ris.search.schema.SearchMemberSchema;
+import de.bund.digitalservice.ris.search.utils.PageUtils;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.SearchPage;
+
+/**
+ * Benchmarks turning the hits of a search into the API response, from the recorded hits of the
+ * e2e-data fixtures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseMappingBenchmark {
+
+  @Param({"10", "100"})
+  public int pageSize;
+
+  private Pageable pageable;
+  private SearchHits<Norm> normHits;
+  private SearchHits<CaseLawDocumentationUnit> caseLawHits;
+  private SearchHits<AbstractSearchEntity> allDocumentsHits;
+
+  /** Maps the fixtures and records one page of hits per kind of search. */
+  @Setup
+  public void setUp() {
+    pageable = PageRequest.of(0, pageSize);
+    List<Norm> norms = E2eFixtures.norms();
+    List<CaseLawDocumentationUnit> caseLaw = E2eFixtures.caseLaw();
+    normHits = RecordedSearchHits.norms(norms, pageSize);
+    caseLawHits = RecordedSearchHits.caseLaw(caseLaw, pageSize);
+    allDocumentsHits =
+        RecordedSearchHits.allDocuments(
+            norms,
+            caseLaw,
+            E2eFixtures.literature(),
+            E2eFixtures.administrativeDirectives(),
+            pageSize);
+  }
+
+  /** Wraps the hits of a search over all document kinds into a page. */
+  @Benchmark
+  public SearchPage<AbstractSearchEntity> unwrapSearchHits() {
+    return PageUtils.unwrapSearchHits(allDocumentsHits, pageable);
+  }
+
+  /** Maps the hits of a norms search to the response. */
+  @Benchmark
+  public CollectionSchema<SearchMemberSchema<LegislationExpressionSearchSchema>> mapNorms() {
+    return NormSearchResponseMapper.fromDomain(
+        PageUtils.unwrapSearchHits(normHits, pageable), ApiConfig.Paths.LEGISLATION);
+  }
+
+  /** Maps the hits of a case law search to the response. */
+  @Benchmark
+  public CollectionSchema<SearchMemberSchema<CaseLawSearchSchema>> mapCaseLaw() {
+    return CaseLawSearchSchemaMapper.fromSearchPage(
+        PageUtils.unwrapSearchHits(caseLawHits, pageable));
+  }
+
+  /** Maps the hits of a search over all document kinds to the response. */
+  @Benchmark
+  public CollectionSchema<SearchMemberSchema<AbstractDocumentSchema>> mapAllDocuments() {
+    return DocumentResponseMapper.fromDomain(
+        PageUtils.unwrapSearchHits(allDocumentsHits, pageable), ApiConfig.Paths.DOCUMENT);
+  }
+}
@@ -0,0 +1,140 @@
+package de.bund.digitalservice.ris.search.benchmark;
+
+import de.bund.digitalservice.ris.search.utils.XmlDocument;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+/**
+ * Benchmarks parsing the norms of the e2e-data fixtures and evaluating a representative set of the
+ * XPaths of the norm mappers on them, one norm per invocation. The {@code uncached} benchmarks do
+ * it the way {@link XmlDocument} did before it reused document builders and compiled expressions:
+ * a new factory per document and every expression compiled from its string on each evaluation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class XmlDocumentBenchmark {
+
+  private static final List<String> DOCUMENT_XPATHS =
+      List.of(
+          "//*[local-name()='FRBRWork']/*[local-name()='FRBRuri']/@value",
+          "//*[local-name()='FRBRExpression']/*[local-name()='FRBRuri']/@value",
+          "//*[local-name()='FRBRManifestation']/*[local-name()='FRBRthis']/@value",
+          "//*[local-name()='docTitle']/text()",
+          "//*[local-name()='shortTitle']/text()",
+          "/akn:akomaNtoso/akn:act/akn:meta/akn:lifecycle/akn:eventRef");
+  private static final String ARTICLES = "//*[local-name()='article']";
+  private static final List<String> ARTICLE_XPATHS =
+      List.of(
+          ".//*[local-name()='num']/text()",
+          ".//*[local-name()='heading']",
+          ".//*[local-name()='paragraph']");
+
+  private List<byte[]> documents;
+  private int next;
+
+  /** Reads the fixtures. */
+  @Setup
+  public void setUp() {
+    documents =
+        E2eFixtures.normDocuments().stream()
+            .map(document -> document.content().getBytes(StandardCharsets.UTF_8))
+            .toList();
+  }
+
+  /**
+   * Parses with a new factory, copies every article into a new document and evaluates the
+   * expressions from their strings.
+   */
+  @Benchmark
+  public void uncached(Blackhole blackhole) throws Exception {
+    Document document =
+        newFactory().newDocumentBuilder().parse(new ByteArrayInputStream(nextDocument()));
+    XPath xpath = newXPath();
+    for (String expression : DOCUMENT_XPATHS) {
+      blackhole.consume(xpath.evaluate(expression, document, XPathConstants.NODESET));
+    }
+    NodeList articles = (NodeList) xpath.evaluate(ARTICLES, document, XPathConstants.NODESET);
+    for (int i = 0; i < articles.getLength(); i++) {
+      Document article = newFactory().newDocumentBuilder().newDocument();
+      article.appendChild(article.importNode(articles.item(i), true));
+      XPath articleXPath = newXPath();
+      for (String expression : ARTICLE_XPATHS) {
+        blackhole.consume(articleXPath.evaluate(expression, article, XPathConstants.NODESET));
+      }
+    }
+  }
+
+  /** Parses and evaluates through {@link XmlDocument}. */
+  @Benchmark
+  public void xmlDocument(Blackhole blackhole) throws Exception {
+    XmlDocument document = new XmlDocument(nextDocument());
+    for (String expression : DOCUMENT_XPATHS) {
+      blackhole.consume(document.getNodesByXpath(expression));
+    }
+    NodeList articles = document.getNodesByXpath(ARTICLES);
+    for (int i = 0; i < articles.getLength(); i++) {
+      XmlDocument article = XmlDocument.scopedTo(articles.item(i));
+      for (String expression : ARTICLE_XPATHS) {
+        blackhole.consume(article.getNodesByXpath(expression));
+      }
+    }
+  }
+
+  private static DocumentBuilderFactory newFactory() throws ParserConfigurationException {
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    factory.setNamespaceAware(true);
+    factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+    factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+    return factory;
+  }
+
+  private static XPath newXPath() {
+    XPath xpath = XPathFactory.newInstance().newXPath();
+    xpath.setNamespaceContext(new AknNamespaceContext());
+    return xpath;
+  }
+
+  private byte[] nextDocument() {
+    byte[] document = documents.get(next);
+    next = (next + 1) % documents.size();
+    return document;
+  }
+
+  private static final class AknNamespaceContext implements NamespaceContext {
+    @Override
+    public String getNamespaceURI(String prefix) {
+      return "akn".equals(prefix) ? "http://Inhaltsdaten.LegalDocML.de/1.8.2/" : null;
+    }
+
+    @Override
+    public String getPrefix(String namespaceURI) {
+      return null;
+    }
+
+    @Override
+    public Iterator<String> getPrefixes(String namespaceURI) {
+      return null;
+    }
+  }
+}
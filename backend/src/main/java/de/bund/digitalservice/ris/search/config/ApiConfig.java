@@ -42,6 +42,7 @@ public class ApiConfig {
     public static final String LEGISLATION_CHANGELOGS = LEGISLATION + CHANGELOGS;
     public static final String LEGISLATION_TRANSLATION = BASE + "/translatedLegislation";
 
+    public static final String DOCUMENT_EXPORT = DOCUMENT + "/export";
     public static final String DOCUMENT_ADVANCED_SEARCH = DOCUMENT + "/lucene-search";
     public static final String CASELAW_ADVANCED_SEARCH = DOCUMENT + "/lucene-search/case-law";
     public static final String LEGISLATION_ADVANCED_SEARCH =
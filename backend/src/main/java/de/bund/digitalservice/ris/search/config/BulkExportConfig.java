@@ -1,5 +1,6 @@
 package de.bund.digitalservice.ris.search.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.bund.digitalservice.ris.search.models.DocumentKind;
 import de.bund.digitalservice.ris.search.repository.objectstorage.AdministrativeDirectiveBucket;
 import de.bund.digitalservice.ris.search.repository.objectstorage.CaseLawBucket;
@@ -7,9 +8,11 @@ import de.bund.digitalservice.ris.search.repository.objectstorage.LiteratureBuck
 import de.bund.digitalservice.ris.search.repository.objectstorage.NormsBucket;
 import de.bund.digitalservice.ris.search.repository.objectstorage.PortalBucket;
 import de.bund.digitalservice.ris.search.repository.objectstorage.PublicFilesBucket;
+import de.bund.digitalservice.ris.search.service.BucketManifest;
 import de.bund.digitalservice.ris.search.service.BulkExportJob;
 import de.bund.digitalservice.ris.search.service.BulkExportService;
 import de.bund.digitalservice.ris.search.service.ChangelogService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -17,48 +20,101 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class BulkExportConfig {
 
+  @Value("${bulk-export.incremental:false}")
+  private boolean incremental;
+
+  @Value("${bulk-export.compression-level:-1}")
+  private int compressionLevel;
+
+  @Value("${bulk-export.deflate-threads:0}")
+  private int deflateThreads;
+
   /**
+   * @param manifest manifest listing the files of the source bucket
    * @param source sourceBucket to create the document snapshot from
    * @param target targetBucket to create the archive in
+   * @param objectMapper mapper of the snapshot manifest
    * @return BulkExportService
    */
   @Bean
-  public BulkExportService normsBulkExportService(NormsBucket source, PublicFilesBucket target) {
-    return new BulkExportService(source, target, DocumentKind.LEGISLATION.getBulkZipPath());
+  public BulkExportService normsBulkExportService(
+      BucketManifest<NormsBucket> manifest,
+      NormsBucket source,
+      PublicFilesBucket target,
+      ObjectMapper objectMapper) {
+    return new BulkExportService(
+        manifest,
+        source,
+        target,
+        DocumentKind.LEGISLATION.getBulkZipPath(),
+        compression(),
+        objectMapper);
   }
 
   /**
+   * @param manifest manifest listing the files of the source bucket
    * @param source sourceBucket to create the document snapshot from
    * @param target targetBucket to create the archive in
+   * @param objectMapper mapper of the snapshot manifest
    * @return BulkExportService
    */
   @Bean
   public BulkExportService caseLawBulkExportService(
-      CaseLawBucket source, PublicFilesBucket target) {
-    return new BulkExportService(source, target, DocumentKind.CASE_LAW.getBulkZipPath());
+      BucketManifest<CaseLawBucket> manifest,
+      CaseLawBucket source,
+      PublicFilesBucket target,
+      ObjectMapper objectMapper) {
+    return new BulkExportService(
+        manifest,
+        source,
+        target,
+        DocumentKind.CASE_LAW.getBulkZipPath(),
+        compression(),
+        objectMapper);
   }
 
   /**
+   * @param manifest manifest listing the files of the source bucket
    * @param source sourceBucket to create the document snapshot from
    * @param target targetBucket to create the archive in
+   * @param objectMapper mapper of the snapshot manifest
    * @return BulkExportService
    */
   @Bean
   public BulkExportService adminBulkExportService(
-      AdministrativeDirectiveBucket source, PublicFilesBucket target) {
+      BucketManifest<AdministrativeDirectiveBucket> manifest,
+      AdministrativeDirectiveBucket source,
+      PublicFilesBucket target,
+      ObjectMapper objectMapper) {
     return new BulkExportService(
-        source, target, DocumentKind.ADMINISTRATIVE_DIRECTIVE.getBulkZipPath());
+        manifest,
+        source,
+        target,
+        DocumentKind.ADMINISTRATIVE_DIRECTIVE.getBulkZipPath(),
+        compression(),
+        objectMapper);
   }
 
   /**
+   * @param manifest manifest listing the files of the source bucket
    * @param source sourceBucket to create the document snapshot from
    * @param target targetBucket to create the archive in
+   * @param objectMapper mapper of the snapshot manifest
    * @return BulkExportService
    */
   @Bean
   public BulkExportService literatureBulkExportService(
-      LiteratureBucket source, PublicFilesBucket target) {
-    return new BulkExportService(source, target, DocumentKind.LITERATURE.getBulkZipPath());
+      BucketManifest<LiteratureBucket> manifest,
+      LiteratureBucket source,
+      PublicFilesBucket target,
+      ObjectMapper objectMapper) {
+    return new BulkExportService(
+        manifest,
+        source,
+        target,
+        DocumentKind.LITERATURE.getBulkZipPath(),
+        compression(),
+        objectMapper);
   }
 
   /**
@@ -76,7 +132,8 @@ public class BulkExportConfig {
         normsBulkExportService,
         portalBucket,
         DocumentKind.LEGISLATION.getBulkZipPath(),
-        changelogService);
+        changelogService,
+        incremental);
   }
 
   /**
@@ -94,7 +151,8 @@ public class BulkExportConfig {
         caseLawBulkExportService,
         portalBucket,
         DocumentKind.CASE_LAW.getBulkZipPath(),
-        changelogService);
+        changelogService,
+        incremental);
   }
 
   /**
@@ -112,7 +170,8 @@ public class BulkExportConfig {
         adminBulkExportService,
         portalBucket,
         DocumentKind.ADMINISTRATIVE_DIRECTIVE.getBulkZipPath(),
-        changelogService);
+        changelogService,
+        incremental);
   }
 
   /**
@@ -130,6 +189,11 @@ public class BulkExportConfig {
         literatureBulkExportService,
         portalBucket,
         DocumentKind.LITERATURE.getBulkZipPath(),
-        changelogService);
+        changelogService,
+        incremental);
+  }
+
+  private BulkExportService.Compression compression() {
+    return new BulkExportService.Compression(compressionLevel, deflateThreads);
   }
 }
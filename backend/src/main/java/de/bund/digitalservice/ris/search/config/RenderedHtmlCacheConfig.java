@@ -0,0 +1,90 @@
+package de.bund.digitalservice.ris.search.config;
+
+import de.bund.digitalservice.ris.search.repository.objectstorage.AdministrativeDirectiveBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.CaseLawBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.LiteratureBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.NormsBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorage;
+import de.bund.digitalservice.ris.search.repository.objectstorage.PortalBucket;
+import de.bund.digitalservice.ris.search.service.RenderedHtmlCache;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Registering RenderedHtmlCache Beans for specific document types */
+@Configuration
+public class RenderedHtmlCacheConfig {
+
+  private final PortalBucket portalBucket;
+  private final boolean enabled;
+  private final boolean persisted;
+  private final long maxChars;
+  private final Duration ttl;
+  private final String rendererVersion;
+
+  /**
+   * @param portalBucket bucket the persisted entries are stored in
+   * @param enabled whether rendered HTML is cached at all
+   * @param persisted whether rendered HTML is also stored in the portal bucket
+   * @param maxChars maximum number of HTML characters held in memory per document kind
+   * @param ttl time after which an in-memory entry is dropped
+   * @param rendererVersion version of the renderers, part of every cache key
+   */
+  public RenderedHtmlCacheConfig(
+      PortalBucket portalBucket,
+      @Value("${html-cache.enabled}") boolean enabled,
+      @Value("${html-cache.persisted}") boolean persisted,
+      @Value("${html-cache.max-chars}") long maxChars,
+      @Value("${html-cache.ttl}") Duration ttl,
+      @Value("${html-cache.renderer-version}") String rendererVersion) {
+    this.portalBucket = portalBucket;
+    this.enabled = enabled;
+    this.persisted = persisted;
+    this.maxChars = maxChars;
+    this.ttl = ttl;
+    this.rendererVersion = rendererVersion;
+  }
+
+  /**
+   * @param normsBucket bucket of the rendered norms
+   * @return RenderedHtmlCache for norms and their articles
+   */
+  @Bean
+  public RenderedHtmlCache normsHtmlCache(NormsBucket normsBucket) {
+    return create("norms", normsBucket);
+  }
+
+  /**
+   * @param caseLawBucket bucket of the rendered case law
+   * @return RenderedHtmlCache for case law
+   */
+  @Bean
+  public RenderedHtmlCache caseLawHtmlCache(CaseLawBucket caseLawBucket) {
+    return create("caselaw", caseLawBucket);
+  }
+
+  /**
+   * @param literatureBucket bucket of the rendered literature
+   * @return RenderedHtmlCache for literature
+   */
+  @Bean
+  public RenderedHtmlCache literatureHtmlCache(LiteratureBucket literatureBucket) {
+    return create("literature", literatureBucket);
+  }
+
+  /**
+   * @param administrativeDirectiveBucket bucket of the rendered administrative directives
+   * @return RenderedHtmlCache for administrative directives
+   */
+  @Bean
+  public RenderedHtmlCache administrativeDirectiveHtmlCache(
+      AdministrativeDirectiveBucket administrativeDirectiveBucket) {
+    return create("administrative_directive", administrativeDirectiveBucket);
+  }
+
+  private RenderedHtmlCache create(String name, ObjectStorage sourceStorage) {
+    return new RenderedHtmlCache(
+        name, sourceStorage, portalBucket, enabled, persisted, maxChars, ttl, rendererVersion);
+  }
+}
@@ -0,0 +1,66 @@
+package de.bund.digitalservice.ris.search.config;
+
+import de.bund.digitalservice.ris.search.repository.objectstorage.PortalBucket;
+import de.bund.digitalservice.ris.search.service.ZipArchiveCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Registering ZipArchiveCache Beans for specific document types */
+@Configuration
+public class ZipArchiveCacheConfig {
+
+  private final PortalBucket portalBucket;
+  private final boolean enabled;
+  private final int maxBytes;
+
+  /**
+   * @param portalBucket bucket the archives are stored in
+   * @param enabled whether the archives of the zip endpoints are cached at all
+   * @param maxBytes size above which an archive isn't stored
+   */
+  public ZipArchiveCacheConfig(
+      PortalBucket portalBucket,
+      @Value("${zip-cache.enabled}") boolean enabled,
+      @Value("${zip-cache.max-bytes}") int maxBytes) {
+    this.portalBucket = portalBucket;
+    this.enabled = enabled;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * @return ZipArchiveCache for norm manifestations
+   */
+  @Bean
+  public ZipArchiveCache normsZipCache() {
+    return create("norms");
+  }
+
+  /**
+   * @return ZipArchiveCache for case law
+   */
+  @Bean
+  public ZipArchiveCache caseLawZipCache() {
+    return create("caselaw");
+  }
+
+  /**
+   * @return ZipArchiveCache for literature
+   */
+  @Bean
+  public ZipArchiveCache literatureZipCache() {
+    return create("literature");
+  }
+
+  /**
+   * @return ZipArchiveCache for administrative directives
+   */
+  @Bean
+  public ZipArchiveCache administrativeDirectiveZipCache() {
+    return create("administrative_directive");
+  }
+
+  private ZipArchiveCache create(String name) {
+    return new ZipArchiveCache(name, portalBucket, enabled, maxBytes);
+  }
+}
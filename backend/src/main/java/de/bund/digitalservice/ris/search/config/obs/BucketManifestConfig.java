@@ -0,0 +1,72 @@
+package de.bund.digitalservice.ris.search.config.obs;
+
+import de.bund.digitalservice.ris.search.repository.objectstorage.AdministrativeDirectiveBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.CaseLawBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.LiteratureBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.NormsBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.PortalBucket;
+import de.bund.digitalservice.ris.search.service.BucketManifest;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Registering BucketManifest Beans for specific document types, stored in the portal bucket */
+@Configuration
+public class BucketManifestConfig {
+
+  private final PortalBucket portalBucket;
+  private final boolean enabled;
+  private final Duration maxAge;
+
+  /**
+   * @param portalBucket bucket the manifests are stored in
+   * @param enabled whether keys are read from the manifests instead of listing the buckets
+   * @param maxAge age after which a manifest is rebuilt from a full listing
+   */
+  public BucketManifestConfig(
+      PortalBucket portalBucket,
+      @Value("${indexing.bucket-manifest.enabled}") boolean enabled,
+      @Value("${indexing.bucket-manifest.max-age}") Duration maxAge) {
+    this.portalBucket = portalBucket;
+    this.enabled = enabled;
+    this.maxAge = maxAge;
+  }
+
+  /**
+   * @param bucket root bucket of case law files
+   * @return BucketManifest of the case law bucket
+   */
+  @Bean
+  public BucketManifest<CaseLawBucket> caseLawBucketManifest(CaseLawBucket bucket) {
+    return new BucketManifest<>(bucket, portalBucket, "caselaw", enabled, maxAge);
+  }
+
+  /**
+   * @param bucket root bucket of norms files
+   * @return BucketManifest of the norms bucket
+   */
+  @Bean
+  public BucketManifest<NormsBucket> normsBucketManifest(NormsBucket bucket) {
+    return new BucketManifest<>(bucket, portalBucket, "norms", enabled, maxAge);
+  }
+
+  /**
+   * @param bucket root bucket of literature files
+   * @return BucketManifest of the literature bucket
+   */
+  @Bean
+  public BucketManifest<LiteratureBucket> literatureBucketManifest(LiteratureBucket bucket) {
+    return new BucketManifest<>(bucket, portalBucket, "literature", enabled, maxAge);
+  }
+
+  /**
+   * @param bucket root bucket of administrative directive files
+   * @return BucketManifest of the administrative directive bucket
+   */
+  @Bean
+  public BucketManifest<AdministrativeDirectiveBucket> administrativeDirectiveBucketManifest(
+      AdministrativeDirectiveBucket bucket) {
+    return new BucketManifest<>(bucket, portalBucket, "administrative_directive", enabled, maxAge);
+  }
+}
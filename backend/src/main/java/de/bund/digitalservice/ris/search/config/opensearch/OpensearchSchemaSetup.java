@@ -124,10 +124,18 @@ public class OpensearchSchemaSetup {
       boolean addToAllDocumentsAlias)
       throws IOException {
 
+    // An index that already holds the alias stays active. A newer index without the alias is a
+    // full rebuild in progress, which must not get the alias before it is complete.
     String latestIndex =
         Arrays.stream(indexState.getIndices())
             .filter(e -> e.startsWith(aliasName))
-            .max(Comparator.naturalOrder())
+            .filter(e -> hasAlias(indexState, e, aliasName))
+            .findFirst()
+            .or(
+                () ->
+                    Arrays.stream(indexState.getIndices())
+                        .filter(e -> e.startsWith(aliasName))
+                        .max(Comparator.naturalOrder()))
             .orElse(null);
     if (latestIndex == null) {
       latestIndex = aliasName + "_" + LocalDate.now(ZoneOffset.UTC);
@@ -160,6 +168,12 @@ public class OpensearchSchemaSetup {
     }
   }
 
+  private static boolean hasAlias(GetIndexResponse indexState, String index, String aliasName) {
+    return Optional.ofNullable(indexState.getAliases().get(index)).stream()
+        .flatMap(List::stream)
+        .anyMatch(alias -> alias.alias().equals(aliasName));
+  }
+
   private void createAlias(
       RestHighLevelClient restHighLevelClient, String indexName, String aliasName)
       throws IOException {
@@ -1,5 +1,7 @@
 package de.bund.digitalservice.ris.search.config.ratelimiting;
 
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -15,18 +17,37 @@ import org.springframework.stereotype.Component;
  * "rate-limit.default.seconds": The duration of the time window, in seconds, during which requests
  * are counted.
  *
- * <p>The interceptor works by leveraging a caching mechanism to store and manage the number of
- * requests made by each client IP within the specified time window. Requests exceeding the defined
- * limit return an HTTP 429 (Too Many Requests) response.
+ * <p>The interceptor keeps a token bucket per client IP in the configured {@link RateLimitStore}.
+ * Requests matching one of the "rate-limit.route-costs" take more than one token. Requests
+ * exceeding the defined limit return an HTTP 429 (Too Many Requests) response.
  *
  * <p>This class is annotated with {@code @Component}, marking it as a Spring-managed bean.
  */
 @Component
 public class DefaultRateLimitInterceptor extends RateLimitInterceptor {
 
+  /**
+   * @param maxRequests the number of requests a client may send at once
+   * @param seconds the time in which the allowance of a client refills
+   * @param store the store keeping the buckets of the clients
+   * @param properties the shared settings holding the route costs
+   */
+  @Autowired
   public DefaultRateLimitInterceptor(
       @Value("${rate-limit.default.requests}") int maxRequests,
-      @Value("${rate-limit.default.seconds}") int seconds) {
-    super(maxRequests, seconds);
+      @Value("${rate-limit.default.seconds}") int seconds,
+      RateLimitStore store,
+      RateLimitProperties properties) {
+    super("default", maxRequests, seconds, store, properties.getRouteCosts());
+  }
+
+  /**
+   * Creates an interceptor keeping its buckets in memory without route costs.
+   *
+   * @param maxRequests the number of requests a client may send at once
+   * @param seconds the time in which the allowance of a client refills
+   */
+  public DefaultRateLimitInterceptor(int maxRequests, int seconds) {
+    super("default", maxRequests, seconds, new LocalRateLimitStore(), List.of());
   }
 }
@@ -1,5 +1,7 @@
 package de.bund.digitalservice.ris.search.config.ratelimiting;
 
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -16,17 +18,34 @@ import org.springframework.stereotype.Component;
  * "rate-limit.feedback.seconds": The time window duration in seconds within which requests are
  * counted.
  *
- * <p>The rate-limiting mechanism is achieved using a caching solution that tracks request counts
- * per client IP and enforces expiration based on the configured time window.
+ * <p>The rate-limiting mechanism is achieved using a token bucket per client IP, kept in the
+ * configured {@link RateLimitStore}, which refills within the configured time window.
  *
  * <p>This class is annotated with {@code @Component}, marking it as a Spring-managed bean.
  */
 @Component
 public class FeedbackRateLimitInterceptor extends RateLimitInterceptor {
 
+  /**
+   * @param maxRequests the number of requests a client may send at once
+   * @param seconds the time in which the allowance of a client refills
+   * @param store the store keeping the buckets of the clients
+   */
+  @Autowired
   public FeedbackRateLimitInterceptor(
       @Value("${rate-limit.feedback.requests}") int maxRequests,
-      @Value("${rate-limit.feedback.seconds}") int seconds) {
-    super(maxRequests, seconds);
+      @Value("${rate-limit.feedback.seconds}") int seconds,
+      RateLimitStore store) {
+    super("feedback", maxRequests, seconds, store, List.of());
+  }
+
+  /**
+   * Creates an interceptor keeping its buckets in memory.
+   *
+   * @param maxRequests the number of requests a client may send at once
+   * @param seconds the time in which the allowance of a client refills
+   */
+  public FeedbackRateLimitInterceptor(int maxRequests, int seconds) {
+    super("feedback", maxRequests, seconds, new LocalRateLimitStore(), List.of());
   }
 }
@@ -0,0 +1,90 @@
+package de.bund.digitalservice.ris.search.config.ratelimiting;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.time.InstantSource;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Keeps the token buckets in the memory of this instance. A bucket is dropped once it would be
+ * full again, as a new bucket starts full anyway.
+ */
+public class LocalRateLimitStore implements RateLimitStore {
+
+  private record Bucket(double tokens, long updatedMillis, long fullInMillis) {}
+
+  private final InstantSource clock;
+  private final Cache<String, Bucket> buckets;
+
+  /** Creates a store using the system clock. */
+  public LocalRateLimitStore() {
+    this(InstantSource.system());
+  }
+
+  /**
+   * Creates a store using the given clock to refill the buckets.
+   *
+   * @param clock the source of the current time
+   */
+  public LocalRateLimitStore(InstantSource clock) {
+    this.clock = clock;
+    this.buckets =
+        Caffeine.newBuilder()
+            .expireAfter(
+                new Expiry<String, Bucket>() {
+                  @Override
+                  public long expireAfterCreate(
+                      @NotNull String key, @NotNull Bucket bucket, long currentTime) {
+                    return TimeUnit.MILLISECONDS.toNanos(bucket.fullInMillis());
+                  }
+
+                  @Override
+                  public long expireAfterUpdate(
+                      @NotNull String key,
+                      @NotNull Bucket bucket,
+                      long currentTime,
+                      long currentDuration) {
+                    return TimeUnit.MILLISECONDS.toNanos(bucket.fullInMillis());
+                  }
+
+                  @Override
+                  public long expireAfterRead(
+                      @NotNull String key,
+                      @NotNull Bucket bucket,
+                      long currentTime,
+                      long currentDuration) {
+                    return currentDuration;
+                  }
+                })
+            .build();
+  }
+
+  @Override
+  public RateLimitDecision tryConsume(String key, int cost, RateLimit rateLimit) {
+    long now = clock.millis();
+    AtomicReference<RateLimitDecision> decision = new AtomicReference<>();
+    buckets
+        .asMap()
+        .compute(
+            key,
+            (k, bucket) -> {
+              double tokens =
+                  bucket == null
+                      ? rateLimit.capacity()
+                      : rateLimit.refill(bucket.tokens(), now - bucket.updatedMillis());
+              boolean allowed = tokens >= cost;
+              if (allowed) {
+                tokens -= cost;
+              }
+              decision.set(RateLimitDecision.of(rateLimit, allowed, tokens, cost));
+              return new Bucket(
+                  tokens,
+                  Math.max(now, bucket == null ? now : bucket.updatedMillis()),
+                  Math.max(1, rateLimit.millisUntil(tokens, rateLimit.capacity())));
+            });
+    return decision.get();
+  }
+}
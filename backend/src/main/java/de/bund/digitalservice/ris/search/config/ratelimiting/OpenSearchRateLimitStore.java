@@ -0,0 +1,170 @@
+package de.bund.digitalservice.ris.search.config.ratelimiting;
+
+import io.micrometer.core.instrument.Metrics;
+import java.io.IOException;
+import java.time.InstantSource;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.client.indices.CreateIndexRequest;
+import org.opensearch.client.indices.GetIndexRequest;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.reindex.DeleteByQueryRequest;
+import org.opensearch.script.Script;
+import org.opensearch.script.ScriptType;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Keeps the token buckets in an OpenSearch index, so all instances share the bucket of a client.
+ *
+ * <p>A bucket is a document updated by a script, which refills it, takes the tokens of the request
+ * if there are enough and stores when it would be full again. OpenSearch runs the script under the
+ * version check of the document and retries it on conflicts, so concurrent requests on different
+ * instances never take the same tokens. The clock of the calling instance is passed to the script,
+ * a bucket never goes back in time if the clocks differ. Buckets which would be full again are
+ * removed periodically, as a new bucket starts full anyway.
+ */
+public class OpenSearchRateLimitStore implements RateLimitStore {
+
+  private static final Logger logger = LogManager.getLogger(OpenSearchRateLimitStore.class);
+
+  private static final int RETRY_ON_CONFLICT = 10;
+
+  private static final String CONSUME_SCRIPT =
+      """
+      long now = ((Number) params.now).longValue();
+      double capacity = ((Number) params.capacity).doubleValue();
+      double rate = ((Number) params.rate).doubleValue();
+      double cost = ((Number) params.cost).doubleValue();
+      double tokens = capacity;
+      if (ctx._source.updated != null) {
+        long updated = ((Number) ctx._source.updated).longValue();
+        if (updated > now) {
+          now = updated;
+        }
+        tokens = Math.min(capacity,
+            ((Number) ctx._source.tokens).doubleValue() + (now - updated) * rate);
+      }
+      boolean allowed = tokens >= cost;
+      if (allowed) {
+        tokens -= cost;
+      }
+      ctx._source.tokens = tokens;
+      ctx._source.allowed = allowed;
+      ctx._source.updated = now;
+      ctx._source.expires = now + (long) Math.ceil((capacity - tokens) / rate);
+      """;
+
+  private final RestHighLevelClient client;
+  private final String index;
+  private final InstantSource clock;
+  private volatile boolean indexExists;
+
+  /**
+   * Creates a store using the system clock.
+   *
+   * @param client the client of the OpenSearch cluster
+   * @param index the index holding the buckets, created on first use
+   */
+  public OpenSearchRateLimitStore(RestHighLevelClient client, String index) {
+    this(client, index, InstantSource.system());
+  }
+
+  /**
+   * Creates a store using the given clock to refill the buckets.
+   *
+   * @param client the client of the OpenSearch cluster
+   * @param index the index holding the buckets, created on first use
+   * @param clock the source of the current time
+   */
+  public OpenSearchRateLimitStore(RestHighLevelClient client, String index, InstantSource clock) {
+    this.client = client;
+    this.index = index;
+    this.clock = clock;
+  }
+
+  @Override
+  public RateLimitDecision tryConsume(String key, int cost, RateLimit rateLimit) {
+    try {
+      ensureIndex();
+      UpdateRequest request =
+          new UpdateRequest(index, key)
+              .script(
+                  new Script(
+                      ScriptType.INLINE,
+                      Script.DEFAULT_SCRIPT_LANG,
+                      CONSUME_SCRIPT,
+                      Map.of(
+                          "now", clock.millis(),
+                          "capacity", (double) rateLimit.capacity(),
+                          "rate", rateLimit.tokensPerMilli(),
+                          "cost", (double) cost)))
+              .scriptedUpsert(true)
+              .upsert(Map.of())
+              .retryOnConflict(RETRY_ON_CONFLICT)
+              .fetchSource(true);
+      UpdateResponse response = client.update(request, RequestOptions.DEFAULT);
+      Map<String, Object> bucket = response.getGetResult().sourceAsMap();
+      return RateLimitDecision.of(
+          rateLimit,
+          (Boolean) bucket.get("allowed"),
+          ((Number) bucket.get("tokens")).doubleValue(),
+          cost);
+    } catch (IOException | OpenSearchStatusException e) {
+      throw new IllegalStateException("Failed to update rate limit bucket " + key, e);
+    }
+  }
+
+  /** Removes the buckets which would be full again. */
+  @Scheduled(fixedDelayString = "${rate-limit.opensearch.cleanup-interval:PT10M}")
+  public void removeFullBuckets() {
+    if (!indexExists) {
+      return;
+    }
+    DeleteByQueryRequest request =
+        new DeleteByQueryRequest(index)
+            .setQuery(QueryBuilders.rangeQuery("expires").lt(clock.millis()))
+            .setAbortOnVersionConflict(false);
+    try {
+      long deleted = client.deleteByQuery(request, RequestOptions.DEFAULT).getDeleted();
+      logger.debug("Removed {} full rate limit buckets", deleted);
+    } catch (IOException | OpenSearchStatusException e) {
+      logger.warn("Failed to remove full rate limit buckets", e);
+      // the same tags as the errors of the limiters, as a registry rejects a name with other tags
+      Metrics.counter(RateLimitInterceptor.STORE_ERRORS_METRIC, "limiter", "cleanup").increment();
+    }
+  }
+
+  private void ensureIndex() throws IOException {
+    if (indexExists) {
+      return;
+    }
+    if (!client.indices().exists(new GetIndexRequest(index), RequestOptions.DEFAULT)) {
+      logger.info("Creating rate limit index {}", index);
+      CreateIndexRequest request =
+          new CreateIndexRequest(index)
+              .settings(Map.of("number_of_shards", 1))
+              .mapping(
+                  Map.of(
+                      "dynamic",
+                      false,
+                      "properties",
+                      Map.of("expires", Map.of("type", "long"))));
+      try {
+        client.indices().create(request, RequestOptions.DEFAULT);
+      } catch (OpenSearchStatusException e) {
+        // another instance created the index in the meantime
+        if (e.status() != RestStatus.BAD_REQUEST) {
+          throw e;
+        }
+      }
+    }
+    indexExists = true;
+  }
+}
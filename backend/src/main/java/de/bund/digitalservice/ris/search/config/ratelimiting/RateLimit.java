@@ -0,0 +1,43 @@
+package de.bund.digitalservice.ris.search.config.ratelimiting;
+
+import java.time.Duration;
+
+/**
+ * A token bucket limit: a client may spend up to {@code capacity} tokens at once, and the bucket
+ * refills at {@code capacity} tokens per {@code period}. A request costs one token unless its route
+ * is weighted higher.
+ *
+ * @param capacity the number of tokens of a full bucket
+ * @param period the time in which an empty bucket refills
+ */
+public record RateLimit(int capacity, Duration period) {
+
+  /**
+   * Returns the tokens of a bucket after some time without requests.
+   *
+   * @param tokens the tokens left after the last request
+   * @param elapsedMillis the milliseconds since the last request
+   * @return the refilled tokens, at most the capacity
+   */
+  public double refill(double tokens, long elapsedMillis) {
+    return Math.min(capacity, tokens + Math.max(0, elapsedMillis) * tokensPerMilli());
+  }
+
+  /**
+   * @return the number of tokens added to a bucket per millisecond
+   */
+  public double tokensPerMilli() {
+    return capacity / (double) period.toMillis();
+  }
+
+  /**
+   * Returns the number of milliseconds until a bucket holds a number of tokens.
+   *
+   * @param tokens the tokens in the bucket now
+   * @param target the tokens the bucket should hold
+   * @return the milliseconds until then, 0 if it already does
+   */
+  public long millisUntil(double tokens, double target) {
+    return (long) Math.ceil(Math.max(0, target - tokens) * period.toMillis() / capacity);
+  }
+}
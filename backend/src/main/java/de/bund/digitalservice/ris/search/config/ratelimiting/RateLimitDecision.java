@@ -0,0 +1,37 @@
+package de.bund.digitalservice.ris.search.config.ratelimiting;
+
+/**
+ * The outcome of taking tokens for a request, as reported in the {@code RateLimit-*} headers.
+ *
+ * @param allowed whether the request may be handled
+ * @param limit the capacity of the bucket
+ * @param remaining the whole tokens left in the bucket
+ * @param resetSeconds the seconds until the bucket is full again
+ * @param retryAfterSeconds the seconds until the request could be handled, 0 if it is allowed
+ */
+public record RateLimitDecision(
+    boolean allowed, int limit, int remaining, long resetSeconds, long retryAfterSeconds) {
+
+  /**
+   * Creates the decision for the state of a bucket after a request.
+   *
+   * @param rateLimit the limit of the bucket
+   * @param allowed whether the tokens for the request were taken
+   * @param tokens the tokens left in the bucket
+   * @param cost the tokens the request costs
+   * @return the decision
+   */
+  public static RateLimitDecision of(
+      RateLimit rateLimit, boolean allowed, double tokens, int cost) {
+    return new RateLimitDecision(
+        allowed,
+        rateLimit.capacity(),
+        (int) Math.floor(tokens),
+        toSeconds(rateLimit.millisUntil(tokens, rateLimit.capacity())),
+        allowed ? 0 : Math.max(1, toSeconds(rateLimit.millisUntil(tokens, cost))));
+  }
+
+  private static long toSeconds(long millis) {
+    return (millis + 999) / 1000;
+  }
+}
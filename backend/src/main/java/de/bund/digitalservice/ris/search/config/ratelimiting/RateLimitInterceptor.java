@@ -1,73 +1,76 @@
 package de.bund.digitalservice.ris.search.config.ratelimiting;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 /**
  * The RateLimitInterceptor is an abstract class that provides a base implementation for
  * intercepting and rate-limiting incoming HTTP requests based on the client IP address.
  *
- * <p>It leverages a caching mechanism to count and manage the number of requests from each client
- * IP within a specified time window. If the number of requests from a client exceeds the configured
- * maximum, the interceptor denies the request and responds with an HTTP 429 (Too Many Requests)
+ * <p>Every client IP has a token bucket holding up to the configured maximum number of requests,
+ * which refills at that number of requests per time window. A request takes one token, or more for
+ * routes weighted by a {@link RateLimitProperties.RouteCost}. If the bucket of a client holds too
+ * few tokens, the interceptor denies the request and responds with an HTTP 429 (Too Many Requests)
  * status code.
  *
- * <p>Subclasses must provide implementation by specifying the maximum number of allowed requests
- * and the duration of the time window via the constructor.
+ * <p>The buckets are kept in a {@link RateLimitStore}, either in the memory of this instance or
+ * shared by all instances of the cluster. If the store fails, requests are allowed rather than
+ * failing the API.
  *
- * <p>Core functionalities include: - Tracking the number of requests made by each client IP. -
- * Enforcing expiration and cleanup of request records after a specified time window. - Returning a
- * 429 status code for clients exceeding the allowed request limit.
+ * <p>Core functionalities include: - Reporting the state of the bucket in the {@code
+ * RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset} headers, and the time
+ * until a denied request could be handled in the {@code Retry-After} header. - Counting denied
+ * requests and store failures in the {@code ris.ratelimit.rejected} and {@code
+ * ris.ratelimit.store.errors} metrics.
  *
  * <p>Designed to be extended for cases where specific rate-limiting configurations are required for
  * different endpoints or use cases.
  */
 public abstract class RateLimitInterceptor implements HandlerInterceptor {
-  private final Cache<String, Integer> requestCountPerIpAddress;
 
-  private final int maxRequests;
+  private static final Logger logger = LogManager.getLogger(RateLimitInterceptor.class);
 
-  protected RateLimitInterceptor(int maxRequests, int timeInSeconds) {
+  public static final String REJECTED_METRIC = "ris.ratelimit.rejected";
+  public static final String STORE_ERRORS_METRIC = "ris.ratelimit.store.errors";
 
-    this.maxRequests = maxRequests;
+  public static final String LIMIT_HEADER = "RateLimit-Limit";
+  public static final String REMAINING_HEADER = "RateLimit-Remaining";
+  public static final String RESET_HEADER = "RateLimit-Reset";
+  public static final String RETRY_AFTER_HEADER = "Retry-After";
 
-    requestCountPerIpAddress =
-        Caffeine.newBuilder()
-            .expireAfter(
-                new Expiry<String, Integer>() {
-                  @Override
-                  public long expireAfterCreate(
-                      @NotNull String key, @NotNull Integer value, long currentTime) {
-                    return TimeUnit.SECONDS.toNanos(timeInSeconds);
-                  }
+  private static final AntPathMatcher pathMatcher = new AntPathMatcher();
 
-                  @Override
-                  public long expireAfterUpdate(
-                      @NotNull String key,
-                      @NotNull Integer value,
-                      long currentTime,
-                      long currentDuration) {
-                    return currentDuration;
-                  }
+  private final String name;
+  private final RateLimit rateLimit;
+  private final RateLimitStore store;
+  private final List<RateLimitProperties.RouteCost> routeCosts;
 
-                  @Override
-                  public long expireAfterRead(
-                      @NotNull String key,
-                      @NotNull Integer value,
-                      long currentTime,
-                      long currentDuration) {
-                    return currentDuration;
-                  }
-                })
-            .build();
+  /**
+   * @param name the name of the limiter, used in the keys of its buckets and in metrics
+   * @param maxRequests the number of tokens of a full bucket
+   * @param timeInSeconds the time in which an empty bucket refills
+   * @param store the store keeping the buckets
+   * @param routeCosts the tokens taken for requests of some routes, first match wins
+   */
+  protected RateLimitInterceptor(
+      String name,
+      int maxRequests,
+      int timeInSeconds,
+      RateLimitStore store,
+      List<RateLimitProperties.RouteCost> routeCosts) {
+    this.name = name;
+    this.rateLimit = new RateLimit(maxRequests, Duration.ofSeconds(timeInSeconds));
+    this.store = store;
+    this.routeCosts = List.copyOf(routeCosts);
   }
 
   @Override
@@ -76,15 +79,43 @@ public abstract class RateLimitInterceptor implements HandlerInterceptor {
       throws IOException {
 
     String clientIpAddress = request.getRemoteAddr();
-    Integer requestCount = requestCountPerIpAddress.getIfPresent(clientIpAddress);
-    if (Objects.isNull(requestCount)) {
-      requestCount = 1;
+    // a route costing more than a full bucket could never be requested
+    int cost = Math.min(costOf(request), rateLimit.capacity());
+    RateLimitDecision decision;
+    try {
+      decision = store.tryConsume(name + ":" + clientIpAddress, cost, rateLimit);
+    } catch (RuntimeException e) {
+      logger.warn("Rate limit store failed, allowing the request", e);
+      Metrics.counter(STORE_ERRORS_METRIC, "limiter", name).increment();
+      return true;
     }
-    if (requestCount > maxRequests) {
+
+    if (!decision.allowed()) {
+      setHeaders(response, decision);
+      response.setHeader(RETRY_AFTER_HEADER, Long.toString(decision.retryAfterSeconds()));
+      Metrics.counter(REJECTED_METRIC, "limiter", name).increment();
       response.sendError(429);
       return false;
     }
-    requestCountPerIpAddress.put(clientIpAddress, ++requestCount);
+    // a limiter registered for fewer paths runs first and is the stricter one, keep its headers
+    if (!response.containsHeader(LIMIT_HEADER)) {
+      setHeaders(response, decision);
+    }
     return true;
   }
+
+  private int costOf(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    return routeCosts.stream()
+        .filter(routeCost -> pathMatcher.match(routeCost.getPattern(), path))
+        .findFirst()
+        .map(RateLimitProperties.RouteCost::getCost)
+        .orElse(1);
+  }
+
+  private static void setHeaders(HttpServletResponse response, RateLimitDecision decision) {
+    response.setHeader(LIMIT_HEADER, Integer.toString(decision.limit()));
+    response.setHeader(REMAINING_HEADER, Integer.toString(decision.remaining()));
+    response.setHeader(RESET_HEADER, Long.toString(decision.resetSeconds()));
+  }
 }
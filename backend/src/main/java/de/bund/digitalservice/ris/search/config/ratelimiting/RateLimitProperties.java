@@ -0,0 +1,44 @@
+package de.bund.digitalservice.ris.search.config.ratelimiting;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties of the rate limiters shared by all of them, using the prefix
+ * "rate-limit". The limits themselves are configured per limiter, e.g. "rate-limit.default".
+ *
+ * <p>Properties included: - store: where the token buckets are kept, "local" for the memory of each
+ * instance or "opensearch" for a bucket per client shared by all instances. - route-costs: the
+ * tokens taken by the default limiter for requests matching an Ant-style path pattern, first match
+ * wins, other requests cost one token. - opensearch.index: the index holding the shared buckets. -
+ * opensearch.cleanup-interval: how often buckets which would be full again are removed, read by
+ * the store itself.
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+  private String store = "local";
+  private List<RouteCost> routeCosts = new ArrayList<>();
+  private OpenSearch opensearch = new OpenSearch();
+
+  /** The tokens taken for the requests of a path pattern. */
+  @Getter
+  @Setter
+  public static class RouteCost {
+    private String pattern;
+    private int cost = 1;
+  }
+
+  /** Settings of the store keeping the buckets in OpenSearch. */
+  @Getter
+  @Setter
+  public static class OpenSearch {
+    private String index = "rate_limits";
+  }
+}
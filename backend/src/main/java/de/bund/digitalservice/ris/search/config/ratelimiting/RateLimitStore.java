@@ -0,0 +1,20 @@
+package de.bund.digitalservice.ris.search.config.ratelimiting;
+
+/**
+ * Holds the token buckets of the rate limiters. The buckets of the in-process store are local to
+ * one instance, those of a shared store are used by every instance, so the limits apply to the
+ * whole cluster.
+ */
+public interface RateLimitStore {
+
+  /**
+   * Refills the bucket of a key for the time since its last request and takes the tokens of a
+   * request if there are enough. A missing bucket starts full.
+   *
+   * @param key the key of the bucket, e.g. the limiter and the client address
+   * @param cost the tokens the request costs
+   * @param rateLimit the limit of the bucket
+   * @return whether the request is allowed and the state of the bucket after it
+   */
+  RateLimitDecision tryConsume(String key, int cost, RateLimit rateLimit);
+}
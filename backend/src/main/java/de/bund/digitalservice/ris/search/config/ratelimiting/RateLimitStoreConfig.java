@@ -0,0 +1,35 @@
+package de.bund.digitalservice.ris.search.config.ratelimiting;
+
+import org.opensearch.client.RestHighLevelClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the store of the rate limiters with the "rate-limit.store" property. The in-process
+ * store is the default, the OpenSearch store shares the limits across all instances.
+ */
+@Configuration
+public class RateLimitStoreConfig {
+
+  /**
+   * @return a store keeping the buckets in the memory of this instance
+   */
+  @Bean
+  @ConditionalOnProperty(name = "rate-limit.store", havingValue = "local", matchIfMissing = true)
+  public RateLimitStore localRateLimitStore() {
+    return new LocalRateLimitStore();
+  }
+
+  /**
+   * @param client the client of the OpenSearch cluster
+   * @param properties the rate limit settings holding the index name
+   * @return a store keeping the buckets in an OpenSearch index
+   */
+  @Bean
+  @ConditionalOnProperty(name = "rate-limit.store", havingValue = "opensearch")
+  public RateLimitStore openSearchRateLimitStore(
+      RestHighLevelClient client, RateLimitProperties properties) {
+    return new OpenSearchRateLimitStore(client, properties.getOpensearch().getIndex());
+  }
+}
@@ -16,6 +16,7 @@ import de.bund.digitalservice.ris.search.models.api.parameters.PaginationParams;
 import de.bund.digitalservice.ris.search.models.api.parameters.UniversalSearchParams;
 import de.bund.digitalservice.ris.search.models.opensearch.AdministrativeDirective;
 import de.bund.digitalservice.ris.search.repository.objectstorage.AdministrativeDirectiveBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
 import de.bund.digitalservice.ris.search.schema.AdministrativeDirectiveSchema;
 import de.bund.digitalservice.ris.search.schema.AdministrativeDirectiveSearchSchema;
 import de.bund.digitalservice.ris.search.schema.ChangelogResponse;
@@ -23,6 +24,8 @@ import de.bund.digitalservice.ris.search.schema.CollectionSchema;
 import de.bund.digitalservice.ris.search.schema.SearchMemberSchema;
 import de.bund.digitalservice.ris.search.service.AdministrativeDirectiveService;
 import de.bund.digitalservice.ris.search.service.ChangelogService;
+import de.bund.digitalservice.ris.search.service.RenderedHtmlCache;
+import de.bund.digitalservice.ris.search.service.ZipArchiveCache;
 import de.bund.digitalservice.ris.search.service.xslt.AdministrativeDirectiveXsltTransformerService;
 import de.bund.digitalservice.ris.search.utils.LuceneQueryTools;
 import io.swagger.v3.oas.annotations.Operation;
@@ -37,6 +40,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.elasticsearch.UncategorizedElasticsearchException;
@@ -60,6 +64,8 @@ public class AdministrativeDirectiveController {
   private final AdministrativeDirectiveService service;
   private final AdministrativeDirectiveXsltTransformerService transformerService;
   private final ChangelogService<AdministrativeDirectiveBucket> changelogService;
+  private final RenderedHtmlCache htmlCache;
+  private final ZipArchiveCache zipCache;
 
   /**
    * Constructor for the AdministrativeDirectiveController, used to initialize the controller with
@@ -68,15 +74,21 @@ public class AdministrativeDirectiveController {
    * @param service the service responsible for handling administrative directive operations
    * @param transformerService the service responsible for transforming administrative directives
    *     using XSLT
+   * @param htmlCache the cache of rendered administrative directives
+   * @param zipCache the cache of zip archives of administrative directives
    */
   @Autowired
   public AdministrativeDirectiveController(
       AdministrativeDirectiveService service,
       AdministrativeDirectiveXsltTransformerService transformerService,
-      ChangelogService<AdministrativeDirectiveBucket> changelogService) {
+      ChangelogService<AdministrativeDirectiveBucket> changelogService,
+      @Qualifier("administrativeDirectiveHtmlCache") RenderedHtmlCache htmlCache,
+      @Qualifier("administrativeDirectiveZipCache") ZipArchiveCache zipCache) {
     this.service = service;
     this.transformerService = transformerService;
     this.changelogService = changelogService;
+    this.htmlCache = htmlCache;
+    this.zipCache = zipCache;
   }
 
   /**
@@ -198,10 +210,13 @@ public class AdministrativeDirectiveController {
   @ApiResponse(responseCode = "404", content = @Content)
   public ResponseEntity<String> getAdministrativeDirectiveAsHtml(
       @Parameter(example = "KSNR00000") @PathVariable String documentNumber) {
-    return service
-        .getFileByDocumentNumber(documentNumber)
-        .map(transformerService::transform)
-        .map(ResponseEntity::ok)
+    return htmlCache
+        .getOrRender(
+            AdministrativeDirectiveService.getFileKey(documentNumber),
+            "",
+            () -> service.getFileByDocumentNumber(documentNumber),
+            transformerService::transform)
+        .map(html -> ResponseEntity.ok().eTag(html.eTag()).body(html.html()))
         .orElseGet(() -> ResponseEntity.notFound().build());
   }
 
@@ -252,14 +267,17 @@ public class AdministrativeDirectiveController {
           String documentNumber) {
 
     String filename = documentNumber + ".zip";
-    List<String> keys = service.getAllFilenamesByDocumentNumber(documentNumber);
+    List<ObjectKeyInfo> files = service.getAllFileInfosByDocumentNumber(documentNumber);
 
-    if (keys.isEmpty()) {
+    if (files.isEmpty()) {
       return ResponseEntity.notFound().build();
     }
     return ResponseEntity.ok()
         .header(CONTENT_DISPOSITION, "attachment;filename=\"%s\"".formatted(filename))
         .contentType(MediaType.valueOf("application/zip"))
-        .body(outputStream -> service.writeZipArchive(keys, outputStream));
+        .body(
+            outputStream ->
+                zipCache.writeArchive(
+                    documentNumber, files, outputStream, service::writeZipArchive));
   }
 }
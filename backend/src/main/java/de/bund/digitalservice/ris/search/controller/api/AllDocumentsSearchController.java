@@ -1,8 +1,10 @@
 package de.bund.digitalservice.ris.search.controller.api;
 
 import de.bund.digitalservice.ris.search.config.ApiConfig;
+import de.bund.digitalservice.ris.search.exception.CustomValidationException;
 import de.bund.digitalservice.ris.search.mapper.DocumentResponseMapper;
 import de.bund.digitalservice.ris.search.mapper.SortParamsConverter;
+import de.bund.digitalservice.ris.search.models.SearchCursor;
 import de.bund.digitalservice.ris.search.models.api.parameters.NormsSearchParams;
 import de.bund.digitalservice.ris.search.models.api.parameters.PaginationParams;
 import de.bund.digitalservice.ris.search.models.api.parameters.UniversalSearchParams;
@@ -12,18 +14,28 @@ import de.bund.digitalservice.ris.search.schema.AbstractDocumentSchema;
 import de.bund.digitalservice.ris.search.schema.CollectionSchema;
 import de.bund.digitalservice.ris.search.schema.SearchMemberSchema;
 import de.bund.digitalservice.ris.search.service.AllDocumentsService;
+import de.bund.digitalservice.ris.search.service.PointInTimeSearch.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.UncategorizedElasticsearchException;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -31,6 +43,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import tools.jackson.databind.json.JsonMapper;
 
 /** Controller for global search */
 @Tag(
@@ -41,10 +55,25 @@ import org.springframework.web.bind.annotation.RestController;
 public class AllDocumentsSearchController {
   protected static final Logger logger = LogManager.getLogger(AllDocumentsSearchController.class);
 
+  private static final String NDJSON = "application/x-ndjson";
+
   private final AllDocumentsService allDocumentsService;
+  private final JsonMapper jsonMapper;
+  private final Duration exportTimeout;
+  private final ExecutorService exportExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-  public AllDocumentsSearchController(AllDocumentsService allDocumentsService) {
+  /**
+   * @param allDocumentsService the service searching the documents
+   * @param jsonMapper the mapper of the JSON responses, so exported lines match their members
+   * @param exportTimeout how long an export may take, instead of the async request timeout of MVC
+   */
+  public AllDocumentsSearchController(
+      AllDocumentsService allDocumentsService,
+      JsonMapper jsonMapper,
+      @Value("${search-cursor.export-timeout}") Duration exportTimeout) {
     this.allDocumentsService = allDocumentsService;
+    this.jsonMapper = jsonMapper;
+    this.exportTimeout = exportTimeout;
   }
 
   /**
@@ -54,12 +83,17 @@ public class AllDocumentsSearchController {
    *
    * <p>Default sorting is by relevance, but it can be customized to sort by date.
    *
+   * <p>With a cursor, the page index is ignored and the search is paged forwards with the cursor
+   * of the previous page instead, without the limit on the result window.
+   *
    * @param request Universal search parameters that apply to all document kinds.
    * @param sortParams Sorting parameters for ordering the search results.
    * @param paginationParams Pagination parameters such as page index and size.
+   * @param cursor The cursor of the requested page, or * for the first page of a cursor search.
    * @param mostRelevantOn Specifies for what date the norms most relevant expression should be
    *     returned.
    * @return A ResponseEntity containing a paginated collection of search results.
+   * @throws CustomValidationException if the cursor is invalid or expired
    */
   @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
   @Operation(
@@ -68,22 +102,38 @@ public class AllDocumentsSearchController {
           """
           This endpoint can be used to search for documents across different document kinds. Currently we support case law, legislation and literature document kinds. The endpoint provides a paginated response with up to 10,000 results with at most 100 results per page.
 
+          To page beyond the first 10,000 results, set the cursor query parameter to * and follow the next links of the responses. See the pagination guide for more information.
+
           The searchTerm parameter searches across multiple fields of a document at the same time. The fields searched depend on the document kind. See the filters guide for more information.
 
           Default sorting is by relevance from most relevant to least relevant. Multiple factors are combined to boost the most relevant documents to the top of the result list. Additionally, sorting by date is possible by setting the sort query parameter to date.
           """)
   @ApiResponse(responseCode = "200", description = "Success")
+  @ApiResponse(responseCode = "422", description = "Invalid or expired cursor", content = @Content)
   @ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content)
   public ResponseEntity<CollectionSchema<SearchMemberSchema<AbstractDocumentSchema>>>
       searchAndFilter(
           @ParameterObject UniversalSearchParams request,
           @ParameterObject @Valid UniversalSortParam sortParams,
           @ParameterObject @Valid PaginationParams paginationParams,
+          @Parameter(
+                  description =
+                      "Pages with cursors instead of the page index. Use * for the first page and"
+                          + " the cursor of the next link of a response for the following page."
+                          + " A cursor only pages the search with the same parameters and sort.",
+                  example = SearchCursor.FIRST)
+              @RequestParam(name = "cursor", required = false)
+              String cursor,
           @Parameter(
                   description = NormsSearchParams.MOST_RELEVANT_ON_DESCRIPTION,
                   example = "2026-03-11")
               @RequestParam(name = "mostRelevantOn", required = false)
-              LocalDate mostRelevantOn) {
+              LocalDate mostRelevantOn)
+          throws CustomValidationException {
+
+    if (cursor != null) {
+      return searchAfterCursor(request, sortParams, paginationParams, cursor, mostRelevantOn);
+    }
 
     var pageRequest = PageRequest.of(paginationParams.getPageIndex(), paginationParams.getSize());
 
@@ -102,4 +152,95 @@ public class AllDocumentsSearchController {
       throw e;
     }
   }
+
+  /**
+   * Exports all documents matching a search as newline delimited JSON, one search result per line.
+   * The results are written while they are searched, so there is no limit on their number.
+   *
+   * @param request Universal search parameters that apply to all document kinds.
+   * @param sortParams Sorting parameters for ordering the search results.
+   * @param mostRelevantOn Specifies for what date the norms most relevant expression should be
+   *     returned.
+   * @return A ResponseEntity streaming the search results.
+   */
+  @GetMapping(path = "/export", produces = NDJSON)
+  @Operation(
+      summary = "Global search export",
+      description =
+          """
+          Returns all documents matching a search as newline delimited JSON, with one search result per line in the format of the members of the global search. Unlike the global search, the export isn't paginated and isn't limited to 10,000 results.
+
+          The parameters are the same as the ones of the global search, apart from the pagination parameters.
+          """)
+  @ApiResponse(responseCode = "200", description = "Success")
+  @ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content)
+  public ResponseEntity<ResponseBodyEmitter> export(
+      @ParameterObject UniversalSearchParams request,
+      @ParameterObject @Valid UniversalSortParam sortParams,
+      @Parameter(
+              description = NormsSearchParams.MOST_RELEVANT_ON_DESCRIPTION,
+              example = "2026-03-11")
+          @RequestParam(name = "mostRelevantOn", required = false)
+          LocalDate mostRelevantOn) {
+
+    Sort sort = SortParamsConverter.buildSort(sortParams.getSort());
+    MediaType ndjson = MediaType.valueOf(NDJSON);
+
+    // an emitter with its own timeout, as the export easily outlasts the async request timeout
+    ResponseBodyEmitter emitter = new ResponseBodyEmitter(exportTimeout.toMillis());
+    exportExecutor.execute(
+        () -> {
+          try {
+            allDocumentsService.exportAllDocuments(
+                request, sort, mostRelevantOn, hits -> emitter.send(toLines(hits), ndjson));
+            emitter.complete();
+          } catch (IOException | RuntimeException e) {
+            logger.warn("Export of all documents aborted.", e);
+            emitter.completeWithError(e);
+          }
+        });
+
+    return ResponseEntity.ok().contentType(ndjson).body(emitter);
+  }
+
+  private ResponseEntity<CollectionSchema<SearchMemberSchema<AbstractDocumentSchema>>>
+      searchAfterCursor(
+          UniversalSearchParams request,
+          UniversalSortParam sortParams,
+          PaginationParams paginationParams,
+          String cursor,
+          LocalDate mostRelevantOn)
+          throws CustomValidationException {
+    SearchCursor searchCursor =
+        SearchCursor.FIRST.equals(cursor) ? null : SearchCursor.decode(cursor);
+    int size = paginationParams.getSize();
+
+    try {
+      CursorPage<AbstractSearchEntity> page =
+          allDocumentsService.searchAllDocumentsAfter(
+              request,
+              searchCursor,
+              size,
+              SortParamsConverter.buildSort(sortParams.getSort()),
+              mostRelevantOn);
+
+      return ResponseEntity.ok()
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(
+              DocumentResponseMapper.fromCursorPage(
+                  page.searchHits(), cursor, page.next(), size, ApiConfig.Paths.DOCUMENT));
+    } catch (UncategorizedElasticsearchException e) {
+      logger.error("Unexpected Opensearch error during cursor search.", e);
+      throw e;
+    }
+  }
+
+  private <T> byte[] toLines(List<SearchHit<T>> hits) throws IOException {
+    ByteArrayOutputStream lines = new ByteArrayOutputStream();
+    for (SearchHit<T> hit : hits) {
+      lines.write(jsonMapper.writeValueAsBytes(DocumentResponseMapper.convertSingle(hit)));
+      lines.write('\n');
+    }
+    return lines.toByteArray();
+  }
 }
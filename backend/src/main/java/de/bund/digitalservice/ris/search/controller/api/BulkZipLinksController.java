@@ -1,20 +1,29 @@
 package de.bund.digitalservice.ris.search.controller.api;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.bund.digitalservice.ris.search.config.ApiConfig;
 import de.bund.digitalservice.ris.search.models.DocumentKind;
 import de.bund.digitalservice.ris.search.repository.objectstorage.PublicFilesBucket;
 import de.bund.digitalservice.ris.search.schema.ZipDataCatalogSchema;
+import de.bund.digitalservice.ris.search.schema.ZipDataSetSchema;
 import de.bund.digitalservice.ris.search.service.BulkExportService;
+import de.bund.digitalservice.ris.search.service.SnapshotManifest;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-/** This controller provides an endpoint to get the name of the bulk zip for each document kind */
+/**
+ * This controller provides an endpoint to get the name of the bulk zip for each document kind. If
+ * a snapshot has a manifest, its delta archives are listed as well.
+ */
 @Tag(
     name = "Document bulk download links",
     description = "Returns a link that can be used to download a bulk zip for each document kind.")
@@ -22,15 +31,18 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping(ApiConfig.Paths.BULK_ZIP_LINKS)
 public class BulkZipLinksController {
 
+  private final ObjectMapper objectMapper;
   private final PublicFilesBucket publicFilesBucket;
   private final String zipPrefix;
   private final String bucketUrl;
 
   /** Constructs a new instance of {@code BulkZipLinksController} */
   public BulkZipLinksController(
+      ObjectMapper objectMapper,
       PublicFilesBucket publicFilesBucket,
       @Value("${s3.file-storage.public-files.bucket-name}") String publicFilesBucketName,
       @Value("${s3.file-storage.endpoint}") String s3Endpoint) {
+    this.objectMapper = objectMapper;
     this.publicFilesBucket = publicFilesBucket;
     this.zipPrefix = BulkExportService.BULK_ZIP_PREFIX;
     this.bucketUrl = s3Endpoint + "/" + publicFilesBucketName + "/";
@@ -48,10 +60,37 @@ public class BulkZipLinksController {
             .toList();
 
     return new ZipDataCatalogSchema(
-        getLatestWithPrefix(files, DocumentKind.ADMINISTRATIVE_DIRECTIVE.getBulkZipPath()),
-        getLatestWithPrefix(files, DocumentKind.CASE_LAW.getBulkZipPath()),
-        getLatestWithPrefix(files, DocumentKind.LEGISLATION.getBulkZipPath()),
-        getLatestWithPrefix(files, DocumentKind.LITERATURE.getBulkZipPath()));
+        List.of(
+            getDataSet(files, DocumentKind.ADMINISTRATIVE_DIRECTIVE, ZipDataSetSchema::admin),
+            getDataSet(files, DocumentKind.CASE_LAW, ZipDataSetSchema::caseLaw),
+            getDataSet(files, DocumentKind.LEGISLATION, ZipDataSetSchema::legislation),
+            getDataSet(files, DocumentKind.LITERATURE, ZipDataSetSchema::literature)));
+  }
+
+  private ZipDataSetSchema getDataSet(
+      List<String> files,
+      DocumentKind kind,
+      BiFunction<String, List<String>, ZipDataSetSchema> dataSet) {
+    Optional<SnapshotManifest> manifest = readManifest(kind);
+    if (manifest.isEmpty()) {
+      return dataSet.apply(getLatestWithPrefix(files, kind.getBulkZipPath()), List.of());
+    }
+    return dataSet.apply(
+        bucketUrl + manifest.get().base(),
+        manifest.get().deltas().stream().map(delta -> bucketUrl + delta.archive()).toList());
+  }
+
+  private Optional<SnapshotManifest> readManifest(DocumentKind kind) {
+    try {
+      String manifestKey = BulkExportService.getManifestKey(kind.getBulkZipPath());
+      Optional<String> content = publicFilesBucket.getFileAsString(manifestKey);
+      if (content.isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(objectMapper.readValue(content.get(), SnapshotManifest.class));
+    } catch (JsonProcessingException _) {
+      return Optional.empty();
+    }
   }
 
   private String getLatestWithPrefix(List<String> toFilter, String prefix) {
@@ -12,10 +12,14 @@ import de.bund.digitalservice.ris.search.models.DocumentKind;
 import de.bund.digitalservice.ris.search.models.api.parameters.ChangelogParams;
 import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationUnit;
 import de.bund.digitalservice.ris.search.repository.objectstorage.CaseLawBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
 import de.bund.digitalservice.ris.search.schema.CaseLawSchema;
 import de.bund.digitalservice.ris.search.schema.ChangelogResponse;
 import de.bund.digitalservice.ris.search.service.CaseLawService;
 import de.bund.digitalservice.ris.search.service.ChangelogService;
+import de.bund.digitalservice.ris.search.service.RenderedHtmlCache;
+import de.bund.digitalservice.ris.search.service.RenderedHtmlCache.RenderedHtml;
+import de.bund.digitalservice.ris.search.service.ZipArchiveCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -30,6 +34,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.HttpStatus;
@@ -63,21 +68,29 @@ public class CaseLawController {
   private final CaseLawService caseLawService;
   private final CaselawXsltTransformer caselawXsltTransformer;
   private final ChangelogService<CaseLawBucket> changelogService;
+  private final RenderedHtmlCache htmlCache;
+  private final ZipArchiveCache zipCache;
 
   /**
    * Constructor for the CaseLawController class.
    *
    * @param caseLawService the service layer responsible for case law operations
    * @param caselawXsltTransformer the case law xslt transformer
+   * @param htmlCache the cache of rendered decisions
+   * @param zipCache the cache of zip archives of decisions
    */
   @Autowired
   public CaseLawController(
       CaseLawService caseLawService,
       CaselawXsltTransformer caselawXsltTransformer,
-      ChangelogService<CaseLawBucket> changelogService) {
+      ChangelogService<CaseLawBucket> changelogService,
+      @Qualifier("caseLawHtmlCache") RenderedHtmlCache htmlCache,
+      @Qualifier("caseLawZipCache") ZipArchiveCache zipCache) {
     this.caseLawService = caseLawService;
     this.caselawXsltTransformer = caselawXsltTransformer;
     this.changelogService = changelogService;
+    this.htmlCache = htmlCache;
+    this.zipCache = zipCache;
   }
 
   /**
@@ -132,11 +145,15 @@ public class CaseLawController {
       @Parameter(example = "STRE201770751") @PathVariable String documentNumber)
       throws ObjectStoreServiceException {
     final String resourcePath = getResourceBasePath(documentNumber);
-    Optional<byte[]> bytes = caseLawService.getFileByDocumentNumber(documentNumber);
+    Optional<RenderedHtml> html =
+        htmlCache.getOrRender(
+            CaseLawService.getFileKey(documentNumber),
+            resourcePath,
+            () -> caseLawService.getFileByDocumentNumber(documentNumber),
+            bytes -> caselawXsltTransformer.transform(bytes, resourcePath));
 
-    if (bytes.isPresent()) {
-      String html = caselawXsltTransformer.transform(bytes.get(), resourcePath);
-      return ResponseEntity.ok(html);
+    if (html.isPresent()) {
+      return ResponseEntity.ok().eTag(html.get().eTag()).body(html.get().html());
     } else {
       return ResponseEntity.notFound().build();
     }
@@ -192,15 +209,18 @@ public class CaseLawController {
           String documentNumber) {
 
     String filename = documentNumber + ".zip";
-    List<String> keys = caseLawService.getAllFilenamesByDocumentNumber(documentNumber);
+    List<ObjectKeyInfo> files = caseLawService.getAllFileInfosByDocumentNumber(documentNumber);
 
-    if (keys.isEmpty()) {
+    if (files.isEmpty()) {
       return ResponseEntity.notFound().build();
     }
     return ResponseEntity.ok()
         .header(CONTENT_DISPOSITION, "attachment;filename=\"%s\"".formatted(filename))
         .contentType(MediaType.valueOf("application/zip"))
-        .body(outputStream -> caseLawService.writeZipArchive(keys, outputStream));
+        .body(
+            outputStream ->
+                zipCache.writeArchive(
+                    documentNumber, files, outputStream, caseLawService::writeZipArchive));
   }
 
   /**
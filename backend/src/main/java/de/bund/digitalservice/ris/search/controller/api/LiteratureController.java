@@ -20,6 +20,7 @@ import de.bund.digitalservice.ris.search.models.api.parameters.UniversalSearchPa
 import de.bund.digitalservice.ris.search.models.ldml.literature.LiteratureType;
 import de.bund.digitalservice.ris.search.models.opensearch.Literature;
 import de.bund.digitalservice.ris.search.repository.objectstorage.LiteratureBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
 import de.bund.digitalservice.ris.search.schema.ChangelogResponse;
 import de.bund.digitalservice.ris.search.schema.CollectionSchema;
 import de.bund.digitalservice.ris.search.schema.LiteratureSchema;
@@ -27,6 +28,8 @@ import de.bund.digitalservice.ris.search.schema.LiteratureSearchSchema;
 import de.bund.digitalservice.ris.search.schema.SearchMemberSchema;
 import de.bund.digitalservice.ris.search.service.ChangelogService;
 import de.bund.digitalservice.ris.search.service.LiteratureService;
+import de.bund.digitalservice.ris.search.service.RenderedHtmlCache;
+import de.bund.digitalservice.ris.search.service.ZipArchiveCache;
 import de.bund.digitalservice.ris.search.utils.LuceneQueryTools;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -40,6 +43,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.elasticsearch.UncategorizedElasticsearchException;
@@ -61,6 +65,8 @@ public class LiteratureController {
   private final LiteratureXsltTransformer xsltTransformer;
   private final SliLiteratureXsltTransformer sliXsltTransformer;
   private final ChangelogService<LiteratureBucket> changelogService;
+  private final RenderedHtmlCache htmlCache;
+  private final ZipArchiveCache zipCache;
 
   /**
    * Constructor for LiteratureController.
@@ -68,17 +74,23 @@ public class LiteratureController {
    * @param literatureService the service responsible for handling literature-related operations
    * @param literatureXsltTransformer the service responsible for performing XSLT transformations
    *     for literature
+   * @param htmlCache the cache of rendered literature items
+   * @param zipCache the cache of zip archives of literature items
    */
   @Autowired
   public LiteratureController(
       LiteratureService literatureService,
       LiteratureXsltTransformer literatureXsltTransformer,
       SliLiteratureXsltTransformer sliLiteratureXsltTransformer,
-      ChangelogService<LiteratureBucket> changelogService) {
+      ChangelogService<LiteratureBucket> changelogService,
+      @Qualifier("literatureHtmlCache") RenderedHtmlCache htmlCache,
+      @Qualifier("literatureZipCache") ZipArchiveCache zipCache) {
     this.literatureService = literatureService;
     this.xsltTransformer = literatureXsltTransformer;
     this.sliXsltTransformer = sliLiteratureXsltTransformer;
     this.changelogService = changelogService;
+    this.htmlCache = htmlCache;
+    this.zipCache = zipCache;
   }
 
   /**
@@ -130,9 +142,11 @@ public class LiteratureController {
       @Parameter(example = "BJLU075748788") @PathVariable String documentNumber)
       throws ObjectStoreServiceException {
 
-    return literatureService
-        .getFileByDocumentNumber(documentNumber)
-        .map(
+    return htmlCache
+        .getOrRender(
+            LiteratureService.getFileKey(documentNumber),
+            "",
+            () -> literatureService.getFileByDocumentNumber(documentNumber),
             file -> {
               switch (LiteratureType.getByDocumentNumber(documentNumber)) {
                 case SLI -> {
@@ -146,7 +160,7 @@ public class LiteratureController {
                 }
               }
             })
-        .map(ResponseEntity::ok)
+        .map(html -> ResponseEntity.ok().eTag(html.eTag()).body(html.html()))
         .orElseGet(() -> ResponseEntity.notFound().build());
   }
 
@@ -266,14 +280,17 @@ public class LiteratureController {
           String documentNumber) {
 
     String filename = documentNumber + ".zip";
-    List<String> keys = literatureService.getAllFilenamesByDocumentNumber(documentNumber);
+    List<ObjectKeyInfo> files = literatureService.getAllFileInfosByDocumentNumber(documentNumber);
 
-    if (keys.isEmpty()) {
+    if (files.isEmpty()) {
       return ResponseEntity.notFound().build();
     }
     return ResponseEntity.ok()
         .header(CONTENT_DISPOSITION, "attachment;filename=\"%s\"".formatted(filename))
         .contentType(MediaType.valueOf("application/zip"))
-        .body(outputStream -> literatureService.writeZipArchive(keys, outputStream));
+        .body(
+            outputStream ->
+                zipCache.writeArchive(
+                    documentNumber, files, outputStream, literatureService::writeZipArchive));
   }
 }
@@ -17,6 +17,7 @@ import de.bund.digitalservice.ris.search.models.api.parameters.PaginationParams;
 import de.bund.digitalservice.ris.search.models.api.parameters.UniversalSearchParams;
 import de.bund.digitalservice.ris.search.models.opensearch.Norm;
 import de.bund.digitalservice.ris.search.repository.objectstorage.NormsBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
 import de.bund.digitalservice.ris.search.schema.ChangelogResponse;
 import de.bund.digitalservice.ris.search.schema.CollectionSchema;
 import de.bund.digitalservice.ris.search.schema.LegislationExpressionSchema;
@@ -25,6 +26,9 @@ import de.bund.digitalservice.ris.search.schema.SearchMemberSchema;
 import de.bund.digitalservice.ris.search.service.ArticleService;
 import de.bund.digitalservice.ris.search.service.ChangelogService;
 import de.bund.digitalservice.ris.search.service.NormsService;
+import de.bund.digitalservice.ris.search.service.RenderedHtmlCache;
+import de.bund.digitalservice.ris.search.service.RenderedHtmlCache.RenderedHtml;
+import de.bund.digitalservice.ris.search.service.ZipArchiveCache;
 import de.bund.digitalservice.ris.search.service.xslt.NormXsltTransformerService;
 import de.bund.digitalservice.ris.search.utils.LuceneQueryTools;
 import de.bund.digitalservice.ris.search.utils.eli.ExpressionEli;
@@ -44,6 +48,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.elasticsearch.UncategorizedElasticsearchException;
@@ -85,23 +90,31 @@ public class NormsController {
   private final ArticleService articleService;
   private final NormXsltTransformerService xsltTransformerService;
   private final ChangelogService<NormsBucket> changelogService;
+  private final RenderedHtmlCache htmlCache;
+  private final ZipArchiveCache zipCache;
 
   /**
    * Constructor for the NormsController class.
    *
    * @param normsService the service responsible for handling norms-related operations
    * @param xsltTransformerService the service responsible for transforming norms using XSLT
+   * @param htmlCache the cache of rendered norms and articles
+   * @param zipCache the cache of zip archives of norm manifestations
    */
   @Autowired
   public NormsController(
       NormsService normsService,
       ArticleService articleService,
       NormXsltTransformerService xsltTransformerService,
-      ChangelogService<NormsBucket> changelogService) {
+      ChangelogService<NormsBucket> changelogService,
+      @Qualifier("normsHtmlCache") RenderedHtmlCache htmlCache,
+      @Qualifier("normsZipCache") ZipArchiveCache zipCache) {
     this.normsService = normsService;
     this.articleService = articleService;
     this.xsltTransformerService = xsltTransformerService;
     this.changelogService = changelogService;
+    this.htmlCache = htmlCache;
+    this.zipCache = zipCache;
   }
 
   /**
@@ -335,12 +348,15 @@ public class NormsController {
             pointInTimeManifestation,
             subtype,
             "xml");
-    final Optional<byte[]> normFileByEli = normsService.getNormFileByEli(eli);
-    if (normFileByEli.isPresent()) {
-      final String body =
-          xsltTransformerService.transformNorm(
-              normFileByEli.get(), language, resourceBasePath, subtype);
-      return ResponseEntity.ok(body);
+    final Optional<RenderedHtml> html =
+        htmlCache.getOrRender(
+            eli.toString(),
+            resourceBasePath,
+            () -> normsService.getNormFileByEli(eli),
+            bytes ->
+                xsltTransformerService.transformNorm(bytes, language, resourceBasePath, subtype));
+    if (html.isPresent()) {
+      return ResponseEntity.ok().eTag(html.get().eTag()).body(html.get().html());
     } else {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(HTML_FILE_NOT_FOUND);
     }
@@ -483,15 +499,17 @@ public class NormsController {
 
     String fileName = prefix + ".zip";
 
-    List<String> keys = normsService.getAllFilenamesByPath(prefix);
+    List<ObjectKeyInfo> files = normsService.getAllFileInfosByPath(prefix);
 
-    if (keys.isEmpty()) {
+    if (files.isEmpty()) {
       return ResponseEntity.notFound().build();
     }
     return ResponseEntity.ok()
         .header(CONTENT_DISPOSITION, "attachment;filename=\"%s\"".formatted(fileName))
         .contentType(MediaType.valueOf("application/zip"))
-        .body(outputStream -> normsService.writeZipArchive(keys, outputStream));
+        .body(
+            outputStream ->
+                zipCache.writeArchive(prefix, files, outputStream, normsService::writeZipArchive));
   }
 
   /**
@@ -577,13 +595,17 @@ public class NormsController {
               pointInTimeManifestation,
               subtype,
               "xml");
-      Optional<byte[]> normFileByEli = normsService.getNormFileByEli(manifestationEli);
-
-      if (normFileByEli.isPresent()) {
-        String transformed =
-            xsltTransformerService.transformArticle(
-                normFileByEli.get(), actualEid.get(), resourceBasePath);
-        return ResponseEntity.ok(transformed);
+      Optional<RenderedHtml> html =
+          htmlCache.getOrRender(
+              manifestationEli.toString(),
+              actualEid.get() + "\n" + resourceBasePath,
+              () -> normsService.getNormFileByEli(manifestationEli),
+              bytes ->
+                  xsltTransformerService.transformArticle(
+                      bytes, actualEid.get(), resourceBasePath));
+
+      if (html.isPresent()) {
+        return ResponseEntity.ok().eTag(html.get().eTag()).body(html.get().html());
       }
     }
     return ResponseEntity.notFound().build();
@@ -1,6 +1,7 @@
 package de.bund.digitalservice.ris.search.mapper;
 
 import de.bund.digitalservice.ris.search.exception.OpenSearchMapperException;
+import de.bund.digitalservice.ris.search.models.ldml.LdmlBindings;
 import de.bund.digitalservice.ris.search.models.ldml.MainBody;
 import de.bund.digitalservice.ris.search.models.ldml.directive.ActiveReference;
 import de.bund.digitalservice.ris.search.models.ldml.directive.AdministrativeDirectiveLdml;
@@ -22,16 +23,14 @@ import de.bund.digitalservice.ris.search.models.ldml.directive.Proprietary;
 import de.bund.digitalservice.ris.search.models.ldml.directive.RisMeta;
 import de.bund.digitalservice.ris.search.models.opensearch.AdministrativeDirective;
 import jakarta.xml.bind.DataBindingException;
-import jakarta.xml.bind.JAXB;
 import jakarta.xml.bind.ValidationException;
-import java.io.StringReader;
+import java.io.InputStream;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import javax.xml.transform.stream.StreamSource;
 import org.eclipse.persistence.exceptions.DescriptorException;
 import org.jspecify.annotations.Nullable;
 
@@ -102,8 +101,25 @@ public class AdministrativeDirectiveLdmlToOpenSearchMapper {
    */
   public static AdministrativeDirective map(String ldmlString, Instant now) {
     try {
-      StreamSource ldmlStreamSource = new StreamSource(new StringReader(ldmlString));
-      var ldml = JAXB.unmarshal(ldmlStreamSource, AdministrativeDirectiveLdml.class);
+      var ldml = LdmlBindings.unmarshal(ldmlString, AdministrativeDirectiveLdml.class);
+      return map(ldml, now);
+    } catch (DescriptorException | DataBindingException e) {
+      throw new OpenSearchMapperException("unable to parse file to administrative directive", e);
+    }
+  }
+
+  /**
+   * Maps a stream of an LDML document to an {@code AdministrativeDirective}, without reading the
+   * whole document into memory first.
+   *
+   * @param ldmlStream the stream of the LDML document, not closed by this method
+   * @param now the timestamp to be associated with the mapping process
+   * @return the mapped {@code AdministrativeDirective} object
+   * @throws OpenSearchMapperException if the LDML cannot be parsed or mapped
+   */
+  public static AdministrativeDirective map(InputStream ldmlStream, Instant now) {
+    try {
+      var ldml = LdmlBindings.unmarshal(ldmlStream, AdministrativeDirectiveLdml.class);
       return map(ldml, now);
     } catch (DescriptorException | DataBindingException e) {
       throw new OpenSearchMapperException("unable to parse file to administrative directive", e);
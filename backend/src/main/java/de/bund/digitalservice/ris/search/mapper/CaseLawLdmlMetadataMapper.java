@@ -0,0 +1,164 @@
+package de.bund.digitalservice.ris.search.mapper;
+
+import de.bund.digitalservice.ris.search.models.ldml.caselaw.CaseLawLdmlNamespaces;
+import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationUnit;
+import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the metadata the ECLI crawler needs from a case law LDML: the document number, the ECLI,
+ * the court type and the decision date. Unlike {@link CaseLawLdmlToOpenSearchMapper}, the LDML is
+ * not unmarshalled; a single StAX pass picks up the few values from the meta and stops at the
+ * judgment body, which makes up most of the file.
+ *
+ * <p>A file only yields metadata if it has the elements {@link CaseLawLdmlToOpenSearchMapper}
+ * requires, so the crawler never links to a decision which can't be indexed.
+ */
+public final class CaseLawLdmlMetadataMapper {
+
+  private static final String AKN = CaseLawLdmlNamespaces.AKN_NS;
+  private static final String RIS = CaseLawLdmlNamespaces.RIS_NS;
+
+  private static final String JUDGMENT = "akn:akomaNtoso/akn:judgment";
+  private static final String WORK = JUDGMENT + "/akn:meta/akn:identification/akn:FRBRWork";
+  private static final String RIS_META = JUDGMENT + "/akn:meta/akn:proprietary/ris:meta";
+  private static final String COURT = RIS_META + "/ris:gericht";
+
+  private CaseLawLdmlMetadataMapper() {}
+
+  /**
+   * Reads the metadata of a case law LDML.
+   *
+   * @param ldmlFile the content of the LDML file
+   * @return a {@link CaseLawDocumentationUnit} with only the document number, ECLI, court type and
+   *     decision date set, or an empty {@code Optional} if the file isn't well-formed or misses
+   *     mandatory elements
+   */
+  public static Optional<CaseLawDocumentationUnit> mapEcliMetadata(byte[] ldmlFile) {
+    Pass pass = new Pass();
+    try {
+      XMLStreamReader reader =
+          newInputFactory().createXMLStreamReader(new ByteArrayInputStream(ldmlFile));
+      try {
+        pass.read(reader);
+      } finally {
+        reader.close();
+      }
+      return pass.toUnit();
+    } catch (XMLStreamException | DateTimeParseException _) {
+      return Optional.empty();
+    }
+  }
+
+  private static XMLInputFactory newInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  /** The values collected while reading one file. Like JAXB, a repeated element overwrites. */
+  private static final class Pass {
+    private final List<String> path = new ArrayList<>();
+    private String documentNumber;
+    private String ecli;
+    private String decisionDate;
+    private StringBuilder courtType;
+    private int courtTypeDepth = -1;
+    private boolean hasFileNumber;
+    private boolean hasDocumentType;
+    private boolean hasCourt;
+    private boolean hasShortTitle;
+    private boolean hasJudgmentBody;
+
+    private void read(XMLStreamReader reader) throws XMLStreamException {
+      while (reader.hasNext() && !hasJudgmentBody) {
+        switch (reader.next()) {
+          case XMLStreamConstants.START_ELEMENT -> startElement(reader);
+          case XMLStreamConstants.END_ELEMENT -> {
+            if (path.size() == courtTypeDepth) {
+              courtTypeDepth = -1;
+            }
+            path.removeLast();
+          }
+          case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+            if (path.size() == courtTypeDepth) {
+              courtType.append(reader.getText());
+            }
+          }
+          default -> {
+            // comments, processing instructions and whitespace carry no metadata
+          }
+        }
+      }
+    }
+
+    private void startElement(XMLStreamReader reader) {
+      path.add(prefix(reader.getNamespaceURI()) + reader.getLocalName());
+      switch (currentPath()) {
+        case WORK + "/akn:FRBRthis" -> documentNumber = reader.getAttributeValue(null, "value");
+        case WORK + "/akn:FRBRalias" -> {
+          if (ecli == null && "ecli".equals(reader.getAttributeValue(null, "name"))) {
+            ecli = reader.getAttributeValue(null, "value");
+          }
+        }
+        case WORK + "/akn:FRBRdate" -> decisionDate = reader.getAttributeValue(null, "date");
+        case RIS_META + "/ris:aktenzeichenListe/ris:aktenzeichen" -> hasFileNumber = true;
+        case RIS_META + "/ris:dokumenttyp" -> hasDocumentType = true;
+        case COURT -> hasCourt = true;
+        case COURT + "/ris:gerichtstyp" -> {
+          courtType = new StringBuilder();
+          courtTypeDepth = path.size();
+        }
+        case JUDGMENT + "/akn:header/akn:p/akn:shortTitle" -> hasShortTitle = true;
+        case JUDGMENT + "/akn:judgmentBody" -> hasJudgmentBody = true;
+        default -> {
+          // not part of the metadata
+        }
+      }
+    }
+
+    private static String prefix(String namespace) {
+      if (AKN.equals(namespace)) {
+        return "akn:";
+      }
+      return RIS.equals(namespace) ? "ris:" : "?:";
+    }
+
+    private String currentPath() {
+      return String.join("/", path);
+    }
+
+    private Optional<CaseLawDocumentationUnit> toUnit() {
+      if (documentNumber == null
+          || decisionDate == null
+          || decisionDate.isBlank()
+          || !hasFileNumber
+          || !hasDocumentType
+          || !hasCourt
+          || courtType == null
+          || !hasShortTitle
+          || !hasJudgmentBody) {
+        return Optional.empty();
+      }
+      return Optional.of(
+          CaseLawDocumentationUnit.builder()
+              .id(documentNumber)
+              .documentNumber(documentNumber)
+              .ecli(ecli)
+              .courtType(courtType.toString())
+              .decisionDate(LocalDate.parse(decisionDate))
+              .build());
+    }
+  }
+}
@@ -4,6 +4,7 @@ import static de.bund.digitalservice.ris.search.utils.MappingUtils.validate;
 import static de.bund.digitalservice.ris.search.utils.MappingUtils.validateNotNull;
 
 import de.bund.digitalservice.ris.search.exception.OpenSearchMapperException;
+import de.bund.digitalservice.ris.search.models.ldml.LdmlBindings;
 import de.bund.digitalservice.ris.search.models.ldml.caselaw.AknKeyword;
 import de.bund.digitalservice.ris.search.models.ldml.caselaw.Analysis;
 import de.bund.digitalservice.ris.search.models.ldml.caselaw.CaseLawLdml;
@@ -24,10 +25,8 @@ import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationU
 import de.bund.digitalservice.ris.search.utils.DateUtils;
 import de.bund.digitalservice.ris.search.utils.MappingUtils;
 import jakarta.xml.bind.DataBindingException;
-import jakarta.xml.bind.JAXB;
 import jakarta.xml.bind.ValidationException;
-import java.io.ByteArrayInputStream;
-import java.io.StringReader;
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
@@ -35,7 +34,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
-import javax.xml.transform.stream.StreamSource;
 import org.eclipse.persistence.exceptions.DescriptorException;
 import org.springframework.stereotype.Service;
 
@@ -122,8 +120,7 @@ public class CaseLawLdmlToOpenSearchMapper {
    */
   public CaseLawDocumentationUnit fromString(String ldmlFile) {
     try {
-      StreamSource ldmlStreamSource = new StreamSource(new StringReader(ldmlFile));
-      CaseLawLdml ldml = JAXB.unmarshal(ldmlStreamSource, CaseLawLdml.class);
+      CaseLawLdml ldml = LdmlBindings.unmarshal(ldmlFile, CaseLawLdml.class);
 
       return mapToEntity(ldml);
     } catch (DescriptorException | DataBindingException | ValidationException e) {
@@ -141,8 +138,26 @@ public class CaseLawLdmlToOpenSearchMapper {
    */
   public CaseLawDocumentationUnit fromByteArray(byte[] ldmlFile) {
     try {
-      StreamSource ldmlStreamSource = new StreamSource(new ByteArrayInputStream(ldmlFile));
-      CaseLawLdml ldml = JAXB.unmarshal(ldmlStreamSource, CaseLawLdml.class);
+      CaseLawLdml ldml = LdmlBindings.unmarshal(ldmlFile, CaseLawLdml.class);
+
+      return mapToEntity(ldml);
+    } catch (DescriptorException | DataBindingException | ValidationException e) {
+      throw new OpenSearchMapperException("unable to parse file to DocumentationUnit", e);
+    }
+  }
+
+  /**
+   * Converts a given LDML file content stream into a {@link CaseLawDocumentationUnit}, without
+   * reading the whole file into memory first.
+   *
+   * @param ldmlFile the stream of the LDML file to be converted, not closed by this method
+   * @return a {@link CaseLawDocumentationUnit} instance created from the provided LDML file
+   * @throws OpenSearchMapperException if the LDML file cannot be parsed into a {@link
+   *     CaseLawDocumentationUnit}
+   */
+  public CaseLawDocumentationUnit fromInputStream(InputStream ldmlFile) {
+    try {
+      CaseLawLdml ldml = LdmlBindings.unmarshal(ldmlFile, CaseLawLdml.class);
 
       return mapToEntity(ldml);
     } catch (DescriptorException | DataBindingException | ValidationException e) {
@@ -1,5 +1,6 @@
 package de.bund.digitalservice.ris.search.mapper;
 
+import de.bund.digitalservice.ris.search.models.SearchCursor;
 import de.bund.digitalservice.ris.search.models.opensearch.AdministrativeDirective;
 import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationUnit;
 import de.bund.digitalservice.ris.search.models.opensearch.Literature;
@@ -10,7 +11,9 @@ import de.bund.digitalservice.ris.search.schema.PartialCollectionViewSchema;
 import de.bund.digitalservice.ris.search.schema.SearchMemberSchema;
 import de.bund.digitalservice.ris.search.schema.TextMatchSchema;
 import java.util.List;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.SearchPage;
 
 /**
@@ -89,4 +92,36 @@ public class DocumentResponseMapper {
         .view(view)
         .build();
   }
+
+  /**
+   * Converts a page of a search paged with cursors into a CollectionSchema. The identifier of the
+   * collection is the link to the page, and its view links to the next page.
+   *
+   * @param <T> The type of the content within the search hits.
+   * @param searchHits The hits of the page.
+   * @param cursor The token of the cursor the page was requested with.
+   * @param nextCursor The cursor of the next page, or null if this is the last page.
+   * @param size The size of the pages.
+   * @param path The base path used to build the links of the collection.
+   * @return A CollectionSchema containing the mapped hits, the total number of matches and the
+   *     links to the first and next page.
+   */
+  public static <T> CollectionSchema<SearchMemberSchema<AbstractDocumentSchema>> fromCursorPage(
+      final SearchHits<T> searchHits,
+      String cursor,
+      @Nullable SearchCursor nextCursor,
+      int size,
+      String path) {
+    String id = String.format("%s?cursor=%s&size=%d", path, cursor, size);
+    PartialCollectionViewSchema view =
+        PartialCollectionViewMapper.fromCursor(
+            path, size, nextCursor != null ? nextCursor.encode() : null);
+
+    return CollectionSchema.<SearchMemberSchema<AbstractDocumentSchema>>builder()
+        .id(id)
+        .totalItems(searchHits.getTotalHits())
+        .member(searchHits.stream().map(DocumentResponseMapper::convertSingle).toList())
+        .view(view)
+        .build();
+  }
 }
@@ -0,0 +1,30 @@
+package de.bund.digitalservice.ris.search.mapper;
+
+import de.bund.digitalservice.ris.search.models.ldml.LdmlBindings;
+import jakarta.xml.bind.DataBindingException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the JAXB contexts of all LDML documents before the application accepts traffic, so the
+ * first indexed or requested documents don't have to wait for it. Import tasks build the contexts
+ * they need on first use.
+ */
+@Component
+public class LdmlBindingsWarmUp {
+
+  private static final Logger logger = LogManager.getLogger(LdmlBindingsWarmUp.class);
+
+  /** Builds the context of every LDML type. A failure is logged and not fatal. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    try {
+      LdmlBindings.warmUp();
+    } catch (DataBindingException e) {
+      logger.error("Failed to build the JAXB contexts of the LDML documents", e);
+    }
+  }
+}
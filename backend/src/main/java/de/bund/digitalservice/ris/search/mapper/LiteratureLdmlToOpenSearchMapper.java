@@ -5,6 +5,7 @@ import de.bund.digitalservice.ris.search.models.ldml.FrbrExpression;
 import de.bund.digitalservice.ris.search.models.ldml.FrbrLanguage;
 import de.bund.digitalservice.ris.search.models.ldml.FrbrNameValueElement;
 import de.bund.digitalservice.ris.search.models.ldml.FrbrWork;
+import de.bund.digitalservice.ris.search.models.ldml.LdmlBindings;
 import de.bund.digitalservice.ris.search.models.ldml.MainBody;
 import de.bund.digitalservice.ris.search.models.ldml.literature.uli.Analysis;
 import de.bund.digitalservice.ris.search.models.ldml.literature.uli.Doc;
@@ -22,16 +23,14 @@ import de.bund.digitalservice.ris.search.models.ldml.literature.uli.TlcOrganizat
 import de.bund.digitalservice.ris.search.models.ldml.literature.uli.TlcPerson;
 import de.bund.digitalservice.ris.search.models.opensearch.Literature;
 import jakarta.xml.bind.DataBindingException;
-import jakarta.xml.bind.JAXB;
 import jakarta.xml.bind.ValidationException;
-import java.io.StringReader;
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
-import javax.xml.transform.stream.StreamSource;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.persistence.exceptions.DescriptorException;
 
@@ -68,8 +67,25 @@ public class LiteratureLdmlToOpenSearchMapper {
    */
   public static Literature mapLdml(String ldmlString) {
     try {
-      StreamSource ldmlStreamSource = new StreamSource(new StringReader(ldmlString));
-      var literatureLdml = JAXB.unmarshal(ldmlStreamSource, LiteratureLdml.class);
+      var literatureLdml = LdmlBindings.unmarshal(ldmlString, LiteratureLdml.class);
+      return mapToEntity(literatureLdml);
+    } catch (DescriptorException | DataBindingException | ValidationException e) {
+      throw new OpenSearchMapperException("unable to parse file to Literature", e);
+    }
+  }
+
+  /**
+   * Maps a stream of an LDML literature document to a {@code Literature} record, without reading
+   * the whole document into memory first.
+   *
+   * @param ldml the stream of the LDML document, not closed by this method
+   * @return an instance of {@link Literature} containing the mapped data from the input LDML
+   * @throws OpenSearchMapperException if the LDML cannot be parsed or mapped to a {@code
+   *     Literature} entity
+   */
+  public static Literature mapLdml(InputStream ldml) {
+    try {
+      var literatureLdml = LdmlBindings.unmarshal(ldml, LiteratureLdml.class);
       return mapToEntity(literatureLdml);
     } catch (DescriptorException | DataBindingException | ValidationException e) {
       throw new OpenSearchMapperException("unable to parse file to Literature", e);
@@ -0,0 +1,910 @@
+package de.bund.digitalservice.ris.search.mapper;
+
+import static de.bund.digitalservice.ris.search.utils.MappingUtils.cleanText;
+
+import de.bund.digitalservice.ris.search.models.Attachment;
+import de.bund.digitalservice.ris.search.models.ldml.TimeInterval;
+import de.bund.digitalservice.ris.search.models.opensearch.Article;
+import de.bund.digitalservice.ris.search.models.opensearch.Norm;
+import de.bund.digitalservice.ris.search.models.opensearch.TableOfContentsItem;
+import jakarta.xml.bind.ValidationException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Streaming counterpart of the DOM based mapping in {@link NormLdmlToOpenSearchMapper}. The norm,
+ * its articles, the table of contents and the footnotes are extracted in a single StAX pass over
+ * the LDML, instead of building a DOM and evaluating dozens of XPath expressions on it. Only the
+ * text of the elements that end up in the norm is kept while reading.
+ *
+ * <p>The DOM based mapping is the reference: every extraction below mirrors the XPath expression
+ * it replaces, including which element wins if there are several and how text nodes are joined.
+ */
+final class NormLdmlStreamingMapper {
+
+  private static final Logger logger = LogManager.getLogger(NormLdmlStreamingMapper.class);
+
+  private static final String AKN = "http://Inhaltsdaten.LegalDocML.de/1.8.2/";
+  private static final String RIS = "http://MetadatenRIS.LegalDocML.de/1.8.2/";
+
+  private NormLdmlStreamingMapper() {}
+
+  /**
+   * Maps a norm LDML and its attachments to a {@link Norm}, like {@code
+   * NormLdmlToOpenSearchMapper.parseNorm} does with a DOM.
+   *
+   * @param xmlFile the content of the regelungstext
+   * @param attachmentFileContents the contents of the attachments by their manifestation ELI
+   * @param isPrototype whether the norms sort date is the date of the Ausfertigung
+   * @return the norm
+   * @throws XMLStreamException if the LDML isn't well-formed
+   * @throws ValidationException if a formula has no eId
+   * @throws IllegalArgumentException if a mandatory ELI or the abbreviation is missing
+   * @throws IllegalStateException if the norm is gegenstandslos or bedingt in Kraft
+   */
+  static Norm map(byte[] xmlFile, Map<String, String> attachmentFileContents, boolean isPrototype)
+      throws XMLStreamException, ValidationException {
+    NormPass ldml = new NormPass();
+    ldml.read(new ByteArrayInputStream(xmlFile));
+
+    NormLdmlToOpenSearchMapper.requireNotBedingtInkraftAndNotGegenstandslos(
+        ldml.gegenstandslos, ldml.bedingtesInkrafttreten);
+
+    String workEli = requireNonBlank(ldml.workUri, "Work-Eli must exist");
+    String expressionEli = requireNonBlank(ldml.expressionUri, "Expression-Eli must exist");
+    String manifestationEli =
+        requireNonBlank(ldml.manifestationThis, "Manifestation-Eli must exist");
+    String risAbbreviation =
+        requireNonBlank(text(ldml.risAbbreviation), "Norm must have ris-abbreviation");
+    String abbreviation = isNotBlank(ldml.abbreviation) ? ldml.abbreviation : risAbbreviation;
+
+    List<Attachment> attachments =
+        parseAttachments(ldml.attachmentReferences, attachmentFileContents);
+
+    String indexedAt = Instant.now().toString();
+
+    List<Article> articles =
+        getArticles(ldml, attachments, abbreviation, workEli, expressionEli, indexedAt);
+    List<String> articleNames = articles.stream().map(Article::getName).toList();
+    List<String> articleTexts = articles.stream().map(Article::getText).toList();
+    String officialToc = NormLdmlToOpenSearchMapper.cleanOfficialToc(text(ldml.officialToc));
+    List<TableOfContentsItem> tableOfContents =
+        NormLdmlToOpenSearchMapper.joinTableOfContents(
+            formulaTableOfContents(ldml.preambleFormula, "Eingangsformel"),
+            getMainTableOfContents(ldml, expressionEli),
+            formulaTableOfContents(ldml.conclusionsFormula, "Schlussformel"),
+            attachments);
+
+    LocalDate entryIntoForceDate = NormLdmlToOpenSearchMapper.toLocalDate(ldml.entryIntoForce);
+    LocalDate expiryDate = NormLdmlToOpenSearchMapper.toLocalDate(ldml.expiry);
+    LocalDate legislationDate = NormLdmlToOpenSearchMapper.toLocalDate(ldml.ausfertigungDate);
+    LocalDate datePublished = NormLdmlToOpenSearchMapper.toLocalDate(ldml.workDate);
+    LocalDate normsSortDate = isPrototype ? legislationDate : entryIntoForceDate;
+
+    return Norm.builder()
+        .id(expressionEli)
+        .tableOfContents(tableOfContents)
+        .workEli(workEli)
+        .expressionEli(expressionEli)
+        .manifestationEliExample(manifestationEli)
+        .officialTitle(NormLdmlToOpenSearchMapper.cleanOfficialTitle(ldml.docTitle))
+        .officialShortTitle(NormLdmlToOpenSearchMapper.cleanOfficialShortTitle(ldml.shortTitle))
+        .officialAbbreviation(abbreviation)
+        .risAbbreviation(risAbbreviation)
+        .normsDate(legislationDate)
+        .normsSortDate(normsSortDate)
+        .datePublished(datePublished)
+        .publishedIn(
+            NormLdmlToOpenSearchMapper.getPublishedIn(
+                ldml.workName, ldml.workNumber, datePublished))
+        .entryIntoForceDate(entryIntoForceDate)
+        .expiryDate(expiryDate)
+        .fullCitation(text(ldml.fullCitation))
+        .officialToc(officialToc)
+        .articles(articles)
+        .articleNames(articleNames)
+        .articleTexts(articleTexts)
+        .officialFootNotes(
+            NormLdmlToOpenSearchMapper.joinOfficialFootNotes(
+                joinCleaned(ldml.officialFootNotes), attachments))
+        .indexedAt(indexedAt)
+        .build();
+  }
+
+  private static List<Article> getArticles(
+      NormPass ldml,
+      List<Attachment> attachments,
+      String abbreviation,
+      String workEli,
+      String expressionEli,
+      String indexedAt)
+      throws ValidationException {
+    Map<String, TimeInterval> temporalGroupsWithDates = getTemporalGroupsWithDates(ldml);
+
+    List<Article> articles = new ArrayList<>();
+    if (ldml.preambleFormula != null) {
+      articles.add(
+          NormLdmlToOpenSearchMapper.getFormulaAsArticle(
+              ldml.preambleFormula.eId,
+              ldml.preambleFormula.text.toString(),
+              "Eingangsformel",
+              indexedAt,
+              workEli,
+              expressionEli));
+    }
+    for (ArticleDraft draft : ldml.articles) {
+      articles.add(
+          draft.toArticle(
+              temporalGroupsWithDates, abbreviation, workEli, expressionEli, indexedAt));
+    }
+    if (ldml.conclusionsFormula != null) {
+      articles.add(
+          NormLdmlToOpenSearchMapper.getFormulaAsArticle(
+              ldml.conclusionsFormula.eId,
+              ldml.conclusionsFormula.text.toString(),
+              "Schlussformel",
+              indexedAt,
+              workEli,
+              expressionEli));
+    }
+    articles.addAll(
+        NormLdmlToOpenSearchMapper.getAttachmentsAsArticles(
+            attachments, workEli, expressionEli, indexedAt));
+    return articles;
+  }
+
+  /** Mirrors {@code LdmlTemporalData.getTemporalDataWithDatesMapping}. */
+  private static Map<String, TimeInterval> getTemporalGroupsWithDates(NormPass ldml) {
+    // throws on duplicate eIds, like the DOM based mapping does
+    Map<String, String> eventRefs =
+        ldml.eventRefs.stream().collect(Collectors.toMap(EventRef::eId, EventRef::date));
+    Map<String, TimeInterval> temporalGroups = new HashMap<>();
+    for (TemporalGroup temporalGroup : ldml.temporalGroups) {
+      if (temporalGroup.hasTimeInterval) {
+        String start = eventRefs.get(temporalGroup.start.replace("#", ""));
+        String end = eventRefs.get(temporalGroup.end.replace("#", ""));
+        temporalGroups.put(
+            String.format("#%s", temporalGroup.eId),
+            new TimeInterval(start, (end != null && !end.isEmpty()) ? end : null));
+      }
+    }
+    return temporalGroups;
+  }
+
+  private static List<TableOfContentsItem> getMainTableOfContents(
+      NormPass ldml, String expressionEli) {
+    if (ldml.bodyTableOfContents == null) {
+      logger.warn("Error finding body of Norm {}", expressionEli);
+      return List.of();
+    }
+    return ldml.bodyTableOfContents;
+  }
+
+  private static List<TableOfContentsItem> formulaTableOfContents(
+      @Nullable Formula formula, String heading) {
+    if (formula == null) {
+      return List.of();
+    }
+    return List.of(
+        new TableOfContentsItem(Objects.requireNonNull(formula.eId), "", heading, List.of()));
+  }
+
+  /** Mirrors {@link NormAttachmentMapper#parseAttachments}. */
+  private static List<Attachment> parseAttachments(
+      List<AttachmentReference> references, Map<String, String> attachmentFiles) {
+    List<Attachment> attachments = new ArrayList<>();
+    for (AttachmentReference reference : references) {
+      String eId = Objects.requireNonNull(reference.eId, "attachment without eId");
+      if (reference.href == null) {
+        logger.error("Error parsing attachments, attachment {} has no documentRef href", eId);
+        continue;
+      }
+      String attachmentFile = attachmentFiles.get(reference.href);
+      if (attachmentFile == null) {
+        continue;
+      }
+      try {
+        AttachmentPass attachment = new AttachmentPass();
+        attachment.read(attachmentFile);
+        if (!attachment.hasDocTitle) {
+          logger.error("Error parsing attachments, {} has no akn:docTitle", reference.href);
+          continue;
+        }
+        attachments.add(
+            Attachment.builder()
+                .marker(text(attachment.marker))
+                .docTitle(text(attachment.reference))
+                .eId(eId)
+                .textContent(joinCleaned(List.of(attachment.mainBodyText)))
+                .manifestationEli(reference.href)
+                .officialFootNotes(joinCleaned(attachment.officialFootNotes))
+                .build());
+      } catch (XMLStreamException e) {
+        logger.error("Error parsing attachments", e);
+      }
+    }
+    return attachments;
+  }
+
+  private static String requireNonBlank(@Nullable String value, String errorMessage) {
+    if (!isNotBlank(value)) {
+      throw new IllegalArgumentException(errorMessage);
+    }
+    return value;
+  }
+
+  private static boolean isNotBlank(@Nullable String value) {
+    return value != null && !value.isBlank();
+  }
+
+  private static @Nullable String text(@Nullable StringBuilder text) {
+    return text == null ? null : text.toString();
+  }
+
+  /** Joins text contents like {@code XmlDocument.extractCleanedText} does. */
+  private static String joinCleaned(List<StringBuilder> texts) {
+    return texts.stream()
+        .map(StringBuilder::toString)
+        .collect(Collectors.joining(" "))
+        .replaceAll("\\s+", " ")
+        .trim();
+  }
+
+  /**
+   * An element that is being read, with the buffers that the text of its subtree and its direct
+   * text children go to.
+   */
+  private static final class Frame {
+    private final @Nullable Frame parent;
+    private final int depth;
+    private final String namespace;
+    private final String localName;
+    private final String qualifiedName;
+    private final @Nullable String refersTo;
+    private final int subtreeTextBuffersMark;
+    private List<StringBuilder> directTextBuffers = List.of();
+    private List<Runnable> endActions = List.of();
+
+    private Frame(
+        @Nullable Frame parent,
+        String namespace,
+        String localName,
+        String qualifiedName,
+        @Nullable String refersTo,
+        int subtreeTextBuffersMark) {
+      this.parent = parent;
+      this.depth = parent == null ? 1 : parent.depth + 1;
+      this.namespace = namespace;
+      this.localName = localName;
+      this.qualifiedName = qualifiedName;
+      this.refersTo = refersTo;
+      this.subtreeTextBuffersMark = subtreeTextBuffersMark;
+    }
+
+    private boolean is(String namespace, String localName) {
+      return this.localName.equals(localName) && this.namespace.equals(namespace);
+    }
+
+    private boolean hasParent(String localName) {
+      return parent != null && parent.localName.equals(localName);
+    }
+
+    /** Whether the element is at the given absolute path of AKN elements. */
+    private boolean isAt(String... path) {
+      if (depth != path.length) {
+        return false;
+      }
+      Frame frame = this;
+      for (int i = path.length - 1; i >= 0; i--) {
+        if (!frame.is(AKN, path[i])) {
+          return false;
+        }
+        frame = frame.parent;
+      }
+      return true;
+    }
+
+    private boolean isChildOf(String... path) {
+      return parent != null && parent.isAt(path);
+    }
+
+    private void addDirectTextBuffer(StringBuilder buffer) {
+      if (directTextBuffers.isEmpty()) {
+        directTextBuffers = new ArrayList<>(1);
+      }
+      directTextBuffers.add(buffer);
+    }
+
+    private void atEnd(Runnable action) {
+      if (endActions.isEmpty()) {
+        endActions = new ArrayList<>(1);
+      }
+      endActions.add(action);
+    }
+  }
+
+  /** A single pass over an XML document, keeping track of the elements that are being read. */
+  private abstract static class Pass {
+    private final List<StringBuilder> subtreeTextBuffers = new ArrayList<>();
+    private @Nullable Frame current;
+
+    void read(String xml) throws XMLStreamException {
+      read(newInputFactory().createXMLStreamReader(new StringReader(xml)));
+    }
+
+    void read(InputStream xml) throws XMLStreamException {
+      read(newInputFactory().createXMLStreamReader(xml));
+    }
+
+    private static XMLInputFactory newInputFactory() {
+      XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+      factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+      // text nodes of the DOM are never split, neither are the text events here
+      factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+      factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+      factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+      return factory;
+    }
+
+    private void read(XMLStreamReader reader) throws XMLStreamException {
+      try {
+        while (reader.hasNext()) {
+          switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT -> startElement(reader);
+            case XMLStreamConstants.CHARACTERS,
+                XMLStreamConstants.CDATA,
+                XMLStreamConstants.SPACE ->
+                characters(reader.getText());
+            case XMLStreamConstants.END_ELEMENT -> endElement();
+            case XMLStreamConstants.DTD -> throw new XMLStreamException("DOCTYPE is disallowed");
+            default -> {
+              // comments and processing instructions aren't part of any text content
+            }
+          }
+        }
+      } finally {
+        reader.close();
+      }
+    }
+
+    private void startElement(XMLStreamReader reader) {
+      String prefix = reader.getPrefix();
+      String localName = reader.getLocalName();
+      String namespace = reader.getNamespaceURI();
+      Frame frame =
+          new Frame(
+              current,
+              namespace == null ? "" : namespace,
+              localName,
+              prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName,
+              attribute(reader, "refersTo"),
+              subtreeTextBuffers.size());
+      current = frame;
+      onStart(frame, reader);
+    }
+
+    private void characters(String text) {
+      Frame parent = Objects.requireNonNull(current);
+      for (StringBuilder buffer : subtreeTextBuffers) {
+        buffer.append(text);
+      }
+      for (StringBuilder buffer : parent.directTextBuffers) {
+        buffer.append(text).append(' ');
+      }
+      onText(parent, text);
+    }
+
+    private void endElement() {
+      Frame frame = Objects.requireNonNull(current);
+      subtreeTextBuffers.subList(frame.subtreeTextBuffersMark, subtreeTextBuffers.size()).clear();
+      frame.endActions.forEach(Runnable::run);
+      current = frame.parent;
+    }
+
+    /** Collects the text content of the element, like {@code Node.getTextContent} does. */
+    StringBuilder captureTextContent() {
+      StringBuilder buffer = new StringBuilder();
+      subtreeTextBuffers.add(buffer);
+      return buffer;
+    }
+
+    abstract void onStart(Frame frame, XMLStreamReader reader);
+
+    abstract void onText(Frame parent, String text);
+
+    /** Reads an attribute without namespace, like {@code NamedNodeMap.getNamedItem} does. */
+    static @Nullable String attribute(XMLStreamReader reader, String name) {
+      for (int i = 0; i < reader.getAttributeCount(); i++) {
+        String prefix = reader.getAttributePrefix(i);
+        if ((prefix == null || prefix.isEmpty()) && name.equals(reader.getAttributeLocalName(i))) {
+          return reader.getAttributeValue(i);
+        }
+      }
+      return null;
+    }
+
+    /** Reads an attribute without namespace, like {@code Element.getAttribute} does. */
+    static String attributeOrEmpty(XMLStreamReader reader, String name) {
+      return Objects.requireNonNullElse(attribute(reader, name), "");
+    }
+  }
+
+  /** The pass over the regelungstext. */
+  private static final class NormPass extends Pass {
+    private boolean gegenstandslos;
+    private boolean bedingtesInkrafttreten;
+    private @Nullable String workUri;
+    private @Nullable String expressionUri;
+    private @Nullable String manifestationThis;
+    private @Nullable String workDate;
+    private @Nullable String workNumber;
+    private @Nullable String workName;
+    private @Nullable String ausfertigungDate;
+    private @Nullable String entryIntoForce;
+    private @Nullable String expiry;
+    private @Nullable String docTitle;
+    private @Nullable String shortTitle;
+    private @Nullable String abbreviation;
+    private @Nullable StringBuilder risAbbreviation;
+    private @Nullable StringBuilder fullCitation;
+    private @Nullable StringBuilder officialToc;
+    private final List<StringBuilder> officialFootNotes = new ArrayList<>();
+    private final List<EventRef> eventRefs = new ArrayList<>();
+    private final List<TemporalGroup> temporalGroups = new ArrayList<>();
+    private final List<AttachmentReference> attachmentReferences = new ArrayList<>();
+    private @Nullable Formula preambleFormula;
+    private @Nullable Formula conclusionsFormula;
+    private final List<ArticleDraft> articles = new ArrayList<>();
+    private @Nullable List<TableOfContentsItem> bodyTableOfContents;
+
+    // the elements being read that the extraction is interested in, innermost last
+    private final List<ArticleDraft> openArticles = new ArrayList<>();
+    private final List<ParagraphDraft> openParagraphs = new ArrayList<>();
+    private final List<TocDraft> openTocItems = new ArrayList<>();
+    private @Nullable Frame body;
+    private @Nullable TemporalGroup openTemporalGroup;
+    private @Nullable AttachmentReference openAttachmentReference;
+
+    @Override
+    void onStart(Frame frame, XMLStreamReader reader) {
+      readMetadata(frame, reader);
+      readFrbr(frame, reader);
+      readAttachmentReference(frame, reader);
+      switch (frame.localName) {
+        case "authorialNote" -> officialFootNotes.add(captureTextContent());
+        case "formula" -> readFormula(frame, reader);
+        default -> {
+          // no norm wide field
+        }
+      }
+      readTableOfContents(frame, reader);
+      readArticle(frame, reader);
+    }
+
+    @Override
+    void onText(Frame parent, String text) {
+      switch (parent.localName) {
+        case "docTitle" -> docTitle = docTitle == null ? text : docTitle;
+        case "shortTitle" -> shortTitle = shortTitle == null ? text : shortTitle;
+        case "inline" -> {
+          if (abbreviation == null
+              && "amtliche-abkuerzung".equals(parent.refersTo)
+              && parent.hasParent("shortTitle")) {
+            abbreviation = text;
+          }
+        }
+        case "num" -> {
+          for (ArticleDraft article : openArticles) {
+            article.marker = article.marker == null ? text : article.marker;
+          }
+        }
+        default -> {
+          // no direct text child of interest
+        }
+      }
+      for (ParagraphDraft paragraph : openParagraphs) {
+        if (paragraph.excludingElements == 0) {
+          paragraph.text.append(text);
+        }
+      }
+    }
+
+    private void readMetadata(Frame frame, XMLStreamReader reader) {
+      if (frame.parent != null
+          && frame.parent.is(RIS, "legalDocML.de_metadaten")
+          && frame.parent.isChildOf("akomaNtoso", "act", "meta", "proprietary")
+          && frame.namespace.equals(RIS)) {
+        switch (frame.localName) {
+          case "gegenstandslos" -> gegenstandslos = true;
+          case "bedingtesInkrafttreten" -> bedingtesInkrafttreten = true;
+          case "inkraft" ->
+              entryIntoForce = entryIntoForce == null ? attribute(reader, "date") : entryIntoForce;
+          case "ausserkraft" -> expiry = expiry == null ? attribute(reader, "date") : expiry;
+          case "vollzitat" ->
+              fullCitation = fullCitation == null ? captureTextContent() : fullCitation;
+          case "abkuerzung" ->
+              risAbbreviation = risAbbreviation == null ? captureTextContent() : risAbbreviation;
+          default -> {
+            // not mapped
+          }
+        }
+        return;
+      }
+      if (frame.isAt("akomaNtoso", "act", "meta", "lifecycle", "eventRef")) {
+        eventRefs.add(
+            new EventRef(attributeOrEmpty(reader, "eId"), attributeOrEmpty(reader, "date")));
+      } else if (frame.isAt("akomaNtoso", "act", "meta", "temporalData", "temporalGroup")) {
+        TemporalGroup temporalGroup = new TemporalGroup(frame, attribute(reader, "eId"));
+        temporalGroups.add(temporalGroup);
+        openTemporalGroup = temporalGroup;
+        frame.atEnd(() -> openTemporalGroup = null);
+      } else if (openTemporalGroup != null
+          && openTemporalGroup.frame == frame.parent
+          && frame.localName.equals("timeInterval")
+          && !openTemporalGroup.hasTimeInterval) {
+        openTemporalGroup.hasTimeInterval = true;
+        openTemporalGroup.start = attributeOrEmpty(reader, "start");
+        openTemporalGroup.end = attributeOrEmpty(reader, "end");
+      } else if (officialToc == null
+          && frame.is(AKN, "toc")
+          && frame.parent != null
+          && "inhaltsuebersicht".equals(frame.parent.refersTo)
+          && frame.parent.isAt("akomaNtoso", "act", "preamble", "blockContainer")) {
+        officialToc = captureTextContent();
+      }
+    }
+
+    private void readFrbr(Frame frame, XMLStreamReader reader) {
+      switch (frame.localName) {
+        case "FRBRuri" -> {
+          if (workUri == null && frame.hasParent("FRBRWork")) {
+            workUri = attribute(reader, "value");
+          } else if (expressionUri == null && frame.hasParent("FRBRExpression")) {
+            expressionUri = attribute(reader, "value");
+          }
+        }
+        case "FRBRthis" -> {
+          if (manifestationThis == null && frame.hasParent("FRBRManifestation")) {
+            manifestationThis = attribute(reader, "value");
+          }
+        }
+        case "FRBRdate" -> {
+          if (workDate == null && frame.hasParent("FRBRWork")) {
+            workDate = attribute(reader, "date");
+          }
+        }
+        case "FRBRnumber" -> {
+          if (workNumber == null && frame.hasParent("FRBRWork")) {
+            workNumber = attribute(reader, "value");
+          }
+        }
+        case "FRBRname" -> {
+          if (workName == null && frame.hasParent("FRBRWork")) {
+            workName = attribute(reader, "value");
+          }
+        }
+        case "date" -> {
+          if (ausfertigungDate == null
+              && "ausfertigung-datum".equals(frame.refersTo)
+              && frame.hasParent("block")
+              && frame.parent.hasParent("preface")) {
+            ausfertigungDate = attribute(reader, "date");
+          }
+        }
+        default -> {
+          // no FRBR field
+        }
+      }
+    }
+
+    private void readAttachmentReference(Frame frame, XMLStreamReader reader) {
+      if (frame.isAt("akomaNtoso", "act", "attachments", "attachment")) {
+        AttachmentReference reference = new AttachmentReference(attribute(reader, "eId"));
+        attachmentReferences.add(reference);
+        openAttachmentReference = reference;
+        frame.atEnd(() -> openAttachmentReference = null);
+      } else if (openAttachmentReference != null
+          && !openAttachmentReference.hasDocumentRef
+          && frame.qualifiedName.equals("akn:documentRef")) {
+        openAttachmentReference.hasDocumentRef = true;
+        openAttachmentReference.href = attribute(reader, "href");
+      }
+    }
+
+    private void readFormula(Frame frame, XMLStreamReader reader) {
+      if (preambleFormula == null && frame.hasParent("preamble")) {
+        preambleFormula = new Formula(attribute(reader, "eId"), captureTextContent());
+      } else if (conclusionsFormula == null && frame.hasParent("conclusions")) {
+        conclusionsFormula = new Formula(attribute(reader, "eId"), captureTextContent());
+      }
+    }
+
+    /**
+     * Mirrors {@code NormLdmlToOpenSearchMapper.getTableOfContentsItem}: every descendant of the
+     * first body that has an {@code akn:num} is an item, except for paragraphs and the descendants
+     * of articles. Marker and heading are taken from the first {@code akn:num} and {@code
+     * akn:heading} descendants.
+     */
+    private void readTableOfContents(Frame frame, XMLStreamReader reader) {
+      if (frame.qualifiedName.equals("akn:num")) {
+        for (TocDraft tocItem : openTocItems) {
+          tocItem.marker = tocItem.marker == null ? captureTextContent() : tocItem.marker;
+        }
+      } else if (frame.qualifiedName.equals("akn:heading")) {
+        for (TocDraft tocItem : openTocItems) {
+          if (tocItem.heading == null) {
+            tocItem.heading = new StringBuilder();
+            frame.addDirectTextBuffer(tocItem.heading);
+          }
+        }
+      }
+
+      List<TableOfContentsItem> siblings = null;
+      if (frame.parent != null && frame.parent == body) {
+        siblings = bodyTableOfContents;
+      } else if (!openTocItems.isEmpty()
+          && openTocItems.getLast().frame == frame.parent
+          && openTocItems.getLast().hasChildren()) {
+        siblings = openTocItems.getLast().children;
+      }
+      if (siblings != null) {
+        TocDraft tocItem =
+            new TocDraft(frame, attributeOrEmpty(reader, "eId").trim(), siblings);
+        openTocItems.add(tocItem);
+        frame.atEnd(
+            () -> {
+              openTocItems.removeLast();
+              tocItem.addToSiblings();
+            });
+      }
+
+      if (body == null && frame.localName.equals("body")) {
+        body = frame;
+        bodyTableOfContents = new ArrayList<>();
+      }
+    }
+
+    /**
+     * Mirrors {@code NormLdmlToOpenSearchMapper.getArticleNodeAsArticle} and {@link
+     * NormParagraphToTextMapper}: the text of a paragraph leaves out {@code num} elements and
+     * replaces sentence end markers with a space.
+     */
+    private void readArticle(Frame frame, XMLStreamReader reader) {
+      switch (frame.localName) {
+        case "article" -> {
+          ArticleDraft article =
+              new ArticleDraft(
+                  attribute(reader, "period"), attribute(reader, "eId"), attribute(reader, "GUID"));
+          articles.add(article);
+          openArticles.add(article);
+          frame.atEnd(openArticles::removeLast);
+        }
+        case "heading" -> {
+          for (ArticleDraft article : openArticles) {
+            if (article.heading == null) {
+              article.heading = new StringBuilder();
+              frame.addDirectTextBuffer(article.heading);
+            }
+          }
+        }
+        case "paragraph" -> {
+          if (!openArticles.isEmpty()) {
+            ParagraphDraft paragraph = new ParagraphDraft();
+            openArticles.forEach(article -> article.paragraphs.add(paragraph));
+            openParagraphs.add(paragraph);
+            frame.atEnd(openParagraphs::removeLast);
+          }
+        }
+        case "num" -> {
+          for (ParagraphDraft paragraph : openParagraphs) {
+            paragraph.number = paragraph.number == null ? captureTextContent() : paragraph.number;
+            exclude(frame, paragraph);
+          }
+        }
+        case "marker" -> {
+          if ("satzende".equals(frame.refersTo)) {
+            for (ParagraphDraft paragraph : openParagraphs) {
+              if (paragraph.excludingElements == 0) {
+                paragraph.text.append(' ');
+              }
+              exclude(frame, paragraph);
+            }
+          }
+        }
+        default -> {
+          // not part of an article
+        }
+      }
+    }
+
+    private static void exclude(Frame frame, ParagraphDraft paragraph) {
+      paragraph.excludingElements++;
+      frame.atEnd(() -> paragraph.excludingElements--);
+    }
+  }
+
+  /** The pass over an attachment, mirrors {@link NormAttachmentMapper#parseAttachments}. */
+  private static final class AttachmentPass extends Pass {
+    private boolean hasDocTitle;
+    private @Nullable Frame docTitle;
+    private @Nullable StringBuilder marker;
+    private @Nullable StringBuilder reference;
+    private final StringBuilder mainBodyText = new StringBuilder();
+    private final List<StringBuilder> officialFootNotes = new ArrayList<>();
+    private int openMainBodies;
+
+    @Override
+    void onStart(Frame frame, XMLStreamReader reader) {
+      if (!hasDocTitle && frame.isAt("akomaNtoso", "doc", "preface", "block", "docTitle")) {
+        hasDocTitle = true;
+        docTitle = frame;
+      } else if (docTitle != null && frame.parent == docTitle && frame.is(AKN, "inline")) {
+        if ("anlageregelungstext-num".equals(frame.refersTo) && marker == null) {
+          marker = captureTextContent();
+        } else if ("anlageregelungstext-bezug".equals(frame.refersTo) && reference == null) {
+          reference = captureTextContent();
+        }
+      } else if (frame.isAt("akomaNtoso", "doc", "mainBody")) {
+        openMainBodies++;
+        frame.atEnd(() -> openMainBodies--);
+      }
+      if (frame.localName.equals("authorialNote")) {
+        officialFootNotes.add(captureTextContent());
+      }
+    }
+
+    @Override
+    void onText(Frame parent, String text) {
+      if (openMainBodies > 0) {
+        // every text node is a separate item of the joined text
+        mainBodyText.append(' ').append(text);
+      }
+    }
+  }
+
+  private record EventRef(String eId, String date) {}
+
+  private record Formula(@Nullable String eId, StringBuilder text) {}
+
+  private static final class TemporalGroup {
+    private final Frame frame;
+    private final @Nullable String eId;
+    private boolean hasTimeInterval;
+    private String start = "";
+    private String end = "";
+
+    private TemporalGroup(Frame frame, @Nullable String eId) {
+      this.frame = frame;
+      this.eId = eId;
+    }
+  }
+
+  private static final class AttachmentReference {
+    private final @Nullable String eId;
+    private boolean hasDocumentRef;
+    private @Nullable String href;
+
+    private AttachmentReference(@Nullable String eId) {
+      this.eId = eId;
+    }
+  }
+
+  private static final class TocDraft {
+    private final Frame frame;
+    private final String id;
+    private final String qualifiedName;
+    private final List<TableOfContentsItem> siblings;
+    private final List<TableOfContentsItem> children = new ArrayList<>();
+    private @Nullable StringBuilder marker;
+    private @Nullable StringBuilder heading;
+
+    private TocDraft(Frame frame, String id, List<TableOfContentsItem> siblings) {
+      this.frame = frame;
+      this.id = id;
+      this.qualifiedName = frame.qualifiedName;
+      this.siblings = siblings;
+    }
+
+    private boolean hasChildren() {
+      return !qualifiedName.equals("akn:article") && !qualifiedName.equals("akn:paragraph");
+    }
+
+    private void addToSiblings() {
+      if (marker != null && !qualifiedName.equals("akn:paragraph")) {
+        siblings.add(
+            new TableOfContentsItem(
+                id,
+                cleanText(marker.toString()),
+                heading == null ? "" : cleanText(heading.toString()),
+                hasChildren() ? children : new ArrayList<>()));
+      }
+    }
+  }
+
+  private static final class ParagraphDraft {
+    private final StringBuilder text = new StringBuilder();
+    private @Nullable StringBuilder number;
+    private int excludingElements;
+
+    /** Mirrors {@link NormParagraphToTextMapper#extractTextFromParagraph}. */
+    private String toText() {
+      String paragraphNumber = number == null ? "" : number.toString();
+      if (paragraphNumber.isEmpty()) {
+        return cleanText(text.toString());
+      }
+      return String.format("%s %s", paragraphNumber, cleanText(text.toString()));
+    }
+  }
+
+  private static final class ArticleDraft {
+    private final @Nullable String period;
+    private final @Nullable String eId;
+    private final @Nullable String guid;
+    private final List<ParagraphDraft> paragraphs = new ArrayList<>();
+    private @Nullable String marker;
+    private @Nullable StringBuilder heading;
+
+    private ArticleDraft(@Nullable String period, @Nullable String eId, @Nullable String guid) {
+      this.period = period;
+      this.eId = eId;
+      this.guid = guid;
+    }
+
+    private Article toArticle(
+        Map<String, TimeInterval> temporalGroupsWithDates,
+        String abbreviation,
+        String workEli,
+        String expressionEli,
+        String indexedAt) {
+      String articleMarker = cleanText(marker);
+      String articleHeading = heading == null ? "" : cleanText(heading.toString());
+      String text = "";
+      for (ParagraphDraft paragraph : paragraphs) {
+        text = text.concat(paragraph.toText()).concat(" ");
+      }
+
+      // the DOM based mapping fails on articles without these attributes as well
+      Objects.requireNonNull(period, "article without period");
+      Objects.requireNonNull(eId, "article without eId");
+      Objects.requireNonNull(guid, "article without GUID");
+
+      LocalDate entryIntoForceDate = null;
+      LocalDate expiryDate = null;
+      TimeInterval timeInterval = temporalGroupsWithDates.get(period);
+      if (timeInterval != null) {
+        entryIntoForceDate = NormLdmlToOpenSearchMapper.toLocalDate(timeInterval.start());
+        expiryDate = NormLdmlToOpenSearchMapper.toLocalDate(timeInterval.end());
+      }
+
+      return Article.builder()
+          .id(expressionEli + "/" + eId)
+          .eId(eId)
+          .workEli(workEli)
+          .expressionEli(expressionEli)
+          .guid(guid)
+          .name(NormLdmlToOpenSearchMapper.buildArticleHeader(articleMarker, articleHeading))
+          .text(cleanText(text))
+          .entryIntoForceDate(entryIntoForceDate)
+          .expiryDate(expiryDate)
+          .searchKeyword(NormLdmlToOpenSearchMapper.getSearchKeyword(articleMarker, abbreviation))
+          .indexedAt(indexedAt)
+          .build();
+    }
+  }
+}
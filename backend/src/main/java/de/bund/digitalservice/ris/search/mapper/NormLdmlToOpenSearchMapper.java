@@ -23,6 +23,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.xpath.XPathExpressionException;
 import one.util.streamex.StreamEx;
 import org.apache.commons.lang3.StringUtils;
@@ -128,12 +129,69 @@ public class NormLdmlToOpenSearchMapper {
       String xmlFile,
       Map<String, String> attachmentFileContents,
       boolean isPrototype) {
+    return parseNorm(fileName, xmlFile, attachmentFileContents, isPrototype, false);
+  }
+
+  /**
+   * Parses a given XML file and its associated attachment files to generate a {@link Norm} object,
+   * either from a DOM of the XML or in a single streaming pass over it. Both produce the same
+   * {@link Norm}, the streaming pass needs a fraction of the time and memory for large norms.
+   *
+   * @param fileName filename of the xmlFile, used for logging
+   * @param xmlFile A string representation of the XML file content.
+   * @param attachmentFileContents A map where the keys represent the attachment names and the
+   *     values contain their respective content.
+   * @param isPrototype A flag to indicate if the parsing is happening in the prototype environment.
+   * @param streaming whether to parse with {@link NormLdmlStreamingMapper} instead of a DOM
+   * @return An {@link Optional} containing the constructed {@link Norm} instance if parsing
+   *     succeeds, or {@link Optional#empty()} in case of parsing failure or unprocessable
+   *     conditions.
+   */
+  public static Optional<Norm> parseNorm(
+      String fileName,
+      String xmlFile,
+      Map<String, String> attachmentFileContents,
+      boolean isPrototype,
+      boolean streaming) {
+    return parseNorm(
+        fileName,
+        xmlFile.getBytes(StandardCharsets.UTF_8),
+        attachmentFileContents,
+        isPrototype,
+        streaming);
+  }
+
+  /**
+   * Parses a given XML file and its associated attachment files to generate a {@link Norm} object,
+   * like {@link #parseNorm(String, String, Map, boolean, boolean)}. The XML file is parsed from the
+   * bytes as they were downloaded, the encoding is taken from its XML declaration.
+   *
+   * @param fileName filename of the xmlFile, used for logging
+   * @param xmlFile The content of the XML file.
+   * @param attachmentFileContents A map where the keys represent the attachment names and the
+   *     values contain their respective content.
+   * @param isPrototype A flag to indicate if the parsing is happening in the prototype environment.
+   * @param streaming whether to parse with {@link NormLdmlStreamingMapper} instead of a DOM
+   * @return An {@link Optional} containing the constructed {@link Norm} instance if parsing
+   *     succeeds, or {@link Optional#empty()} in case of parsing failure or unprocessable
+   *     conditions.
+   */
+  public static Optional<Norm> parseNorm(
+      String fileName,
+      byte[] xmlFile,
+      Map<String, String> attachmentFileContents,
+      boolean isPrototype,
+      boolean streaming) {
     try {
-      return Optional.of(doParse(xmlFile, attachmentFileContents, isPrototype));
+      return Optional.of(
+          streaming
+              ? NormLdmlStreamingMapper.map(xmlFile, attachmentFileContents, isPrototype)
+              : doParse(xmlFile, attachmentFileContents, isPrototype));
     } catch (IllegalStateException e) {
       logger.warn("Skipping parsing of '{}'", fileName, e);
     } catch (ParserConfigurationException
         | XPathExpressionException
+        | XMLStreamException
         | ValidationException
         | IllegalArgumentException
         | IOException
@@ -145,15 +203,17 @@ public class NormLdmlToOpenSearchMapper {
   }
 
   private static Norm doParse(
-      String xmlFile, Map<String, String> attachmentFileContents, boolean isPrototype)
+      byte[] xmlFile, Map<String, String> attachmentFileContents, boolean isPrototype)
       throws XPathExpressionException,
           ParserConfigurationException,
           IOException,
           SAXException,
           ValidationException {
-    var xmlDocument = new XmlDocument(xmlFile.getBytes(StandardCharsets.UTF_8));
+    var xmlDocument = new XmlDocument(xmlFile);
 
-    requireNotBedingtInkraftAndNotGegenstandslos(xmlDocument);
+    requireNotBedingtInkraftAndNotGegenstandslos(
+        xmlDocument.getElementExistByXpath(X_PATH_GEGENSTANDSLOS),
+        xmlDocument.getElementExistByXpath(X_PATH_BEDINGTES_INKRAFTTRETEN));
 
     String workEli = xmlDocument.getNonEmptyElementOrThrow(X_PATH_WORK_URI, "Work-Eli must exist");
 
@@ -184,11 +244,7 @@ public class NormLdmlToOpenSearchMapper {
     List<String> articleNames = articles.stream().map(Article::getName).toList();
     List<String> articleTexts = articles.stream().map(Article::getText).toList();
     String fullCitation = xmlDocument.getElementByXpath(X_PATH_FULL_CITATION);
-    String officialToc =
-        Optional.ofNullable(xmlDocument.getElementByXpath(X_PATH_OFFICIAL_TOC))
-            .map(String::strip)
-            .map(e -> e.replaceAll("\\s+", " "))
-            .orElse(null);
+    String officialToc = cleanOfficialToc(xmlDocument.getElementByXpath(X_PATH_OFFICIAL_TOC));
     final List<TableOfContentsItem> tableOfContents =
         getTableOfContents(expressionEli, xmlDocument, attachments);
 
@@ -206,14 +262,20 @@ public class NormLdmlToOpenSearchMapper {
         .workEli(workEli)
         .expressionEli(expressionEli)
         .manifestationEliExample(manifestationEli)
-        .officialTitle(getOfficialTitleByXmlDocument(xmlDocument))
-        .officialShortTitle(getOfficialShortTitleByXmlDocument(xmlDocument))
+        .officialTitle(cleanOfficialTitle(xmlDocument.getElementByXpath(X_PATH_DOC_TITLE_NAME)))
+        .officialShortTitle(
+            cleanOfficialShortTitle(
+                xmlDocument.getElementByXpath(X_PATH_SHORT_TITLE_ALTERNATE_NAME)))
         .officialAbbreviation(abbreviation)
         .risAbbreviation(risAbbreviation)
         .normsDate(legislationDate)
         .normsSortDate(normsSortDate)
         .datePublished(datePublished)
-        .publishedIn(getPublishedInByXmlDocument(xmlDocument, datePublished))
+        .publishedIn(
+            getPublishedIn(
+                xmlDocument.getElementByXpath(X_PATH_WORK_NAME),
+                xmlDocument.getElementByXpath(X_PATH_WORK_NUMBER),
+                datePublished))
         .entryIntoForceDate(entryIntoForceDate)
         .expiryDate(expiryDate)
         .fullCitation(fullCitation)
@@ -221,27 +283,28 @@ public class NormLdmlToOpenSearchMapper {
         .articles(articles)
         .articleNames(articleNames)
         .articleTexts(articleTexts)
-        .officialFootNotes(getOfficialFootNotes(xmlDocument, attachments))
+        .officialFootNotes(
+            joinOfficialFootNotes(
+                xmlDocument.extractCleanedText(X_PATH_OFFICIAL_FOOTNOTES), attachments))
         .indexedAt(indexedAt)
         .build();
   }
 
-  private static void requireNotBedingtInkraftAndNotGegenstandslos(XmlDocument xmlDocument)
-      throws XPathExpressionException {
-    if (xmlDocument.getElementExistByXpath(X_PATH_GEGENSTANDSLOS)) {
+  static void requireNotBedingtInkraftAndNotGegenstandslos(
+      boolean gegenstandslos, boolean bedingtesInkrafttreten) {
+    if (gegenstandslos) {
       throw new IllegalStateException("Ignoring Gegenstandslos until logic is defined");
     }
 
-    if (xmlDocument.getElementExistByXpath(X_PATH_BEDINGTES_INKRAFTTRETEN)) {
+    if (bedingtesInkrafttreten) {
       throw new IllegalStateException("Ignoring BedingtesInkrafttreten until logic is defined");
     }
   }
 
-  private static String getOfficialFootNotes(XmlDocument xmlDocument, List<Attachment> attachments)
-      throws XPathExpressionException {
+  static String joinOfficialFootNotes(String officialFootNotes, List<Attachment> attachments) {
     String result =
         Stream.concat(
-                Stream.ofNullable(xmlDocument.extractCleanedText(X_PATH_OFFICIAL_FOOTNOTES)),
+                Stream.ofNullable(officialFootNotes),
                 attachments.stream().map(Attachment::officialFootNotes))
             .filter(Objects::nonNull)
             .collect(Collectors.joining(" "))
@@ -253,9 +316,8 @@ public class NormLdmlToOpenSearchMapper {
     return StringUtils.isNotEmpty(base) ? base + separator + addition : addition;
   }
 
-  private static String getPublishedInByXmlDocument(XmlDocument xmlDocument, LocalDate normsDate) {
-    String name = xmlDocument.getElementByXpath(X_PATH_WORK_NAME);
-    String number = xmlDocument.getElementByXpath(X_PATH_WORK_NUMBER);
+  static String getPublishedIn(
+      @Nullable String name, @Nullable String number, LocalDate normsDate) {
     Map<String, String> mappedName = Map.of("bgbl-1", "BGBl I", "bgbl-2", "BGBl II");
     String publishedIn = "";
 
@@ -273,9 +335,7 @@ public class NormLdmlToOpenSearchMapper {
     return StringUtils.isNotEmpty(publishedIn) ? publishedIn.trim() : StringUtils.EMPTY;
   }
 
-  private static String getOfficialTitleByXmlDocument(XmlDocument xmlDocument) {
-    String xmlDocumentOfficialTitle = xmlDocument.getElementByXpath(X_PATH_DOC_TITLE_NAME);
-
+  static String cleanOfficialTitle(@Nullable String xmlDocumentOfficialTitle) {
     return StringUtils.isNotEmpty(xmlDocumentOfficialTitle)
         ? StringUtils.trimToEmpty(
                 xmlDocumentOfficialTitle.replace(")", "").replace("(", "").replace("\n", " "))
@@ -283,13 +343,17 @@ public class NormLdmlToOpenSearchMapper {
         : StringUtils.EMPTY;
   }
 
-  private static @Nullable String getOfficialShortTitleByXmlDocument(XmlDocument xmlDocument) {
-    String xmlDocumentAlternateName =
-        xmlDocument.getElementByXpath(X_PATH_SHORT_TITLE_ALTERNATE_NAME);
-
+  static @Nullable String cleanOfficialShortTitle(@Nullable String xmlDocumentAlternateName) {
     return StringUtils.trimToNull(parseShortTitle(xmlDocumentAlternateName));
   }
 
+  static @Nullable String cleanOfficialToc(@Nullable String officialToc) {
+    return Optional.ofNullable(officialToc)
+        .map(String::strip)
+        .map(e -> e.replaceAll("\\s+", " "))
+        .orElse(null);
+  }
+
   /**
    * Removes Trailing dash punctuation and Parenthesis from a given String
    *
@@ -313,7 +377,7 @@ public class NormLdmlToOpenSearchMapper {
     return toLocalDate(xmlDocument.getElementByXpath(xpath));
   }
 
-  private static LocalDate toLocalDate(String date) {
+  static LocalDate toLocalDate(@Nullable String date) {
     if (StringUtils.isEmpty(date)) {
       return null;
     }
@@ -343,6 +407,14 @@ public class NormLdmlToOpenSearchMapper {
     List<TableOfContentsItem> conclusionsFormulaToc =
         getStaticTableOfContentsItem(xmlDocument, X_PATH_CONCLUSIONS_FORMULA, SCHLUSSFORMEL);
 
+    return joinTableOfContents(preambleFormulaToc, mainToc, conclusionsFormulaToc, attachments);
+  }
+
+  static List<TableOfContentsItem> joinTableOfContents(
+      List<TableOfContentsItem> preambleFormulaToc,
+      List<TableOfContentsItem> mainToc,
+      List<TableOfContentsItem> conclusionsFormulaToc,
+      List<Attachment> attachments) {
     Stream<TableOfContentsItem> attachmentItems =
         attachments.stream()
             .map(a -> new TableOfContentsItem(a.eId(), a.marker(), a.docTitle(), List.of()));
@@ -451,8 +523,14 @@ public class NormLdmlToOpenSearchMapper {
               conclusionsFormulaNode.get(), SCHLUSSFORMEL, indexedAt, workEli, expressionEli));
     }
 
-    var attachmentsAsArticles =
-        attachments.stream()
+    articles.addAll(getAttachmentsAsArticles(attachments, workEli, expressionEli, indexedAt));
+
+    return articles;
+  }
+
+  static List<Article> getAttachmentsAsArticles(
+      List<Attachment> attachments, String workEli, String expressionEli, String indexedAt) {
+    return attachments.stream()
             .map(
                 a -> {
                   String name =
@@ -471,9 +549,6 @@ public class NormLdmlToOpenSearchMapper {
                       .build();
                 })
             .toList();
-    articles.addAll(attachmentsAsArticles);
-
-    return articles;
   }
 
   /**
@@ -485,7 +560,7 @@ public class NormLdmlToOpenSearchMapper {
    * @return null if either part is missing, or the concatenation of both.
    */
   @Nullable
-  private static String getSearchKeyword(String marker, String abbreviation) {
+  static String getSearchKeyword(String marker, String abbreviation) {
     if (StringUtils.isBlank(abbreviation) || StringUtils.isBlank(marker)) {
       return null;
     }
@@ -500,7 +575,7 @@ public class NormLdmlToOpenSearchMapper {
       String expressionEli,
       String indexedAt) {
     try {
-      var articleXml = new XmlDocument(articleNode);
+      var articleXml = XmlDocument.scopedTo(articleNode);
       String marker = cleanText(articleXml.getSimpleElementByXpath(X_PATH_ARTICLE_NUM));
       final var headingNode = articleXml.getFirstMatchedNodeByXpath(X_PATH_ARTICLE_HEADING);
       String heading =
@@ -552,24 +627,41 @@ public class NormLdmlToOpenSearchMapper {
       Node node, String name, String indexedAt, String workEli, String expressionEli)
       throws ValidationException {
     Node eIdAttribute = node.getAttributes().getNamedItem("eId");
-    if (Objects.isNull(eIdAttribute)) {
+    return getFormulaAsArticle(
+        eIdAttribute == null ? null : eIdAttribute.getTextContent(),
+        node.getTextContent(),
+        name,
+        indexedAt,
+        workEli,
+        expressionEli);
+  }
+
+  static Article getFormulaAsArticle(
+      @Nullable String eId,
+      String textContent,
+      String name,
+      String indexedAt,
+      String workEli,
+      String expressionEli)
+      throws ValidationException {
+    if (Objects.isNull(eId)) {
       throw new ValidationException(
           String.format(
               "missing eId in node with name %s and expressionEli %s", name, expressionEli));
     }
 
     return Article.builder()
-        .id(expressionEli + "/" + eIdAttribute.getTextContent())
-        .eId(eIdAttribute.getTextContent())
+        .id(expressionEli + "/" + eId)
+        .eId(eId)
         .workEli(workEli)
         .expressionEli(expressionEli)
-        .text(cleanText(node.getTextContent()))
+        .text(cleanText(textContent))
         .name(cleanText(name))
         .indexedAt(indexedAt)
         .build();
   }
 
-  private static String buildArticleHeader(String articleMarker, String articleHeading) {
+  static String buildArticleHeader(String articleMarker, String articleHeading) {
     if (!articleMarker.isEmpty() && !articleHeading.isEmpty()) {
       return String.format("%s %s", articleMarker, articleHeading);
     } else if (!articleMarker.isEmpty()) {
@@ -1,6 +1,8 @@
 package de.bund.digitalservice.ris.search.mapper;
 
+import de.bund.digitalservice.ris.search.models.SearchCursor;
 import de.bund.digitalservice.ris.search.schema.PartialCollectionViewSchema;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 
 /**
@@ -38,4 +40,26 @@ public class PartialCollectionViewMapper {
     }
     return builder.build();
   }
+
+  /**
+   * Constructs a PartialCollectionViewSchema object for a page of a search paged with cursors. Such
+   * a search can only be paged forwards, so there are no previous and last links.
+   *
+   * @param prefix the base URL or path that forms the prefix for the generated navigation links
+   * @param size the size of the pages
+   * @param nextCursor the token of the cursor of the next page, or null if this is the last page
+   * @return a PartialCollectionViewSchema representing the first and next links
+   */
+  public static PartialCollectionViewSchema fromCursor(
+      final String prefix, final int size, @Nullable final String nextCursor) {
+    var builder = PartialCollectionViewSchema.builder();
+
+    String queryString = "%s?cursor=%s&size=%d";
+
+    builder.first(String.format(queryString, prefix, SearchCursor.FIRST, size));
+    if (nextCursor != null) {
+      builder.next(String.format(queryString, prefix, nextCursor, size));
+    }
+    return builder.build();
+  }
 }
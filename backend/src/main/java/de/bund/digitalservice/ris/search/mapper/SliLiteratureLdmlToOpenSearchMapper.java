@@ -6,6 +6,7 @@ import de.bund.digitalservice.ris.search.models.ldml.FrbrExpression;
 import de.bund.digitalservice.ris.search.models.ldml.FrbrLanguage;
 import de.bund.digitalservice.ris.search.models.ldml.FrbrNameValueElement;
 import de.bund.digitalservice.ris.search.models.ldml.FrbrWork;
+import de.bund.digitalservice.ris.search.models.ldml.LdmlBindings;
 import de.bund.digitalservice.ris.search.models.ldml.MainBody;
 import de.bund.digitalservice.ris.search.models.ldml.literature.sli.Analysis;
 import de.bund.digitalservice.ris.search.models.ldml.literature.sli.Block;
@@ -25,9 +26,8 @@ import de.bund.digitalservice.ris.search.models.ldml.literature.sli.TlcOrganizat
 import de.bund.digitalservice.ris.search.models.ldml.literature.sli.TlcPerson;
 import de.bund.digitalservice.ris.search.models.opensearch.Literature;
 import jakarta.xml.bind.DataBindingException;
-import jakarta.xml.bind.JAXB;
 import jakarta.xml.bind.ValidationException;
-import java.io.StringReader;
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
@@ -35,7 +35,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import javax.xml.transform.stream.StreamSource;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.persistence.exceptions.DescriptorException;
 
@@ -76,8 +75,28 @@ public class SliLiteratureLdmlToOpenSearchMapper {
    */
   public static Literature mapLdml(String ldmlString, Instant time) {
     try {
-      StreamSource ldmlStreamSource = new StreamSource(new StringReader(ldmlString));
-      var literatureLdml = JAXB.unmarshal(ldmlStreamSource, LiteratureLdml.class);
+      var literatureLdml = LdmlBindings.unmarshal(ldmlString, LiteratureLdml.class);
+      return mapToEntity(literatureLdml, time);
+    } catch (DescriptorException | DataBindingException | ValidationException e) {
+      throw new OpenSearchMapperException("unable to parse file to Literature", e);
+    }
+  }
+
+  /**
+   * Maps a stream of an LDML literature document to a {@link
+   * de.bund.digitalservice.ris.search.models.opensearch.Literature} entity, without reading the
+   * whole document into memory first.
+   *
+   * @param ldml the stream of the LDML document, not closed by this method
+   * @param time Instant of when the file was mapped to infer the index time
+   * @return an instance of {@link de.bund.digitalservice.ris.search.models.opensearch.Literature}
+   *     containing the mapped data from the input LDML
+   * @throws de.bund.digitalservice.ris.search.exception.OpenSearchMapperException if the LDML
+   *     cannot be parsed or mapped to a {@code Literature} entity
+   */
+  public static Literature mapLdml(InputStream ldml, Instant time) {
+    try {
+      var literatureLdml = LdmlBindings.unmarshal(ldml, LiteratureLdml.class);
       return mapToEntity(literatureLdml, time);
     } catch (DescriptorException | DataBindingException | ValidationException e) {
       throw new OpenSearchMapperException("unable to parse file to Literature", e);
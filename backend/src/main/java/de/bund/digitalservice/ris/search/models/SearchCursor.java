@@ -0,0 +1,116 @@
+package de.bund.digitalservice.ris.search.models;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bund.digitalservice.ris.search.exception.CustomValidationException;
+import de.bund.digitalservice.ris.search.models.errors.CustomError;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The position of a client in a search over a point in time, handed to the client as an opaque
+ * token. The next page is searched after the sort values of the last returned hit, so deep pages
+ * cost as much as the first one.
+ *
+ * <p>The cursor is bound to its search by a hash of the search parameters and the sort, as the sort
+ * values only make sense for the same search.
+ *
+ * @param pointInTimeId the id of the point in time the search reads from
+ * @param searchAfter the sort values of the last returned hit
+ * @param searchHash the {@link #hashSearch hash} of the search the cursor belongs to
+ */
+public record SearchCursor(String pointInTimeId, List<Object> searchAfter, String searchHash) {
+
+  /** The cursor value requesting the first page of a search. */
+  public static final String FIRST = "*";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /**
+   * @return the token of the cursor, safe to use in a URL
+   */
+  public String encode() {
+    try {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Sort values of a search hit can't be serialized", e);
+    }
+  }
+
+  /**
+   * Reads a cursor from its token.
+   *
+   * @param token the token, as returned by {@link #encode()}
+   * @return the cursor
+   * @throws CustomValidationException if the token is no cursor
+   */
+  public static SearchCursor decode(String token) throws CustomValidationException {
+    try {
+      SearchCursor cursor =
+          MAPPER.readValue(
+              new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8),
+              SearchCursor.class);
+      if (cursor.pointInTimeId() == null
+          || cursor.searchAfter() == null
+          || cursor.searchHash() == null) {
+        throw invalid(token);
+      }
+      return cursor;
+    } catch (IllegalArgumentException | IOException _) {
+      throw invalid(token);
+    }
+  }
+
+  /**
+   * Hashes the parameters and the sort of a search, to bind the cursors of its pages to it.
+   *
+   * @param parameters the search parameters and the sort, in a fixed order, null if not set
+   * @return the hash
+   */
+  public static String hashSearch(Object... parameters) {
+    try {
+      // JSON strings, so the boundaries between the parameters are unambiguous
+      byte[] json =
+          MAPPER.writeValueAsBytes(
+              Arrays.stream(parameters).map(p -> Objects.toString(p, null)).toList());
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 16);
+    } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Checks that the cursor belongs to a search.
+   *
+   * @param searchHash the {@link #hashSearch hash} of the search
+   * @throws CustomValidationException if the cursor belongs to another search
+   */
+  public void checkSearch(String searchHash) throws CustomValidationException {
+    if (!this.searchHash.equals(searchHash)) {
+      throw new CustomValidationException(
+          CustomError.builder()
+              .code("invalid_cursor")
+              .parameter("cursor")
+              .message(
+                  "The cursor belongs to a search with other parameters or another sort, use * to"
+                      + " start from the first page")
+              .build());
+    }
+  }
+
+  private static CustomValidationException invalid(String token) {
+    return new CustomValidationException(
+        CustomError.builder()
+            .code("invalid_cursor")
+            .parameter("cursor")
+            .message("Invalid cursor %s, use * to start from the first page".formatted(token))
+            .build());
+  }
+}
@@ -0,0 +1,148 @@
+package de.bund.digitalservice.ris.search.models.ldml;
+
+import de.bund.digitalservice.ris.search.models.ldml.caselaw.CaseLawLdml;
+import de.bund.digitalservice.ris.search.models.ldml.directive.AdministrativeDirectiveLdml;
+import jakarta.xml.bind.DataBindingException;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+
+/**
+ * Registry of the JAXB bindings of the LDML documents.
+ *
+ * <p>{@link jakarta.xml.bind.JAXB#unmarshal} only keeps the context of the last used type, weakly
+ * referenced, so alternating document types rebuild expensive contexts over and over. Here, the
+ * context of every type is built once and kept. Unmarshallers aren't thread-safe, so every
+ * unmarshalling borrows one from a small pool of the type and returns it afterwards.
+ *
+ * <p>Like {@code JAXB.unmarshal}, documents are unmarshalled to the requested type regardless of
+ * their root element and failures are thrown as {@link DataBindingException}.
+ */
+public final class LdmlBindings {
+
+  /** The root types of all LDML documents we index. */
+  public static final List<Class<?>> LDML_TYPES =
+      List.of(
+          CaseLawLdml.class,
+          de.bund.digitalservice.ris.search.models.ldml.literature.uli.LiteratureLdml.class,
+          de.bund.digitalservice.ris.search.models.ldml.literature.sli.LiteratureLdml.class,
+          AdministrativeDirectiveLdml.class);
+
+  private static final int MAX_POOLED_UNMARSHALLERS =
+      2 * Runtime.getRuntime().availableProcessors();
+
+  private static final Map<Class<?>, Binding> bindings = new ConcurrentHashMap<>();
+
+  private LdmlBindings() {}
+
+  /** Builds the contexts of all LDML types, so the first documents don't have to wait for it. */
+  public static void warmUp() {
+    LDML_TYPES.forEach(LdmlBindings::binding);
+  }
+
+  /**
+   * Unmarshals an XML document.
+   *
+   * @param xml the document
+   * @param type the type to unmarshal to
+   * @param <T> the type to unmarshal to
+   * @return the unmarshalled document
+   * @throws DataBindingException if the document can't be unmarshalled
+   */
+  public static <T> T unmarshal(String xml, Class<T> type) {
+    return unmarshal(new StreamSource(new StringReader(xml)), type);
+  }
+
+  /**
+   * Unmarshals an XML document.
+   *
+   * @param xml the document
+   * @param type the type to unmarshal to
+   * @param <T> the type to unmarshal to
+   * @return the unmarshalled document
+   * @throws DataBindingException if the document can't be unmarshalled
+   */
+  public static <T> T unmarshal(byte[] xml, Class<T> type) {
+    return unmarshal(new ByteArrayInputStream(xml), type);
+  }
+
+  /**
+   * Unmarshals an XML document, without reading it into memory first.
+   *
+   * @param xml the document, not closed by this method
+   * @param type the type to unmarshal to
+   * @param <T> the type to unmarshal to
+   * @return the unmarshalled document
+   * @throws DataBindingException if the document can't be unmarshalled
+   */
+  public static <T> T unmarshal(InputStream xml, Class<T> type) {
+    return unmarshal(new StreamSource(xml), type);
+  }
+
+  private static <T> T unmarshal(Source source, Class<T> type) {
+    Binding binding = binding(type);
+    Unmarshaller unmarshaller = binding.borrow();
+    try {
+      return unmarshaller.unmarshal(source, type).getValue();
+    } catch (JAXBException e) {
+      throw new DataBindingException(e);
+    } finally {
+      binding.release(unmarshaller);
+    }
+  }
+
+  private static Binding binding(Class<?> type) {
+    return bindings.computeIfAbsent(
+        type,
+        t -> {
+          try {
+            return new Binding(JAXBContext.newInstance(t));
+          } catch (JAXBException e) {
+            throw new DataBindingException(e);
+          }
+        });
+  }
+
+  private static final class Binding {
+    private final JAXBContext context;
+    private final Queue<Unmarshaller> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    private Binding(JAXBContext context) {
+      this.context = context;
+    }
+
+    private Unmarshaller borrow() {
+      Unmarshaller unmarshaller = pool.poll();
+      if (unmarshaller != null) {
+        pooled.decrementAndGet();
+        return unmarshaller;
+      }
+      try {
+        return context.createUnmarshaller();
+      } catch (JAXBException e) {
+        throw new DataBindingException(e);
+      }
+    }
+
+    private void release(Unmarshaller unmarshaller) {
+      // surplus unmarshallers of load peaks are dropped
+      if (pooled.incrementAndGet() <= MAX_POOLED_UNMARSHALLERS) {
+        pool.offer(unmarshaller);
+      } else {
+        pooled.decrementAndGet();
+      }
+    }
+  }
+}
@@ -8,7 +8,6 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.annotation.Transient;
 import org.springframework.data.elasticsearch.annotations.DateFormat;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
@@ -99,7 +98,13 @@ public final class Norm implements AbstractSearchEntity {
   @Field(name = Fields.TIME_RELEVANCE_END_DATE, type = FieldType.Date, format = DateFormat.date)
   private LocalDate timeRelevanceEndDate;
 
-  @Transient private List<Article> articles;
+  /**
+   * The articles of the norm, nested in the norms index. They are also indexed as documents of
+   * their own in the articles index, which the article matches of norm searches are read from
+   * unless {@code norms-search.nested-articles} is enabled.
+   */
+  @Field(name = Fields.ARTICLES, type = FieldType.Nested)
+  private List<Article> articles;
 
   @Field(name = Fields.ARTICLE_NAMES)
   private List<String> articleNames;
@@ -0,0 +1,13 @@
+package de.bund.digitalservice.ris.search.models.sitemap;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The ids listed on one page of the sitemaps of a document kind. The pages of a kind are numbered
+ * from 1 in the order of their list.
+ *
+ * @param lastModified the day the page was last written, used as lastmod in the sitemap index
+ * @param ids the ids of the documents on the page
+ */
+public record SitemapPage(LocalDate lastModified, List<String> ids) {}
@@ -1,9 +0,0 @@
-@XmlSchema(
-    namespace = "http://www.sitemaps.org/schemas/sitemap/0.9",
-    elementFormDefault = XmlNsForm.QUALIFIED,
-    xmlns = {@XmlNs(prefix = "", namespaceURI = "http://www.sitemaps.org/schemas/sitemap/0.9")})
-package de.bund.digitalservice.ris.search.models.sitemap;
-
-import jakarta.xml.bind.annotation.XmlNs;
-import jakarta.xml.bind.annotation.XmlNsForm;
-import jakarta.xml.bind.annotation.XmlSchema;
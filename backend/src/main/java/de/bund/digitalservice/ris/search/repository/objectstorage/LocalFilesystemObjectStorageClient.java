@@ -68,25 +68,40 @@ public class LocalFilesystemObjectStorageClient implements ObjectStorageClient {
 
   @Override
   public List<String> listKeysByPrefix(String prefix) {
+    try (Stream<String> keys = streamKeysByPrefix(prefix)) {
+      return keys.toList();
+    }
+  }
+
+  @Override
+  public Stream<String> streamKeysByPrefix(String prefix) {
     Path bucketPath = localStorageDirectory.resolve(bucket);
-    return listKeysByPrefix(
+    return streamByPrefix(
         prefix, path -> path.toString().substring(bucketPath.toString().length() + 1));
   }
 
+  @Override
+  public Stream<String> streamKeysByPrefixAfter(String prefix, String startAfter) {
+    return streamKeysByPrefix(prefix).filter(key -> key.compareTo(startAfter) > 0);
+  }
+
   @Override
   public List<ObjectKeyInfo> listByPrefixWithLastModified(String prefix) {
     Path bucketPath = localStorageDirectory.resolve(bucket);
-    return listKeysByPrefix(
-        prefix,
-        path -> {
-          try {
-            return new ObjectKeyInfo(
-                path.toString().substring(bucketPath.toString().length() + 1),
-                Files.getLastModifiedTime(path).toInstant());
-          } catch (IOException e) {
-            throw new FileTransformationException(e.getMessage());
-          }
-        });
+    try (Stream<ObjectKeyInfo> keyInfos =
+        streamByPrefix(
+            prefix,
+            path -> {
+              try {
+                return new ObjectKeyInfo(
+                    path.toString().substring(bucketPath.toString().length() + 1),
+                    Files.getLastModifiedTime(path).toInstant());
+              } catch (IOException e) {
+                throw new FileTransformationException(e.getMessage());
+              }
+            })) {
+      return keyInfos.toList();
+    }
   }
 
   @Override
@@ -150,7 +165,11 @@ public class LocalFilesystemObjectStorageClient implements ObjectStorageClient {
     return file.length();
   }
 
-  private <T> List<T> listKeysByPrefix(String prefix, Function<Path, T> mappingFunction) {
+  /**
+   * Walks the directory tree lazily. The returned stream holds the open directories of the walk and
+   * closes them when it is closed itself.
+   */
+  private <T> Stream<T> streamByPrefix(String prefix, Function<Path, T> mappingFunction) {
     Path bucketDir = localStorageDirectory.resolve(bucket).normalize().toAbsolutePath();
 
     // Extract directory path up to the last slash; if none, search from bucket root
@@ -159,15 +178,15 @@ public class LocalFilesystemObjectStorageClient implements ObjectStorageClient {
 
     if (!basePath.startsWith(bucketDir)) {
       LOGGER.warn("Rejected. Path outside bucket directory for prefix: {}", prefix);
-      return List.of();
+      return Stream.empty();
     }
 
     if (!Files.exists(basePath)) {
-      return List.of();
+      return Stream.empty();
     }
 
-    try (Stream<Path> stream = Files.walk(basePath)) {
-      return stream
+    try {
+      return Files.walk(basePath)
           .filter(Files::isRegularFile)
           .filter(
               f -> {
@@ -175,11 +194,12 @@ public class LocalFilesystemObjectStorageClient implements ObjectStorageClient {
                 String relativeKey = bucketDir.relativize(f).toString().replace('\\', '/');
                 return relativeKey.startsWith(prefix);
               })
-          .map(mappingFunction)
-          .toList();
+          // like S3, list the keys in lexicographic order
+          .sorted()
+          .map(mappingFunction);
     } catch (IOException e) {
       LOGGER.info("Could not list files in {}", basePath, e);
-      return List.of();
+      return Stream.empty();
     }
   }
 }
@@ -7,16 +7,20 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.stream.Stream;
 import lombok.Getter;
 import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 
 /**
  * Provides an abstraction for storing and retrieving objects from an object storage system.
@@ -29,6 +33,8 @@ import software.amazon.awssdk.core.exception.SdkClientException;
 public class ObjectStorage {
 
   public static final int MAXIMUM_CALL_ATTEMPTS = 3;
+  // the largest array the JVM reliably allocates
+  private static final long MAXIMUM_PRESIZED_CONTENT_LENGTH = Integer.MAX_VALUE - 8L;
   private final Logger logger;
   private final ObjectStorageClient client;
   @Getter // This getter is so that the ChangelogService knows how to strip off the prefix
@@ -65,9 +71,46 @@ public class ObjectStorage {
    * @return a list of matched object keys as strings
    */
   public List<String> getAllKeysByPrefix(String path) {
-    return client.listKeysByPrefix(versionPrefix + path).stream()
-        .map(e -> e.substring(versionPrefix.length()))
-        .toList();
+    try (Stream<String> keys = streamKeysByPrefix(path)) {
+      return keys.toList();
+    }
+  }
+
+  /**
+   * Lazily lists all keys in the storage under the current versionPrefix. Prefer this over {@link
+   * #getAllKeys()} for whole buckets, as the keys are fetched page by page while the stream is
+   * consumed instead of being held in memory all at once.
+   *
+   * @return a stream of keys, which must be closed after use
+   */
+  public Stream<String> streamAllKeys() {
+    return streamKeysByPrefix("");
+  }
+
+  /**
+   * Lazily lists all object keys in the storage that start with the specified prefix.
+   *
+   * @param path the prefix to match against object keys in the storage
+   * @return a stream of matched object keys, which must be closed after use
+   */
+  public Stream<String> streamKeysByPrefix(String path) {
+    return client
+        .streamKeysByPrefix(versionPrefix + path)
+        .map(e -> e.substring(versionPrefix.length()));
+  }
+
+  /**
+   * Lazily lists the object keys that start with the specified prefix and sort after the given
+   * key. The keys before it are skipped by the storage instead of being listed.
+   *
+   * @param path the prefix to match against object keys in the storage
+   * @param startAfter only keys lexicographically greater than this key are listed
+   * @return a stream of matched object keys, which must be closed after use
+   */
+  public Stream<String> streamKeysByPrefixAfter(String path, String startAfter) {
+    return client
+        .streamKeysByPrefixAfter(versionPrefix + path, versionPrefix + startAfter)
+        .map(e -> e.substring(versionPrefix.length()));
   }
 
   /**
@@ -79,7 +122,12 @@ public class ObjectStorage {
    *     their last modified timestamps
    */
   public List<ObjectKeyInfo> getAllKeyInfosByPrefix(String path) {
-    return client.listByPrefixWithLastModified(versionPrefix + path);
+    return client.listByPrefixWithLastModified(versionPrefix + path).stream()
+        .map(
+            info ->
+                new ObjectKeyInfo(
+                    info.key().substring(versionPrefix.length()), info.lastModified()))
+        .toList();
   }
 
   /**
@@ -145,9 +193,8 @@ public class ObjectStorage {
    *     the operation
    */
   public Optional<byte[]> get(String objectKey) throws ObjectStoreServiceException {
-    try {
-      final var response = getStream(objectKey);
-      return Optional.of(response.readAllBytes());
+    try (FilterInputStream response = getStream(objectKey)) {
+      return Optional.of(readContent(response));
     } catch (NoSuchKeyException e) {
       logger.warn("Object key does not exist: {}", e.getMessage());
       return Optional.empty();
@@ -157,6 +204,34 @@ public class ObjectStorage {
     }
   }
 
+  /**
+   * Reads the whole content of an object. If the storage announced the size of the object, the
+   * content is read straight into an array of that size, instead of being collected in buffers and
+   * copied together at the end.
+   */
+  private static byte[] readContent(FilterInputStream stream) throws IOException {
+    Long contentLength =
+        stream instanceof ResponseInputStream<?> response
+                && response.response() instanceof GetObjectResponse object
+            ? object.contentLength()
+            : null;
+    if (contentLength == null || contentLength > MAXIMUM_PRESIZED_CONTENT_LENGTH) {
+      return stream.readAllBytes();
+    }
+    byte[] content = new byte[contentLength.intValue()];
+    int read = stream.readNBytes(content, 0, content.length);
+    if (read < content.length) {
+      return Arrays.copyOf(content, read);
+    }
+    byte[] rest = stream.readAllBytes();
+    if (rest.length == 0) {
+      return content;
+    }
+    byte[] all = Arrays.copyOf(content, content.length + rest.length);
+    System.arraycopy(rest, 0, all, content.length, rest.length);
+    return all;
+  }
+
   public FilterInputStream getStream(String objectKey) throws NoSuchKeyException {
     return client.getStream(versionPrefix + objectKey);
   }
@@ -5,6 +5,7 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Abstraction for an object storage backend.
@@ -15,6 +16,27 @@ import java.util.List;
 public interface ObjectStorageClient {
   public List<String> listKeysByPrefix(String path);
 
+  /**
+   * Lazily lists all keys starting with the given prefix. Further keys are only requested from the
+   * storage while the stream is consumed, so listing a large bucket doesn't hold all of its keys in
+   * memory. The stream must be closed after use.
+   *
+   * @param prefix the prefix to match against object keys
+   * @return a stream of the matching keys
+   */
+  Stream<String> streamKeysByPrefix(String prefix);
+
+  /**
+   * Lazily lists the keys starting with the given prefix which sort after the given key, e.g. the
+   * changelogs newer than the last processed one. The storage skips the earlier keys itself instead
+   * of listing them.
+   *
+   * @param prefix the prefix to match against object keys
+   * @param startAfter only keys lexicographically greater than this key are listed
+   * @return a stream of the matching keys, which must be closed after use
+   */
+  Stream<String> streamKeysByPrefixAfter(String prefix, String startAfter);
+
   List<ObjectKeyInfo> listByPrefixWithLastModified(String prefix);
 
   public FilterInputStream getStream(String objectKey) throws NoSuchKeyException;
@@ -6,6 +6,7 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Component;
 
 /**
@@ -19,6 +20,16 @@ public class ObjectStorageClientDummy implements ObjectStorageClient {
     return List.of();
   }
 
+  @Override
+  public Stream<String> streamKeysByPrefix(String prefix) {
+    return Stream.empty();
+  }
+
+  @Override
+  public Stream<String> streamKeysByPrefixAfter(String prefix, String startAfter) {
+    return Stream.empty();
+  }
+
   @Override
   public List<ObjectKeyInfo> listByPrefixWithLastModified(String prefix) {
     return List.of();
@@ -1,14 +1,26 @@
 package de.bund.digitalservice.ris.search.repository.objectstorage;
 
 import de.bund.digitalservice.ris.search.exception.NoSuchKeyException;
+import io.micrometer.core.instrument.Metrics;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import lombok.Getter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -22,7 +34,6 @@ import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
-import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.services.s3.model.UploadPartRequest;
@@ -36,6 +47,14 @@ import software.amazon.awssdk.services.s3.model.UploadPartResponse;
  */
 public class S3ObjectStorageClient implements ObjectStorageClient {
 
+  // 5MiB is the minimum part size, except for the last part, which may be smaller.
+  private static final int MIN_PART_SIZE = 0x500000;
+  private static final int MAX_PARTS = 10_000;
+  private static final int PARTS_PER_SIZE_STEP = 1_000;
+  private static final int MAX_PART_SIZE_STEP = 8;
+  static final int UPLOAD_CONCURRENCY = 4;
+  private static final String BUCKET_TAG = "bucket";
+
   @Getter private final S3Client s3Client;
   private final String bucketName;
   private final Logger logger = LogManager.getLogger(S3ObjectStorageClient.class);
@@ -53,32 +72,48 @@ public class S3ObjectStorageClient implements ObjectStorageClient {
 
   @Override
   public List<String> listKeysByPrefix(String path) {
-    return listKeysByPrefix(path, S3Object::key);
+    try (Stream<String> keys = streamKeysByPrefix(path)) {
+      return keys.toList();
+    }
+  }
+
+  @Override
+  public Stream<String> streamKeysByPrefix(String path) {
+    return streamObjectsByPrefix(path, null).map(S3Object::key);
+  }
+
+  @Override
+  public Stream<String> streamKeysByPrefixAfter(String path, String startAfter) {
+    return streamObjectsByPrefix(path, startAfter).map(S3Object::key);
   }
 
   @Override
   public List<ObjectKeyInfo> listByPrefixWithLastModified(String path) {
-    return listKeysByPrefix(path, ObjectKeyInfo::fromS3Object);
-  }
-
-  private <T> List<T> listKeysByPrefix(String path, Function<S3Object, T> mappingFunction) {
-    List<T> keys = new ArrayList<>();
-    ListObjectsV2Response response;
-    ListObjectsV2Request request =
-        ListObjectsV2Request.builder().bucket(bucketName).prefix(path).build();
-    do {
-      response = s3Client.listObjectsV2(request);
-      keys.addAll(response.contents().stream().map(mappingFunction).toList());
-      String token = response.nextContinuationToken();
-      request =
-          ListObjectsV2Request.builder()
-              .bucket(bucketName)
-              .prefix(path)
-              .continuationToken(token)
-              .build();
-    } while (Boolean.TRUE.equals(response.isTruncated()));
+    return streamObjectsByPrefix(path, null).map(ObjectKeyInfo::fromS3Object).toList();
+  }
 
-    return keys;
+  /**
+   * Lists the objects page by page. The next page is only requested once every object of the
+   * current page has been consumed, so at most one page of up to 1000 objects is held at a time.
+   */
+  private Stream<S3Object> streamObjectsByPrefix(String path, String startAfter) {
+    ListObjectsV2Request firstRequest =
+        ListObjectsV2Request.builder()
+            .bucket(bucketName)
+            .prefix(path)
+            .startAfter(startAfter)
+            .build();
+    return Stream.iterate(
+            s3Client.listObjectsV2(firstRequest),
+            Objects::nonNull,
+            response ->
+                Boolean.TRUE.equals(response.isTruncated())
+                    ? s3Client.listObjectsV2(
+                        firstRequest.toBuilder()
+                            .continuationToken(response.nextContinuationToken())
+                            .build())
+                    : null)
+        .flatMap(response -> response.contents().stream());
   }
 
   @Override
@@ -110,7 +145,15 @@ public class S3ObjectStorageClient implements ObjectStorageClient {
   }
 
   /**
-   * Uploads an InputStream to S3 using multipart upload.
+   * Uploads an InputStream to S3 using multipart upload. Reading the next part overlaps with the
+   * upload of up to {@link #UPLOAD_CONCURRENCY} previous parts, each held in one of a small pool of
+   * reused buffers, so a slow upload only blocks the reader once every buffer is in flight. The
+   * part size grows with the number of parts, see {@link #partSize(int)}.
+   *
+   * <p>The upload time, part upload times, uploaded bytes and the time spent waiting for a free
+   * buffer are published as the timers {@code ris.s3.upload}, {@code ris.s3.upload.part}, {@code
+   * ris.s3.upload.buffer.wait} and the counter {@code ris.s3.upload.bytes}, tagged with the
+   * bucket.
    *
    * @param inputStream The InputStream to upload.
    * @return The total size of the uploaded object in bytes.
@@ -118,6 +161,7 @@ public class S3ObjectStorageClient implements ObjectStorageClient {
    */
   @Override
   public long putStream(String objectKey, InputStream inputStream) throws IOException {
+    long start = System.nanoTime();
     CreateMultipartUploadRequest createRequest =
         CreateMultipartUploadRequest.builder().bucket(bucketName).key(objectKey).build();
 
@@ -125,38 +169,41 @@ public class S3ObjectStorageClient implements ObjectStorageClient {
     boolean success = false;
     logger.info("Started multipart upload with ID: {}", uploadId);
 
-    List<String> partETags = new java.util.ArrayList<>();
-    List<CompletedPart> completedParts = new ArrayList<>();
-    int partSize =
-        0x500000; // 5MiB is the minimum part size, except for the last part, which may be smaller.
+    List<Future<CompletedPart>> pendingParts = new ArrayList<>();
+    BufferPool bufferPool = new BufferPool(UPLOAD_CONCURRENCY + 1);
     int partNumber = 1;
     long totalBytesRead = 0;
 
+    // do not rely on the autoClosable of the ExecutorService, it would wait for failed uploads
+    ExecutorService uploadExecutor = Executors.newVirtualThreadPerTaskExecutor();
     try (ReadableByteChannel channel = Channels.newChannel(inputStream)) {
       // try-with-resources manages the channel
-      // Read the inputStream stream in chunks and upload each part
-      byte[] buffer = new byte[partSize];
-      int bytesRead;
-      while ((bytesRead = readChunk(channel, buffer)) > 0) {
-        UploadPartRequest uploadRequest =
-            UploadPartRequest.builder()
-                .bucket(bucketName)
-                .key(objectKey)
-                .uploadId(uploadId)
-                .partNumber(partNumber)
-                .build();
+      // Read the inputStream stream in chunks and hand each part to an upload thread
+      while (true) {
+        byte[] buffer = bufferPool.take(partSize(partNumber));
+        int bytesRead = readChunk(channel, buffer);
+        if (bytesRead == 0) {
+          bufferPool.release(buffer);
+          break;
+        }
+        if (partNumber > MAX_PARTS) {
+          throw new IOException("Object exceeds the limit of " + MAX_PARTS + " parts");
+        }
+        pendingParts.add(
+            uploadExecutor.submit(
+                uploadPart(objectKey, uploadId, partNumber, buffer, bytesRead, bufferPool)));
+        throwIfAnyFailed(pendingParts);
 
-        InputStream partInputStream = new java.io.ByteArrayInputStream(buffer, 0, bytesRead);
-        UploadPartResponse uploadResult =
-            s3Client.uploadPart(
-                uploadRequest, RequestBody.fromInputStream(partInputStream, bytesRead));
-
-        partETags.add(uploadResult.eTag());
-        completedParts.add(
-            CompletedPart.builder().partNumber(partNumber).eTag(uploadResult.eTag()).build());
-
-        partNumber++;
         totalBytesRead += bytesRead;
+        if (bytesRead < buffer.length) {
+          break;
+        }
+        partNumber++;
+      }
+
+      List<CompletedPart> completedParts = new ArrayList<>(pendingParts.size());
+      for (Future<CompletedPart> pendingPart : pendingParts) {
+        completedParts.add(await(pendingPart));
       }
 
       // Complete the multipart upload.
@@ -168,12 +215,26 @@ public class S3ObjectStorageClient implements ObjectStorageClient {
               .multipartUpload(upload -> upload.parts(completedParts))
               .build();
       s3Client.completeMultipartUpload(completeRequest);
-      logger.info("Completed multipart upload ({} parts) with ID: {}", partETags.size(), uploadId);
+
+      long elapsed = System.nanoTime() - start;
+      Metrics.timer("ris.s3.upload", BUCKET_TAG, bucketName).record(elapsed, TimeUnit.NANOSECONDS);
+      Metrics.counter("ris.s3.upload.bytes", BUCKET_TAG, bucketName).increment(totalBytesRead);
+      double mebibytesPerSecond = totalBytesRead / (double) 0x100000 / (elapsed / 1e9);
+      logger.info(
+          "Completed multipart upload ({} parts, {} MiB/s) with ID: {}",
+          completedParts.size(),
+          "%.1f".formatted(mebibytesPerSecond),
+          uploadId);
 
       success = true;
       return totalBytesRead;
 
     } finally {
+      if (!success) {
+        // stop the uploads in flight, so none of them completes after the abort
+        uploadExecutor.shutdownNow();
+      }
+      uploadExecutor.close();
       if (!success && uploadId != null) {
         logger.error("Error uploading to S3, aborting multipart upload");
         s3Client.abortMultipartUpload(
@@ -186,6 +247,117 @@ public class S3ObjectStorageClient implements ObjectStorageClient {
     }
   }
 
+  /**
+   * Returns the size of a part. S3 allows at most {@link #MAX_PARTS} parts of at least 5 MiB, so
+   * the size doubles every {@link #PARTS_PER_SIZE_STEP} parts: objects below 5 GB are uploaded in
+   * 5 MiB parts, and the last parts of multi-terabyte objects are 1.25 GiB.
+   *
+   * @param partNumber the number of the part, starting at 1
+   * @return the part size in bytes
+   */
+  static int partSize(int partNumber) {
+    int step = Math.min((partNumber - 1) / PARTS_PER_SIZE_STEP, MAX_PART_SIZE_STEP);
+    return MIN_PART_SIZE << step;
+  }
+
+  private Callable<CompletedPart> uploadPart(
+      String objectKey,
+      String uploadId,
+      int partNumber,
+      byte[] buffer,
+      int length,
+      BufferPool bufferPool) {
+    return () -> {
+      try {
+        UploadPartRequest uploadRequest =
+            UploadPartRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .build();
+        // the content provider is called again for every retry of the request
+        RequestBody body =
+            RequestBody.fromContentProvider(
+                () -> new ByteArrayInputStream(buffer, 0, length),
+                length,
+                "application/octet-stream");
+        long start = System.nanoTime();
+        UploadPartResponse uploadResult = s3Client.uploadPart(uploadRequest, body);
+        Metrics.timer("ris.s3.upload.part", BUCKET_TAG, bucketName)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return CompletedPart.builder().partNumber(partNumber).eTag(uploadResult.eTag()).build();
+      } finally {
+        bufferPool.release(buffer);
+      }
+    };
+  }
+
+  private static void throwIfAnyFailed(List<Future<CompletedPart>> pendingParts)
+      throws IOException {
+    for (Future<CompletedPart> pendingPart : pendingParts) {
+      if (pendingPart.state() == Future.State.FAILED) {
+        await(pendingPart);
+      }
+    }
+  }
+
+  private static CompletedPart await(Future<CompletedPart> pendingPart) throws IOException {
+    try {
+      return pendingPart.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a part upload");
+    } catch (ExecutionException e) {
+      switch (e.getCause()) {
+        case IOException ioException -> throw ioException;
+        case RuntimeException runtimeException -> throw runtimeException;
+        case Error error -> throw error;
+        default -> throw new IOException(e.getCause());
+      }
+    }
+  }
+
+  /**
+   * The buffers of the parts being read or uploaded. At most {@code capacity} buffers exist, so
+   * taking a buffer blocks the reader until an upload finished and released its buffer.
+   */
+  private final class BufferPool {
+    private final BlockingQueue<byte[]> free;
+    private final int capacity;
+    private int allocated;
+
+    private BufferPool(int capacity) {
+      this.free = new ArrayBlockingQueue<>(capacity);
+      this.capacity = capacity;
+    }
+
+    private byte[] take(int size) throws InterruptedIOException {
+      byte[] buffer = free.poll();
+      if (buffer == null && allocated < capacity) {
+        allocated++;
+        return new byte[size];
+      }
+      if (buffer == null) {
+        long start = System.nanoTime();
+        try {
+          buffer = free.take();
+        } catch (InterruptedException _) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while waiting for a free upload buffer");
+        }
+        Metrics.timer("ris.s3.upload.buffer.wait", BUCKET_TAG, bucketName)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+      // once the part size grew, the smaller buffers are replaced
+      return buffer.length == size ? buffer : new byte[size];
+    }
+
+    private void release(byte[] buffer) {
+      free.add(buffer);
+    }
+  }
+
   /**
    * Keeps reading from an input channel until a number of bytes has been read, or the stream is
    * closed.
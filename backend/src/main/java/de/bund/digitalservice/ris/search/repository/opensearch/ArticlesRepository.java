@@ -1,6 +1,7 @@
 package de.bund.digitalservice.ris.search.repository.opensearch;
 
 import de.bund.digitalservice.ris.search.models.opensearch.Article;
+import java.util.Collection;
 import java.util.List;
 import org.jspecify.annotations.NonNull;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
@@ -14,12 +15,13 @@ public interface ArticlesRepository extends ElasticsearchRepository<Article, Str
   List<Article> findAllByExpressionEli(String expressionEli);
 
   /**
-   * Delete articles for the given workEli that were indexed before the provided timestamp.
+   * Delete articles of any of the given workElis that were indexed before the provided timestamp. All
+   * works are cleaned up with a single delete-by-query request.
    *
-   * @param workEli the work-level ELI identifier
+   * @param workElis the work-level ELI identifiers
    * @param indexedAt ISO-8601 timestamp string cutoff
    */
-  void deleteByWorkEliAndIndexedAtBefore(String workEli, String indexedAt);
+  void deleteByWorkEliInAndIndexedAtBefore(Collection<String> workElis, String indexedAt);
 
   /** Delete all articles that do not have an indexedAt value set. */
   void deleteByIndexedAtIsNull();
@@ -1,6 +1,7 @@
 package de.bund.digitalservice.ris.search.repository.opensearch;
 
 import de.bund.digitalservice.ris.search.models.opensearch.Norm;
+import java.util.Collection;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -20,7 +21,7 @@ public interface NormsRepository extends ElasticsearchRepository<Norm, String> {
    * @param pageable pageable to manage page size and sorting
    * @return A {@link Norm}
    */
-  @SourceFilters(excludes = {"articleTexts", "articleNames"})
+  @SourceFilters(excludes = {"articleTexts", "articleNames", "articles"})
   Page<Norm> getByWorkEliKeyword(String workEli, Pageable pageable);
 
   /**
@@ -48,12 +49,13 @@ public interface NormsRepository extends ElasticsearchRepository<Norm, String> {
   void deleteByIndexedAtBefore(String indexedAt);
 
   /**
-   * Delete norms for the given workEli that were indexed before the provided timestamp.
+   * Delete norms of any of the given workElis that were indexed before the provided timestamp. All
+   * works are cleaned up with a single delete-by-query request.
    *
-   * @param workEli the work-level ELI identifier
+   * @param workElis the work-level ELI identifiers
    * @param indexedAt ISO-8601 timestamp string cutoff
    */
-  void deleteByWorkEliAndIndexedAtBefore(String workEli, String indexedAt);
+  void deleteByWorkEliInAndIndexedAtBefore(Collection<String> workElis, String indexedAt);
 
   /** Delete all norms that do not have an indexedAt value set. */
   void deleteByIndexedAtIsNull();
@@ -41,15 +41,4 @@ public record ZipDataCatalogSchema(
   public String getName() {
     return "Zip snapshot data catalog.";
   }
-
-  /** Constructor for ZipDataCatalogSchema */
-  public ZipDataCatalogSchema(
-      String adminUrl, String caseLawUrl, String legislationUrl, String literatureUrl) {
-    this(
-        List.of(
-            ZipDataSetSchema.admin(adminUrl),
-            ZipDataSetSchema.caseLaw(caseLawUrl),
-            ZipDataSetSchema.legislation(legislationUrl),
-            ZipDataSetSchema.literature(literatureUrl)));
-  }
 }
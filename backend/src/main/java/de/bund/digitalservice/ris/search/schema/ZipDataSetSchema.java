@@ -4,12 +4,14 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import de.bund.digitalservice.ris.search.models.DocumentKind;
 import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
 
 /**
  * Represents a <a href="https://schema.org/Dataset">schema.org/Dataset</a> object.
  *
  * <p>This record captures metadata about a specific dataset within the catalog, including its name,
- * description, modification timestamp, and its downloadable asset distribution.
+ * description, modification timestamp, and its downloadable asset distribution. A snapshot lists
+ * the delta archives created since as its parts.
  */
 @JsonIgnoreProperties(
     value = {"@type"},
@@ -24,7 +26,13 @@ public record ZipDataSetSchema(
         String description,
     @Schema(description = "The downloadable form of this dataset.")
         @JsonInclude(JsonInclude.Include.ALWAYS)
-        ZipDataDownloadSchema distribution)
+        ZipDataDownloadSchema distribution,
+    @Schema(
+            description =
+                "The delta archives with the changes since the snapshot, in the order they have"
+                    + " to be applied. Each lists its deleted files in deleted-files.txt.")
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        List<ZipDataSetSchema> hasPart)
     implements JsonldResource {
 
   @Override
@@ -34,34 +42,49 @@ public record ZipDataSetSchema(
   }
 
   /** Constructor for admin */
-  public static ZipDataSetSchema admin(String url) {
-    return new ZipDataSetSchema(
-        DocumentKind.ADMINISTRATIVE_DIRECTIVE.getBulkZipPath(),
+  public static ZipDataSetSchema admin(String url, List<String> deltaUrls) {
+    return snapshot(
+        DocumentKind.ADMINISTRATIVE_DIRECTIVE,
         "Snapshot of all available administrative directive documents.",
-        new ZipDataDownloadSchema(url));
+        url,
+        deltaUrls);
   }
 
   /** Constructor for caseLaw */
-  public static ZipDataSetSchema caseLaw(String url) {
-    return new ZipDataSetSchema(
-        DocumentKind.CASE_LAW.getBulkZipPath(),
-        "Snapshot of all available case law documents.",
-        new ZipDataDownloadSchema(url));
+  public static ZipDataSetSchema caseLaw(String url, List<String> deltaUrls) {
+    return snapshot(
+        DocumentKind.CASE_LAW, "Snapshot of all available case law documents.", url, deltaUrls);
   }
 
   /** Constructor for legislation */
-  public static ZipDataSetSchema legislation(String url) {
-    return new ZipDataSetSchema(
-        DocumentKind.LEGISLATION.getBulkZipPath(),
+  public static ZipDataSetSchema legislation(String url, List<String> deltaUrls) {
+    return snapshot(
+        DocumentKind.LEGISLATION,
         "Snapshot of all available legislation documents.",
-        new ZipDataDownloadSchema(url));
+        url,
+        deltaUrls);
   }
 
   /** Constructor for literature */
-  public static ZipDataSetSchema literature(String url) {
+  public static ZipDataSetSchema literature(String url, List<String> deltaUrls) {
+    return snapshot(
+        DocumentKind.LITERATURE, "Snapshot of all available literature documents.", url, deltaUrls);
+  }
+
+  private static ZipDataSetSchema snapshot(
+      DocumentKind kind, String description, String url, List<String> deltaUrls) {
     return new ZipDataSetSchema(
-        DocumentKind.LITERATURE.getBulkZipPath(),
-        "Snapshot of all available literature documents.",
-        new ZipDataDownloadSchema(url));
+        kind.getBulkZipPath(),
+        description,
+        new ZipDataDownloadSchema(url),
+        deltaUrls.stream()
+            .map(
+                deltaUrl ->
+                    new ZipDataSetSchema(
+                        kind.getBulkZipPath() + "-delta",
+                        "Changes of the " + kind.getBulkZipPath() + " snapshot.",
+                        new ZipDataDownloadSchema(deltaUrl),
+                        List.of()))
+            .toList());
   }
 }
@@ -1,6 +1,7 @@
 package de.bund.digitalservice.ris.search.service;
 
 import de.bund.digitalservice.ris.search.repository.objectstorage.AdministrativeDirectiveBucket;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 /** Job for synchronizing the index of administrative directives. */
@@ -14,13 +15,26 @@ public class AdministrativeDirectiveIndexSyncJob extends IndexSyncJob {
    *
    * @param indexStatusService service to manage the status of an index job
    * @param changelogService service to manage changelogs
+   * @param bucketManifest manifest of the bucket
+   * @param htmlCache cache of rendered documents
+   * @param zipCache cache of zip archives
    * @param service service to index administrative directive files
    */
   public AdministrativeDirectiveIndexSyncJob(
       IndexStatusService indexStatusService,
       ChangelogService<AdministrativeDirectiveBucket> changelogService,
+      BucketManifest<AdministrativeDirectiveBucket> bucketManifest,
+      @Qualifier("administrativeDirectiveHtmlCache") RenderedHtmlCache htmlCache,
+      @Qualifier("administrativeDirectiveZipCache") ZipArchiveCache zipCache,
       IndexAdministrativeDirectiveService service) {
 
-    super(indexStatusService, changelogService, service, STATUS_FILENAME);
+    super(
+        indexStatusService,
+        changelogService,
+        bucketManifest,
+        htmlCache,
+        zipCache,
+        service,
+        STATUS_FILENAME);
   }
 }
@@ -5,6 +5,7 @@ import de.bund.digitalservice.ris.search.models.api.parameters.AdministrativeDir
 import de.bund.digitalservice.ris.search.models.api.parameters.UniversalSearchParams;
 import de.bund.digitalservice.ris.search.models.opensearch.AdministrativeDirective;
 import de.bund.digitalservice.ris.search.repository.objectstorage.AdministrativeDirectiveBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
 import de.bund.digitalservice.ris.search.repository.opensearch.AdministrativeDirectiveRepository;
 import de.bund.digitalservice.ris.search.service.helper.ZipManager;
 import de.bund.digitalservice.ris.search.utils.PageUtils;
@@ -87,22 +88,33 @@ public class AdministrativeDirectiveService {
    */
   public Optional<byte[]> getFileByDocumentNumber(String documentNumber) {
     try {
-      return bucket.get(String.format("%s.akn.xml", documentNumber));
+      return bucket.get(getFileKey(documentNumber));
     } catch (ObjectStoreServiceException _) {
       return Optional.empty();
     }
   }
 
+  /**
+   * return the key of the xml file of a document number
+   *
+   * @param documentNumber document number to corresponding xml
+   * @return key of the xml file in the bucket
+   */
+  public static String getFileKey(String documentNumber) {
+    return String.format("%s.akn.xml", documentNumber);
+  }
+
   public List<AdministrativeDirective> getByDocumentNumber(String documentNumber) {
     return repository.findByDocumentNumberKeyword(documentNumber);
   }
 
   /**
    * @param documentNumber a given document
-   * @return a list of the filenames that match the provided document number
+   * @return the files that match the provided document number, with their last modified
+   *     timestamps
    */
-  public List<String> getAllFilenamesByDocumentNumber(String documentNumber) {
-    return bucket.getAllKeysByPrefix(documentNumber);
+  public List<ObjectKeyInfo> getAllFileInfosByDocumentNumber(String documentNumber) {
+    return bucket.getAllKeyInfosByPrefix(documentNumber);
   }
 
   /**
@@ -1,5 +1,6 @@
 package de.bund.digitalservice.ris.search.service;
 
+import static org.opensearch.index.query.QueryBuilders.boolQuery;
 import static org.opensearch.index.query.QueryBuilders.matchAllQuery;
 import static org.opensearch.index.query.QueryBuilders.queryStringQuery;
 
@@ -25,6 +26,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jspecify.annotations.Nullable;
 import org.opensearch.action.search.SearchType;
 import org.opensearch.data.client.orhlc.NativeSearchQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.search.fetch.subphase.highlight.HighlightBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
@@ -95,15 +97,20 @@ public class AdvancedSearchService {
             .collect(Collectors.toSet());
 
     highlightFields.forEach(highlightBuilder::field);
+    String articleQuery = toArticleQuery(search);
     SearchHits<AbstractSearchEntity> documentHits =
-        callOpenSearch(
-            search,
-            highlightBuilder,
-            NormSimpleSearchType.NORMS_FETCH_EXCLUDED_FIELDS,
-            pageable,
-            AbstractSearchEntity.class);
+        normsService.searchWithArticleTextMatches(
+            () ->
+                callOpenSearch(
+                    search,
+                    highlightBuilder,
+                    NormSimpleSearchType.NORMS_FETCH_EXCLUDED_FIELDS,
+                    normsService.articleMatchesQuery(articleQuery, true),
+                    pageable,
+                    AbstractSearchEntity.class),
+            articleQuery,
+            true);
 
-    addArticleHighlightsToNormSearchHits(documentHits, search);
     return PageUtils.unwrapSearchHits(documentHits, pageable);
   }
 
@@ -122,7 +129,8 @@ public class AdvancedSearchService {
 
     CaseLawSimpleSearchType.getHighlightedFieldsStatic().forEach(highlightBuilder::field);
     return SearchHitSupport.searchPageFor(
-        callOpenSearch(search, highlightBuilder, null, pageable, CaseLawDocumentationUnit.class),
+        callOpenSearch(
+            search, highlightBuilder, null, null, pageable, CaseLawDocumentationUnit.class),
         pageable);
   }
 
@@ -140,7 +148,7 @@ public class AdvancedSearchService {
     HighlightBuilder highlightBuilder = RisHighlightBuilder.baseHighlighter();
     LiteratureSimpleSearchType.getHighlightedFieldsStatic().forEach(highlightBuilder::field);
     return SearchHitSupport.searchPageFor(
-        callOpenSearch(search, highlightBuilder, null, pageable, Literature.class), pageable);
+        callOpenSearch(search, highlightBuilder, null, null, pageable, Literature.class), pageable);
   }
 
   /**
@@ -159,7 +167,8 @@ public class AdvancedSearchService {
     AdministrativeDirectiveSimpleSearchType.getHighlightedFieldsStatic()
         .forEach(highlightBuilder::field);
     return SearchHitSupport.searchPageFor(
-        callOpenSearch(search, highlightBuilder, null, pageable, AdministrativeDirective.class),
+        callOpenSearch(
+            search, highlightBuilder, null, null, pageable, AdministrativeDirective.class),
         pageable);
   }
 
@@ -176,25 +185,29 @@ public class AdvancedSearchService {
 
     HighlightBuilder highlightBuilder = RisHighlightBuilder.baseHighlighter();
     NormSimpleSearchType.getHighlightedFieldsStatic().forEach(highlightBuilder::field);
+    String articleQuery = toArticleQuery(searchString);
     SearchHits<Norm> searchHits =
-        callOpenSearch(
-            searchString,
-            highlightBuilder,
-            NormSimpleSearchType.NORMS_FETCH_EXCLUDED_FIELDS,
-            pageable,
-            Norm.class);
+        normsService.searchWithArticleTextMatches(
+            () ->
+                callOpenSearch(
+                    searchString,
+                    highlightBuilder,
+                    NormSimpleSearchType.NORMS_FETCH_EXCLUDED_FIELDS,
+                    normsService.articleMatchesQuery(articleQuery, true),
+                    pageable,
+                    Norm.class),
+            articleQuery,
+            true);
 
-    addArticleHighlightsToNormSearchHits(searchHits, searchString);
     return SearchHitSupport.searchPageFor(searchHits, pageable);
   }
 
-  private <T extends AbstractSearchEntity> void addArticleHighlightsToNormSearchHits(
-      SearchHits<T> normHits, String queryString) {
+  private @Nullable String toArticleQuery(String queryString) {
     try {
-      normsService.populateNormSearchHitsWithArticleTextMatches(
-          normHits, LuceneQueryTools.joinAllTermsWithOr(queryString), true);
+      return LuceneQueryTools.joinAllTermsWithOr(queryString);
     } catch (CustomValidationException e) {
       logger.error("Error transforming lucene query for article highlights.", e);
+      return null;
     }
   }
 
@@ -202,6 +215,7 @@ public class AdvancedSearchService {
       @Nullable String searchString,
       @Nullable HighlightBuilder highlightBuilder,
       @Nullable List<String> excludedFields,
+      @Nullable QueryBuilder articleMatchesQuery,
       @NotNull Pageable pageable,
       Class<T> type) {
 
@@ -216,7 +230,10 @@ public class AdvancedSearchService {
           new FetchSourceFilter(false, null, excludedFields.toArray(String[]::new)));
     }
 
-    if (StringUtils.isNotBlank(searchString)) {
+    if (StringUtils.isNotBlank(searchString) && articleMatchesQuery != null) {
+      searchQuery.withQuery(
+          boolQuery().must(queryStringQuery(searchString)).should(articleMatchesQuery));
+    } else if (StringUtils.isNotBlank(searchString)) {
       searchQuery.withQuery(queryStringQuery(searchString));
     } else {
       searchQuery.withQuery(matchAllQuery());
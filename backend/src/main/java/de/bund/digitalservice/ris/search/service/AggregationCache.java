@@ -0,0 +1,105 @@
+package de.bund.digitalservice.ris.search.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of the result of an aggregation over an index, e.g. document counts or the
+ * buckets of a facet.
+ *
+ * <p>A key is computed once on its first request and then refreshed in the background by {@link
+ * #refreshAll()}, while requests keep being served the previous result. A failed refresh keeps the
+ * previous result as well. Keys not requested since the previous refresh are dropped instead of
+ * refreshed, so only the aggregations in use are rerun, e.g. a single court prefix typed once
+ * isn't aggregated again every few minutes until it expires.
+ *
+ * <p>Hits and misses are reported as the {@code cache.gets} metric, the time taken to compute a
+ * result as the {@code ris.aggregation.refresh} metric, both tagged with the name of the cache.
+ *
+ * @param <K> the parameters of the aggregation
+ * @param <V> the result of the aggregation
+ */
+public class AggregationCache<K, V> {
+
+  public static final String REFRESH_METRIC = "ris.aggregation.refresh";
+
+  private final Function<K, V> loader;
+  private final LoadingCache<K, V> cache;
+  private final Set<K> requested = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Creates a cache and registers its metrics.
+   *
+   * @param name the name of the cache, used as tag of its metrics
+   * @param loader runs the aggregation for a key
+   * @param enabled whether results are cached at all
+   * @param expireAfterAccess the time after which a key no longer requested is dropped
+   * @param maxSize the maximum number of keys kept
+   * @param executor runs the refreshes
+   */
+  public AggregationCache(
+      String name,
+      Function<K, V> loader,
+      boolean enabled,
+      Duration expireAfterAccess,
+      long maxSize,
+      Executor executor) {
+    Timer timer = Metrics.timer(REFRESH_METRIC, "cache", name);
+    this.loader = key -> timer.record(() -> loader.apply(key));
+    if (!enabled) {
+      this.cache = null;
+      return;
+    }
+    this.cache =
+        Caffeine.newBuilder()
+            .expireAfterAccess(expireAfterAccess)
+            .maximumSize(maxSize)
+            .executor(executor)
+            .recordStats()
+            .build(this.loader::apply);
+    CaffeineCacheMetrics.monitor(Metrics.globalRegistry, cache, name);
+  }
+
+  /**
+   * Returns the cached result of a key, running the aggregation if the key isn't cached yet.
+   *
+   * @param key the parameters of the aggregation
+   * @return the result of the aggregation
+   */
+  public V get(K key) {
+    if (cache == null) {
+      return loader.apply(key);
+    }
+    requested.add(key);
+    return cache.get(key);
+  }
+
+  /**
+   * Reruns the aggregations of all keys requested since the previous refresh in the background and
+   * drops the other keys.
+   */
+  public void refreshAll() {
+    if (cache == null) {
+      return;
+    }
+    List<K> refreshed = new ArrayList<>();
+    for (K key : cache.asMap().keySet()) {
+      if (requested.remove(key)) {
+        refreshed.add(key);
+      } else {
+        cache.invalidate(key);
+      }
+    }
+    cache.refreshAll(refreshed);
+  }
+}
@@ -0,0 +1,96 @@
+package de.bund.digitalservice.ris.search.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the {@link AggregationCache}s of the services and refreshes them.
+ *
+ * <p>All caches are refreshed on a schedule and after an index sync job of this process has
+ * succeeded. As the import jobs usually run in a different process, the schedule bounds how long
+ * an aggregation lags behind the index.
+ */
+@Component
+public class AggregationCaches {
+
+  private static final Logger logger = LogManager.getLogger(AggregationCaches.class);
+
+  private final boolean enabled;
+  private final Duration expireAfterAccess;
+  private final long maxSize;
+  private final Executor executor;
+  private final List<AggregationCache<?, ?>> caches = new CopyOnWriteArrayList<>();
+
+  /**
+   * @param enabled whether aggregations are cached at all
+   * @param expireAfterAccess the time after which a key no longer requested is dropped
+   * @param maxSize the maximum number of keys kept per cache
+   */
+  @Autowired
+  public AggregationCaches(
+      @Value("${aggregation-cache.enabled:true}") boolean enabled,
+      @Value("${aggregation-cache.expire-after-access:PT1H}") Duration expireAfterAccess,
+      @Value("${aggregation-cache.max-size:1000}") long maxSize) {
+    this(enabled, expireAfterAccess, maxSize, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param enabled whether aggregations are cached at all
+   * @param expireAfterAccess the time after which a key no longer requested is dropped
+   * @param maxSize the maximum number of keys kept per cache
+   * @param executor runs the refreshes
+   */
+  public AggregationCaches(
+      boolean enabled, Duration expireAfterAccess, long maxSize, Executor executor) {
+    this.enabled = enabled;
+    this.expireAfterAccess = expireAfterAccess;
+    this.maxSize = maxSize;
+    this.executor = executor;
+  }
+
+  /**
+   * Creates a cache which is refreshed with all others.
+   *
+   * @param name the name of the cache, used as tag of its metrics
+   * @param loader runs the aggregation for a key
+   * @return the cache
+   * @param <K> the parameters of the aggregation
+   * @param <V> the result of the aggregation
+   */
+  public <K, V> AggregationCache<K, V> create(String name, Function<K, V> loader) {
+    AggregationCache<K, V> cache =
+        new AggregationCache<>(name, loader, enabled, expireAfterAccess, maxSize, executor);
+    caches.add(cache);
+    return cache;
+  }
+
+  /** Refreshes all caches in the background. */
+  @Scheduled(
+      initialDelayString = "${aggregation-cache.refresh-interval:PT5M}",
+      fixedDelayString = "${aggregation-cache.refresh-interval:PT5M}")
+  public void refreshAll() {
+    caches.forEach(AggregationCache::refreshAll);
+  }
+
+  /**
+   * Refreshes all caches once an index has been synchronized.
+   *
+   * @param event the event of the finished job
+   */
+  @EventListener
+  public void onIndexSynced(IndexSyncedEvent event) {
+    logger.info("Refreshing aggregations after the sync of {}", event.statusFileName());
+    refreshAll();
+  }
+}
@@ -1,17 +1,25 @@
 package de.bund.digitalservice.ris.search.service;
 
 import de.bund.digitalservice.ris.search.config.opensearch.Configurations;
+import de.bund.digitalservice.ris.search.exception.CustomValidationException;
+import de.bund.digitalservice.ris.search.models.SearchCursor;
 import de.bund.digitalservice.ris.search.models.api.parameters.NormsSearchParams;
 import de.bund.digitalservice.ris.search.models.api.parameters.UniversalSearchParams;
 import de.bund.digitalservice.ris.search.models.opensearch.AbstractSearchEntity;
+import de.bund.digitalservice.ris.search.service.PointInTimeSearch.CursorPage;
 import de.bund.digitalservice.ris.search.utils.PageUtils;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.opensearch.data.client.orhlc.NativeSearchQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
@@ -25,17 +33,33 @@ public class AllDocumentsService {
   private final SimpleSearchQueryBuilder simpleSearchQueryBuilder;
   private final IndexCoordinates allDocumentsIndex;
   private final NormsService normsService;
+  private final PointInTimeSearch pointInTimeSearch;
+  private final int exportBatchSize;
+
+  /** Receives the hits of an export, one batch after the other. */
+  @FunctionalInterface
+  public interface BatchConsumer<T> {
+    /**
+     * @param hits the hits of the batch
+     * @throws IOException if the hits can't be written
+     */
+    void accept(List<SearchHit<T>> hits) throws IOException;
+  }
 
   /** Constructor for AllDocumentsService. */
   public AllDocumentsService(
       ElasticsearchOperations operations,
       Configurations configurations,
       SimpleSearchQueryBuilder simpleSearchQueryBuilder,
-      NormsService normsService) {
+      NormsService normsService,
+      PointInTimeSearch pointInTimeSearch,
+      @Value("${search-cursor.export-batch-size:500}") int exportBatchSize) {
     this.operations = operations;
     allDocumentsIndex = IndexCoordinates.of(configurations.getDocumentsAliasName());
     this.simpleSearchQueryBuilder = simpleSearchQueryBuilder;
     this.normsService = normsService;
+    this.pointInTimeSearch = pointInTimeSearch;
+    this.exportBatchSize = exportBatchSize;
   }
 
   /**
@@ -54,23 +78,101 @@ public class AllDocumentsService {
       Pageable pageable,
       @Nullable LocalDate mostRelevantOn) {
 
+    NativeSearchQuery query = buildQuery(params, pageable, mostRelevantOn);
+
+    SearchHits<AbstractSearchEntity> documentHits =
+        normsService.searchWithArticleTextMatches(
+            () -> operations.search(query, AbstractSearchEntity.class, allDocumentsIndex),
+            params.getSearchTerm(),
+            false);
+
+    return PageUtils.unwrapSearchHits(documentHits, pageable);
+  }
+
+  /**
+   * Search and filter all documents page by page with a cursor instead of a page index. Unlike
+   * {@link #simpleSearchAllDocuments}, there is no limit on how deep a client can page, and deep
+   * pages are as fast as the first one.
+   *
+   * @param params Search parameters
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param size The size of the page.
+   * @param sort The sort of the search, must be the same for all pages.
+   * @param mostRelevantOn Only applies to norms and determines which of multiple matching
+   *     expressions is returned.
+   * @return The page and the cursor of the next page.
+   * @throws CustomValidationException if the cursor expired, or belongs to a search with other
+   *     parameters or another sort
+   */
+  public CursorPage<AbstractSearchEntity> searchAllDocumentsAfter(
+      @NotNull UniversalSearchParams params,
+      @Nullable SearchCursor cursor,
+      int size,
+      Sort sort,
+      @Nullable LocalDate mostRelevantOn)
+      throws CustomValidationException {
+    Pageable pageable = PageRequest.of(0, size, PointInTimeSearch.withTieBreaker(sort));
+    NativeSearchQuery query = buildQuery(params, pageable, mostRelevantOn);
+    String searchHash =
+        SearchCursor.hashSearch(
+            params.getSearchTerm(), params.getDateFrom(), params.getDateTo(), mostRelevantOn, sort);
+
+    CursorPage<AbstractSearchEntity> page =
+        pointInTimeSearch.search(
+            query, AbstractSearchEntity.class, allDocumentsIndex, cursor, searchHash);
+    normsService.populateNormSearchHitsWithArticleTextMatches(
+        page.searchHits(), params.getSearchTerm(), false);
+    return page;
+  }
+
+  /**
+   * Hands all documents matching a search to a consumer, one batch after the other. Only one batch
+   * is held in memory at a time, however many documents match.
+   *
+   * @param params Search parameters
+   * @param sort The sort of the search.
+   * @param mostRelevantOn Only applies to norms and determines which of multiple matching
+   *     expressions is returned.
+   * @param consumer Receives the batches.
+   * @throws IOException if the consumer fails, or the search expired between two batches
+   */
+  public void exportAllDocuments(
+      @NotNull UniversalSearchParams params,
+      Sort sort,
+      @Nullable LocalDate mostRelevantOn,
+      BatchConsumer<AbstractSearchEntity> consumer)
+      throws IOException {
+    SearchCursor cursor = null;
+    try {
+      do {
+        CursorPage<AbstractSearchEntity> page =
+            searchAllDocumentsAfter(params, cursor, exportBatchSize, sort, mostRelevantOn);
+        cursor = page.next();
+        consumer.accept(page.searchHits().getSearchHits());
+      } while (cursor != null);
+    } catch (CustomValidationException e) {
+      throw new IOException("Export expired between two batches", e);
+    } finally {
+      if (cursor != null) {
+        // the export was aborted, e.g. by the client going away
+        pointInTimeSearch.close(cursor);
+      }
+    }
+  }
+
+  private NativeSearchQuery buildQuery(
+      UniversalSearchParams params, Pageable pageable, @Nullable LocalDate mostRelevantOn) {
     NormsSearchParams normsParams = new NormsSearchParams();
     normsParams.setMostRelevantOn(mostRelevantOn);
 
     List<SimpleSearchType> searchTypes =
         List.of(
-            new NormSimpleSearchType(normsParams),
+            new NormSimpleSearchType(
+                normsParams, normsService.articleMatchesQuery(params.getSearchTerm(), false)),
             new CaseLawSimpleSearchType(null),
             new LiteratureSimpleSearchType(null),
             new AdministrativeDirectiveSimpleSearchType(null));
 
-    NativeSearchQuery query = simpleSearchQueryBuilder.buildQuery(searchTypes, params, pageable);
-
-    SearchHits<AbstractSearchEntity> documentHits =
-        operations.search(query, AbstractSearchEntity.class, allDocumentsIndex);
-    normsService.populateNormSearchHitsWithArticleTextMatches(
-        documentHits, params.getSearchTerm(), false);
-
-    return PageUtils.unwrapSearchHits(documentHits, pageable);
+    return simpleSearchQueryBuilder.buildQuery(searchTypes, params, pageable);
   }
 }
@@ -1,6 +1,7 @@
 package de.bund.digitalservice.ris.search.service;
 
 import de.bund.digitalservice.ris.search.models.opensearch.Article;
+import de.bund.digitalservice.ris.search.models.opensearch.Norm;
 import de.bund.digitalservice.ris.search.repository.opensearch.ArticlesRepository;
 import de.bund.digitalservice.ris.search.utils.RisHighlightBuilder;
 import java.nio.charset.StandardCharsets;
@@ -11,6 +12,7 @@ import java.util.Optional;
 import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.join.ScoreMode;
 import org.opensearch.action.search.SearchType;
 import org.opensearch.data.client.orhlc.NativeSearchQuery;
 import org.opensearch.data.client.orhlc.NativeSearchQueryBuilder;
@@ -18,6 +20,7 @@ import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.InnerHitBuilder;
 import org.opensearch.index.query.MatchPhraseQueryBuilder;
 import org.opensearch.index.query.MultiMatchQueryBuilder;
+import org.opensearch.index.query.NestedQueryBuilder;
 import org.opensearch.index.query.Operator;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.collapse.CollapseBuilder;
@@ -40,6 +43,12 @@ import org.springframework.web.util.UriUtils;
 public class ArticleService {
   protected static final Logger logger = LogManager.getLogger(ArticleService.class);
 
+  /** Name of the inner hits holding the best matching articles of a norm. */
+  public static final String TOP_THREE_ARTICLES = "top_three_articles";
+
+  /** Prefix of the article fields nested in the norms index. */
+  public static final String NESTED_ARTICLES_PREFIX = Norm.Fields.ARTICLES + ".";
+
   private final ElasticsearchOperations operations;
   private final ArticlesRepository articlesRepository;
 
@@ -86,20 +95,8 @@ public class ArticleService {
       boolQuery.should(new MatchPhraseQueryBuilder("search_keyword", searchString).slop(3));
     }
 
-    HighlightBuilder highlightBuilder =
-        RisHighlightBuilder.baseHighlighter().field("name").field("text");
-
-    InnerHitBuilder innerHitBuilder =
-        new InnerHitBuilder()
-            .setName("top_three_articles")
-            .setSize(3)
-            .addSort(SortBuilders.scoreSort().order(SortOrder.DESC))
-            // Secondary tie-breaker sort
-            .addSort(SortBuilders.fieldSort("_id").order(SortOrder.ASC))
-            .setHighlightBuilder(highlightBuilder);
-
     CollapseBuilder collapseBuilder =
-        new CollapseBuilder("expression_eli").setInnerHits(innerHitBuilder);
+        new CollapseBuilder("expression_eli").setInnerHits(topThreeArticles("", "_id"));
 
     NativeSearchQuery articleQuery =
         new NativeSearchQueryBuilder()
@@ -112,6 +109,54 @@ public class ArticleService {
     return operations.search(articleQuery, Article.class);
   }
 
+  /**
+   * Builds a nested query on the articles of the norms index. Added to a query for norms, its inner
+   * hits hold the top 3 article hits of every norm hit, like {@link
+   * #searchTopThreeArticlesByExpressionELi} does with a second query. The nested query doesn't add
+   * to the score of the norms, and it matches nothing in indices without nested articles.
+   *
+   * @param searchString the searchTerm or query used to collect article hits
+   * @param isLuceneQuery determine if the searchString is a lucene query or a term
+   * @return the nested query
+   */
+  public NestedQueryBuilder nestedTopThreeArticles(String searchString, boolean isLuceneQuery) {
+    String nestedFields = NESTED_ARTICLES_PREFIX + "*";
+    BoolQueryBuilder boolQuery = QueryBuilders.boolQuery();
+
+    if (isLuceneQuery) {
+      boolQuery.must(
+          QueryBuilders.queryStringQuery(searchString).field(nestedFields).lenient(true));
+    } else {
+      boolQuery.must(
+          new MultiMatchQueryBuilder(searchString, nestedFields)
+              .type(MultiMatchQueryBuilder.Type.CROSS_FIELDS)
+              .operator(Operator.OR)
+              .lenient(true));
+      boolQuery.should(
+          new MatchPhraseQueryBuilder(NESTED_ARTICLES_PREFIX + "search_keyword", searchString)
+              .slop(3));
+    }
+
+    return QueryBuilders.nestedQuery(Norm.Fields.ARTICLES, boolQuery, ScoreMode.None)
+        .ignoreUnmapped(true)
+        .innerHit(topThreeArticles(NESTED_ARTICLES_PREFIX, NESTED_ARTICLES_PREFIX + "eid"));
+  }
+
+  private static InnerHitBuilder topThreeArticles(String fieldPrefix, String tieBreakerField) {
+    HighlightBuilder highlightBuilder =
+        RisHighlightBuilder.baseHighlighter()
+            .field(fieldPrefix + "name")
+            .field(fieldPrefix + "text");
+
+    return new InnerHitBuilder()
+        .setName(TOP_THREE_ARTICLES)
+        .setSize(3)
+        .addSort(SortBuilders.scoreSort().order(SortOrder.DESC))
+        // Secondary tie-breaker sort
+        .addSort(SortBuilders.fieldSort(tieBreakerField).order(SortOrder.ASC))
+        .setHighlightBuilder(highlightBuilder);
+  }
+
   private SearchHits<Article> emptyArticleHits() {
     return new SearchHitsImpl<>(
         0, TotalHitsRelation.EQUAL_TO, 0f, Duration.ZERO, null, null, List.of(), null, null, null);
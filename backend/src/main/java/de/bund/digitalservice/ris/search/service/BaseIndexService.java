@@ -10,25 +10,41 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import org.apache.commons.collections4.ListUtils;
+import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /** Base class for index services. */
 public abstract class BaseIndexService<T> implements IndexService {
 
-  private static final Integer IMPORT_BATCH_SIZE = 100;
+  private static final int IMPORT_BATCH_SIZE = 100;
+  // parsing is CPU bound, so one worker per core keeps every core busy
+  private static final int PARSE_THREADS = Runtime.getRuntime().availableProcessors();
+  // number of batches that can wait between two stages before the earlier stage is blocked
+  private static final int PIPELINE_QUEUE_CAPACITY = 2;
   protected static final Logger logger = LogManager.getLogger(BaseIndexService.class);
 
   protected final ObjectStorage objectStorage;
 
   protected final DocumentRepository<T> documentRepository;
 
-  protected BaseIndexService(ObjectStorage objectStorage, DocumentRepository<T> repository) {
+  private final IndexAliasService indexAliasService;
+
+  private final Class<T> entityClass;
+
+  protected BaseIndexService(
+      ObjectStorage objectStorage,
+      DocumentRepository<T> repository,
+      IndexAliasService indexAliasService,
+      Class<T> entityClass) {
 
     this.objectStorage = objectStorage;
     this.documentRepository = repository;
+    this.indexAliasService = indexAliasService;
+    this.entityClass = entityClass;
   }
 
   protected abstract Optional<String> getIdFromFilename(String filename);
@@ -39,15 +55,39 @@ public abstract class BaseIndexService<T> implements IndexService {
    * performs cleanup operations by removing entities indexed before the given timestamp or with a
    * null indexed value.
    *
+   * <p>If full rebuilds are enabled, the files are indexed into a fresh index instead, which
+   * replaces the current index once it is complete. See {@link IndexAliasService}.
+   *
    * @param startingTimestamp the timestamp used as a threshold for deleting entities. Entities
    *     indexed before this timestamp or with a null indexed value will be removed.
    * @throws ObjectStoreServiceException if an error occurs during the indexing or cleanup process.
    */
   public void reindexAll(String startingTimestamp) throws ObjectStoreServiceException {
     DateUtils.avoidOpenSearchSubMillisecondDateBug();
-    List<String> indexableFilenames = getAllIndexableFilenames();
-    indexFiles(indexableFilenames);
-    deleteAllOldAndNullEntities(startingTimestamp);
+    try (Stream<String> indexableFilenames = streamIndexableFilenames()) {
+      if (indexAliasService.isFullRebuildEnabled()) {
+        rebuildIndex(indexableFilenames);
+      } else {
+        indexFiles(indexableFilenames, documentRepository::saveAll);
+        deleteAllOldAndNullEntities(startingTimestamp);
+      }
+    }
+  }
+
+  private void rebuildIndex(Stream<String> indexableFilenames) {
+    String aliasName = indexAliasService.getAliasName(entityClass);
+    String rebuildIndex = indexAliasService.createRebuildIndex(aliasName);
+    // the files, not the written entities, so files which can't be parsed count as missing
+    AtomicLong fetchedFiles = new AtomicLong();
+    try {
+      indexFiles(
+          indexableFilenames.peek(filename -> fetchedFiles.incrementAndGet()),
+          entities -> indexAliasService.save(entities, rebuildIndex));
+    } catch (RuntimeException e) {
+      indexAliasService.deleteIndex(rebuildIndex);
+      throw e;
+    }
+    indexAliasService.activateRebuiltIndex(aliasName, rebuildIndex, fetchedFiles.get(), true);
   }
 
   /**
@@ -64,7 +104,9 @@ public abstract class BaseIndexService<T> implements IndexService {
     if (changelog.isChangeAll()) {
       reindexAll(Instant.now().toString());
     } else {
-      indexFiles(changelog.getChanged().stream().filter(s -> s.endsWith(".xml")).toList());
+      indexFiles(
+          changelog.getChanged().stream().filter(s -> s.endsWith(".xml")),
+          documentRepository::saveAll);
 
       Set<String> deletedIds =
           changelog.getDeleted().stream()
@@ -77,27 +119,35 @@ public abstract class BaseIndexService<T> implements IndexService {
   }
 
   public int getNumberOfIndexableDocumentsInBucket() {
-    return getAllIndexableFilenames().size();
-  }
-
-  private void indexFiles(List<String> filenames) throws ObjectStoreServiceException {
-    List<List<String>> fileBatches = ListUtils.partition(filenames, IMPORT_BATCH_SIZE);
-    logger.info("Indexing process will have {} batches", fileBatches.size());
-    for (int i = 0; i < fileBatches.size(); i++) {
-      indexOneBatch(fileBatches.get(i));
-      logger.info("Indexing batch {} of {} complete.", (i + 1), fileBatches.size());
+    try (Stream<String> keys = objectStorage.streamAllKeys()) {
+      return countIndexableDocuments(keys);
     }
   }
 
-  private void indexOneBatch(List<String> filenames) throws ObjectStoreServiceException {
-    List<StorageObject> results = objectStorage.getObjects(filenames);
-
-    List<T> allParsedEntities =
-        results.stream().map(this::fetchAndMapEntity).flatMap(Optional::stream).toList();
-
-    logger.info("Sending {} entities to OpenSearch", allParsedEntities.size());
+  @Override
+  public int countIndexableDocuments(Stream<String> keys) {
+    return (int) keys.filter(BaseIndexService::isIndexable).count();
+  }
 
-    documentRepository.saveAll(allParsedEntities);
+  /**
+   * Downloads, parses and indexes the given files. The three steps run as concurrent stages of an
+   * {@link IndexingPipeline}, so the next batch is already downloaded and parsed while the previous
+   * one is sent to OpenSearch. The filenames are consumed lazily, batch by batch.
+   *
+   * @param filenames the files to index
+   * @param writer sends a batch of parsed entities to the index
+   * @throws ObjectStoreServiceException if the files can't be downloaded
+   */
+  private void indexFiles(Stream<String> filenames, Consumer<List<T>> writer)
+      throws ObjectStoreServiceException {
+    new IndexingPipeline<T>(
+            objectStorage::getObjects,
+            this::fetchAndMapEntity,
+            writer,
+            IMPORT_BATCH_SIZE,
+            PARSE_THREADS,
+            PIPELINE_QUEUE_CAPACITY)
+        .run(filenames);
   }
 
   private Optional<T> fetchAndMapEntity(StorageObject result) {
@@ -109,15 +159,25 @@ public abstract class BaseIndexService<T> implements IndexService {
       return Optional.empty();
     }
 
-    return mapFileToEntity(result.key(), new String(content.get()));
+    return mapFileToEntity(result.key(), content.get());
   }
 
-  protected abstract Optional<T> mapFileToEntity(String filename, String fileContent);
+  /**
+   * Maps the downloaded content of a file to its entity. The content is handed to the parser as
+   * is, without decoding it to a string first, so a document is held in memory only once.
+   *
+   * @param filename the key of the file
+   * @param fileContent the content of the file
+   * @return the entity, or empty if the file can't be mapped
+   */
+  protected abstract Optional<T> mapFileToEntity(String filename, byte[] fileContent);
+
+  protected Stream<String> streamIndexableFilenames() {
+    return objectStorage.streamAllKeys().filter(BaseIndexService::isIndexable);
+  }
 
-  protected List<String> getAllIndexableFilenames() {
-    return objectStorage.getAllKeys().stream()
-        .filter(s -> s.endsWith(".xml") && !s.contains(ChangelogService.CHANGELOGS_PREFIX))
-        .toList();
+  private static boolean isIndexable(String filename) {
+    return filename.endsWith(".xml") && !filename.contains(ChangelogService.CHANGELOGS_PREFIX);
   }
 
   protected void deleteAllOldAndNullEntities(String startingTimestamp) {
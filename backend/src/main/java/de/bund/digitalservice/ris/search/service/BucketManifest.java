@@ -0,0 +1,266 @@
+package de.bund.digitalservice.ris.search.service;
+
+import de.bund.digitalservice.ris.search.exception.NoSuchKeyException;
+import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
+import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorage;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Snapshot of the document keys of one bucket, stored as a gzipped list of keys in another bucket.
+ *
+ * <p>Listing a large bucket takes thousands of requests, and an import run used to list the same
+ * bucket several times. The manifest answers "all keys" with a single download instead. It is
+ * kept up to date by applying every processed changelog to it. To catch changes which never showed
+ * up in a changelog, it is rebuilt from a full listing once it is older than the configured maximum
+ * age, or when it doesn't exist yet. A changelog with {@code change_all} discards it.
+ *
+ * <p>The changelog files themselves are not part of the manifest. If the manifest is disabled,
+ * every call lists the bucket directly.
+ *
+ * @param <T> the bucket the manifest describes
+ */
+public class BucketManifest<T extends ObjectStorage> {
+
+  private static final Logger logger = LogManager.getLogger(BucketManifest.class);
+
+  public static final String MANIFESTS_PREFIX = "manifests/";
+  private static final String HEADER_PREFIX = "# reconciled at ";
+
+  private final T bucket;
+  private final ObjectStorage manifestStorage;
+  private final String manifestKey;
+  private final boolean enabled;
+  private final Duration maxAge;
+
+  /**
+   * Creates the manifest of a bucket.
+   *
+   * @param bucket the bucket the manifest describes
+   * @param manifestStorage the bucket the manifest is stored in
+   * @param name the name of the manifest file
+   * @param enabled whether keys are read from the manifest instead of listing the bucket
+   * @param maxAge the age after which the manifest is rebuilt from a full listing
+   */
+  public BucketManifest(
+      T bucket, ObjectStorage manifestStorage, String name, boolean enabled, Duration maxAge) {
+    this.bucket = bucket;
+    this.manifestStorage = manifestStorage;
+    this.manifestKey = MANIFESTS_PREFIX + name + ".txt.gz";
+    this.enabled = enabled;
+    this.maxAge = maxAge;
+  }
+
+  /**
+   * Lists the document keys of the bucket, i.e. all keys except the changelogs. They are read from
+   * the manifest if it is enabled and current, otherwise the manifest is rebuilt first.
+   *
+   * @return a stream of the keys, which must be closed after use
+   * @throws ObjectStoreServiceException if the manifest can't be read or written
+   */
+  public Stream<String> streamAllKeys() throws ObjectStoreServiceException {
+    if (!enabled) {
+      return listDocumentKeys();
+    }
+    Optional<Snapshot> snapshot = readSnapshot();
+    if (snapshot.isPresent()) {
+      if (snapshot.get().reconciledAt().plus(maxAge).isAfter(Instant.now())) {
+        return snapshot.get().keys();
+      }
+      snapshot.get().keys().close();
+      logger.info("Manifest {} is older than {}, rebuilding it", manifestKey, maxAge);
+    }
+    reconcile();
+    return readSnapshot().map(Snapshot::keys).orElseGet(this::listDocumentKeys);
+  }
+
+  /**
+   * Lists the document keys of the bucket which start with the given prefix. See {@link
+   * #streamAllKeys()}.
+   *
+   * @param prefix the prefix of the keys
+   * @return a stream of the keys, which must be closed after use
+   * @throws ObjectStoreServiceException if the manifest can't be read or written
+   */
+  public Stream<String> streamKeysByPrefix(String prefix) throws ObjectStoreServiceException {
+    return streamAllKeys().filter(key -> key.startsWith(prefix));
+  }
+
+  /**
+   * Rebuilds the manifest from a full listing of the bucket.
+   *
+   * @throws ObjectStoreServiceException if the manifest can't be written
+   */
+  public void reconcile() throws ObjectStoreServiceException {
+    if (!enabled) {
+      return;
+    }
+    // changes during the listing are applied from their changelogs afterwards
+    Instant reconciledAt = Instant.now();
+    try (Stream<String> keys = listDocumentKeys()) {
+      int count = write(reconciledAt, keys.iterator());
+      logger.info("Rebuilt manifest {} with {} keys", manifestKey, count);
+    }
+  }
+
+  /**
+   * Applies a processed changelog to the manifest. Changed keys are added, deleted keys removed. A
+   * changelog which changes everything discards the manifest, so it is rebuilt when it is needed
+   * next. Nothing happens if there is no manifest yet.
+   *
+   * @param changelog the processed changelog
+   * @throws ObjectStoreServiceException if the manifest can't be read or written
+   */
+  public void apply(Changelog changelog) throws ObjectStoreServiceException {
+    if (!enabled) {
+      return;
+    }
+    if (changelog.isChangeAll()) {
+      invalidate();
+      return;
+    }
+    Optional<Snapshot> snapshot = readSnapshot();
+    if (snapshot.isEmpty()) {
+      return;
+    }
+    Set<String> changed = changelog.getChanged();
+    Set<String> deleted = changelog.getDeleted();
+    try (Stream<String> keys = snapshot.get().keys()) {
+      Iterator<String> unchangedKeys =
+          keys.filter(key -> !changed.contains(key) && !deleted.contains(key)).iterator();
+      Iterator<String> changedKeys =
+          changed.stream().filter(BucketManifest::isDocumentKey).sorted().iterator();
+      write(snapshot.get().reconciledAt(), merge(unchangedKeys, changedKeys));
+    }
+  }
+
+  /**
+   * Merges two sorted iterators into one sorted iterator. The manifest stays in listing order, so
+   * the keys of one document remain next to each other, which the sitemaps rely on.
+   */
+  private static Iterator<String> merge(Iterator<String> first, Iterator<String> second) {
+    return new Iterator<>() {
+      private String nextOfFirst = first.hasNext() ? first.next() : null;
+      private String nextOfSecond = second.hasNext() ? second.next() : null;
+
+      @Override
+      public boolean hasNext() {
+        return nextOfFirst != null || nextOfSecond != null;
+      }
+
+      @Override
+      public String next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        String next;
+        if (nextOfSecond == null
+            || (nextOfFirst != null && nextOfFirst.compareTo(nextOfSecond) <= 0)) {
+          next = nextOfFirst;
+          nextOfFirst = first.hasNext() ? first.next() : null;
+        } else {
+          next = nextOfSecond;
+          nextOfSecond = second.hasNext() ? second.next() : null;
+        }
+        return next;
+      }
+    };
+  }
+
+  /** Discards the manifest, so it is rebuilt from a full listing when it is needed next. */
+  public void invalidate() {
+    if (enabled) {
+      manifestStorage.delete(manifestKey);
+    }
+  }
+
+  private Stream<String> listDocumentKeys() {
+    return bucket.streamAllKeys().filter(BucketManifest::isDocumentKey);
+  }
+
+  private static boolean isDocumentKey(String key) {
+    return !key.startsWith(ChangelogService.CHANGELOGS_PREFIX);
+  }
+
+  private int write(Instant reconciledAt, Iterator<String> keys)
+      throws ObjectStoreServiceException {
+    // gzipped keys take a few bytes each, so even large manifests fit in memory
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    int count = 0;
+    try (Writer writer =
+        new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+      writer.write(HEADER_PREFIX + reconciledAt + "\n");
+      while (keys.hasNext()) {
+        writer.write(keys.next());
+        writer.write('\n');
+        count++;
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreServiceException("Failed to write manifest " + manifestKey, e);
+    }
+    try {
+      manifestStorage.putStream(manifestKey, new ByteArrayInputStream(bytes.toByteArray()));
+    } catch (IOException e) {
+      throw new ObjectStoreServiceException("Failed to upload manifest " + manifestKey, e);
+    }
+    return count;
+  }
+
+  private Optional<Snapshot> readSnapshot() throws ObjectStoreServiceException {
+    BufferedReader reader;
+    try {
+      reader =
+          new BufferedReader(
+              new InputStreamReader(
+                  new GZIPInputStream(manifestStorage.getStream(manifestKey)),
+                  StandardCharsets.UTF_8));
+    } catch (NoSuchKeyException _) {
+      return Optional.empty();
+    } catch (IOException e) {
+      throw new ObjectStoreServiceException("Failed to read manifest " + manifestKey, e);
+    }
+    try {
+      String header = reader.readLine();
+      if (header == null || !header.startsWith(HEADER_PREFIX)) {
+        logger.warn("Manifest {} has no header, ignoring it", manifestKey);
+        reader.close();
+        return Optional.empty();
+      }
+      Instant reconciledAt = Instant.parse(header.substring(HEADER_PREFIX.length()));
+      return Optional.of(new Snapshot(reconciledAt, reader.lines().onClose(() -> close(reader))));
+    } catch (IOException | DateTimeParseException e) {
+      close(reader);
+      throw new ObjectStoreServiceException("Failed to read manifest " + manifestKey, e);
+    }
+  }
+
+  private static void close(BufferedReader reader) {
+    try {
+      reader.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private record Snapshot(Instant reconciledAt, Stream<String> keys) {}
+}
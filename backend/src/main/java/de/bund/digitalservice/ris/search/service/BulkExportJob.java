@@ -13,31 +13,42 @@ import org.apache.logging.log4j.Logger;
  * Job to manage the lifecycle of zip snapshots. It creates snapshots a maximum of every 24 hours.
  * In case a document gets marked as deleted in its corresponding changelog service, the current
  * snapshot gets deleted and recreated, even outside of the 24 hour window.
+ *
+ * <p>In incremental mode, the changes since the last run are added as a delta archive to the
+ * current snapshot instead, and deletions only skip the 24 hour window. The snapshot is recreated
+ * as a new base once {@link #MAX_DELTAS} deltas were added, or if the changelogs changed all
+ * documents.
  */
 public class BulkExportJob implements Job {
 
   private final Logger logger = LogManager.getLogger(BulkExportJob.class);
 
+  public static final int MAX_DELTAS = 14;
+
   private final BulkExportService exportService;
   private final PortalBucket portalBucket;
   private final String documentType;
   private final ChangelogService<?> changelogService;
+  private final boolean incremental;
 
   /**
    * @param service BulkExportService to create zip snapshots
    * @param portalBucket portalBucket to store the state of the job
    * @param documentType the current documentType the job is configured for
    * @param changelogService the changelog service to manage the snapshot lifecycle
+   * @param incremental whether changes are added as delta archives instead of a new snapshot
    */
   public BulkExportJob(
       BulkExportService service,
       PortalBucket portalBucket,
       String documentType,
-      ChangelogService<?> changelogService) {
+      ChangelogService<?> changelogService,
+      boolean incremental) {
     this.exportService = service;
     this.portalBucket = portalBucket;
     this.documentType = documentType;
     this.changelogService = changelogService;
+    this.incremental = incremental;
   }
 
   @Override
@@ -63,30 +74,50 @@ public class BulkExportJob implements Job {
         boolean deletionDetected =
             changes.isChangeAll()
                 || changes.getDeleted().stream().anyMatch(d -> d.endsWith(".xml"));
+        // If no deletions occurred, the last run must be outside of the 24-hour cooldown period
+        boolean runWasLessThanADayAgo =
+            jobStartTime.isBefore(lastSuccessInstant.plus(1, ChronoUnit.DAYS));
 
-        if (deletionDetected) {
-          logger.info("Document deletion detected. Recreating snapshot");
-          exportService.deleteArchives();
-        } else {
-          // If no deletions occurred, check if the last run was within the 24-hour cooldown period
-          boolean runWasLessThanADayAgo =
-              jobStartTime.isBefore(lastSuccessInstant.plus(1, ChronoUnit.DAYS));
-          if (runWasLessThanADayAgo) {
+        if (incremental && !changes.isChangeAll() && canAddDelta()) {
+          if (!deletionDetected && runWasLessThanADayAgo) {
             logger.info("Last snapshot is too recent");
             return ReturnCode.SUCCESS;
           }
+          return saveState(
+              exportService.updateDeltaZip(lastSuccessInstant, jobStartTime, changes),
+              jobStartTime);
         }
-      }
 
-      boolean success = exportService.updateLatestZip(jobStartTime);
-      if (!success) {
-        return ReturnCode.ERROR;
+        if (deletionDetected) {
+          logger.info("Document deletion detected. Recreating snapshot");
+          exportService.deleteArchives();
+        } else if (runWasLessThanADayAgo) {
+          logger.info("Last snapshot is too recent");
+          return ReturnCode.SUCCESS;
+        }
       }
-      portalBucket.save(JOB_STATE_STORAGE_PREFIX + documentType, jobStartTime.toString());
-      return ReturnCode.SUCCESS;
+
+      return saveState(exportService.updateLatestZip(jobStartTime), jobStartTime);
     } catch (ObjectStoreServiceException e) {
       logger.error("Bulk export job failed due to ObjectStoreServiceException.", e);
       return ReturnCode.ERROR;
     }
   }
+
+  private boolean canAddDelta() throws ObjectStoreServiceException {
+    boolean canAddDelta =
+        exportService.readManifest().filter(m -> m.deltas().size() < MAX_DELTAS).isPresent();
+    if (!canAddDelta) {
+      logger.info("No snapshot to add a delta to or too many deltas. Compacting the snapshot");
+    }
+    return canAddDelta;
+  }
+
+  private ReturnCode saveState(boolean success, Instant jobStartTime) {
+    if (!success) {
+      return ReturnCode.ERROR;
+    }
+    portalBucket.save(JOB_STATE_STORAGE_PREFIX + documentType, jobStartTime.toString());
+    return ReturnCode.SUCCESS;
+  }
 }
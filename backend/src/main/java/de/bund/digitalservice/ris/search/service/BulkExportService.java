@@ -1,22 +1,42 @@
 package de.bund.digitalservice.ris.search.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
+import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
 import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorage;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
+import org.apache.commons.compress.archivers.zip.DefaultBackingStoreSupplier;
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -26,30 +46,100 @@ public class BulkExportService {
 
   private final Logger logger = LogManager.getLogger(BulkExportService.class);
 
+  private final BucketManifest<?> sourceManifest;
   private final ObjectStorage sourceBucket;
   private final ObjectStorage destinationBucket;
   public static final String BULK_ZIP_PREFIX = "snapshots/";
+  public static final String DELTA_ZIP_PREFIX = BULK_ZIP_PREFIX + "deltas/";
+  public static final String MANIFEST_PREFIX = BULK_ZIP_PREFIX + "manifests/";
   public static final String JOB_STATE_STORAGE_PREFIX = "snapshot-job-state/";
+  public static final String DELETED_FILES_ENTRY = "deleted-files.txt";
 
+  private final ObjectMapper objectMapper;
   private final String archivePrefix;
+  private final String deltaPrefix;
+  private final String manifestKey;
+  private final Compression compression;
+
+  /**
+   * How the entries of the archives are compressed.
+   *
+   * @param level the deflate level from 0 (stored) to 9 (smallest), or {@link
+   *     Deflater#DEFAULT_COMPRESSION}
+   * @param threads the number of threads deflating entries in parallel, or 0 to deflate them on the
+   *     thread writing the archive
+   */
+  public record Compression(int level, int threads) {
+    /** Deflates with the default level on the thread writing the archive. */
+    public static final Compression DEFAULT = new Compression(Deflater.DEFAULT_COMPRESSION, 0);
+  }
 
   /**
    * Service to include potentially all files from a source bucket in a zip file and store it in a
    * destination bucket.
    *
+   * @param sourceManifest the manifest listing the files of the source bucket
    * @param sourceBucket the ObjectStorage bucket to read files from
    * @param destinationBucket the ObjectStorage bucket to upload the ZIP archive to
    * @param outputName the base name for the output ZIP file
+   * @param objectMapper the mapper reading and writing the manifest of the snapshot layers
    */
   public BulkExportService(
-      ObjectStorage sourceBucket, ObjectStorage destinationBucket, String outputName) {
+      BucketManifest<?> sourceManifest,
+      ObjectStorage sourceBucket,
+      ObjectStorage destinationBucket,
+      String outputName,
+      ObjectMapper objectMapper) {
+    this(
+        sourceManifest,
+        sourceBucket,
+        destinationBucket,
+        outputName,
+        Compression.DEFAULT,
+        objectMapper);
+  }
+
+  /**
+   * Service to include potentially all files from a source bucket in a zip file and store it in a
+   * destination bucket.
+   *
+   * @param sourceManifest the manifest listing the files of the source bucket
+   * @param sourceBucket the ObjectStorage bucket to read files from
+   * @param destinationBucket the ObjectStorage bucket to upload the ZIP archive to
+   * @param outputName the base name for the output ZIP file
+   * @param compression how the entries of the archives are compressed
+   * @param objectMapper the mapper reading and writing the manifest of the snapshot layers
+   */
+  public BulkExportService(
+      BucketManifest<?> sourceManifest,
+      ObjectStorage sourceBucket,
+      ObjectStorage destinationBucket,
+      String outputName,
+      Compression compression,
+      ObjectMapper objectMapper) {
+    this.sourceManifest = sourceManifest;
     this.sourceBucket = sourceBucket;
     this.destinationBucket = destinationBucket;
     this.archivePrefix = BULK_ZIP_PREFIX + outputName;
+    this.deltaPrefix = DELTA_ZIP_PREFIX + outputName;
+    this.manifestKey = getManifestKey(outputName);
+    this.compression = compression;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Returns the key of the manifest of the snapshot layers in the destination bucket
+   *
+   * @param outputName the base name of the ZIP files
+   * @return the manifest key
+   */
+  public static String getManifestKey(String outputName) {
+    return MANIFEST_PREFIX + outputName + ".json";
   }
 
   /**
-   * starts the archiving process
+   * starts the archiving process. A successful snapshot becomes the new base of the manifest, and
+   * the previous snapshot and its deltas are deleted.
    *
    * @param timestamp start of the snapshot creation
    * @return true if successful, false on error
@@ -58,26 +148,113 @@ public class BulkExportService {
     String resultObjectKey = archivePrefix + "_" + timestamp + ".zip";
     // collect already existing archive to be deleted after a successful snapshot or a detected file
     // deletion
-    List<String> obsoleteObjectKeys = destinationBucket.getAllKeysByPrefix(archivePrefix);
+    List<String> obsoleteObjectKeys =
+        new ArrayList<>(destinationBucket.getAllKeysByPrefix(archivePrefix));
+    readManifest()
+        .ifPresent(manifest -> manifest.deltas().forEach(d -> obsoleteObjectKeys.add(d.archive())));
 
     logger.info("Creating snapshot");
+    // the keys are listed lazily while the zip is written, the stream is closed once it is done
+    try (Stream<String> keys = sourceManifest.streamAllKeys()) {
+      Iterator<String> keysToZip =
+          keys.filter(key -> !key.startsWith(ChangelogService.CHANGELOGS_PREFIX)).iterator();
+
+      if (!keysToZip.hasNext()) {
+        logger.info("No files found for bucket {}", sourceBucket.getClass());
+        return true;
+      }
+
+      if (!zipAndUpload(keysToZip, List.of(), resultObjectKey)) {
+        return false;
+      }
+    }
+    saveManifest(SnapshotManifest.ofBase(resultObjectKey, timestamp));
+    deleteArchives(obsoleteObjectKeys);
+    return true;
+  }
+
+  /**
+   * Creates a delta archive with the files changed between two job runs and appends it to the
+   * manifest. The deleted files are listed in the {@link #DELETED_FILES_ENTRY} of the archive, so
+   * consumers only have to download the changes since their last update.
+   *
+   * @param from the start of the changes
+   * @param to the end of the changes, used to name the archive
+   * @param changes the folded changelog between both instants, without changeAll
+   * @return true if successful or there is nothing to add, false on error or if there is no base
+   *     archive to add a delta to
+   */
+  public boolean updateDeltaZip(Instant from, Instant to, Changelog changes) {
+    Optional<SnapshotManifest> manifest = readManifest();
+    if (manifest.isEmpty()) {
+      logger.info("No snapshot manifest found, a delta needs a base archive");
+      return false;
+    }
+
+    String resultObjectKey = deltaPrefix + "_" + to + ".zip";
     List<String> keysToZip =
-        sourceBucket.getAllKeys().stream()
+        changes.getChanged().stream()
             .filter(key -> !key.startsWith(ChangelogService.CHANGELOGS_PREFIX))
+            .sorted()
             .toList();
-
-    if (keysToZip.isEmpty()) {
-      logger.info("No files found for bucket {}", sourceBucket.getClass());
+    List<String> deletedKeys = changes.getDeleted().stream().sorted().toList();
+    if (keysToZip.isEmpty() && deletedKeys.isEmpty()) {
+      // an empty delta would only count towards the deltas after which the snapshot is recreated
+      logger.info("Only changelogs changed, no delta snapshot needed");
       return true;
     }
 
+    logger.info("Creating delta snapshot");
+    if (!zipAndUpload(keysToZip.iterator(), deletedKeys, resultObjectKey)) {
+      return false;
+    }
+    saveManifest(
+        manifest
+            .get()
+            .withDelta(
+                new SnapshotManifest.Delta(resultObjectKey, from.toString(), to.toString())));
+    return true;
+  }
+
+  /**
+   * Reads the manifest of the snapshot layers.
+   *
+   * @return the manifest, or an empty {@code Optional} if no snapshot was created with a manifest
+   *     yet or it can't be read
+   * @throws ObjectStoreServiceException if the storage fails
+   */
+  public Optional<SnapshotManifest> readManifest() throws ObjectStoreServiceException {
+    Optional<String> content = destinationBucket.getFileAsString(manifestKey);
+    if (content.isEmpty()) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(objectMapper.readValue(content.get(), SnapshotManifest.class));
+    } catch (JsonProcessingException e) {
+      logger.warn("Ignoring unreadable snapshot manifest {}", manifestKey, e);
+      return Optional.empty();
+    }
+  }
+
+  private void saveManifest(SnapshotManifest manifest) {
+    try {
+      destinationBucket.save(manifestKey, objectMapper.writeValueAsString(manifest));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to write snapshot manifest " + manifestKey, e);
+    }
+  }
+
+  private boolean zipAndUpload(
+      Iterator<String> keysToZip, List<String> deletedKeys, String resultObjectKey) {
     try (ExecutorService executor = Executors.newSingleThreadExecutor();
         PipedInputStream pipedInputStream = new PipedInputStream(1024 * 1024 * 5);
         PipedOutputStream pipedOutputStream = new PipedOutputStream(pipedInputStream)) {
 
       CompletableFuture<ZipResult> zipWorker =
           CompletableFuture.supplyAsync(
-              new ZipStreamProducer(keysToZip, sourceBucket, pipedOutputStream), executor);
+              new ZipStreamProducer(
+                  keysToZip, deletedKeys, sourceBucket, pipedOutputStream, compression),
+              executor);
 
       // Main thread blocks here, piping input data directly to S3. S3ObjectStorageClient::putStream
       // uses a ReadableByteChannel which, unlike InputStream, listens for interruptions and
@@ -96,7 +273,6 @@ public class BulkExportService {
                           zipResult.processedFiles,
                           resultObjectKey,
                           FileUtils.byteCountToDisplaySize(byteCount)));
-          deleteArchives(obsoleteObjectKeys);
           yield true;
         }
         case ZipStatus.CANCELLED, ZipStatus.FAILED -> false;
@@ -120,22 +296,99 @@ public class BulkExportService {
 
   private record ZipResult(ZipStatus status, int processedFiles) {}
 
+  /** Writes whole entries to a ZIP archive. */
+  private interface ZipEntryWriter extends Closeable {
+    void write(String name, byte[] content) throws IOException;
+  }
+
   private static final class ZipStreamProducer implements Supplier<ZipResult> {
-    private final List<String> keysToDownload;
+    private final Iterator<String> keysToDownload;
+    private final List<String> deletedKeys;
     private final OutputStream outputPipe;
-    private final int totalFileCount;
     private final ObjectStorage sourceBucket;
+    private final Compression compression;
 
     private final Logger log = LogManager.getLogger(ZipStreamProducer.class);
 
     private record FetchResult(String key, Optional<byte[]> bytes) {}
 
     public ZipStreamProducer(
-        List<String> keysToDownload, ObjectStorage sourceBucket, OutputStream outputPipe) {
+        Iterator<String> keysToDownload,
+        List<String> deletedKeys,
+        ObjectStorage sourceBucket,
+        OutputStream outputPipe,
+        Compression compression) {
       this.keysToDownload = keysToDownload;
+      this.deletedKeys = deletedKeys;
       this.sourceBucket = sourceBucket;
       this.outputPipe = outputPipe;
-      this.totalFileCount = keysToDownload.size();
+      this.compression = compression;
+    }
+
+    private ZipEntryWriter openArchive() {
+      OutputStream out = new BufferedOutputStream(outputPipe);
+      if (compression.threads() > 0) {
+        return openParallelArchive(out);
+      }
+      ZipOutputStream zos = new ZipOutputStream(out);
+      zos.setLevel(compression.level());
+      return new ZipEntryWriter() {
+        @Override
+        public void write(String name, byte[] content) throws IOException {
+          zos.putNextEntry(new ZipEntry(name));
+          zos.write(content);
+          zos.closeEntry();
+        }
+
+        @Override
+        public void close() throws IOException {
+          zos.close();
+        }
+      };
+    }
+
+    /**
+     * Deflate is the bottleneck once downloads run in parallel, so the entries are deflated on a
+     * pool into temporary files, which are gathered into the archive when it is closed. The pool
+     * only queues a few entries, once it is full the entries are deflated on the calling thread.
+     */
+    private ZipEntryWriter openParallelArchive(OutputStream out) {
+      int threads = compression.threads();
+      ExecutorService deflateExecutor =
+          new ThreadPoolExecutor(
+              threads,
+              threads,
+              0L,
+              TimeUnit.MILLISECONDS,
+              new ArrayBlockingQueue<>(threads * 2),
+              new ThreadPoolExecutor.CallerRunsPolicy());
+      ParallelScatterZipCreator creator =
+          new ParallelScatterZipCreator(
+              deflateExecutor, new DefaultBackingStoreSupplier(null), compression.level());
+      long modified = System.currentTimeMillis();
+      return new ZipEntryWriter() {
+        @Override
+        public void write(String name, byte[] content) {
+          ZipArchiveEntry entry = new ZipArchiveEntry(name);
+          entry.setMethod(ZipEntry.DEFLATED);
+          entry.setTime(modified);
+          creator.addArchiveEntry(entry, () -> new ByteArrayInputStream(content));
+        }
+
+        @Override
+        public void close() throws IOException {
+          try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(out)) {
+            creator.writeTo(zos);
+          } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while deflating the ZIP entries");
+          } catch (ExecutionException e) {
+            throw new IOException("Failed to deflate a ZIP entry", e.getCause());
+          } finally {
+            deflateExecutor.shutdownNow();
+          }
+        }
+      };
     }
 
     public ZipResult get() {
@@ -143,24 +396,24 @@ public class BulkExportService {
 
       // do not rely on the autoClosable of the ExecutorService to be able to force close on Error
       ExecutorService downloadExecutor = Executors.newVirtualThreadPerTaskExecutor();
-      try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(outputPipe))) {
+      try (ZipEntryWriter zip = openArchive()) {
         int maxConcurrentDownloads = 30;
-        int submittedCount = 0;
+        int pendingDownloads = 0;
 
         CompletionService<FetchResult> completionService =
             new ExecutorCompletionService<>(downloadExecutor);
 
         // preload the queue of concurrent file downloads
-        int itemsToPreload = Math.min(maxConcurrentDownloads, totalFileCount);
-        for (int i = 0; i < itemsToPreload; i++) {
-          String key = keysToDownload.get(i);
+        while (pendingDownloads < maxConcurrentDownloads && keysToDownload.hasNext()) {
+          String key = keysToDownload.next();
           completionService.submit(() -> new FetchResult(key, sourceBucket.get(key)));
-          submittedCount++;
+          pendingDownloads++;
         }
 
-        for (int i = 0; i < totalFileCount; i++) {
+        while (pendingDownloads > 0) {
           // Pull the next available completed file
           FetchResult result = completionService.take().get(5, TimeUnit.MINUTES);
+          pendingDownloads--;
 
           Optional<byte[]> bytesOption = result.bytes;
           if (bytesOption.isEmpty()) {
@@ -171,22 +424,28 @@ public class BulkExportService {
           }
 
           // Write to ZIP
-          ZipEntry entry = new ZipEntry(result.key());
-          zos.putNextEntry(entry);
-          zos.write(bytesOption.get());
-          zos.closeEntry();
+          zip.write(result.key(), bytesOption.get());
           processedCount++;
 
           // Immediately feed a new file into the pipeline to maintain maximum active downloads
-          if (submittedCount < totalFileCount) {
-            String nextKey = keysToDownload.get(submittedCount++);
+          if (keysToDownload.hasNext()) {
+            String nextKey = keysToDownload.next();
             completionService.submit(() -> new FetchResult(nextKey, sourceBucket.get(nextKey)));
+            pendingDownloads++;
           }
 
-          if (processedCount % 10000 == 0 || processedCount == totalFileCount) {
-            log.info("Bulk export progress: {}/{} files packaged", processedCount, totalFileCount);
+          if (processedCount % 10000 == 0) {
+            log.info("Bulk export progress: {} files packaged", processedCount);
+          }
+        }
+        if (!deletedKeys.isEmpty()) {
+          StringBuilder deletedFiles = new StringBuilder();
+          for (String deletedKey : deletedKeys) {
+            deletedFiles.append(deletedKey).append('\n');
           }
+          zip.write(DELETED_FILES_ENTRY, deletedFiles.toString().getBytes(StandardCharsets.UTF_8));
         }
+        log.info("Bulk export progress: all {} files packaged", processedCount);
 
         return new ZipResult(ZipStatus.FINISHED, processedCount);
       } catch (Exception e) {
@@ -205,10 +464,12 @@ public class BulkExportService {
     }
   }
 
-  /** Delete all archives for the document kind this service manages */
+  /** Delete all archives and the manifest for the document kind this service manages */
   public void deleteArchives() {
     logger.info("deleting all archives for prefix: {}", archivePrefix);
-    List<String> files = destinationBucket.getAllKeysByPrefix(archivePrefix);
+    List<String> files = new ArrayList<>(destinationBucket.getAllKeysByPrefix(archivePrefix));
+    files.addAll(destinationBucket.getAllKeysByPrefix(deltaPrefix));
+    files.add(manifestKey);
     deleteArchives(files);
   }
 
@@ -1,6 +1,7 @@
 package de.bund.digitalservice.ris.search.service;
 
 import de.bund.digitalservice.ris.search.repository.objectstorage.CaseLawBucket;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 /** Job for synchronizing the index of case law. */
@@ -14,12 +15,25 @@ public class CaseLawIndexSyncJob extends IndexSyncJob {
    *
    * @param indexStatusService service to manage the status of an index job
    * @param changelogService service to manage changelogs
+   * @param bucketManifest manifest of the bucket
+   * @param htmlCache cache of rendered documents
+   * @param zipCache cache of zip archives
    * @param indexCaselawService service to index caselawfiles
    */
   public CaseLawIndexSyncJob(
       IndexStatusService indexStatusService,
       ChangelogService<CaseLawBucket> changelogService,
+      BucketManifest<CaseLawBucket> bucketManifest,
+      @Qualifier("caseLawHtmlCache") RenderedHtmlCache htmlCache,
+      @Qualifier("caseLawZipCache") ZipArchiveCache zipCache,
       IndexCaselawService indexCaselawService) {
-    super(indexStatusService, changelogService, indexCaselawService, CASELAW_STATUS_FILENAME);
+    super(
+        indexStatusService,
+        changelogService,
+        bucketManifest,
+        htmlCache,
+        zipCache,
+        indexCaselawService,
+        CASELAW_STATUS_FILENAME);
   }
 }
@@ -9,6 +9,7 @@ import de.bund.digitalservice.ris.search.models.api.parameters.CaseLawSearchPara
 import de.bund.digitalservice.ris.search.models.api.parameters.UniversalSearchParams;
 import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationUnit;
 import de.bund.digitalservice.ris.search.repository.objectstorage.CaseLawBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
 import de.bund.digitalservice.ris.search.repository.objectstorage.StorageObject;
 import de.bund.digitalservice.ris.search.repository.opensearch.CaseLawRepository;
 import de.bund.digitalservice.ris.search.service.helper.CourtNameAbbreviationExpander;
@@ -49,6 +50,7 @@ public class CaseLawService {
   private final Configurations configurations;
   private final CaseLawLdmlToOpenSearchMapper marshaller;
   private final SimpleSearchQueryBuilder simpleSearchQueryBuilder;
+  private final AggregationCache<String, List<CourtSearchResult>> courtsCache;
 
   /**
    * Constructs a new instance of the CaseLawService class, initializing its dependencies.
@@ -59,6 +61,7 @@ public class CaseLawService {
    * @param configurations the configurations required for the service
    * @param marshaller the mapper for converting CaseLaw entities to OpenSearch format
    * @param simpleSearchQueryBuilder the builder used for constructing simple search queries
+   * @param aggregationCaches creates the cache of the court aggregations
    */
   @SneakyThrows
   @Autowired
@@ -68,13 +71,15 @@ public class CaseLawService {
       ElasticsearchOperations operations,
       Configurations configurations,
       CaseLawLdmlToOpenSearchMapper marshaller,
-      SimpleSearchQueryBuilder simpleSearchQueryBuilder) {
+      SimpleSearchQueryBuilder simpleSearchQueryBuilder,
+      AggregationCaches aggregationCaches) {
     this.caseLawRepository = caseLawRepository;
     this.caseLawBucket = caseLawBucket;
     this.operations = operations;
     this.configurations = configurations;
     this.marshaller = marshaller;
     this.simpleSearchQueryBuilder = simpleSearchQueryBuilder;
+    this.courtsCache = aggregationCaches.create("courts", this::fetchCourts);
   }
 
   /**
@@ -102,7 +107,8 @@ public class CaseLawService {
   }
 
   /**
-   * Retrieves a list of court search results based on the specified search prefix.
+   * Retrieves a list of court search results based on the specified search prefix. The results
+   * are cached per prefix and refreshed in the background.
    *
    * @param searchPrefix the prefix used to filter and search for court names; can be null for no
    *     filtering
@@ -110,11 +116,15 @@ public class CaseLawService {
    *     count, and expanded label
    */
   public List<CourtSearchResult> getCourts(String searchPrefix) {
+    // the query lower-cases the prefix anyway, so all spellings share a cache entry
+    return courtsCache.get(searchPrefix == null ? "" : searchPrefix.toLowerCase());
+  }
 
+  private List<CourtSearchResult> fetchCourts(String searchPrefix) {
     var filterQuery =
-        searchPrefix == null
+        searchPrefix.isEmpty()
             ? null
-            : new MatchPhrasePrefixQueryBuilder("court_keyword", searchPrefix.toLowerCase());
+            : new MatchPhrasePrefixQueryBuilder("court_keyword", searchPrefix);
     final String aggregationName = "t";
     var termsAggregation =
         new TermsAggregationBuilder(aggregationName).field("court_keyword.keyword");
@@ -167,7 +177,17 @@ public class CaseLawService {
    */
   public Optional<byte[]> getFileByDocumentNumber(String documentNumber)
       throws ObjectStoreServiceException {
-    return caseLawBucket.get(String.format("%s/%s.xml", documentNumber, documentNumber));
+    return caseLawBucket.get(getFileKey(documentNumber));
+  }
+
+  /**
+   * Get the key of the file of a document number in the case law bucket.
+   *
+   * @param documentNumber the document number of the file
+   * @return the key of the file
+   */
+  public static String getFileKey(String documentNumber) {
+    return String.format("%s/%s.xml", documentNumber, documentNumber);
   }
 
   public Optional<byte[]> getFileByPath(String path) throws ObjectStoreServiceException {
@@ -185,10 +205,11 @@ public class CaseLawService {
 
   /**
    * @param documentNumber a given document
-   * @return a list of the filenames that match the provided document number
+   * @return the files that match the provided document number, with their last modified
+   *     timestamps
    */
-  public List<String> getAllFilenamesByDocumentNumber(String documentNumber) {
-    return caseLawBucket.getAllKeysByPrefix(documentNumber);
+  public List<ObjectKeyInfo> getAllFileInfosByDocumentNumber(String documentNumber) {
+    return caseLawBucket.getAllKeyInfosByPrefix(documentNumber);
   }
 
   /**
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
@@ -44,22 +45,23 @@ public class ChangelogService<T extends ObjectStorage> {
    * Retrieves a list of new changelog file names from the specified object storage, filtered by
    * those that are newer than the specified last processed changelog.
    *
-   * <p>The method fetches all file keys from the changelog bucket with the prefix defined by
-   * `CHANGELOGS_PREFIX` and excludes the prefix itself from the results. It then filters out files
-   * that are lexicographically older or equal to the `lastProcessedChangelog` and sorts the
-   * remaining file names in ascending order.
+   * <p>The method lists the file keys from the changelog bucket with the prefix defined by
+   * `CHANGELOGS_PREFIX` which are lexicographically greater than the `lastProcessedChangelog`, so
+   * the already processed changelogs aren't listed at all. It excludes the prefix itself from the
+   * results and sorts the remaining file names in ascending order.
    *
    * @param lastProcessedChangelog the filename of the last processed changelog; files with
    *     lexicographically greater names will be included
    * @return a sorted list of file names representing unprocessed changelog files
    */
   public List<String> getNewChangelogsPaths(@NotNull String lastProcessedChangelog) {
-
-    return bucket.getAllKeysByPrefix(CHANGELOGS_PREFIX).stream()
-        .filter(e -> !CHANGELOGS_PREFIX.equals(e))
-        .filter(e -> e.compareTo(lastProcessedChangelog) > 0)
-        .sorted()
-        .toList();
+    try (Stream<String> keys =
+        bucket.streamKeysByPrefixAfter(CHANGELOGS_PREFIX, lastProcessedChangelog)) {
+      return keys.filter(e -> !CHANGELOGS_PREFIX.equals(e))
+          .filter(e -> e.compareTo(lastProcessedChangelog) > 0)
+          .sorted()
+          .toList();
+    }
   }
 
   /**
@@ -172,7 +174,7 @@ public class ChangelogService<T extends ObjectStorage> {
    * @param logs changelogs to be checked for a changeAll flag
    * @return true if any changelog contains a changeAll flag
    */
-  private boolean containsChangeAll(List<Changelog> logs) {
+  private static boolean containsChangeAll(List<Changelog> logs) {
     return logs.stream().anyMatch(Changelog::isChangeAll);
   }
 
@@ -182,10 +184,10 @@ public class ChangelogService<T extends ObjectStorage> {
    * encountered the method short circuits and returns a changeAll=true changelog. When no changes
    * are present the changed and deleted lists are empty.
    *
-   * @param changelogs the list of changelogs to merge
+   * @param changelogs the list of changelogs to merge, in the order they were written
    * @return the merged changelog
    */
-  private Changelog foldChangelogs(List<Changelog> changelogs) {
+  public static Changelog foldChangelogs(List<Changelog> changelogs) {
     Changelog result = new Changelog();
     if (containsChangeAll(changelogs)) {
       result.setChangeAll(true);
@@ -6,6 +6,7 @@ import de.bund.digitalservice.ris.search.models.DocumentKind;
 import de.bund.digitalservice.ris.search.models.opensearch.AdministrativeDirective;
 import de.bund.digitalservice.ris.search.repository.objectstorage.AdministrativeDirectiveBucket;
 import de.bund.digitalservice.ris.search.repository.opensearch.AdministrativeDirectiveRepository;
+import java.io.ByteArrayInputStream;
 import java.time.Instant;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
@@ -15,8 +16,10 @@ import org.springframework.stereotype.Service;
 public class IndexAdministrativeDirectiveService extends BaseIndexService<AdministrativeDirective> {
 
   public IndexAdministrativeDirectiveService(
-      AdministrativeDirectiveBucket bucket, AdministrativeDirectiveRepository repository) {
-    super(bucket, repository);
+      AdministrativeDirectiveBucket bucket,
+      AdministrativeDirectiveRepository repository,
+      IndexAliasService indexAliasService) {
+    super(bucket, repository, indexAliasService, AdministrativeDirective.class);
   }
 
   @Override
@@ -25,10 +28,11 @@ public class IndexAdministrativeDirectiveService extends BaseIndexService<Admini
   }
 
   @Override
-  protected Optional<AdministrativeDirective> mapFileToEntity(String filename, String fileContent) {
+  protected Optional<AdministrativeDirective> mapFileToEntity(String filename, byte[] fileContent) {
     try {
       return Optional.of(
-          AdministrativeDirectiveLdmlToOpenSearchMapper.map(fileContent, Instant.now()));
+          AdministrativeDirectiveLdmlToOpenSearchMapper.map(
+              new ByteArrayInputStream(fileContent), Instant.now()));
     } catch (OpenSearchMapperException e) {
       logger.warn("unable to parse file {}", filename, e);
       return Optional.empty();
@@ -0,0 +1,252 @@
+package de.bund.digitalservice.ris.search.service;
+
+import de.bund.digitalservice.ris.search.config.opensearch.Configurations;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.opensearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.admin.indices.forcemerge.ForceMergeRequest;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.client.core.CountRequest;
+import org.opensearch.client.indices.CreateIndexRequest;
+import org.opensearch.client.indices.GetIndexRequest;
+import org.opensearch.common.settings.Settings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Service;
+
+/**
+ * Manages the dated indices behind the per-kind aliases and the documents alias.
+ *
+ * <p>Besides resolving aliases, it supports full rebuilds into a fresh index: the new index is
+ * created without replicas and without refreshes, filled, checked, force-merged and then swapped
+ * in for the previous index with a single atomic alias update. Searches keep using the previous
+ * index until the swap, so a rebuild neither affects query latency nor needs a delete-by-query
+ * sweep of outdated documents.
+ */
+@Service
+public class IndexAliasService {
+
+  private static final Logger logger = LogManager.getLogger(IndexAliasService.class);
+  private static final DateTimeFormatter INDEX_SUFFIX_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd-HHmmss");
+  private static final String REPLICAS_SETTING = "index.number_of_replicas";
+  private static final String REFRESH_INTERVAL_SETTING = "index.refresh_interval";
+  private static final String DEFAULT_REPLICAS = "1";
+
+  private final RestHighLevelClient client;
+  private final ElasticsearchOperations operations;
+  private final Configurations configurations;
+  private final boolean fullRebuildEnabled;
+  private final double minDocumentRatio;
+
+  /**
+   * Constructor for IndexAliasService.
+   *
+   * @param client OpenSearch client used for index and alias administration
+   * @param operations operations used to write entities into a specific index
+   * @param configurations the OpenSearch configuration holding the documents alias name
+   * @param fullRebuildEnabled whether a full reindex is written into a fresh index
+   * @param minDocumentRatio minimum share of the indexed files which must be found as documents in
+   *     the fresh index before it is swapped in
+   */
+  public IndexAliasService(
+      RestHighLevelClient client,
+      ElasticsearchOperations operations,
+      Configurations configurations,
+      @Value("${indexing.full-rebuild.enabled}") boolean fullRebuildEnabled,
+      @Value("${indexing.full-rebuild.min-document-ratio}") double minDocumentRatio) {
+    this.client = client;
+    this.operations = operations;
+    this.configurations = configurations;
+    this.fullRebuildEnabled = fullRebuildEnabled;
+    this.minDocumentRatio = minDocumentRatio;
+  }
+
+  public boolean isFullRebuildEnabled() {
+    return fullRebuildEnabled;
+  }
+
+  /**
+   * Returns the alias the given entity type is read from and written to.
+   *
+   * @param entityClass the entity type
+   * @return the alias name of its index
+   */
+  public String getAliasName(Class<?> entityClass) {
+    return operations.getIndexCoordinatesFor(entityClass).getIndexName();
+  }
+
+  /**
+   * Creates a fresh dated index for a full rebuild. Leftovers of earlier rebuilds that never got
+   * the alias are deleted first. The index is created without replicas and with refreshes
+   * disabled, as nobody searches it until it is activated.
+   *
+   * @param aliasName the alias the index will replace the current index of
+   * @return the name of the new index
+   */
+  public String createRebuildIndex(String aliasName) {
+    try {
+      deleteAbandonedIndices(aliasName);
+      String indexName =
+          aliasName + "_" + LocalDateTime.now(ZoneOffset.UTC).format(INDEX_SUFFIX_FORMAT);
+      logger.info("Creating index {} for a full rebuild of {}", indexName, aliasName);
+      client
+          .indices()
+          .create(
+              new CreateIndexRequest(indexName)
+                  .settings(
+                      Settings.builder()
+                          .put(REPLICAS_SETTING, 0)
+                          .put(REFRESH_INTERVAL_SETTING, "-1")),
+              RequestOptions.DEFAULT);
+      return indexName;
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to create rebuild index for " + aliasName, e);
+    }
+  }
+
+  /**
+   * Writes entities directly into the given index instead of the alias of their type.
+   *
+   * @param entities the entities to write
+   * @param indexName the target index
+   * @param <T> the entity type
+   */
+  public <T> void save(List<T> entities, String indexName) {
+    if (!entities.isEmpty()) {
+      operations.save(entities, IndexCoordinates.of(indexName));
+    }
+  }
+
+  /**
+   * Swaps a rebuilt index in for the current index of the alias, if it holds enough documents.
+   *
+   * <p>The index is refreshed and counted first. If it holds less than the configured share of the
+   * expected documents, it is deleted and the current index stays active. Otherwise it is
+   * force-merged, gets its replicas and refresh interval back and replaces the current index in
+   * the alias and, if requested, in the documents alias. The previous index is removed in the same
+   * atomic alias update.
+   *
+   * @param aliasName the alias to move to the rebuilt index
+   * @param indexName the rebuilt index
+   * @param expectedDocuments the number of files indexed into the index
+   * @param includeInDocumentsAlias whether the index is part of the documents alias
+   * @throws IllegalStateException if the rebuilt index holds too few documents
+   */
+  public void activateRebuiltIndex(
+      String aliasName, String indexName, long expectedDocuments, boolean includeInDocumentsAlias) {
+    try {
+      client.indices().refresh(new RefreshRequest(indexName), RequestOptions.DEFAULT);
+      long indexedDocuments =
+          client.count(new CountRequest(indexName), RequestOptions.DEFAULT).getCount();
+      if (indexedDocuments < expectedDocuments * minDocumentRatio) {
+        deleteIndex(indexName);
+        throw new IllegalStateException(
+            "Rebuilt index %s has only %d of %d expected documents, keeping the current index"
+                .formatted(indexName, indexedDocuments, expectedDocuments));
+      }
+
+      Set<String> previousIndices = getIndicesOfAlias(aliasName);
+      client
+          .indices()
+          .forcemerge(new ForceMergeRequest(indexName).maxNumSegments(1), RequestOptions.DEFAULT);
+      client
+          .indices()
+          .putSettings(
+              new UpdateSettingsRequest(indexName)
+                  .settings(
+                      Settings.builder()
+                          .put(REPLICAS_SETTING, getReplicas(previousIndices))
+                          .putNull(REFRESH_INTERVAL_SETTING)),
+              RequestOptions.DEFAULT);
+
+      IndicesAliasesRequest aliasRequest = new IndicesAliasesRequest();
+      aliasRequest.addAliasAction(AliasActions.add().index(indexName).alias(aliasName));
+      if (includeInDocumentsAlias) {
+        aliasRequest.addAliasAction(
+            AliasActions.add().index(indexName).alias(configurations.getDocumentsAliasName()));
+      }
+      for (String previousIndex : previousIndices) {
+        aliasRequest.addAliasAction(AliasActions.removeIndex().index(previousIndex));
+      }
+      client.indices().updateAliases(aliasRequest, RequestOptions.DEFAULT);
+      logger.info(
+          "Alias {} now points to {} with {} documents, removed {}",
+          aliasName,
+          indexName,
+          indexedDocuments,
+          previousIndices);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to activate rebuilt index " + indexName, e);
+    }
+  }
+
+  /**
+   * Deletes a rebuild index which won't be activated, e.g. after a failed rebuild.
+   *
+   * @param indexName the index to delete
+   */
+  public void deleteIndex(String indexName) {
+    try {
+      logger.info("Deleting index {}", indexName);
+      client.indices().delete(new DeleteIndexRequest(indexName), RequestOptions.DEFAULT);
+    } catch (IOException e) {
+      logger.error("Failed to delete index {}", indexName, e);
+    }
+  }
+
+  private void deleteAbandonedIndices(String aliasName) throws IOException {
+    Set<String> aliasedIndices = getIndicesOfAlias(aliasName);
+    // only dated indices of exactly this alias, "norms_*" would also match "norms_e2e_*"
+    Pattern datedIndex =
+        Pattern.compile(Pattern.quote(aliasName) + "_\\d{4}-\\d{2}-\\d{2}(-\\d{6})?");
+    String[] indices =
+        client
+            .indices()
+            .get(new GetIndexRequest(aliasName + "_*"), RequestOptions.DEFAULT)
+            .getIndices();
+    Arrays.stream(indices)
+        .filter(index -> datedIndex.matcher(index).matches())
+        .filter(index -> !aliasedIndices.contains(index))
+        .forEach(this::deleteIndex);
+  }
+
+  private Set<String> getIndicesOfAlias(String aliasName) throws IOException {
+    return client
+        .indices()
+        .getAlias(new GetAliasesRequest(aliasName), RequestOptions.DEFAULT)
+        .getAliases()
+        .keySet();
+  }
+
+  private String getReplicas(Set<String> previousIndices) throws IOException {
+    if (previousIndices.isEmpty()) {
+      return DEFAULT_REPLICAS;
+    }
+    String previousIndex = previousIndices.iterator().next();
+    String replicas =
+        client
+            .indices()
+            .getSettings(
+                new GetSettingsRequest().indices(previousIndex).names(REPLICAS_SETTING),
+                RequestOptions.DEFAULT)
+            .getSetting(previousIndex, REPLICAS_SETTING);
+    return replicas != null ? replicas : DEFAULT_REPLICAS;
+  }
+}
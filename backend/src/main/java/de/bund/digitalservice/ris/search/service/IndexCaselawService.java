@@ -21,8 +21,9 @@ public class IndexCaselawService extends BaseIndexService<CaseLawDocumentationUn
   public IndexCaselawService(
       CaseLawBucket bucket,
       CaseLawRepository repository,
+      IndexAliasService indexAliasService,
       CaseLawLdmlToOpenSearchMapper marshaller) {
-    super(bucket, repository);
+    super(bucket, repository, indexAliasService, CaseLawDocumentationUnit.class);
     this.marshaller = marshaller;
   }
 
@@ -33,9 +34,9 @@ public class IndexCaselawService extends BaseIndexService<CaseLawDocumentationUn
 
   @Override
   protected Optional<CaseLawDocumentationUnit> mapFileToEntity(
-      String filename, String fileContent) {
+      String filename, byte[] fileContent) {
     try {
-      return Optional.of(marshaller.fromString(fileContent));
+      return Optional.of(marshaller.fromByteArray(fileContent));
     } catch (OpenSearchMapperException e) {
       logger.error("unable to parse file {}", filename, e);
       return Optional.empty();
@@ -8,6 +8,7 @@ import de.bund.digitalservice.ris.search.models.ldml.literature.LiteratureType;
 import de.bund.digitalservice.ris.search.models.opensearch.Literature;
 import de.bund.digitalservice.ris.search.repository.objectstorage.LiteratureBucket;
 import de.bund.digitalservice.ris.search.repository.opensearch.LiteratureRepository;
+import java.io.ByteArrayInputStream;
 import java.time.Instant;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,8 +26,11 @@ import org.springframework.stereotype.Service;
 public class IndexLiteratureService extends BaseIndexService<Literature> {
 
   @Autowired
-  public IndexLiteratureService(LiteratureBucket bucket, LiteratureRepository repository) {
-    super(bucket, repository);
+  public IndexLiteratureService(
+      LiteratureBucket bucket,
+      LiteratureRepository repository,
+      IndexAliasService indexAliasService) {
+    super(bucket, repository, indexAliasService, Literature.class);
   }
 
   @Override
@@ -35,15 +39,17 @@ public class IndexLiteratureService extends BaseIndexService<Literature> {
   }
 
   @Override
-  protected Optional<Literature> mapFileToEntity(String filename, String fileContent) {
+  protected Optional<Literature> mapFileToEntity(String filename, byte[] fileContent) {
     try {
       switch (LiteratureType.getByDocumentNumber(filename)) {
         case SLI -> {
           return Optional.of(
-              SliLiteratureLdmlToOpenSearchMapper.mapLdml(fileContent, Instant.now()));
+              SliLiteratureLdmlToOpenSearchMapper.mapLdml(
+                  new ByteArrayInputStream(fileContent), Instant.now()));
         }
         case ULI -> {
-          return Optional.of(LiteratureLdmlToOpenSearchMapper.mapLdml(fileContent));
+          return Optional.of(
+              LiteratureLdmlToOpenSearchMapper.mapLdml(new ByteArrayInputStream(fileContent)));
         }
         default -> {
           String msg = "unknown literaturetype " + filename;
@@ -3,6 +3,7 @@ package de.bund.digitalservice.ris.search.service;
 import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
 import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
 import de.bund.digitalservice.ris.search.mapper.NormLdmlToOpenSearchMapper;
+import de.bund.digitalservice.ris.search.models.opensearch.Article;
 import de.bund.digitalservice.ris.search.models.opensearch.Norm;
 import de.bund.digitalservice.ris.search.repository.objectstorage.NormsBucket;
 import de.bund.digitalservice.ris.search.repository.opensearch.ArticlesRepository;
@@ -24,13 +25,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.stereotype.Service;
 
 /** Service for indexing norms from an object storage bucket into an OpenSearch repository. */
@@ -42,7 +47,11 @@ public class IndexNormsService implements IndexService {
   private final Environment environment;
   private final NormsRepository normsRepository;
   private final ArticlesRepository articlesRepository;
+  private final ElasticsearchOperations operations;
   private final NormsBucket normsBucket;
+  private final int parallelism;
+  private final int cleanupBatchSize;
+  private final boolean streamingParser;
 
   // We can't use LocalDate.MIN or LocalDate.MAX because opensearch min and max differ from java
   public static final LocalDate TIME_RELEVANCE_MIN = LocalDate.of(1, Month.JANUARY, 1);
@@ -55,17 +64,30 @@ public class IndexNormsService implements IndexService {
    *
    * @param normsBucket The NormsBucket instance for accessing norm files.
    * @param normsRepository The NormsRepository instance for storing norms.
+   * @param articlesRepository The ArticlesRepository instance for storing articles.
+   * @param operations The operations used to read the mapping of the norms index.
+   * @param parallelism The number of works indexed concurrently.
+   * @param cleanupBatchSize The number of works whose outdated expressions are deleted together.
+   * @param streamingParser Whether norms are parsed in a single StAX pass instead of with the DOM.
    */
   @Autowired
   public IndexNormsService(
       Environment environment,
       NormsBucket normsBucket,
       NormsRepository normsRepository,
-      ArticlesRepository articlesRepository) {
+      ArticlesRepository articlesRepository,
+      ElasticsearchOperations operations,
+      @Value("${indexing.norms.parallelism}") int parallelism,
+      @Value("${indexing.norms.cleanup-batch-size}") int cleanupBatchSize,
+      @Value("${indexing.norms.streaming-parser}") boolean streamingParser) {
     this.environment = environment;
     this.normsBucket = normsBucket;
     this.normsRepository = normsRepository;
     this.articlesRepository = articlesRepository;
+    this.operations = operations;
+    this.parallelism = parallelism;
+    this.cleanupBatchSize = cleanupBatchSize;
+    this.streamingParser = streamingParser;
   }
 
   /**
@@ -129,23 +151,153 @@ public class IndexNormsService implements IndexService {
                 EliFile::getWorkEli, Collectors.mapping(EliFile::toString, Collectors.toList())));
   }
 
+  /**
+   * Indexes the given works concurrently. Every work is processed completely by one task, so its
+   * time relevance windows and the cleanup of its outdated expressions stay consistent. A failing
+   * work doesn't stop the others, but fails the run once all works are processed, so neither the
+   * old norms are cleared nor is the changelog marked as processed.
+   *
+   * <p>The articles are only nested in the norm documents if the norms index maps them as nested.
+   * An index created before the mapping was added would map them dynamically as objects instead,
+   * which breaks the nested queries on it for good.
+   *
+   * @param workElis the works to index with all their files
+   * @param startingTimestamp expressions of these works indexed before this time are deleted
+   * @throws IllegalStateException if a work or the cleanup of outdated expressions failed
+   */
   private void processWorkEliUpdates(
       Map<WorkEli, List<String>> workElis, String startingTimestamp) {
-    int processedWorkEli = 0;
-    int totalWorkElis = workElis.size();
+    IndexingProgress progress = new IndexingProgress("norms", workElis.size(), BATCH_SIZE);
+    StaleExpressionCleanup cleanup = new StaleExpressionCleanup(startingTimestamp);
+    boolean nestedArticles = hasNestedArticlesMapping();
+    if (!nestedArticles) {
+      logger.info("The norms index doesn't map articles as nested, indexing them separately only");
+    }
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+      for (Map.Entry<WorkEli, List<String>> entry : workElis.entrySet()) {
+        executor.execute(
+            () -> {
+              if (indexWork(entry.getKey(), entry.getValue(), nestedArticles, progress)) {
+                cleanup.add(entry.getKey());
+              }
+            });
+      }
+    }
+
+    cleanup.flush();
+
+    if (progress.getFailed() > 0) {
+      throw new IllegalStateException(
+          "%d of %d works could not be indexed".formatted(progress.getFailed(), workElis.size()));
+    }
+    if (cleanup.hasFailed()) {
+      throw new IllegalStateException("Outdated expressions of indexed works could not be removed");
+    }
+  }
+
+  private boolean indexWork(
+      WorkEli workEli, List<String> filenames, boolean nestedArticles, IndexingProgress progress) {
+    try {
+      processOneNormWork(workEli, filenames, nestedArticles);
+      progress.succeeded();
+      return true;
+    } catch (RuntimeException e) {
+      logger.error("Error while indexing work {}", workEli, e);
+      progress.failed();
+      return false;
+    }
+  }
+
+  /**
+   * Collects works whose new expressions have been written and deletes their expressions and
+   * articles indexed before the starting timestamp. Instead of two delete-by-query requests per
+   * work, the works are cleaned up together once enough of them have been collected.
+   *
+   * <p>The deletes run outside the indexing of any single work, so a failing delete never counts
+   * against the work that happened to fill the batch. A batch whose deletes fail goes back to the
+   * pending works, so the final flush retries it, and the run fails either way.
+   */
+  private final class StaleExpressionCleanup {
+    private final String startingTimestamp;
+    private List<String> pendingWorkElis = new ArrayList<>();
+    private int deleteRequests = 0;
+    private int cleanedWorks = 0;
+    private boolean failed = false;
+
+    private StaleExpressionCleanup(String startingTimestamp) {
+      this.startingTimestamp = startingTimestamp;
+    }
 
-    for (Map.Entry<WorkEli, List<String>> entry : workElis.entrySet()) {
-      processOneNormWork(entry.getKey(), entry.getValue(), startingTimestamp);
+    private void add(WorkEli workEli) {
+      List<String> batch;
+      synchronized (this) {
+        pendingWorkElis.add(workEli.toString());
+        if (pendingWorkElis.size() < cleanupBatchSize) {
+          return;
+        }
+        batch = takePending();
+      }
+      try {
+        delete(batch);
+      } catch (RuntimeException e) {
+        logger.error("Failed to remove outdated expressions of {}, retrying later", batch, e);
+        synchronized (this) {
+          pendingWorkElis.addAll(batch);
+          failed = true;
+        }
+      }
+    }
 
-      processedWorkEli++;
-      if (processedWorkEli % BATCH_SIZE == 0 || processedWorkEli == totalWorkElis) {
-        logger.info("index progress: {}/{} works processed", processedWorkEli, totalWorkElis);
+    private void flush() {
+      List<String> batch;
+      synchronized (this) {
+        batch = takePending();
+      }
+      if (!batch.isEmpty()) {
+        try {
+          delete(batch);
+        } catch (RuntimeException e) {
+          logger.error("Failed to remove outdated expressions of {}", batch, e);
+          synchronized (this) {
+            failed = true;
+          }
+        }
+      }
+      logger.info(
+          "Removed outdated expressions of {} works with {} delete requests",
+          cleanedWorks,
+          deleteRequests);
+    }
+
+    private synchronized boolean hasFailed() {
+      return failed;
+    }
+
+    private List<String> takePending() {
+      List<String> batch = pendingWorkElis;
+      pendingWorkElis = new ArrayList<>();
+      return batch;
+    }
+
+    private void delete(List<String> workElis) {
+      normsRepository.deleteByWorkEliInAndIndexedAtBefore(workElis, startingTimestamp);
+      articlesRepository.deleteByWorkEliInAndIndexedAtBefore(workElis, startingTimestamp);
+      synchronized (this) {
+        deleteRequests += 2;
+        cleanedWorks += workElis.size();
       }
     }
   }
 
-  private void processOneNormWork(
-      WorkEli workEli, List<String> filenames, String startingTimestamp) {
+  private boolean hasNestedArticlesMapping() {
+    Map<String, Object> mapping = operations.indexOps(Norm.class).getMapping();
+    return mapping.get("properties") instanceof Map<?, ?> properties
+        && properties.get(Norm.Fields.ARTICLES) instanceof Map<?, ?> articles
+        && "nested".equals(articles.get("type"));
+  }
+
+  private void processOneNormWork(WorkEli workEli, List<String> filenames, boolean nestedArticles) {
 
     Set<ExpressionEli> expressionElis =
         filenames.stream()
@@ -168,14 +320,14 @@ public class IndexNormsService implements IndexService {
 
     addTimeRelevanceWindows(workEli.toString(), normExpressions);
 
+    List<List<Article>> articles = normExpressions.stream().map(Norm::getArticles).toList();
+    if (!nestedArticles) {
+      normExpressions.forEach(norm -> norm.setArticles(null));
+    }
     BatchUtils.processInBatches(normExpressions, BATCH_SIZE, normsRepository::saveAll);
-    for (Norm norm : normExpressions) {
-      BatchUtils.processInBatches(norm.getArticles(), BATCH_SIZE, articlesRepository::saveAll);
+    for (List<Article> normArticles : articles) {
+      BatchUtils.processInBatches(normArticles, BATCH_SIZE, articlesRepository::saveAll);
     }
-
-    // delete the expressions from this work that were indexed before the start time
-    normsRepository.deleteByWorkEliAndIndexedAtBefore(workEli.toString(), startingTimestamp);
-    articlesRepository.deleteByWorkEliAndIndexedAtBefore(workEli.toString(), startingTimestamp);
   }
 
   private void addTimeRelevanceWindows(String workEli, List<Norm> norms) {
@@ -270,7 +422,7 @@ public class IndexNormsService implements IndexService {
       return Optional.empty();
     }
     String fileName = newestFileName.get();
-    Optional<String> fileContent = normsBucket.getFileAsString(fileName);
+    Optional<byte[]> fileContent = normsBucket.get(fileName);
     if (fileContent.isEmpty()) {
       logger.error("Error reading file content for file {} from S3.", fileName);
       return Optional.empty();
@@ -282,7 +434,8 @@ public class IndexNormsService implements IndexService {
         fileName,
         fileContent.get(),
         attachments,
-        environment.acceptsProfiles(Profiles.of("prototype")));
+        environment.acceptsProfiles(Profiles.of("prototype")),
+        streamingParser);
   }
 
   /**
@@ -322,8 +475,15 @@ public class IndexNormsService implements IndexService {
    * @return The number of indexable documents in the norms bucket.
    */
   public int getNumberOfIndexableDocumentsInBucket() {
+    try (Stream<String> keys = normsBucket.streamKeysByPrefix("eli/")) {
+      return countIndexableDocuments(keys);
+    }
+  }
+
+  @Override
+  public int countIndexableDocuments(Stream<String> keys) {
     Set<ExpressionEli> norms =
-        normsBucket.getAllKeysByPrefix("eli/").stream()
+        keys.filter(key -> key.startsWith("eli/"))
             .map(EliFile::fromString)
             .flatMap(Optional::stream)
             .filter(e -> e.fileName().startsWith("regelungstext-"))
@@ -2,6 +2,7 @@ package de.bund.digitalservice.ris.search.service;
 
 import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
 import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
+import java.util.stream.Stream;
 
 /** Service interface for indexing operations. */
 public interface IndexService {
@@ -13,4 +14,12 @@ public interface IndexService {
   int getNumberOfIndexedEntities();
 
   int getNumberOfIndexableDocumentsInBucket();
+
+  /**
+   * Counts the documents that the given keys of the bucket would be indexed as.
+   *
+   * @param keys keys of the bucket, e.g. from its manifest
+   * @return the number of indexable documents
+   */
+  int countIndexableDocuments(Stream<String> keys);
 }
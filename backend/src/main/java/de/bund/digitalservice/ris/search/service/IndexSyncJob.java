@@ -4,11 +4,22 @@ import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
 import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
 import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorage;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.scheduling.annotation.Async;
 
 /**
@@ -21,35 +32,62 @@ import org.springframework.scheduling.annotation.Async;
  * <p>This class interacts with: - `IndexStatusService` to update last processed changelog
  * information. - `ObjectStorage` to fetch changelog file information. - `IndexService` to perform
  * indexing operations based on the changelog or complete reindexes.
+ *
+ * <p>A successful run publishes an {@link IndexSyncedEvent}, so caches derived from the index can
+ * be refreshed.
  */
-public class IndexSyncJob implements Job {
+public class IndexSyncJob implements Job, ApplicationEventPublisherAware {
 
   private static final Logger logger = LogManager.getLogger(IndexSyncJob.class);
 
+  /** The number of changelogs folded into one change, bounding the size of a change. */
+  private static final int CHANGELOG_BATCH_SIZE = 200;
+
+  /** The number of changelogs downloaded ahead of the one being folded. */
+  private static final int CHANGELOG_PREFETCH = 16;
+
   private final IndexStatusService indexStatusService;
   private final ChangelogService<? extends ObjectStorage> changelogService;
+  private final BucketManifest<? extends ObjectStorage> bucketManifest;
+  private final RenderedHtmlCache htmlCache;
+  private final ZipArchiveCache zipCache;
   private final IndexService indexService;
   private final String statusFileName;
+  private ApplicationEventPublisher eventPublisher;
 
   /**
    * Constructs an IndexSyncJob with the specified services and status file *
    *
    * @param indexStatusService the service to manage index status
    * @param changelogService the object storage for changelog files
+   * @param bucketManifest the manifest of the bucket, kept up to date with the changelogs
+   * @param htmlCache the cache of rendered documents, cleared of changed documents
+   * @param zipCache the cache of zip archives, cleared of changed documents
    * @param indexService the service to perform indexing operations
    * @param statusFileName the name of the status
    */
   public IndexSyncJob(
       IndexStatusService indexStatusService,
       ChangelogService<? extends ObjectStorage> changelogService,
+      BucketManifest<? extends ObjectStorage> bucketManifest,
+      RenderedHtmlCache htmlCache,
+      ZipArchiveCache zipCache,
       IndexService indexService,
       String statusFileName) {
     this.indexStatusService = indexStatusService;
     this.changelogService = changelogService;
+    this.bucketManifest = bucketManifest;
+    this.htmlCache = htmlCache;
+    this.zipCache = zipCache;
     this.indexService = indexService;
     this.statusFileName = statusFileName;
   }
 
+  @Override
+  public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+    this.eventPublisher = eventPublisher;
+  }
+
   @Async
   public void runJobAsync() {
     runJob();
@@ -77,6 +115,9 @@ public class IndexSyncJob implements Job {
       return ReturnCode.ERROR;
     }
     logger.info("Index sync job finished successfully for {}", statusFileName);
+    if (eventPublisher != null) {
+      eventPublisher.publishEvent(new IndexSyncedEvent(statusFileName));
+    }
 
     return ReturnCode.SUCCESS;
   }
@@ -104,6 +145,10 @@ public class IndexSyncJob implements Job {
       // if status file or last success missing do a full reset
       logger.info("Reindexing all due to missing previous lastProcessedChangelogFile");
       indexService.reindexAll(state.startTime());
+      // without a processed changelog the manifest can't be trusted to be up to date
+      bucketManifest.invalidate();
+      htmlCache.invalidateAll();
+      zipCache.invalidateAll();
       indexStatusService.updateLastProcessedChangelog(
           statusFileName, ChangelogService.CHANGELOGS_PREFIX + state.startTime());
       alertOnNumberMismatch(state);
@@ -121,16 +166,76 @@ public class IndexSyncJob implements Job {
     }
   }
 
+  /**
+   * Processes the changelogs in batches. The changelogs are downloaded and parsed concurrently,
+   * ahead of the batch being applied. The changelogs of a batch are folded into a single net
+   * change, so a document mentioned by many of them is indexed once, and the status file is
+   * updated once per batch.
+   */
   private void processChangelogs(IndexingState state, List<String> unprocessedChangelogs)
       throws ObjectStoreServiceException {
-    for (String fileName : unprocessedChangelogs) {
-      Optional<Changelog> changelogOptional = changelogService.parseOneChangelog(fileName);
-      if (changelogOptional.isPresent()) {
-        logger.info("Processing changelog {}", fileName);
-        importChangelogContent(changelogOptional.get(), state.startTime());
-        indexStatusService.updateLastProcessedChangelog(statusFileName, fileName);
-        logger.info("Processed changelog {}", fileName);
+    // do not rely on the autoClosable of the ExecutorService, it would wait for the downloads
+    // still running after an error
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    try {
+      Deque<Future<Optional<Changelog>>> downloads = new ArrayDeque<>();
+      Iterator<String> filesToDownload = unprocessedChangelogs.iterator();
+      for (int start = 0; start < unprocessedChangelogs.size(); start += CHANGELOG_BATCH_SIZE) {
+        List<String> batch =
+            unprocessedChangelogs.subList(
+                start, Math.min(start + CHANGELOG_BATCH_SIZE, unprocessedChangelogs.size()));
+        List<Changelog> changelogs = new ArrayList<>();
+        String lastParsedFile = null;
+        for (String fileName : batch) {
+          while (downloads.size() < CHANGELOG_PREFETCH && filesToDownload.hasNext()) {
+            String nextFile = filesToDownload.next();
+            downloads.add(executor.submit(() -> changelogService.parseOneChangelog(nextFile)));
+          }
+          Optional<Changelog> changelog = await(downloads.poll());
+          if (changelog.isPresent()) {
+            checkDisjoint(changelog.get());
+            changelogs.add(changelog.get());
+            lastParsedFile = fileName;
+          }
+        }
+        if (lastParsedFile != null) {
+          applyChangelogs(changelogs, lastParsedFile, state.startTime());
+        }
       }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void applyChangelogs(List<Changelog> changelogs, String lastFile, String startTime)
+      throws ObjectStoreServiceException {
+    Changelog changes = ChangelogService.foldChangelogs(changelogs);
+    logger.info(
+        "Processing {} changelogs up to {} with {} changed and {} deleted files",
+        changelogs.size(),
+        lastFile,
+        changes.getChanged().size(),
+        changes.getDeleted().size());
+    importChangelogContent(changes, startTime);
+    bucketManifest.apply(changes);
+    htmlCache.invalidate(changes);
+    zipCache.invalidate(changes);
+    indexStatusService.updateLastProcessedChangelog(statusFileName, lastFile);
+    logger.info("Processed changelogs up to {}", lastFile);
+  }
+
+  private static Optional<Changelog> await(Future<Optional<Changelog>> download)
+      throws ObjectStoreServiceException {
+    try {
+      return download.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ObjectStoreServiceException("Interrupted while downloading a changelog", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new ObjectStoreServiceException("Failed to download a changelog", e.getCause());
     }
   }
 
@@ -159,16 +264,21 @@ public class IndexSyncJob implements Job {
       logger.info("Reindexing all");
       indexService.reindexAll(startTime);
     } else {
-      if (!Collections.disjoint(changelog.getChanged(), changelog.getDeleted())) {
-        throw new IllegalArgumentException("duplicate identifier in changed and deleted list");
-      }
+      checkDisjoint(changelog);
       indexService.indexChangelog(changelog);
     }
   }
 
+  private static void checkDisjoint(Changelog changelog) {
+    if (!Collections.disjoint(changelog.getChanged(), changelog.getDeleted())) {
+      throw new IllegalArgumentException("duplicate identifier in changed and deleted list");
+    }
+  }
+
   /**
    * Alerts when there is a mismatch between the number of files in the changelog bucket and the
-   * number of indexed documents, only if there are no unprocessed changelogs.
+   * number of indexed documents, only if there are no unprocessed changelogs. The files are counted
+   * from the bucket manifest, which is up to date once every changelog is processed.
    *
    * @param state the current indexing state containing information such as the last processed
    *     changelog file
@@ -180,7 +290,10 @@ public class IndexSyncJob implements Job {
     List<String> unprocessedChangelogs =
         changelogService.getNewChangelogsPaths(state.lastProcessedChangelogFile());
     if (unprocessedChangelogs.isEmpty()) {
-      int numberOfFilesInBucket = indexService.getNumberOfIndexableDocumentsInBucket();
+      int numberOfFilesInBucket;
+      try (Stream<String> keys = bucketManifest.streamAllKeys()) {
+        numberOfFilesInBucket = indexService.countIndexableDocuments(keys);
+      }
       int numberOfIndexedDocuments = indexService.getNumberOfIndexedEntities();
       if (numberOfFilesInBucket != numberOfIndexedDocuments) {
         String indexServiceName = indexService.getClass().getSimpleName();
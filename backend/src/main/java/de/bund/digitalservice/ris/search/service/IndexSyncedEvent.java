@@ -0,0 +1,8 @@
+package de.bund.digitalservice.ris.search.service;
+
+/**
+ * Published by an {@link IndexSyncJob} after it has synchronized its index successfully.
+ *
+ * @param statusFileName the name of the status file of the synchronized index
+ */
+public record IndexSyncedEvent(String statusFileName) {}
@@ -0,0 +1,270 @@
+package de.bund.digitalservice.ris.search.service;
+
+import de.bund.digitalservice.ris.search.repository.objectstorage.StorageObject;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Staged indexing pipeline which overlaps downloading, parsing and bulk indexing of files.
+ *
+ * <p>Batches of filenames are downloaded on the calling thread, parsed on a fixed size worker pool
+ * and written by a single writer thread. The stages are connected by bounded queues, so a slow
+ * stage blocks the stages in front of it instead of letting batches pile up in memory. When a run
+ * is finished the throughput of every stage is logged, which shows the stage limiting the run.
+ *
+ * @param <T> the type of the entities produced by the parse stage
+ */
+public class IndexingPipeline<T> {
+
+  private static final Logger logger = LogManager.getLogger(IndexingPipeline.class);
+
+  private final Function<List<String>, List<StorageObject>> fetcher;
+  private final Function<StorageObject, Optional<T>> parser;
+  private final Consumer<List<T>> writer;
+  private final int batchSize;
+  private final int parseThreads;
+  private final int queueCapacity;
+
+  /**
+   * Creates a new pipeline.
+   *
+   * @param fetcher downloads a batch of files
+   * @param parser maps one downloaded file to an entity, empty if the file can't be indexed
+   * @param writer sends a batch of entities to the index
+   * @param batchSize number of files per batch
+   * @param parseThreads number of worker threads of the parse stage
+   * @param queueCapacity number of batches which may wait between two stages
+   */
+  public IndexingPipeline(
+      Function<List<String>, List<StorageObject>> fetcher,
+      Function<StorageObject, Optional<T>> parser,
+      Consumer<List<T>> writer,
+      int batchSize,
+      int parseThreads,
+      int queueCapacity) {
+    this.fetcher = fetcher;
+    this.parser = parser;
+    this.writer = writer;
+    this.batchSize = batchSize;
+    this.parseThreads = parseThreads;
+    this.queueCapacity = queueCapacity;
+  }
+
+  /**
+   * Downloads, parses and indexes the given files. Blocks until every batch is written or one of
+   * the stages fails, in which case the failure of that stage is rethrown.
+   *
+   * @param filenames the files to index
+   * @throws IllegalStateException if the calling thread is interrupted before the run is finished
+   */
+  public void run(List<String> filenames) {
+    run(filenames.stream());
+  }
+
+  /**
+   * Downloads, parses and indexes the files of a lazily produced stream, e.g. a bucket listing. The
+   * next batch of filenames is only taken from the stream when the fetch stage is ready for it, so
+   * the filenames are never held in memory all at once.
+   *
+   * @param filenames the files to index
+   * @return the number of entities written, which excludes files that couldn't be parsed
+   * @throws IllegalStateException if the calling thread is interrupted before the run is finished
+   */
+  public long run(Stream<String> filenames) {
+    Iterator<String> filenameIterator = filenames.iterator();
+    if (!filenameIterator.hasNext()) {
+      return 0;
+    }
+    logger.info("Indexing process started ({} parse threads)", parseThreads);
+
+    StageStats fetchStats = new StageStats("fetch", 1);
+    StageStats parseStats = new StageStats("parse", parseThreads);
+    StageStats indexStats = new StageStats("index", 1);
+    BlockingQueue<Batch<StorageObject>> fetched = new ArrayBlockingQueue<>(queueCapacity);
+    BlockingQueue<Batch<T>> parsed = new ArrayBlockingQueue<>(queueCapacity);
+    long start = System.nanoTime();
+
+    ExecutorService parseExecutor = Executors.newFixedThreadPool(parseThreads);
+    ExecutorService writeExecutor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> writeTask =
+          writeExecutor.submit(
+              () -> {
+                writeLoop(parsed, indexStats);
+                return null;
+              });
+      List<Future<?>> parseTasks = new ArrayList<>(parseThreads);
+      for (int i = 0; i < parseThreads; i++) {
+        parseTasks.add(
+            parseExecutor.submit(
+                () -> {
+                  parseLoop(fetched, parsed, parseStats, writeTask);
+                  return null;
+                }));
+      }
+
+      while (filenameIterator.hasNext()) {
+        List<String> batch = nextBatch(filenameIterator);
+        List<StorageObject> objects = fetchStats.time(batch.size(), () -> fetcher.apply(batch));
+        put(fetched, new Batch<>(objects, false), parseTasks);
+      }
+      for (int i = 0; i < parseThreads; i++) {
+        put(fetched, Batch.end(), parseTasks);
+      }
+      for (Future<?> parseTask : parseTasks) {
+        parseTask.get();
+      }
+      put(parsed, Batch.end(), List.of(writeTask));
+      writeTask.get();
+    } catch (ExecutionException e) {
+      throw rethrow(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      // a partial run must not look finished, callers delete what it didn't index
+      throw new IllegalStateException("Indexing pipeline was interrupted", e);
+    } finally {
+      parseExecutor.shutdownNow();
+      writeExecutor.shutdownNow();
+    }
+
+    long wallNanos = System.nanoTime() - start;
+    for (StageStats stats : List.of(fetchStats, parseStats, indexStats)) {
+      stats.log(wallNanos);
+    }
+    return indexStats.items.get();
+  }
+
+  private List<String> nextBatch(Iterator<String> filenames) {
+    List<String> batch = new ArrayList<>(batchSize);
+    while (batch.size() < batchSize && filenames.hasNext()) {
+      batch.add(filenames.next());
+    }
+    return batch;
+  }
+
+  private void parseLoop(
+      BlockingQueue<Batch<StorageObject>> fetched,
+      BlockingQueue<Batch<T>> parsed,
+      StageStats parseStats,
+      Future<?> writeTask)
+      throws InterruptedException, ExecutionException {
+    while (true) {
+      Batch<StorageObject> batch = fetched.take();
+      if (batch.isEnd()) {
+        return;
+      }
+      List<T> entities =
+          parseStats.time(
+              batch.items().size(),
+              () -> batch.items().stream().map(parser).flatMap(Optional::stream).toList());
+      put(parsed, new Batch<>(entities, false), List.of(writeTask));
+    }
+  }
+
+  private void writeLoop(BlockingQueue<Batch<T>> parsed, StageStats indexStats)
+      throws InterruptedException {
+    int written = 0;
+    while (true) {
+      Batch<T> batch = parsed.take();
+      if (batch.isEnd()) {
+        return;
+      }
+      logger.info("Sending {} entities to OpenSearch", batch.items().size());
+      indexStats.time(
+          batch.items().size(),
+          () -> {
+            writer.accept(batch.items());
+            return null;
+          });
+      logger.info("Indexing batch {} complete.", ++written);
+    }
+  }
+
+  /**
+   * Hands an element to the next stage. Waits while the queue is full, but gives up as soon as one
+   * of the consuming tasks has failed, because nobody would take the element anymore.
+   */
+  private static <E> void put(BlockingQueue<E> queue, E element, List<Future<?>> consumers)
+      throws InterruptedException, ExecutionException {
+    while (!queue.offer(element, 1, TimeUnit.SECONDS)) {
+      for (Future<?> consumer : consumers) {
+        if (consumer.isDone()) {
+          consumer.get();
+          throw new IllegalStateException("Indexing stage stopped before the end of its input");
+        }
+      }
+    }
+  }
+
+  private static RuntimeException rethrow(Throwable cause) {
+    // a stage which failed because the next stage failed carries that failure as its cause
+    while (cause instanceof ExecutionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof RuntimeException runtimeException) {
+      return runtimeException;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new IllegalStateException("Indexing pipeline failed", cause);
+  }
+
+  private record Batch<E>(List<E> items, boolean isEnd) {
+    static <E> Batch<E> end() {
+      return new Batch<>(List.of(), true);
+    }
+  }
+
+  /** Counts the items passing one stage and the time its threads spent working on them. */
+  private static final class StageStats {
+    private final String name;
+    private final int threads;
+    private final AtomicLong items = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+
+    private StageStats(String name, int threads) {
+      this.name = name;
+      this.threads = threads;
+    }
+
+    private <R> R time(int itemCount, Supplier<R> work) {
+      long start = System.nanoTime();
+      try {
+        return work.get();
+      } finally {
+        busyNanos.addAndGet(System.nanoTime() - start);
+        items.addAndGet(itemCount);
+      }
+    }
+
+    private void log(long wallNanos) {
+      double busySeconds = busyNanos.get() / 1e9;
+      double wallSeconds = wallNanos / 1e9;
+      logger.info(
+          "Indexing stage {}: {} items, {} items/s overall, busy {} of {} ({} threads)",
+          name,
+          items.get(),
+          "%.1f".formatted(wallSeconds > 0 ? items.get() / wallSeconds : 0),
+          "%.1fs".formatted(busySeconds / threads),
+          "%.1fs".formatted(wallSeconds),
+          threads);
+    }
+  }
+}
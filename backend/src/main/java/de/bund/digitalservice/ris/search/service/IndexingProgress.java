@@ -0,0 +1,112 @@
+package de.bund.digitalservice.ris.search.service;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Tracks the progress of an indexing run over a known number of units of work.
+ *
+ * <p>Progress, throughput and the estimated remaining time are logged at a fixed interval of
+ * completed units and published as gauges, so long-running reindexes can be followed on the
+ * dashboards instead of in the logs.
+ */
+public class IndexingProgress {
+
+  private static final Logger logger = LogManager.getLogger(IndexingProgress.class);
+  private static final Map<String, AtomicReference<IndexingProgress>> CURRENT_RUNS =
+      new ConcurrentHashMap<>();
+
+  private final String name;
+  private final int total;
+  private final int logInterval;
+  private final long startNanos = System.nanoTime();
+  private final AtomicInteger processed = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+
+  /**
+   * Starts tracking a new run.
+   *
+   * @param name the name of the run, used in log lines and as the {@code index} tag of the gauges
+   * @param total the number of units of work in the run
+   * @param logInterval the number of completed units after which the progress is logged
+   */
+  public IndexingProgress(String name, int total, int logInterval) {
+    this.name = name;
+    this.total = total;
+    this.logInterval = logInterval;
+    CURRENT_RUNS.computeIfAbsent(name, IndexingProgress::registerGauges).set(this);
+  }
+
+  /**
+   * Registers the gauges of a run name once. They always report the latest run of that name, as
+   * gauges can't be re-registered for a new object.
+   */
+  private static AtomicReference<IndexingProgress> registerGauges(String name) {
+    AtomicReference<IndexingProgress> current = new AtomicReference<>();
+    Tags tags = Tags.of("index", name);
+    Metrics.gauge("ris.indexing.progress.total", tags, current, r -> r.get().total);
+    Metrics.gauge("ris.indexing.progress.processed", tags, current, r -> r.get().getProcessed());
+    Metrics.gauge("ris.indexing.progress.failed", tags, current, r -> r.get().getFailed());
+    Metrics.gauge(
+        "ris.indexing.progress.remaining.seconds",
+        tags,
+        current,
+        r -> r.get().estimateRemaining().toSeconds());
+    return current;
+  }
+
+  /** Records a successfully processed unit of work. */
+  public void succeeded() {
+    completed(processed.incrementAndGet());
+  }
+
+  /** Records a unit of work which failed and was skipped. */
+  public void failed() {
+    failed.incrementAndGet();
+    completed(processed.incrementAndGet());
+  }
+
+  public int getProcessed() {
+    return processed.get();
+  }
+
+  public int getFailed() {
+    return failed.get();
+  }
+
+  /**
+   * Estimates the remaining time of the run from the average throughput so far.
+   *
+   * @return the estimated remaining duration, zero if nothing has been processed yet
+   */
+  public Duration estimateRemaining() {
+    int done = processed.get();
+    if (done == 0) {
+      return Duration.ZERO;
+    }
+    long elapsed = System.nanoTime() - startNanos;
+    return Duration.ofNanos(elapsed / done * (total - done));
+  }
+
+  private void completed(int done) {
+    if (done % logInterval != 0 && done != total) {
+      return;
+    }
+    double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+    logger.info(
+        "{} progress: {}/{} processed, {} failed, {}/s, ETA {}",
+        name,
+        done,
+        total,
+        failed.get(),
+        "%.1f".formatted(elapsedSeconds > 0 ? done / elapsedSeconds : 0),
+        estimateRemaining().withNanos(0));
+  }
+}
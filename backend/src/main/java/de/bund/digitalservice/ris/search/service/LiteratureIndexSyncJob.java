@@ -1,6 +1,7 @@
 package de.bund.digitalservice.ris.search.service;
 
 import de.bund.digitalservice.ris.search.repository.objectstorage.LiteratureBucket;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 /** Job for synchronizing the index of literature. */
@@ -14,12 +15,25 @@ public class LiteratureIndexSyncJob extends IndexSyncJob {
    *
    * @param indexStatusService service to manage the status of an index job
    * @param changelogService service to manage changelogs
+   * @param bucketManifest manifest of the bucket
+   * @param htmlCache cache of rendered documents
+   * @param zipCache cache of zip archives
    * @param indexLiteratureService service to index literature files
    */
   public LiteratureIndexSyncJob(
       IndexStatusService indexStatusService,
       ChangelogService<LiteratureBucket> changelogService,
+      BucketManifest<LiteratureBucket> bucketManifest,
+      @Qualifier("literatureHtmlCache") RenderedHtmlCache htmlCache,
+      @Qualifier("literatureZipCache") ZipArchiveCache zipCache,
       IndexLiteratureService indexLiteratureService) {
-    super(indexStatusService, changelogService, indexLiteratureService, LITERATURE_STATUS_FILENAME);
+    super(
+        indexStatusService,
+        changelogService,
+        bucketManifest,
+        htmlCache,
+        zipCache,
+        indexLiteratureService,
+        LITERATURE_STATUS_FILENAME);
   }
 }
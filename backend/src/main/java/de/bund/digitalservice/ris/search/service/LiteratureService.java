@@ -7,6 +7,7 @@ import de.bund.digitalservice.ris.search.models.api.parameters.LiteratureSearchP
 import de.bund.digitalservice.ris.search.models.api.parameters.UniversalSearchParams;
 import de.bund.digitalservice.ris.search.models.opensearch.Literature;
 import de.bund.digitalservice.ris.search.repository.objectstorage.LiteratureBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
 import de.bund.digitalservice.ris.search.repository.opensearch.LiteratureRepository;
 import de.bund.digitalservice.ris.search.service.helper.ZipManager;
 import de.bund.digitalservice.ris.search.utils.PageUtils;
@@ -125,15 +126,26 @@ public class LiteratureService {
    */
   public Optional<byte[]> getFileByDocumentNumber(String documentNumber)
       throws ObjectStoreServiceException {
-    return literatureBucket.get(String.format("%s.akn.xml", documentNumber));
+    return literatureBucket.get(getFileKey(documentNumber));
+  }
+
+  /**
+   * Retrieves the key of the file of a literature item in the literature bucket
+   *
+   * @param documentNumber the given document number
+   * @return the key of the file
+   */
+  public static String getFileKey(String documentNumber) {
+    return String.format("%s.akn.xml", documentNumber);
   }
 
   /**
    * @param documentNumber a given document
-   * @return a list of the filenames that match the provided document number
+   * @return the files that match the provided document number, with their last modified
+   *     timestamps
    */
-  public List<String> getAllFilenamesByDocumentNumber(String documentNumber) {
-    return literatureBucket.getAllKeysByPrefix(documentNumber);
+  public List<ObjectKeyInfo> getAllFileInfosByDocumentNumber(String documentNumber) {
+    return literatureBucket.getAllKeyInfosByPrefix(documentNumber);
   }
 
   /**
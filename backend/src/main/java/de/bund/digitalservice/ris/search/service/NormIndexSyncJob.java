@@ -1,6 +1,7 @@
 package de.bund.digitalservice.ris.search.service;
 
 import de.bund.digitalservice.ris.search.repository.objectstorage.NormsBucket;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 /** Job for synchronizing the index of legal norms. */
@@ -14,12 +15,25 @@ public class NormIndexSyncJob extends IndexSyncJob {
    *
    * @param indexStatusService service to manage the status of an index job
    * @param changelogService service to manage changelogs
+   * @param bucketManifest manifest of the bucket
+   * @param htmlCache cache of rendered documents
+   * @param zipCache cache of zip archives
    * @param indexNormsService service to index legislation files
    */
   public NormIndexSyncJob(
       IndexStatusService indexStatusService,
       ChangelogService<NormsBucket> changelogService,
+      BucketManifest<NormsBucket> bucketManifest,
+      @Qualifier("normsHtmlCache") RenderedHtmlCache htmlCache,
+      @Qualifier("normsZipCache") ZipArchiveCache zipCache,
       IndexNormsService indexNormsService) {
-    super(indexStatusService, changelogService, indexNormsService, NORM_STATUS_FILENAME);
+    super(
+        indexStatusService,
+        changelogService,
+        bucketManifest,
+        htmlCache,
+        zipCache,
+        indexNormsService,
+        NORM_STATUS_FILENAME);
   }
 }
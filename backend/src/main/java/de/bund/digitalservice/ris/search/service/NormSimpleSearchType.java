@@ -7,8 +7,10 @@ import de.bund.digitalservice.ris.search.models.api.parameters.NormsSearchParams
 import de.bund.digitalservice.ris.search.models.opensearch.Norm;
 import de.bund.digitalservice.ris.search.utils.DateUtils;
 import java.util.List;
+import org.jspecify.annotations.Nullable;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.Operator;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.fetch.subphase.highlight.HighlightBuilder;
 
@@ -23,9 +25,21 @@ public class NormSimpleSearchType implements SimpleSearchType {
           Norm.Fields.TABLE_OF_CONTENTS);
 
   private final NormsSearchParams normsSearchParams;
+  private final QueryBuilder articleMatchesQuery;
 
   public NormSimpleSearchType(NormsSearchParams normsSearchParams) {
+    this(normsSearchParams, null);
+  }
+
+  /**
+   * @param normsSearchParams the norm specific search parameters
+   * @param articleMatchesQuery optional clause collecting the article hits of the norm hits, see
+   *     {@link NormsService#articleMatchesQuery}
+   */
+  public NormSimpleSearchType(
+      NormsSearchParams normsSearchParams, @Nullable QueryBuilder articleMatchesQuery) {
     this.normsSearchParams = normsSearchParams;
+    this.articleMatchesQuery = articleMatchesQuery;
   }
 
   @Override
@@ -45,6 +59,12 @@ public class NormSimpleSearchType implements SimpleSearchType {
   @Override
   public void addExtraLogic(String searchTerm, BoolQueryBuilder query) {
 
+    // without a required clause, the should clause would be required and match norms by their
+    // articles alone
+    if (articleMatchesQuery != null && !(query.must().isEmpty() && query.filter().isEmpty())) {
+      query.should(articleMatchesQuery);
+    }
+
     if (normsSearchParams == null) {
       return;
     }
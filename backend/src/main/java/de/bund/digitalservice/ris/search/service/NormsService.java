@@ -7,24 +7,31 @@ import de.bund.digitalservice.ris.search.models.opensearch.AbstractSearchEntity;
 import de.bund.digitalservice.ris.search.models.opensearch.Article;
 import de.bund.digitalservice.ris.search.models.opensearch.Norm;
 import de.bund.digitalservice.ris.search.repository.objectstorage.NormsBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
 import de.bund.digitalservice.ris.search.repository.opensearch.NormsRepository;
 import de.bund.digitalservice.ris.search.service.helper.ZipManager;
 import de.bund.digitalservice.ris.search.utils.PageUtils;
 import de.bund.digitalservice.ris.search.utils.eli.ExpressionEli;
 import de.bund.digitalservice.ris.search.utils.eli.ManifestationEli;
 import de.bund.digitalservice.ris.search.utils.eli.WorkEli;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 import org.opensearch.client.RestHighLevelClient;
 import org.opensearch.data.client.orhlc.NativeSearchQuery;
+import org.opensearch.index.query.QueryBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
@@ -34,7 +41,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.SearchHitsImpl;
 import org.springframework.data.elasticsearch.core.SearchPage;
+import org.springframework.data.elasticsearch.core.document.Document;
 import org.springframework.stereotype.Service;
 
 /**
@@ -44,11 +53,16 @@ import org.springframework.stereotype.Service;
 @Service
 public class NormsService {
 
+  /** Timer of norm searches including their article matches, tagged by how they are collected. */
+  public static final String SEARCH_METRIC = "ris.norms.search";
+
   private final NormsRepository normsRepository;
   private final ElasticsearchOperations operations;
   private final SimpleSearchQueryBuilder simpleSearchQueryBuilder;
   private final ArticleService articleService;
   private final NormsBucket normsBucket;
+  private final boolean nestedArticles;
+  private final Timer searchTimer;
 
   /**
    * Constructs a new instance of {@code NormsService}.
@@ -57,6 +71,8 @@ public class NormsService {
    * @param normsBucket The object storage bucket for norms files.
    * @param operations The Elasticsearch operations for executing queries.
    * @param simpleSearchQueryBuilder The query builder for constructing search queries.
+   * @param nestedArticles Whether article matches are read from the articles nested in the norms
+   *     index, within the query for the norms, instead of a second query on the articles index.
    */
   @Autowired
   public NormsService(
@@ -66,12 +82,16 @@ public class NormsService {
       RestHighLevelClient openSearchRestClient,
       SimpleSearchQueryBuilder simpleSearchQueryBuilder,
       ArticleService articleService,
-      @Value("${opensearch.norms-index-name}") String normsIndexName) {
+      @Value("${opensearch.norms-index-name}") String normsIndexName,
+      @Value("${norms-search.nested-articles:false}") boolean nestedArticles) {
     this.normsRepository = normsRepository;
     this.normsBucket = normsBucket;
     this.operations = operations;
     this.simpleSearchQueryBuilder = simpleSearchQueryBuilder;
     this.articleService = articleService;
+    this.nestedArticles = nestedArticles;
+    this.searchTimer =
+        Metrics.timer(SEARCH_METRIC, "article-matches", nestedArticles ? "nested" : "separate");
   }
 
   /**
@@ -89,11 +109,14 @@ public class NormsService {
       @Nullable NormsSearchParams normsSearchParams,
       Pageable pageable) {
 
+    NormSimpleSearchType searchType =
+        new NormSimpleSearchType(
+            normsSearchParams, articleMatchesQuery(params.getSearchTerm(), false));
     NativeSearchQuery query =
-        simpleSearchQueryBuilder.buildQuery(
-            List.of(new NormSimpleSearchType(normsSearchParams)), params, pageable);
-    SearchHits<Norm> searchHits = operations.search(query, Norm.class);
-    populateNormSearchHitsWithArticleTextMatches(searchHits, params.getSearchTerm(), false);
+        simpleSearchQueryBuilder.buildQuery(List.of(searchType), params, pageable);
+    SearchHits<Norm> searchHits =
+        searchWithArticleTextMatches(
+            () -> operations.search(query, Norm.class), params.getSearchTerm(), false);
 
     return PageUtils.unwrapSearchHits(searchHits, pageable);
   }
@@ -106,7 +129,7 @@ public class NormsService {
    */
   public Optional<Norm> getByExpressionEli(final ExpressionEli expressionEli) {
     Norm result = normsRepository.getByExpressionEliKeyword(expressionEli.toString());
-    if (result != null) {
+    if (result != null && (!nestedArticles || result.getArticles() == null)) {
       result.setArticles(articleService.findAllByExpressionEli(result.getExpressionEli()));
     }
     return Optional.ofNullable(result);
@@ -158,10 +181,50 @@ public class NormsService {
 
   /**
    * @param prefix the prefix for a given norm
-   * @return a list of the filenames that match the provided prefix
+   * @return the files that match the provided prefix, with their last modified timestamps
+   */
+  public List<ObjectKeyInfo> getAllFileInfosByPath(String prefix) {
+    return normsBucket.getAllKeyInfosByPrefix(prefix);
+  }
+
+  /**
+   * Returns the query to add to a search for norms, so that the norm hits carry their top 3 article
+   * hits. There is none if the article hits are collected by {@link
+   * #populateNormSearchHitsWithArticleTextMatches} with a second query instead.
+   *
+   * @param searchString the searchTerm or query used to collect article hits
+   * @param isLuceneQuery determine if the searchString is a lucene query or a term
+   * @return the query to add as an optional clause, or null
+   */
+  public @Nullable QueryBuilder articleMatchesQuery(
+      @Nullable String searchString, boolean isLuceneQuery) {
+    if (!nestedArticles || StringUtils.isEmpty(searchString)) {
+      return null;
+    }
+    return articleService.nestedTopThreeArticles(searchString, isLuceneQuery);
+  }
+
+  /**
+   * Runs a search and populates its norm hits with their top 3 article hits, see {@link
+   * #populateNormSearchHitsWithArticleTextMatches}. The latency of both is recorded together, so
+   * it can be compared with and without nested articles.
+   *
+   * @param search runs the search, including the {@link #articleMatchesQuery}
+   * @param searchString the searchTerm or query used to collect article hits
+   * @param isLuceneQuery determine if the searchString is a lucene query or a term
+   * @param <T> AbstractSearchEntity
+   * @return the searchHits with the article hits of the norms
    */
-  public List<String> getAllFilenamesByPath(String prefix) {
-    return normsBucket.getAllKeysByPrefix(prefix);
+  public <T extends AbstractSearchEntity> SearchHits<T> searchWithArticleTextMatches(
+      Supplier<SearchHits<T>> search, @Nullable String searchString, boolean isLuceneQuery) {
+    long start = System.nanoTime();
+    try {
+      SearchHits<T> searchHits = search.get();
+      populateNormSearchHitsWithArticleTextMatches(searchHits, searchString, isLuceneQuery);
+      return searchHits;
+    } finally {
+      searchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+    }
   }
 
   /**
@@ -169,16 +232,26 @@ public class NormsService {
    * corresponding article hits. It accepts the SearchHits to be from AbstractSearchEntity to enable
    * the allDocuments searches to use the same method. Non Norm SearchHits are ignored.
    *
+   * <p>With nested articles, the article hits are already part of the norm hits as inner hits of
+   * the {@link #articleMatchesQuery}. They are only mapped to the shape of the article hits of the
+   * articles index, so the response mapping is the same.
+   *
    * @param searchHits searchHits of any AbstractSearchEntity
    * @param searchString the searchTerm or query used to collect article hits
    * @param isLuceneQuery determine if the searchString is a lucene query or a term
    * @param <T> AbstractSearchEntity
    */
   public <T extends AbstractSearchEntity> void populateNormSearchHitsWithArticleTextMatches(
-      SearchHits<T> searchHits, String searchString, boolean isLuceneQuery) {
+      SearchHits<T> searchHits, @Nullable String searchString, boolean isLuceneQuery) {
     if (StringUtils.isEmpty(searchString)) {
       return;
     }
+    if (nestedArticles) {
+      searchHits.stream()
+          .filter(hit -> hit.getContent() instanceof Norm)
+          .forEach(hit -> unwrapNestedArticleHits(hit.getInnerHits()));
+      return;
+    }
 
     Map<String, Map<String, SearchHits<?>>> normInnerHitsMap =
         searchHits.stream()
@@ -199,4 +272,70 @@ public class NormsService {
       normInnerHitsMap.get(expressionEli).putAll(articleSearchHit.getInnerHits());
     }
   }
+
+  private void unwrapNestedArticleHits(Map<String, SearchHits<?>> innerHits) {
+    SearchHits<?> nestedHits = innerHits.get(ArticleService.TOP_THREE_ARTICLES);
+    if (nestedHits == null) {
+      return;
+    }
+    List<SearchHit<Article>> articleHits =
+        nestedHits.getSearchHits().stream()
+            .map(this::toArticleHit)
+            .flatMap(Optional::stream)
+            .toList();
+    if (articleHits.isEmpty()) {
+      // like the articles index, which has no hit for a norm without matching articles
+      innerHits.remove(ArticleService.TOP_THREE_ARTICLES);
+      return;
+    }
+    innerHits.put(
+        ArticleService.TOP_THREE_ARTICLES,
+        new SearchHitsImpl<>(
+            nestedHits.getTotalHits(),
+            nestedHits.getTotalHitsRelation(),
+            nestedHits.getMaxScore(),
+            Duration.ZERO,
+            null,
+            null,
+            articleHits,
+            null,
+            null,
+            null));
+  }
+
+  private Optional<SearchHit<Article>> toArticleHit(SearchHit<?> nestedHit) {
+    Article article;
+    if (nestedHit.getContent() instanceof Article nestedArticle) {
+      article = nestedArticle;
+    } else if (nestedHit.getContent() instanceof Document document) {
+      // searches of all documents don't map nested hits, as their type isn't a single entity
+      article = operations.getElasticsearchConverter().read(Article.class, document);
+    } else {
+      return Optional.empty();
+    }
+
+    // nested highlights are named by their full path, e.g. articles.text
+    Map<String, List<String>> highlightFields = new HashMap<>();
+    nestedHit
+        .getHighlightFields()
+        .forEach(
+            (field, fragments) ->
+                highlightFields.put(
+                    StringUtils.removeStart(field, ArticleService.NESTED_ARTICLES_PREFIX),
+                    fragments));
+
+    return Optional.of(
+        new SearchHit<>(
+            nestedHit.getIndex(),
+            nestedHit.getId(),
+            nestedHit.getRouting(),
+            nestedHit.getScore(),
+            nestedHit.getSortValues().toArray(),
+            highlightFields,
+            nestedHit.getInnerHits(),
+            nestedHit.getNestedMetaData(),
+            nestedHit.getExplanation(),
+            nestedHit.getMatchedQueries(),
+            article));
+  }
 }
@@ -0,0 +1,161 @@
+package de.bund.digitalservice.ris.search.service;
+
+import de.bund.digitalservice.ris.search.exception.CustomValidationException;
+import de.bund.digitalservice.ris.search.models.SearchCursor;
+import de.bund.digitalservice.ris.search.models.errors.CustomError;
+import java.time.Duration;
+import java.util.List;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jspecify.annotations.Nullable;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.data.client.orhlc.NativeSearchQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs searches page by page over a point in time, with {@code search_after} instead of offsets.
+ * Every page costs the same, however deep it is, and all pages read the same state of the index.
+ *
+ * <p>The point in time is opened for the first page and kept alive by every following page. It is
+ * closed once a page isn't full. Cursors of abandoned searches expire with their point in time.
+ */
+@Component
+public class PointInTimeSearch {
+
+  private static final Logger logger = LogManager.getLogger(PointInTimeSearch.class);
+
+  private final ElasticsearchOperations operations;
+  private final Duration keepAlive;
+
+  /**
+   * A page of a search and the cursor of the following page.
+   *
+   * @param searchHits the hits of the page
+   * @param next the cursor of the next page, or null if this is the last page
+   * @param <T> the type of the hits
+   */
+  public record CursorPage<T>(SearchHits<T> searchHits, @Nullable SearchCursor next) {}
+
+  /**
+   * @param operations the operations to run the searches with
+   * @param keepAlive how long a point in time is kept open after each page
+   */
+  public PointInTimeSearch(
+      ElasticsearchOperations operations,
+      @Value("${search-cursor.keep-alive:PT5M}") Duration keepAlive) {
+    this.operations = operations;
+    this.keepAlive = keepAlive;
+  }
+
+  /**
+   * Adds the tie-breaker a search after the sort values of a hit needs, so hits with equal sort
+   * values are neither skipped nor repeated.
+   *
+   * @param sort the sort of the search
+   * @return the sort with the tie-breaker
+   */
+  public static Sort withTieBreaker(Sort sort) {
+    return sort.and(Sort.by(Sort.Order.asc("_id")));
+  }
+
+  /**
+   * Runs one page of a search. The size and sort of the query's pageable are used, its page number
+   * is ignored.
+   *
+   * @param query the query of the search, sorted {@link #withTieBreaker with a tie-breaker}
+   * @param type the type of the hits
+   * @param index the index to search, used to open the point in time
+   * @param cursor the cursor of the page, or null for the first page
+   * @param searchHash the {@link SearchCursor#hashSearch hash} of the parameters and the sort of
+   *     the search, which the cursor must have been created for
+   * @param <T> the type of the hits
+   * @return the page and the cursor of the next page
+   * @throws CustomValidationException if the cursor belongs to another search, or its point in
+   *     time expired
+   */
+  public <T> CursorPage<T> search(
+      NativeSearchQuery query,
+      Class<T> type,
+      IndexCoordinates index,
+      @Nullable SearchCursor cursor,
+      String searchHash)
+      throws CustomValidationException {
+    if (cursor != null) {
+      cursor.checkSearch(searchHash);
+    }
+    String pointInTimeId =
+        cursor != null
+            ? cursor.pointInTimeId()
+            : operations.openPointInTime(index, keepAlive, false);
+    query.setPointInTime(new Query.PointInTime(pointInTimeId, keepAlive));
+    if (cursor != null) {
+      query.setSearchAfter(cursor.searchAfter());
+    }
+
+    SearchHits<T> searchHits;
+    try {
+      searchHits = operations.search(query, type, index);
+    } catch (RuntimeException e) {
+      if (cursor == null) {
+        close(pointInTimeId);
+      } else if (isExpired(e)) {
+        throw expired();
+      }
+      throw e;
+    }
+
+    // the id of a point in time may change with every search
+    String nextPointInTimeId =
+        searchHits.getPointInTimeId() != null ? searchHits.getPointInTimeId() : pointInTimeId;
+    List<SearchHit<T>> hits = searchHits.getSearchHits();
+    if (hits.size() < query.getPageable().getPageSize()) {
+      close(nextPointInTimeId);
+      return new CursorPage<>(searchHits, null);
+    }
+    return new CursorPage<>(
+        searchHits,
+        new SearchCursor(nextPointInTimeId, hits.getLast().getSortValues(), searchHash));
+  }
+
+  /**
+   * Closes the point in time of a search that isn't continued.
+   *
+   * @param cursor the cursor of the next page of the search
+   */
+  public void close(SearchCursor cursor) {
+    close(cursor.pointInTimeId());
+  }
+
+  private void close(String pointInTimeId) {
+    try {
+      operations.closePointInTime(pointInTimeId);
+    } catch (RuntimeException e) {
+      // it expires anyway
+      logger.warn("Failed to close point in time", e);
+    }
+  }
+
+  private static boolean isExpired(RuntimeException e) {
+    OpenSearchStatusException statusException =
+        ExceptionUtils.throwableOfType(e, OpenSearchStatusException.class);
+    return statusException != null && statusException.status() == RestStatus.NOT_FOUND;
+  }
+
+  private static CustomValidationException expired() {
+    return new CustomValidationException(
+        CustomError.builder()
+            .code("cursor_expired")
+            .parameter("cursor")
+            .message("The cursor expired, use * to start from the first page again")
+            .build());
+  }
+}
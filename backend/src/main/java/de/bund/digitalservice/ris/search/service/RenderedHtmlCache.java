@@ -0,0 +1,213 @@
+package de.bund.digitalservice.ris.search.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
+import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorage;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cache of the HTML renderings of one kind of document.
+ *
+ * <p>Entries are keyed by the key of the source object in its bucket, the render parameters and
+ * the renderer version, so a new release never serves HTML rendered by an older stylesheet. They
+ * are held in a size-bounded in-memory tier and, optionally, in the portal bucket, where they are
+ * shared by all instances. The keys of persisted entries also hold the last modified timestamp of
+ * the source object, so HTML rendered from a source changed meanwhile is never served, even if
+ * another instance stores it after the import removed the entries of the changed source. The
+ * import jobs remove the persisted entries of every document touched by a processed changelog. As
+ * they run in a different process, in-memory entries expire after a fixed time instead.
+ *
+ * <p>Every entry carries a hash of its HTML, which is used as ETag, so conditional requests for a
+ * document cached in memory are answered without touching the source bucket or the XSLT processor.
+ */
+public class RenderedHtmlCache {
+
+  private static final Logger logger = LogManager.getLogger(RenderedHtmlCache.class);
+
+  public static final String CACHE_PREFIX = "html-cache/";
+
+  private final String prefix;
+  private final ObjectStorage sourceStorage;
+  private final ObjectStorage persistedStorage;
+  private final boolean enabled;
+  private final boolean persisted;
+  private final String rendererVersion;
+  private final Cache<String, RenderedHtml> memory;
+
+  /**
+   * Creates the cache of one kind of document.
+   *
+   * @param name the name of the document kind, used in the keys of persisted entries
+   * @param sourceStorage the bucket of the source objects, listed for their versions
+   * @param persistedStorage the bucket the persisted entries are stored in
+   * @param enabled whether rendered HTML is cached at all
+   * @param persisted whether rendered HTML is also stored in the persisted storage
+   * @param maxChars the maximum number of HTML characters held in memory
+   * @param ttl the time after which an in-memory entry is dropped
+   * @param rendererVersion the version of the renderers, part of every key
+   */
+  public RenderedHtmlCache(
+      String name,
+      ObjectStorage sourceStorage,
+      ObjectStorage persistedStorage,
+      boolean enabled,
+      boolean persisted,
+      long maxChars,
+      Duration ttl,
+      String rendererVersion) {
+    this.prefix = CACHE_PREFIX + name + "/";
+    this.sourceStorage = sourceStorage;
+    this.persistedStorage = persistedStorage;
+    this.enabled = enabled;
+    this.persisted = enabled && persisted;
+    this.rendererVersion = rendererVersion;
+    this.memory =
+        Caffeine.newBuilder()
+            .maximumWeight(maxChars)
+            .weigher((String key, RenderedHtml html) -> html.html().length())
+            .expireAfterWrite(ttl)
+            .build();
+  }
+
+  /**
+   * Returns the cached HTML of a document, or renders and caches it.
+   *
+   * @param sourceKey the key of the source object in its bucket
+   * @param variant the render parameters, e.g. the subtype, article and resource base path
+   * @param source loads the source object, empty if it doesn't exist
+   * @param renderer renders the source object, may return null if it can't be rendered
+   * @return the rendered HTML, empty if there is no source object or it can't be rendered
+   */
+  public Optional<RenderedHtml> getOrRender(
+      String sourceKey,
+      String variant,
+      Supplier<Optional<byte[]>> source,
+      Function<byte[], String> renderer) {
+    if (!enabled) {
+      return source.get().map(renderer).map(RenderedHtml::of);
+    }
+    String rendering = rendererVersion + "\n" + variant;
+    String key = prefix + sourceKey + "/" + hash(rendering) + ".html";
+    // concurrent requests for the same entry wait for a single rendering
+    return Optional.ofNullable(
+        memory.get(key, k -> loadOrRender(sourceKey, rendering, source, renderer).orElse(null)));
+  }
+
+  /**
+   * Removes the entries of all documents touched by a changelog. A changelog which changes
+   * everything removes all entries.
+   *
+   * @param changelog the processed changelog
+   */
+  public void invalidate(Changelog changelog) {
+    if (changelog.isChangeAll()) {
+      invalidateAll();
+    } else {
+      invalidate(changelog.getChanged());
+      invalidate(changelog.getDeleted());
+    }
+  }
+
+  /**
+   * Removes the entries rendered from the given source objects.
+   *
+   * @param sourceKeys the keys of the source objects
+   */
+  public void invalidate(Collection<String> sourceKeys) {
+    for (String sourceKey : sourceKeys) {
+      removeByPrefix(prefix + sourceKey + "/");
+    }
+  }
+
+  /** Removes all entries. */
+  public void invalidateAll() {
+    removeByPrefix(prefix);
+  }
+
+  private void removeByPrefix(String keyPrefix) {
+    if (!enabled) {
+      return;
+    }
+    memory.asMap().keySet().removeIf(key -> key.startsWith(keyPrefix));
+    if (persisted) {
+      try (Stream<String> keys = persistedStorage.streamKeysByPrefix(keyPrefix)) {
+        keys.forEach(persistedStorage::delete);
+      }
+    }
+  }
+
+  private Optional<RenderedHtml> loadOrRender(
+      String sourceKey,
+      String rendering,
+      Supplier<Optional<byte[]>> source,
+      Function<byte[], String> renderer) {
+    Optional<Instant> version = persisted ? sourceVersion(sourceKey) : Optional.empty();
+    if (version.isEmpty()) {
+      return source.get().map(renderer).map(RenderedHtml::of);
+    }
+    String persistedKey =
+        prefix + sourceKey + "/" + hash(rendering + "\n" + version.get()) + ".html";
+    try {
+      Optional<String> stored = persistedStorage.getFileAsString(persistedKey);
+      if (stored.isPresent()) {
+        return stored.map(RenderedHtml::of);
+      }
+    } catch (ObjectStoreServiceException e) {
+      logger.warn("Failed to read cached HTML {}, rendering it instead", persistedKey, e);
+    }
+    Optional<RenderedHtml> rendered = source.get().map(renderer).map(RenderedHtml::of);
+    if (rendered.isPresent()) {
+      try {
+        persistedStorage.save(persistedKey, rendered.get().html());
+      } catch (RuntimeException e) {
+        logger.warn("Failed to store cached HTML {}", persistedKey, e);
+      }
+    }
+    return rendered;
+  }
+
+  /** Returns the last modified timestamp of a source object, empty if it doesn't exist. */
+  private Optional<Instant> sourceVersion(String sourceKey) {
+    return sourceStorage.getAllKeyInfosByPrefix(sourceKey).stream()
+        .filter(info -> info.key().equals(sourceKey))
+        .map(ObjectKeyInfo::lastModified)
+        .findFirst();
+  }
+
+  private static String hash(String value) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest, 0, 16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * A rendered HTML document.
+   *
+   * @param html the HTML
+   * @param eTag a hash of the HTML, to be used as ETag
+   */
+  public record RenderedHtml(String html, String eTag) {
+    static RenderedHtml of(String html) {
+      return new RenderedHtml(html, hash(html));
+    }
+  }
+}
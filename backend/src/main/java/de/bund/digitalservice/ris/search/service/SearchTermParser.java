@@ -1,7 +1,10 @@
 package de.bund.digitalservice.ris.search.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import de.bund.digitalservice.ris.search.exception.OpenSearchMapperException;
 import de.bund.digitalservice.ris.search.models.ParsedSearchTerm;
+import de.bund.digitalservice.ris.search.utils.CustomGermanAnalyzer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,16 +20,31 @@ import org.springframework.stereotype.Service;
 /**
  * Service for parsing search terms into quoted phrases and unquoted terms, and tokenizing them
  * using OpenSearch analyzers.
+ *
+ * <p>By default, the analyzer runs in-process as {@link CustomGermanAnalyzer}, so parsing a search
+ * term doesn't need a round trip to OpenSearch. Tokenized terms are cached either way.
  */
 @Service
 public class SearchTermParser {
   private final RestHighLevelClient client;
+  private final CustomGermanAnalyzer localAnalyzer;
+  private final Cache<String, List<String>> tokenCache;
 
   @Value("${opensearch.norms-index-name}")
   private String normsIndexName;
 
-  public SearchTermParser(AbstractOpenSearchConfiguration abstractOpenSearchConfiguration) {
+  /**
+   * @param abstractOpenSearchConfiguration provides the client for the _analyze API
+   * @param useLocalAnalyzer whether to tokenize in-process instead of with the _analyze API
+   * @param cacheSize maximum number of tokenized terms kept in memory
+   */
+  public SearchTermParser(
+      AbstractOpenSearchConfiguration abstractOpenSearchConfiguration,
+      @Value("${search-terms.local-analyzer}") boolean useLocalAnalyzer,
+      @Value("${search-terms.cache-size}") long cacheSize) {
     this.client = abstractOpenSearchConfiguration.opensearchClient();
+    this.localAnalyzer = useLocalAnalyzer ? CustomGermanAnalyzer.fromTemplate() : null;
+    this.tokenCache = Caffeine.newBuilder().maximumSize(cacheSize).build();
   }
 
   /**
@@ -80,6 +98,13 @@ public class SearchTermParser {
   }
 
   private List<String> tokenize(String textToTokenize) {
+    return tokenCache.get(textToTokenize, this::analyze);
+  }
+
+  private List<String> analyze(String textToTokenize) {
+    if (localAnalyzer != null) {
+      return List.copyOf(localAnalyzer.tokenize(textToTokenize));
+    }
     // our OTC setup doesn't allow a global analyzer definition, but we use multiple copies of the
     // exact same analyzer. Therefore,  it doesn't matter which index we call.
     AnalyzeRequest request =
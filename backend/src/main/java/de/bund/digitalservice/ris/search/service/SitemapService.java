@@ -1,19 +1,31 @@
 package de.bund.digitalservice.ris.search.service;
 
+import de.bund.digitalservice.ris.search.exception.NoSuchKeyException;
+import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
 import de.bund.digitalservice.ris.search.models.DocumentKind;
-import de.bund.digitalservice.ris.search.models.sitemap.SitemapFile;
-import de.bund.digitalservice.ris.search.models.sitemap.SitemapIndex;
-import de.bund.digitalservice.ris.search.models.sitemap.Url;
+import de.bund.digitalservice.ris.search.models.sitemap.SitemapPage;
 import de.bund.digitalservice.ris.search.repository.objectstorage.PortalBucket;
-import jakarta.xml.bind.JAXBContext;
-import jakarta.xml.bind.JAXBException;
-import jakarta.xml.bind.Marshaller;
-import java.io.StringWriter;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -26,6 +38,10 @@ public class SitemapService {
   private String baseUrl;
 
   private static final String SITEMAP_PREFIX = "sitemaps/";
+  private static final String PAGES_PREFIX = "sitemap-pages/";
+  private static final String PAGE_HEADER_PREFIX = "# page ";
+  private static final String SITEMAP_NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+  private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
   public final PortalBucket portalBucket;
 
   /**
@@ -50,7 +66,7 @@ public class SitemapService {
   public void createBatchSitemap(
       int batchNumber, List<String> ids, DocumentKind docKind, String prefix) {
     String path = getBatchSitemapPath(batchNumber, docKind);
-    portalBucket.save(path, generateSitemap(ids, prefix));
+    upload(path, writeSitemap(ids, prefix));
   }
 
   /**
@@ -64,14 +80,25 @@ public class SitemapService {
   }
 
   /**
-   * Creates a sitemap index file and saves it to the portal bucket
+   * Creates a sitemap index file and saves it to the portal bucket. All sitemap files are listed
+   * as modified today.
    *
    * @param size number of sitemap files
    * @param type the type of sitemap currently being generated
    */
   public void createIndexSitemap(int size, DocumentKind type) {
+    createIndexSitemap(Collections.nCopies(size, LocalDate.now(ZoneOffset.UTC)), type);
+  }
+
+  /**
+   * Creates a sitemap index file and saves it to the portal bucket
+   *
+   * @param lastModified the day each sitemap file was last modified, in the order of the files
+   * @param type the type of sitemap currently being generated
+   */
+  public void createIndexSitemap(List<LocalDate> lastModified, DocumentKind type) {
     String path = getIndexSitemapPath(type);
-    portalBucket.save(path, generateIndexXml(size, type));
+    upload(path, writeIndex(lastModified, type));
   }
 
   /**
@@ -86,18 +113,106 @@ public class SitemapService {
   }
 
   /**
-   * Deletes sitemap files older than the given date
+   * Deletes the batch sitemaps of a type whose batch number is greater than the given number of
+   * sitemap files. Other files, like the sitemap index, are kept.
+   *
+   * @param size number of sitemap files to keep
+   * @param type the type of sitemap
+   */
+  public void deleteBatchSitemapsAfter(int size, DocumentKind type) {
+    String directory = SITEMAP_PREFIX + type.getSiteMapPath() + "/";
+    for (String key : portalBucket.getAllKeysByPrefix(directory)) {
+      String name = key.substring(directory.length());
+      if (name.matches("\\d{1,9}\\.xml")
+          && Integer.parseInt(name.substring(0, name.length() - 4)) > size) {
+        portalBucket.delete(key);
+      }
+    }
+  }
+
+  /**
+   * Reads the ids of every sitemap page of a type, as saved by {@link #savePages(List,
+   * DocumentKind)}.
+   *
+   * @param type the type of sitemap
+   * @return the pages in the order of their numbers, or an empty {@code Optional} if they were
+   *     never saved or can't be read
+   * @throws ObjectStoreServiceException if the storage fails
+   */
+  public Optional<List<SitemapPage>> readPages(DocumentKind type)
+      throws ObjectStoreServiceException {
+    String path = getPagesPath(type);
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new GZIPInputStream(portalBucket.getStream(path)), StandardCharsets.UTF_8))) {
+      List<SitemapPage> pages = new ArrayList<>();
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith(PAGE_HEADER_PREFIX)) {
+          LocalDate lastModified = LocalDate.parse(line.substring(PAGE_HEADER_PREFIX.length()));
+          pages.add(new SitemapPage(lastModified, new ArrayList<>()));
+        } else if (pages.isEmpty()) {
+          return Optional.empty();
+        } else {
+          pages.getLast().ids().add(line);
+        }
+      }
+      return Optional.of(pages);
+    } catch (NoSuchKeyException _) {
+      return Optional.empty();
+    } catch (IOException | DateTimeParseException e) {
+      throw new ObjectStoreServiceException("Failed to read sitemap pages " + path, e);
+    }
+  }
+
+  /**
+   * Saves the ids of every sitemap page of a type as a gzipped list in the portal bucket, so the
+   * next run only has to rewrite the pages whose ids changed.
+   *
+   * @param pages the pages in the order of their numbers
+   * @param type the type of sitemap
+   * @throws ObjectStoreServiceException if the pages can't be written
+   */
+  public void savePages(List<SitemapPage> pages, DocumentKind type)
+      throws ObjectStoreServiceException {
+    String path = getPagesPath(type);
+    // gzipped ids take a few bytes each, so even the pages of large buckets fit in memory
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (Writer writer =
+        new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+      for (SitemapPage page : pages) {
+        writer.write(PAGE_HEADER_PREFIX + page.lastModified() + "\n");
+        for (String id : page.ids()) {
+          writer.write(id);
+          writer.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreServiceException("Failed to write sitemap pages " + path, e);
+    }
+    upload(path, bytes.toByteArray());
+  }
+
+  /**
+   * Deletes the saved ids of the sitemap pages of a type, so the next incremental update writes
+   * all pages from scratch.
+   *
+   * @param type the type of sitemap
+   */
+  public void deletePages(DocumentKind type) {
+    portalBucket.delete(getPagesPath(type));
+  }
+
+  /**
+   * Generates sitemap xml content
    *
    * @param documentationUnitIds the list of ids to put in the sitemap file
    * @param prefix the sitemap file prefix
    * @return sitemap xml content
    */
   public String generateSitemap(List<String> documentationUnitIds, String prefix) {
-    List<Url> urls =
-        documentationUnitIds.stream()
-            .map(e -> new Url(String.format("%s%s/%s", baseUrl, prefix, e)))
-            .toList();
-    return marshal(new SitemapFile(urls));
+    return new String(writeSitemap(documentationUnitIds, prefix), StandardCharsets.UTF_8);
   }
 
   /**
@@ -108,27 +223,80 @@ public class SitemapService {
    * @return sitemap index xml content
    */
   public String generateIndexXml(int size, DocumentKind type) {
-    List<Url> urls =
-        IntStream.rangeClosed(1, size)
-            .mapToObj(
-                e ->
-                    new Url(
-                        String.format("%sv1/%s", baseUrl, getBatchSitemapPath(e, type)),
-                        LocalDate.now(ZoneOffset.UTC)))
-            .toList();
-    return marshal(new SitemapIndex(urls));
-  }
-
-  private String marshal(Object sitemapFile) {
+    return new String(
+        writeIndex(Collections.nCopies(size, LocalDate.now(ZoneOffset.UTC)), type),
+        StandardCharsets.UTF_8);
+  }
+
+  private static String getPagesPath(DocumentKind type) {
+    return PAGES_PREFIX + type.getSiteMapPath() + ".txt.gz";
+  }
+
+  private byte[] writeSitemap(List<String> documentationUnitIds, String prefix) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try {
+      XMLStreamWriter xml = startDocument(bytes, "urlset");
+      for (String id : documentationUnitIds) {
+        writeUrl(xml, String.format("%s%s/%s", baseUrl, prefix, id), null);
+      }
+      endDocument(xml);
+    } catch (XMLStreamException e) {
+      throw new IllegalStateException("Failed to write sitemap for " + prefix, e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private byte[] writeIndex(List<LocalDate> lastModified, DocumentKind type) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try {
+      XMLStreamWriter xml = startDocument(bytes, "sitemapindex");
+      for (int i = 0; i < lastModified.size(); i++) {
+        String loc = String.format("%sv1/%s", baseUrl, getBatchSitemapPath(i + 1, type));
+        writeUrl(xml, loc, lastModified.get(i));
+      }
+      endDocument(xml);
+    } catch (XMLStreamException e) {
+      throw new IllegalStateException("Failed to write sitemap index for " + type, e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static XMLStreamWriter startDocument(ByteArrayOutputStream bytes, String rootElement)
+      throws XMLStreamException {
+    XMLStreamWriter xml =
+        OUTPUT_FACTORY.createXMLStreamWriter(bytes, StandardCharsets.UTF_8.name());
+    xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+    xml.setDefaultNamespace(SITEMAP_NAMESPACE);
+    xml.writeStartElement(SITEMAP_NAMESPACE, rootElement);
+    xml.writeDefaultNamespace(SITEMAP_NAMESPACE);
+    return xml;
+  }
+
+  private static void writeUrl(XMLStreamWriter xml, String loc, LocalDate lastModified)
+      throws XMLStreamException {
+    xml.writeStartElement(SITEMAP_NAMESPACE, "url");
+    xml.writeStartElement(SITEMAP_NAMESPACE, "loc");
+    xml.writeCharacters(loc);
+    xml.writeEndElement();
+    if (lastModified != null) {
+      xml.writeStartElement(SITEMAP_NAMESPACE, "lastmod");
+      xml.writeCharacters(lastModified.toString());
+      xml.writeEndElement();
+    }
+    xml.writeEndElement();
+  }
+
+  private static void endDocument(XMLStreamWriter xml) throws XMLStreamException {
+    xml.writeEndElement();
+    xml.writeEndDocument();
+    xml.close();
+  }
+
+  private void upload(String path, byte[] content) throws ObjectStoreServiceException {
     try {
-      JAXBContext context = JAXBContext.newInstance(sitemapFile.getClass());
-      Marshaller mar = context.createMarshaller();
-      mar.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-      StringWriter sitemapFileContent = new StringWriter();
-      mar.marshal(sitemapFile, sitemapFileContent);
-      return sitemapFileContent.toString();
-    } catch (JAXBException _) {
-      return "";
+      portalBucket.putStream(path, new ByteArrayInputStream(content));
+    } catch (IOException e) {
+      throw new ObjectStoreServiceException("Failed to upload " + path, e);
     }
   }
 }
@@ -1,16 +1,29 @@
 package de.bund.digitalservice.ris.search.service;
 
 import de.bund.digitalservice.ris.search.models.DocumentKind;
+import de.bund.digitalservice.ris.search.models.sitemap.SitemapPage;
 import de.bund.digitalservice.ris.search.repository.objectstorage.AdministrativeDirectiveBucket;
 import de.bund.digitalservice.ris.search.repository.objectstorage.CaseLawBucket;
 import de.bund.digitalservice.ris.search.repository.objectstorage.LiteratureBucket;
 import de.bund.digitalservice.ris.search.repository.objectstorage.NormsBucket;
-import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorage;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.collections4.ListUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
@@ -34,51 +47,189 @@ public class SitemapsUpdateJob implements Job {
   @Value("${sitemaps.urls-per-page:40000}")
   private Integer urlsPerPage;
 
-  private final AdministrativeDirectiveBucket administrativeDirectiveBucket;
-  private final CaseLawBucket caseLawBucket;
-  private final LiteratureBucket literatureBucket;
-  private final NormsBucket normsBucket;
+  @Value("${sitemaps.incremental:false}")
+  private boolean incremental;
+
+  private final BucketManifest<AdministrativeDirectiveBucket> administrativeDirectiveManifest;
+  private final BucketManifest<CaseLawBucket> caseLawManifest;
+  private final BucketManifest<LiteratureBucket> literatureManifest;
+  private final BucketManifest<NormsBucket> normsManifest;
   private final SitemapService sitemapService;
 
   /**
-   * Executes the sitemap generation logic.
+   * Executes the sitemap generation logic. The sitemaps of the document kinds are generated in
+   * parallel.
    *
    * @return ReturnCode indicating the success of the job execution.
    */
   public Job.ReturnCode runJob() {
     Instant jobStarted = Instant.now();
-    logger.info("Starting sitemaps update job for administrative directives");
-    createSitemaps(administrativeDirectiveBucket, DocumentKind.ADMINISTRATIVE_DIRECTIVE);
-    logger.info("Starting sitemaps update job for case law");
-    createSitemaps(caseLawBucket, DocumentKind.CASE_LAW);
-    logger.info("Starting sitemaps update job for literature");
-    createSitemaps(literatureBucket, DocumentKind.LITERATURE);
-    logger.info("Starting sitemaps update job for norms");
-    createSitemaps(normsBucket, DocumentKind.LEGISLATION);
-    logger.info("Clear old sitemap files");
-    sitemapService.deleteSitemapFiles(jobStarted);
+    Map<DocumentKind, BucketManifest<?>> manifests = new EnumMap<>(DocumentKind.class);
+    manifests.put(DocumentKind.ADMINISTRATIVE_DIRECTIVE, administrativeDirectiveManifest);
+    manifests.put(DocumentKind.CASE_LAW, caseLawManifest);
+    manifests.put(DocumentKind.LITERATURE, literatureManifest);
+    manifests.put(DocumentKind.LEGISLATION, normsManifest);
+
+    boolean failed = false;
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Map<DocumentKind, Future<?>> tasks = new EnumMap<>(DocumentKind.class);
+      manifests.forEach(
+          (docKind, manifest) ->
+              tasks.put(
+                  docKind,
+                  executor.submit(
+                      () -> {
+                        logger.info("Starting sitemaps update job for {}", docKind);
+                        createSitemaps(manifest, docKind);
+                      })));
+      for (Map.Entry<DocumentKind, Future<?>> task : tasks.entrySet()) {
+        try {
+          task.getValue().get();
+        } catch (ExecutionException e) {
+          logger.error("Failed to update the sitemaps for {}", task.getKey(), e.getCause());
+          failed = true;
+        } catch (InterruptedException _) {
+          executor.shutdownNow();
+          Thread.currentThread().interrupt();
+          return ReturnCode.ERROR;
+        }
+      }
+    }
+    if (failed) {
+      return ReturnCode.ERROR;
+    }
+    if (!incremental) {
+      logger.info("Clear old sitemap files");
+      sitemapService.deleteSitemapFiles(jobStarted);
+    }
     return ReturnCode.SUCCESS;
   }
 
   /**
-   * Executes sitemap generation for one sitemap docKind
+   * Executes sitemap generation for one sitemap docKind. The keys of the bucket are read lazily
+   * from its manifest and every sitemap is written as soon as it is full, so only the ids of the
+   * current sitemap are held in memory. As the pages saved by the incremental mode no longer match
+   * the written sitemaps, they are deleted. In incremental mode, only the changed sitemaps are
+   * written.
    *
-   * @param currentBucket the bucket for the current sitemap docKind
+   * @param manifest the manifest of the bucket for the current sitemap docKind
    * @param docKind the current sitemap docKind
    */
-  public void createSitemaps(ObjectStorage currentBucket, DocumentKind docKind) {
-    String prefix = docKind.getSiteMapPath();
-    List<String> ids =
-        currentBucket.getAllKeys().stream()
-            .map(e -> DocumentKind.extractIdFromFileName(e, docKind))
-            .flatMap(Optional::stream)
-            .distinct()
-            .toList();
-    List<List<String>> batches = ListUtils.partition(ids, urlsPerPage);
-    for (int i = 0; i < batches.size(); i++) {
-      logger.info("Creating Sitemap for {} of batch {} of {}.", prefix, (i + 1), batches.size());
-      sitemapService.createBatchSitemap(i + 1, batches.get(i), docKind, prefix);
+  public void createSitemaps(BucketManifest<?> manifest, DocumentKind docKind) {
+    if (incremental) {
+      updateSitemaps(manifest, docKind);
+      return;
+    }
+    List<String> batch = new ArrayList<>();
+    int batchCount = 0;
+    String previousId = null;
+    try (Stream<String> keys = manifest.streamAllKeys()) {
+      Iterator<String> ids =
+          keys.map(e -> DocumentKind.extractIdFromFileName(e, docKind))
+              .flatMap(Optional::stream)
+              .iterator();
+      while (ids.hasNext()) {
+        String id = ids.next();
+        // all files of a document share its folder, so the keys of one id are listed consecutively
+        if (id.equals(previousId)) {
+          continue;
+        }
+        previousId = id;
+        batch.add(id);
+        if (batch.size() == urlsPerPage) {
+          createBatchSitemap(++batchCount, batch, docKind);
+          batch = new ArrayList<>();
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      createBatchSitemap(++batchCount, batch, docKind);
+    }
+    sitemapService.createIndexSitemap(batchCount, docKind);
+    sitemapService.deletePages(docKind);
+  }
+
+  /**
+   * Updates the sitemaps of one docKind incrementally. The ids of every page are kept in the portal
+   * bucket, and the current ids are read from the manifest of the bucket, which is kept up to date
+   * from the changelogs. Ids which are gone are removed from their page, new ids fill up the free
+   * space of the pages and then new pages. All other ids keep their page, so only the pages with
+   * added or removed ids are written, along with the index. Without saved pages, or if they don't
+   * fit the configured page size, all pages are written from scratch.
+   *
+   * @param manifest the manifest of the bucket for the current sitemap docKind
+   * @param docKind the current sitemap docKind
+   */
+  private void updateSitemaps(BucketManifest<?> manifest, DocumentKind docKind) {
+    Set<String> ids = new LinkedHashSet<>();
+    try (Stream<String> keys = manifest.streamAllKeys()) {
+      keys.map(e -> DocumentKind.extractIdFromFileName(e, docKind))
+          .flatMap(Optional::stream)
+          .forEach(ids::add);
+    }
+    Optional<List<SitemapPage>> savedPages =
+        sitemapService
+            .readPages(docKind)
+            .filter(pages -> pages.stream().allMatch(page -> page.ids().size() <= urlsPerPage));
+    List<SitemapPage> previousPages = savedPages.orElse(List.of());
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    List<SitemapPage> pages = new ArrayList<>(previousPages.size());
+    BitSet changedPages = new BitSet();
+
+    // what remains in ids after this loop are the new ids
+    for (SitemapPage page : previousPages) {
+      List<String> kept = new ArrayList<>(page.ids().size());
+      for (String id : page.ids()) {
+        if (ids.remove(id)) {
+          kept.add(id);
+        }
+      }
+      if (kept.size() < page.ids().size()) {
+        changedPages.set(pages.size());
+        pages.add(new SitemapPage(today, kept));
+      } else {
+        pages.add(page);
+      }
+    }
+    Iterator<String> addedIds = ids.iterator();
+    for (int i = 0; addedIds.hasNext(); i++) {
+      if (i == pages.size()) {
+        pages.add(new SitemapPage(today, new ArrayList<>()));
+      }
+      SitemapPage page = pages.get(i);
+      if (page.ids().size() < urlsPerPage) {
+        List<String> filled = new ArrayList<>(page.ids());
+        while (filled.size() < urlsPerPage && addedIds.hasNext()) {
+          filled.add(addedIds.next());
+        }
+        changedPages.set(i);
+        pages.set(i, new SitemapPage(today, filled));
+      }
     }
-    sitemapService.createIndexSitemap(batches.size(), docKind);
+    while (!pages.isEmpty() && pages.getLast().ids().isEmpty()) {
+      pages.removeLast();
+    }
+    changedPages.clear(pages.size(), Math.max(pages.size(), changedPages.length()));
+
+    changedPages.stream()
+        .forEach(i -> createBatchSitemap(i + 1, pages.get(i).ids(), docKind));
+    if (savedPages.isEmpty()
+        || !changedPages.isEmpty()
+        || pages.size() != previousPages.size()) {
+      sitemapService.createIndexSitemap(
+          pages.stream().map(SitemapPage::lastModified).toList(), docKind);
+      if (savedPages.isEmpty() || pages.size() < previousPages.size()) {
+        sitemapService.deleteBatchSitemapsAfter(pages.size(), docKind);
+      }
+      sitemapService.savePages(pages, docKind);
+    }
+    logger.info(
+        "Updated {} of {} sitemaps for {}", changedPages.cardinality(), pages.size(), docKind);
+  }
+
+  private void createBatchSitemap(int batchNumber, List<String> ids, DocumentKind docKind) {
+    String prefix = docKind.getSiteMapPath();
+    logger.info("Creating Sitemap for {} of batch {}.", prefix, batchNumber);
+    sitemapService.createBatchSitemap(batchNumber, ids, docKind, prefix);
   }
 }
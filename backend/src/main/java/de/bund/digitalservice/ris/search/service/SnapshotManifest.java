@@ -0,0 +1,49 @@
+package de.bund.digitalservice.ris.search.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes the layers of the zip snapshot of a document kind: a base archive with every file, and
+ * the delta archives created since, each holding the files changed in its time range and listing
+ * the deleted files. Applying the deltas in order to the base gives the current state.
+ *
+ * @param base the key of the base archive
+ * @param created the start of the base archive creation, as ISO instant
+ * @param deltas the delta archives in the order they were created
+ */
+public record SnapshotManifest(String base, String created, List<Delta> deltas) {
+
+  /**
+   * A delta archive of the changes between two job runs.
+   *
+   * @param archive the key of the delta archive
+   * @param from the start of the changes, as ISO instant
+   * @param to the end of the changes, as ISO instant
+   */
+  public record Delta(String archive, String from, String to) {}
+
+  /**
+   * Creates the manifest of a new base archive without deltas.
+   *
+   * @param base the key of the base archive
+   * @param created the start of the base archive creation
+   * @return the manifest
+   */
+  public static SnapshotManifest ofBase(String base, Instant created) {
+    return new SnapshotManifest(base, created.toString(), List.of());
+  }
+
+  /**
+   * Returns a copy of this manifest with a delta appended.
+   *
+   * @param delta the delta archive
+   * @return the new manifest
+   */
+  public SnapshotManifest withDelta(Delta delta) {
+    List<Delta> newDeltas = new ArrayList<>(deltas);
+    newDeltas.add(delta);
+    return new SnapshotManifest(base, created, newDeltas);
+  }
+}
@@ -17,7 +17,10 @@ import org.opensearch.client.RestHighLevelClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-/** Service for fetching statistics from OpenSearch. */
+/**
+ * Service for fetching statistics from OpenSearch. The counts are cached and refreshed in the
+ * background by {@link AggregationCaches}, so requests don't reach the cluster.
+ */
 @Service
 public class StatisticsService {
 
@@ -26,6 +29,7 @@ public class StatisticsService {
   protected static final Logger logger = LogManager.getLogger(StatisticsService.class);
   private final RestHighLevelClient client;
   private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AggregationCache<String, Map<String, Long>> countsCache;
 
   /**
    * Constructor for StatisticsService.
@@ -34,6 +38,8 @@ public class StatisticsService {
    * @param normsIndexName Name of the norms index.
    * @param literatureIndexName Name of the literature index.
    * @param caselawsIndexName Name of the caselaws index.
+   * @param administrativeDirectiveIndexName Name of the administrative directive index.
+   * @param aggregationCaches creates the cache of the counts
    */
   public StatisticsService(
       RestHighLevelClient client,
@@ -41,7 +47,8 @@ public class StatisticsService {
       @Value("${opensearch.literature-index-name}") String literatureIndexName,
       @Value("${opensearch.caselaws-index-name}") String caselawsIndexName,
       @Value("${opensearch.administrative-directive-index-name}")
-          String administrativeDirectiveIndexName) {
+          String administrativeDirectiveIndexName,
+      AggregationCaches aggregationCaches) {
     this.client = client;
     this.indexNames =
         Arrays.asList(
@@ -49,6 +56,7 @@ public class StatisticsService {
             literatureIndexName,
             caselawsIndexName,
             administrativeDirectiveIndexName);
+    this.countsCache = aggregationCaches.create("statistics", _ -> fetchAllCounts());
   }
 
   /**
@@ -58,7 +66,10 @@ public class StatisticsService {
    * @throws OpenSearchFetchException
    */
   public Map<String, Long> getAllCounts() throws OpenSearchFetchException {
+    return countsCache.get("all");
+  }
 
+  private Map<String, Long> fetchAllCounts() {
     try {
       List<String> aliases = fetchAliases();
       Map<String, Long> counts = new HashMap<>();
@@ -68,7 +79,7 @@ public class StatisticsService {
           counts.put(alias, fetchCountWithLogging(alias));
         }
       }
-      return counts;
+      return Map.copyOf(counts);
     } catch (IOException e) {
       logger.info(String.format("Failed to fetch Elasticsearch counts: %s", e.getMessage()));
       throw new OpenSearchFetchException("Failed to fetch aliases from Opensearch", e);
@@ -0,0 +1,227 @@
+package de.bund.digitalservice.ris.search.service;
+
+import de.bund.digitalservice.ris.search.exception.NoSuchKeyException;
+import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
+import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import org.apache.commons.io.output.TeeOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cache of the ZIP archives of one kind of document, as served by the {@code .zip} endpoints.
+ *
+ * <p>An archive is stored in the portal bucket as a single object, keyed by the prefix of the
+ * archived files and a hash of their keys and last modified timestamps, so adding, removing or
+ * changing a file never serves an outdated archive, whichever instance built it. The import jobs
+ * remove the archives of every prefix touched by a processed changelog. Archives are stored while
+ * they are streamed to the first client, unless they exceed a size limit.
+ */
+public class ZipArchiveCache {
+
+  private static final Logger logger = LogManager.getLogger(ZipArchiveCache.class);
+
+  public static final String CACHE_PREFIX = "zip-cache/";
+
+  private final String prefix;
+  private final ObjectStorage persistedStorage;
+  private final boolean enabled;
+  private final int maxBytes;
+
+  /** Writes the archive of the given keys to a stream. */
+  @FunctionalInterface
+  public interface ArchiveWriter {
+    /**
+     * @param keys the keys of the archived files
+     * @param outputStream the stream to write the archive to
+     * @throws IOException if the archive can't be written
+     */
+    void write(List<String> keys, OutputStream outputStream) throws IOException;
+  }
+
+  /**
+   * Creates the cache of one kind of document.
+   *
+   * @param name the name of the document kind, used in the keys of stored archives
+   * @param persistedStorage the bucket the archives are stored in
+   * @param enabled whether archives are cached at all
+   * @param maxBytes the size above which an archive isn't stored
+   */
+  public ZipArchiveCache(
+      String name, ObjectStorage persistedStorage, boolean enabled, int maxBytes) {
+    this.prefix = CACHE_PREFIX + name + "/";
+    this.persistedStorage = persistedStorage;
+    this.enabled = enabled;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Writes the stored archive of some files, or builds, writes and stores it.
+   *
+   * @param archivePrefix the prefix of the archived files, e.g. the manifestation of a norm
+   * @param files the archived files with their last modified timestamps
+   * @param outputStream the stream to write the archive to
+   * @param writer builds the archive if it isn't stored
+   * @throws IOException if the archive can't be written
+   */
+  public void writeArchive(
+      String archivePrefix,
+      List<ObjectKeyInfo> files,
+      OutputStream outputStream,
+      ArchiveWriter writer)
+      throws IOException {
+    List<String> keys = files.stream().map(ObjectKeyInfo::key).toList();
+    if (!enabled) {
+      writer.write(keys, outputStream);
+      return;
+    }
+    String key = prefix + archivePrefix + "/" + hash(versions(files)) + ".zip";
+    InputStream stored = openStored(key);
+    if (stored != null) {
+      try (stored) {
+        stored.transferTo(outputStream);
+      }
+      return;
+    }
+
+    CappedBuffer copy = new CappedBuffer(maxBytes);
+    writer.write(keys, new TeeOutputStream(outputStream, copy));
+    if (copy.isComplete()) {
+      try {
+        persistedStorage.putStream(key, new ByteArrayInputStream(copy.toByteArray()));
+      } catch (IOException | RuntimeException e) {
+        logger.warn("Failed to store cached archive {}", key, e);
+      }
+    }
+  }
+
+  /**
+   * Removes the archives of all prefixes touched by a changelog. A changelog which changes
+   * everything removes all archives.
+   *
+   * @param changelog the processed changelog
+   */
+  public void invalidate(Changelog changelog) {
+    if (!enabled) {
+      return;
+    }
+    if (changelog.isChangeAll()) {
+      invalidateAll();
+      return;
+    }
+    NavigableSet<String> touched = new TreeSet<>(changelog.getChanged());
+    touched.addAll(changelog.getDeleted());
+    if (touched.isEmpty()) {
+      return;
+    }
+    try (Stream<String> keys = persistedStorage.streamKeysByPrefix(prefix)) {
+      keys.filter(key -> isTouched(archivePrefixOf(key), touched))
+          .forEach(persistedStorage::delete);
+    }
+  }
+
+  /** Removes all archives. */
+  public void invalidateAll() {
+    if (!enabled) {
+      return;
+    }
+    try (Stream<String> keys = persistedStorage.streamKeysByPrefix(prefix)) {
+      keys.forEach(persistedStorage::delete);
+    }
+  }
+
+  private InputStream openStored(String key) {
+    try {
+      return persistedStorage.getStream(key);
+    } catch (NoSuchKeyException _) {
+      return null;
+    } catch (ObjectStoreServiceException e) {
+      logger.warn("Failed to read cached archive {}, building it instead", key, e);
+      return null;
+    }
+  }
+
+  private String archivePrefixOf(String key) {
+    return key.substring(prefix.length(), key.lastIndexOf('/'));
+  }
+
+  private static boolean isTouched(String archivePrefix, NavigableSet<String> touchedKeys) {
+    // the smallest touched key not below the prefix starts with it if any touched key does
+    String candidate = touchedKeys.ceiling(archivePrefix);
+    return candidate != null && candidate.startsWith(archivePrefix);
+  }
+
+  /**
+   * Lists the archived files with their versions. A file changed while its archive is built and
+   * stored gets a new timestamp, so the outdated archive is stored under a key no longer looked up.
+   */
+  private static String versions(List<ObjectKeyInfo> files) {
+    StringBuilder versions = new StringBuilder();
+    for (ObjectKeyInfo file : files) {
+      versions.append(file.key()).append('@').append(file.lastModified()).append('\n');
+    }
+    return versions.toString();
+  }
+
+  private static String hash(String value) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest, 0, 16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Keeps a copy of the written bytes until they exceed a limit. */
+  private static final class CappedBuffer extends ByteArrayOutputStream {
+    private final int maxBytes;
+    private boolean exceeded;
+
+    private CappedBuffer(int maxBytes) {
+      this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+      if (fits(1)) {
+        super.write(b);
+      }
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+      if (fits(len)) {
+        super.write(b, off, len);
+      }
+    }
+
+    private boolean fits(int len) {
+      if (!exceeded && (long) count + len > maxBytes) {
+        // the archive won't be stored, so its copy is dropped
+        exceeded = true;
+        buf = new byte[0];
+        count = 0;
+      }
+      return !exceeded;
+    }
+
+    private boolean isComplete() {
+      return !exceeded && count > 0;
+    }
+  }
+}
@@ -3,23 +3,31 @@ package de.bund.digitalservice.ris.search.service.eclicrawler;
 import de.bund.digitalservice.ris.search.exception.FatalEcliSitemapJobException;
 import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
 import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
+import de.bund.digitalservice.ris.search.mapper.CaseLawLdmlMetadataMapper;
 import de.bund.digitalservice.ris.search.mapper.EcliCrawlerDocumentMapper;
 import de.bund.digitalservice.ris.search.models.eclicrawler.ecli.Courts;
 import de.bund.digitalservice.ris.search.models.eclicrawler.sitemap.Sitemap;
 import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationUnit;
 import de.bund.digitalservice.ris.search.models.opensearch.EcliCrawlerDocument;
 import de.bund.digitalservice.ris.search.repository.objectstorage.CaseLawBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.StorageObject;
 import de.bund.digitalservice.ris.search.repository.opensearch.EcliCrawlerDocumentRepository;
-import de.bund.digitalservice.ris.search.service.CaseLawService;
 import de.bund.digitalservice.ris.search.service.ChangelogService;
+import de.bund.digitalservice.ris.search.service.IndexingPipeline;
 import jakarta.xml.bind.JAXBException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.logging.log4j.LogManager;
@@ -33,11 +41,15 @@ public class EcliCrawlerDocumentService {
 
   CaseLawBucket caselawBucket;
   EcliCrawlerDocumentRepository repository;
-  CaseLawService caselawService;
   EcliSitemapWriter sitemapWriter;
   private final String documentUrl;
   private static final int DOCUMENT_STORE_BULK_SIZE = 10000;
   public static final int MAX_SITEMAP_URLS = 10000;
+  private static final int ID_CHUNK_SIZE = 10_000;
+  // case law files are large, so they are downloaded in smaller batches than a sitemap holds
+  private static final int FETCH_BATCH_SIZE = 1_000;
+  private static final int PARSE_THREADS = 2;
+  private static final int PIPELINE_QUEUE_CAPACITY = 2;
   private static final Logger logger = LogManager.getLogger(EcliCrawlerDocumentService.class);
 
   // ecli regex provided by the ecli xsd
@@ -49,19 +61,16 @@ public class EcliCrawlerDocumentService {
    *
    * @param caseLawBucket The bucket for storing case law documents.
    * @param repository The repository for accessing ECLI documents.
-   * @param caselawService The service for managing case law documents.
    * @param sitemapWriter The writer for generating sitemap files.
    * @param frontEndUrl The base URL for the front-end application.
    */
   public EcliCrawlerDocumentService(
       CaseLawBucket caseLawBucket,
       EcliCrawlerDocumentRepository repository,
-      CaseLawService caselawService,
       EcliSitemapWriter sitemapWriter,
       @Value("${server.front-end-url}") String frontEndUrl) {
     this.caselawBucket = caseLawBucket;
     this.repository = repository;
-    this.caselawService = caselawService;
     this.sitemapWriter = sitemapWriter;
     this.documentUrl = frontEndUrl + "gerichtsentscheidungen/";
   }
@@ -106,15 +115,16 @@ public class EcliCrawlerDocumentService {
 
     logger.info("write sitemaps from changelog");
 
-    ChangedEcliCrawlerDocumentsIterator iterator =
-        new ChangedEcliCrawlerDocumentsIterator(
-            this::getFromBucket,
-            this::getPublishedDocument,
-            new ArrayList<>(changelog.getChanged()),
-            new ArrayList<>(changelog.getDeleted()),
-            MAX_SITEMAP_URLS);
-
-    writeFilesFromIterator(apiUrl, day, iterator);
+    try (SitemapSink sink = new SitemapSink(day)) {
+      publish(
+          changelog.getChanged().stream().filter(EcliCrawlerDocumentService::isCaseLawDocumentUnit),
+          sink);
+      for (List<String> filenames :
+          ListUtils.partition(new ArrayList<>(changelog.getDeleted()), ID_CHUNK_SIZE)) {
+        getPublishedDocument(filenames).forEach(sink::add);
+      }
+      writeIndices(apiUrl, day, sink);
+    }
   }
 
   /**
@@ -129,47 +139,56 @@ public class EcliCrawlerDocumentService {
    */
   public void writeFullDiff(String apiUrl, LocalDate day) {
     logger.info("write full diff. Retrieve all potential files");
-    Set<String> allFiles =
-        caselawBucket.getAllKeys().stream()
-            .filter(
-                s -> isCaseLawDocumentUnit(s) && !s.contains(ChangelogService.CHANGELOGS_PREFIX))
-            .collect(Collectors.toSet());
-
-    List<String> toBeDeleted;
-    try (Stream<EcliCrawlerDocument> allPublished = repository.findByIsPublishedIsTrue()) {
-      toBeDeleted =
-          new ArrayList<>(
-              allPublished
-                  .map(EcliCrawlerDocument::filename)
-                  .filter(filename -> !allFiles.contains(filename))
-                  .toList());
-    }
+    // the filenames are collected while they are published, to find the deleted documents after
+    Set<String> allFiles = new HashSet<>();
+    try (SitemapSink sink = new SitemapSink(day)) {
+      try (Stream<String> keys = caselawBucket.streamAllKeys()) {
+        publish(
+            keys.filter(
+                    s ->
+                        isCaseLawDocumentUnit(s)
+                            && !s.contains(ChangelogService.CHANGELOGS_PREFIX))
+                .map(
+                    filename -> {
+                      allFiles.add(filename);
+                      return filename;
+                    }),
+            sink);
+      }
 
-    ChangedEcliCrawlerDocumentsIterator iterator =
-        new ChangedEcliCrawlerDocumentsIterator(
-            this::getFromBucket,
-            this::getPublishedDocument,
-            allFiles.stream().toList(),
-            toBeDeleted,
-            MAX_SITEMAP_URLS);
+      try (Stream<EcliCrawlerDocument> allPublished = repository.findByIsPublishedIsTrue()) {
+        allPublished
+            .filter(doc -> !allFiles.contains(doc.filename()))
+            .map(this::setDeleted)
+            .forEach(sink::add);
+      }
+      writeIndices(apiUrl, day, sink);
+    }
+  }
 
-    writeFilesFromIterator(apiUrl, day, iterator);
+  /**
+   * Downloads the given case law files, reads their ECLI metadata and hands the valid documents to
+   * the sink. Downloading, reading and writing the sitemaps run as overlapping stages of an {@link
+   * IndexingPipeline}, with a bounded number of files in memory.
+   */
+  private void publish(Stream<String> filenames, SitemapSink sink) {
+    try {
+      new IndexingPipeline<EcliCrawlerDocument>(
+              caselawBucket::getObjects,
+              this::toPublishedDocument,
+              sink,
+              FETCH_BATCH_SIZE,
+              PARSE_THREADS,
+              PIPELINE_QUEUE_CAPACITY)
+          .run(filenames);
+    } catch (ObjectStoreServiceException e) {
+      throw new FatalEcliSitemapJobException(e.getMessage());
+    }
   }
 
-  private void writeFilesFromIterator(
-      String apiUrl, LocalDate day, ChangedEcliCrawlerDocumentsIterator iterator) {
+  private void writeIndices(String apiUrl, LocalDate day, SitemapSink sink) {
     try {
-      List<Sitemap> writtenSitemaps = new ArrayList<>();
-      while (iterator.hasNext()) {
-        var docs = iterator.next();
-        logger.info("write {} urls to sitemap", docs.size());
-        writtenSitemaps.add(
-            sitemapWriter.writeUrlsToSitemap(
-                day,
-                docs.stream().map(EcliCrawlerDocumentMapper::toSitemapUrl).toList(),
-                writtenSitemaps.size() + 1));
-        saveAll(docs);
-      }
+      List<Sitemap> writtenSitemaps = sink.finish();
       logger.info("write {} sitemapindices", writtenSitemaps.size());
       var sitemapIndices = sitemapWriter.writeSitemapsIndices(apiUrl, day, writtenSitemaps);
       sitemapWriter.updateRobotsTxt(apiUrl, sitemapIndices);
@@ -178,23 +197,21 @@ public class EcliCrawlerDocumentService {
     }
   }
 
-  private List<EcliCrawlerDocument> getFromBucket(List<String> ids) {
-    logger.info("retrieve {} documents", ids.size());
-    return caselawService.getFromBucket(ids).stream()
+  private Optional<EcliCrawlerDocument> toPublishedDocument(StorageObject object) {
+    return object
+        .bytes()
+        .flatMap(CaseLawLdmlMetadataMapper::mapEcliMetadata)
+        .filter(this::isValidEcliDocument)
         .map(
-            unit -> {
-              if (isValidEcliDocument(unit)) {
-                return EcliCrawlerDocumentMapper.fromCaseLawDocumentationUnit(
-                    documentUrl, inferFilename(unit.documentNumber()), unit);
-              }
-              return null;
-            })
-        .filter(Objects::nonNull)
-        .toList();
+            unit ->
+                EcliCrawlerDocumentMapper.fromCaseLawDocumentationUnit(
+                    documentUrl, inferFilename(unit.documentNumber()), unit));
   }
 
   private List<EcliCrawlerDocument> getPublishedDocument(List<String> filename) {
-    return repository.findByFilename(filename).map(this::setDeleted).toList();
+    try (Stream<EcliCrawlerDocument> docs = repository.findByFilename(filename)) {
+      return docs.map(this::setDeleted).toList();
+    }
   }
 
   private static String inferFilename(String documentNumber) {
@@ -208,4 +225,70 @@ public class EcliCrawlerDocumentService {
     String[] parts = filename.split("/");
     return parts.length == 2 && filename.equals(inferFilename(parts[0]));
   }
+
+  /**
+   * Collects the documents of a run into sitemaps of {@link #MAX_SITEMAP_URLS} urls. While a full
+   * sitemap is marshalled and uploaded, its documents are saved to OpenSearch on another thread.
+   */
+  private final class SitemapSink implements Consumer<List<EcliCrawlerDocument>>, AutoCloseable {
+
+    private final LocalDate day;
+    private final List<EcliCrawlerDocument> pending = new ArrayList<>();
+    private final List<Sitemap> writtenSitemaps = new ArrayList<>();
+    private final ExecutorService saveExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private SitemapSink(LocalDate day) {
+      this.day = day;
+    }
+
+    @Override
+    public void accept(List<EcliCrawlerDocument> docs) {
+      docs.forEach(this::add);
+    }
+
+    private void add(EcliCrawlerDocument doc) {
+      pending.add(doc);
+      if (pending.size() == MAX_SITEMAP_URLS) {
+        writePending();
+      }
+    }
+
+    private List<Sitemap> finish() {
+      writePending();
+      return writtenSitemaps;
+    }
+
+    private void writePending() {
+      if (pending.isEmpty()) {
+        return;
+      }
+      List<EcliCrawlerDocument> docs = List.copyOf(pending);
+      pending.clear();
+      logger.info("write {} urls to sitemap", docs.size());
+      Future<?> saved = saveExecutor.submit(() -> saveAll(docs));
+      try {
+        writtenSitemaps.add(
+            sitemapWriter.writeUrlsToSitemap(
+                day,
+                docs.stream().map(EcliCrawlerDocumentMapper::toSitemapUrl).toList(),
+                writtenSitemaps.size() + 1));
+        saved.get();
+      } catch (JAXBException | ObjectStoreServiceException e) {
+        throw new FatalEcliSitemapJobException(e.getMessage());
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw new FatalEcliSitemapJobException(e.getCause().getMessage());
+      } catch (InterruptedException _) {
+        Thread.currentThread().interrupt();
+        throw new FatalEcliSitemapJobException("saving the ecli crawler documents was interrupted");
+      }
+    }
+
+    @Override
+    public void close() {
+      saveExecutor.close();
+    }
+  }
 }
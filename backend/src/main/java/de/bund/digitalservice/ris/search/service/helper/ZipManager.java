@@ -4,18 +4,31 @@ import de.bund.digitalservice.ris.search.exception.NoSuchKeyException;
 import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 /** Utility class for creating zip archives from S3 objects. */
 public class ZipManager {
+
+  /** The number of objects downloaded ahead of the entry being written. */
+  private static final int PREFETCH_WINDOW = 8;
+
   private ZipManager() {}
 
   /**
    * Writes a zip archive containing the objects from the given S3 keys to the provided output
-   * stream.
+   * stream. The objects are downloaded concurrently, a bounded number ahead of the entry being
+   * written, and added in the order of the keys.
    *
    * @param s3Bucket The S3 bucket from which to retrieve the objects.
    * @param keys A list of S3 keys representing the objects to be included in the zip archive.
@@ -24,28 +37,47 @@ public class ZipManager {
    */
   public static void writeZipArchive(
       ObjectStorage s3Bucket, List<String> keys, OutputStream outputStream) throws IOException {
+    // do not rely on the autoClosable of the ExecutorService, it would wait for the downloads
+    // still running after an error
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
     try (ZipOutputStream zipOut = new ZipOutputStream(outputStream)) {
+      Deque<Future<byte[]>> downloads = new ArrayDeque<>();
+      Iterator<String> keysToDownload = keys.iterator();
       for (String key : keys) {
-        appendZipEntryFromS3(s3Bucket, key, zipOut);
+        while (downloads.size() < PREFETCH_WINDOW && keysToDownload.hasNext()) {
+          String nextKey = keysToDownload.next();
+          downloads.add(executor.submit(() -> readObject(s3Bucket, nextKey)));
+        }
+        zipOut.putNextEntry(new ZipEntry(key));
+        zipOut.write(await(downloads.poll()));
+        zipOut.closeEntry();
       }
     } catch (IOException e) {
       throw new IOException("error building ZipOutputStream with keys %s".formatted(keys), e);
+    } finally {
+      executor.shutdownNow();
     }
   }
 
-  private static void appendZipEntryFromS3(
-      ObjectStorage s3Bucket, String key, ZipOutputStream zipOut) throws IOException {
-    ZipEntry zipEntry = new ZipEntry(key);
-    zipOut.putNextEntry(zipEntry);
-
+  private static byte[] readObject(ObjectStorage s3Bucket, String key) throws IOException {
     try (InputStream objectInputStream = s3Bucket.getStream(key)) {
-      byte[] bytes = new byte[4096];
-      int length;
-      while ((length = objectInputStream.read(bytes)) >= 0) {
-        zipOut.write(bytes, 0, length);
-      }
+      return objectInputStream.readAllBytes();
     } catch (IOException | NoSuchKeyException e) {
       throw new IOException("error adding item with key %s".formatted(key), e);
     }
   }
+
+  private static byte[] await(Future<byte[]> download) throws IOException {
+    try {
+      return download.get();
+    } catch (InterruptedException _) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while downloading a zip entry");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException ioException) {
+        throw ioException;
+      }
+      throw new IOException(e.getCause());
+    }
+  }
 }
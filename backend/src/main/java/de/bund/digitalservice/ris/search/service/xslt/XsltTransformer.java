@@ -2,15 +2,19 @@ package de.bund.digitalservice.ris.search.service.xslt;
 
 import de.bund.digitalservice.ris.search.exception.FileTransformationException;
 import de.bund.digitalservice.ris.search.service.exception.XMLElementNotFoundException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
@@ -22,25 +26,48 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.core.io.ClassPathResource;
 
-/** Abstract base class for XSLT transformers for LegalDocML documents. */
+/**
+ * Abstract base class for XSLT transformers for LegalDocML documents.
+ *
+ * <p>The stylesheet is compiled once into thread-safe {@link Templates}, either by {@link
+ * #warmUp()} at startup or by the first transformation. Every transformation then only creates a
+ * cheap transformer from them. Compilation and transformation times are published as the timers
+ * {@code ris.xslt.compile} and {@code ris.xslt.transform}, tagged with the stylesheet.
+ */
 public abstract class XsltTransformer {
   static final String RESOURCE_PATH_KEY = "ressourcenpfad";
 
   final Logger logger = LogManager.getLogger(XsltTransformer.class);
   final TransformerFactory transformerFactory = TransformerFactory.newInstance();
 
+  private volatile Templates templates;
+
   abstract String getXsltBasePath();
 
   abstract String getXsltFilename();
 
+  /**
+   * Compiles the stylesheet unless it is compiled already.
+   *
+   * @throws FileTransformationException if the stylesheet can't be compiled
+   */
+  void warmUp() {
+    try {
+      getTemplates();
+    } catch (TransformerException | IOException e) {
+      throw new FileTransformationException(e.getMessage(), e);
+    }
+  }
+
   String transformLegalDocMlFromBytes(byte[] source, Map<String, String> parameters) {
 
     AtomicReference<String> terminationMessage = new AtomicReference<>();
     try {
-      String url = new ClassPathResource(getXsltBasePath()).getURL().toString();
-      Source xsltSource = new StreamSource(new StringReader(getXslt()), url);
-
-      Transformer transformer = transformerFactory.newTransformer(xsltSource);
+      Transformer transformer = getTemplates().newTransformer();
+      // document() calls are resolved at transformation time, not only while compiling
+      if (transformerFactory.getURIResolver() != null) {
+        transformer.setURIResolver(transformerFactory.getURIResolver());
+      }
       ((TransformerImpl) transformer)
           .getUnderlyingXsltTransformer()
           .setMessageHandler(
@@ -54,11 +81,14 @@ public abstract class XsltTransformer {
       transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
       parameters.forEach(transformer::setParameter);
       transformer.setParameter("outputMode", "HTML_ALL");
+      long start = System.nanoTime();
       try (ByteArrayInputStream in = new ByteArrayInputStream(source);
           StringWriter output = new StringWriter()) {
 
         transformer.transform(new StreamSource(in), new StreamResult(output));
         return output.toString();
+      } finally {
+        timer("ris.xslt.transform").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
       }
     } catch (TransformerException | IOException e) {
 
@@ -75,6 +105,36 @@ public abstract class XsltTransformer {
     }
   }
 
+  private Templates getTemplates() throws TransformerException, IOException {
+    Templates compiled = templates;
+    if (compiled == null) {
+      synchronized (this) {
+        compiled = templates;
+        if (compiled == null) {
+          compiled = compileTemplates();
+          templates = compiled;
+        }
+      }
+    }
+    return compiled;
+  }
+
+  private Templates compileTemplates() throws TransformerException, IOException {
+    long start = System.nanoTime();
+    String url = new ClassPathResource(getXsltBasePath()).getURL().toString();
+    Source xsltSource = new StreamSource(new StringReader(getXslt()), url);
+    Templates compiled = transformerFactory.newTemplates(xsltSource);
+    long elapsed = System.nanoTime() - start;
+    timer("ris.xslt.compile").record(elapsed, TimeUnit.NANOSECONDS);
+    logger.info(
+        "Compiled XSLT {} in {} ms", getXsltFilename(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+    return compiled;
+  }
+
+  private Timer timer(String name) {
+    return Metrics.timer(name, "stylesheet", getXsltFilename());
+  }
+
   String getXslt() {
     try {
       ClassPathResource xsltResource = new ClassPathResource(getXsltBasePath() + getXsltFilename());
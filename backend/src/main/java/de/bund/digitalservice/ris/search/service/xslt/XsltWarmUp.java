@@ -0,0 +1,38 @@
+package de.bund.digitalservice.ris.search.service.xslt;
+
+import de.bund.digitalservice.ris.search.exception.FileTransformationException;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiles the stylesheets of all XSLT transformers before the application accepts traffic, so the
+ * first HTML requests don't have to wait for it. Import tasks exit before the application is ready
+ * and therefore never compile stylesheets they don't need.
+ */
+@Component
+public class XsltWarmUp {
+
+  private static final Logger logger = LogManager.getLogger(XsltWarmUp.class);
+
+  private final List<XsltTransformer> transformers;
+
+  public XsltWarmUp(List<XsltTransformer> transformers) {
+    this.transformers = transformers;
+  }
+
+  /** Compiles the stylesheet of every transformer. A failure is logged and not fatal. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    for (XsltTransformer transformer : transformers) {
+      try {
+        transformer.warmUp();
+      } catch (FileTransformationException e) {
+        logger.error("Failed to compile XSLT {}", transformer.getXsltFilename(), e);
+      }
+    }
+  }
+}
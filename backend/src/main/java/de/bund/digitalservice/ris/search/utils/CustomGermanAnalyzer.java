@@ -0,0 +1,198 @@
+package de.bund.digitalservice.ris.search.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.core.FlattenGraphFilter;
+import org.apache.lucene.analysis.de.GermanLightStemFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.pattern.PatternReplaceCharFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.synonym.SolrSynonymParser;
+import org.apache.lucene.analysis.synonym.SynonymGraphFilter;
+import org.apache.lucene.analysis.synonym.SynonymMap;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * In-process copy of the {@code custom_german_analyzer} of our OpenSearch indexes, so search terms
+ * can be tokenized without a round trip to the {@code _analyze} API.
+ *
+ * <p>The char filters, token filters and synonyms are read from the same component template that
+ * is sent to OpenSearch. Only the building blocks the template uses are supported, any other
+ * building block fails the creation of the analyzer instead of silently tokenizing differently.
+ * Synonyms are parsed with the filters preceding them, as OpenSearch does.
+ */
+public final class CustomGermanAnalyzer extends Analyzer {
+
+  public static final String TEMPLATE_PATH = "/openSearch/german_analyzer_template.json";
+  public static final String ANALYZER_NAME = "custom_german_analyzer";
+
+  private final List<PatternReplace> charFilters;
+  private final List<UnaryOperator<TokenStream>> tokenFilters;
+
+  private CustomGermanAnalyzer(
+      List<PatternReplace> charFilters, List<UnaryOperator<TokenStream>> tokenFilters) {
+    this.charFilters = charFilters;
+    this.tokenFilters = tokenFilters;
+  }
+
+  /**
+   * Creates the analyzer from the German analyzer component template.
+   *
+   * @return the analyzer
+   * @throws IllegalStateException if the template can't be read or uses unsupported building
+   *     blocks
+   */
+  public static CustomGermanAnalyzer fromTemplate() {
+    ClassPathResource resource = new ClassPathResource(TEMPLATE_PATH);
+    try (InputStream template = resource.getInputStream()) {
+      JsonNode analysis =
+          new ObjectMapper().readTree(template).path("template").path("settings").path("analysis");
+      return fromAnalysisSettings(analysis, ANALYZER_NAME);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read " + TEMPLATE_PATH, e);
+    }
+  }
+
+  /**
+   * Creates an analyzer from the analysis settings of an index.
+   *
+   * @param analysis the {@code analysis} object of the index settings
+   * @param analyzerName the name of the custom analyzer to create
+   * @return the analyzer
+   * @throws IllegalStateException if the analyzer is missing or uses unsupported building blocks
+   */
+  public static CustomGermanAnalyzer fromAnalysisSettings(JsonNode analysis, String analyzerName) {
+    JsonNode definition = analysis.path("analyzer").path(analyzerName);
+    if (!"custom".equals(definition.path("type").asText())
+        || !"standard".equals(definition.path("tokenizer").asText())) {
+      throw new IllegalStateException(
+          "Analyzer " + analyzerName + " must be a custom analyzer with standard tokenizer");
+    }
+
+    List<PatternReplace> charFilters = new ArrayList<>();
+    for (JsonNode name : definition.path("char_filter")) {
+      JsonNode charFilter = analysis.path("char_filter").path(name.asText());
+      if (!"pattern_replace".equals(charFilter.path("type").asText())) {
+        throw unsupported("char filter", name.asText());
+      }
+      charFilters.add(
+          new PatternReplace(
+              Pattern.compile(charFilter.path("pattern").asText()),
+              charFilter.path("replacement").asText()));
+    }
+
+    List<UnaryOperator<TokenStream>> tokenFilters = new ArrayList<>();
+    // like OpenSearch, synonym rules are analyzed by the preceding filters, except for synonyms
+    List<UnaryOperator<TokenStream>> synonymRuleFilters = new ArrayList<>();
+    for (JsonNode name : definition.path("filter")) {
+      JsonNode filter = analysis.path("filter").path(name.asText());
+      String type = filter.isMissingNode() ? name.asText() : filter.path("type").asText();
+      UnaryOperator<TokenStream> tokenFilter =
+          switch (type) {
+            case "lowercase" -> LowerCaseFilter::new;
+            case "asciifolding" -> {
+              boolean preserveOriginal = filter.path("preserve_original").asBoolean(false);
+              yield stream -> new ASCIIFoldingFilter(stream, preserveOriginal);
+            }
+            case "stemmer" -> {
+              if (!"light_german".equals(filter.path("language").asText())) {
+                throw unsupported("stemmer", name.asText());
+              }
+              yield GermanLightStemFilter::new;
+            }
+            case "synonym" -> synonymFilter(filter, charFilters, synonymRuleFilters);
+            default -> throw unsupported("token filter", name.asText());
+          };
+      tokenFilters.add(tokenFilter);
+      if (!"synonym".equals(type)) {
+        synonymRuleFilters.add(tokenFilter);
+      }
+    }
+    return new CustomGermanAnalyzer(List.copyOf(charFilters), List.copyOf(tokenFilters));
+  }
+
+  /**
+   * Tokenizes a text.
+   *
+   * @param text the text to tokenize
+   * @return the terms of the tokens, in the order they are emitted
+   */
+  public List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    try (TokenStream stream = tokenStream("", text)) {
+      CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+      stream.reset();
+      while (stream.incrementToken()) {
+        tokens.add(term.toString());
+      }
+      stream.end();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return tokens;
+  }
+
+  @Override
+  protected Reader initReader(String fieldName, Reader reader) {
+    Reader result = reader;
+    for (PatternReplace charFilter : charFilters) {
+      result = new PatternReplaceCharFilter(charFilter.pattern(), charFilter.replacement(), result);
+    }
+    return result;
+  }
+
+  @Override
+  protected TokenStreamComponents createComponents(String fieldName) {
+    StandardTokenizer tokenizer = new StandardTokenizer();
+    TokenStream stream = tokenizer;
+    for (UnaryOperator<TokenStream> tokenFilter : tokenFilters) {
+      stream = tokenFilter.apply(stream);
+    }
+    return new TokenStreamComponents(tokenizer, stream);
+  }
+
+  private static UnaryOperator<TokenStream> synonymFilter(
+      JsonNode filter,
+      List<PatternReplace> charFilters,
+      List<UnaryOperator<TokenStream>> ruleFilters) {
+    boolean expand = filter.path("expand").asBoolean(true);
+    StringBuilder rules = new StringBuilder();
+    for (JsonNode rule : filter.path("synonyms")) {
+      rules.append(rule.asText()).append('\n');
+    }
+
+    SynonymMap synonyms;
+    try (CustomGermanAnalyzer ruleAnalyzer =
+        new CustomGermanAnalyzer(List.copyOf(charFilters), List.copyOf(ruleFilters))) {
+      SolrSynonymParser parser = new SolrSynonymParser(true, expand, ruleAnalyzer);
+      parser.parse(new StringReader(rules.toString()));
+      synonyms = parser.build();
+    } catch (IOException | ParseException e) {
+      throw new IllegalStateException("Unable to parse synonyms", e);
+    }
+    if (synonyms.fst == null) {
+      return UnaryOperator.identity();
+    }
+    return stream -> new FlattenGraphFilter(new SynonymGraphFilter(stream, synonyms, false));
+  }
+
+  private static IllegalStateException unsupported(String kind, String name) {
+    return new IllegalStateException("Unsupported " + kind + " " + name + " in " + ANALYZER_NAME);
+  }
+
+  private record PatternReplace(Pattern pattern, String replacement) {}
+}
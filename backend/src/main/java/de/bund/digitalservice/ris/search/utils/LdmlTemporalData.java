@@ -7,10 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.w3c.dom.Element;
@@ -100,14 +97,9 @@ public class LdmlTemporalData {
   }
 
   private static Node getTimeIntervalNode(Element temporalGroup) {
-    try {
-      XPath xpath = XPathFactory.newInstance().newXPath();
-      return (Node)
-          xpath.evaluate("./*[local-name()='timeInterval']", temporalGroup, XPathConstants.NODE);
-    } catch (XPathExpressionException e) {
-      logger.warn("Error evaluating XPath for timeInterval", e);
-      return null;
-    }
+    return XmlDocument.scopedTo(temporalGroup)
+        .getFirstMatchedNodeByXpath("./*[local-name()='timeInterval']")
+        .orElse(null);
   }
 
   private static Map<String, String> getEventRefMap(XmlDocument xmlDocument) {
@@ -3,14 +3,18 @@ package de.bund.digitalservice.ris.search.utils;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.AbstractList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import org.apache.commons.lang3.StringUtils;
@@ -28,10 +32,19 @@ import org.xml.sax.SAXException;
  * <p>It provides methods to parse, query, modify, and extract data from XML content, ensuring
  * secure processing by disabling potentially risky features such as external entities. Namespace
  * contexts are supported to handle XML namespaces.
+ *
+ * <p>XPath expressions are compiled once per thread and kept, since the mappers evaluate the same
+ * constant expressions for every document. Neither compiled expressions nor document builders are
+ * thread-safe, so each thread gets its own.
  */
 public class XmlDocument {
+  private static final int MAX_COMPILED_XPATHS = 512;
+  private static final ThreadLocal<CompiledXPaths> compiledXPaths =
+      ThreadLocal.withInitial(CompiledXPaths::new);
+  private static final ThreadLocal<DocumentBuilder> documentBuilders = new ThreadLocal<>();
+
   private final Document document;
-  private final XPath xpathInstance = XPathFactory.newInstance().newXPath();
+  private final Node context;
   private final Logger logger = LogManager.getLogger(XmlDocument.class);
 
   /**
@@ -47,33 +60,44 @@ public class XmlDocument {
    */
   public XmlDocument(byte[] content)
       throws ParserConfigurationException, IOException, SAXException {
-    xpathInstance.setNamespaceContext(new LegalDocMLDeContext());
-    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-    factory.setNamespaceAware(true);
-    factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-    factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-    document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(content));
+    this(documentBuilder().parse(new ByteArrayInputStream(content)));
   }
 
   /**
    * Constructs an XmlDocument object by creating a new Document from the given Node. Configures
    * secure XML processing and namespace support during the document creation.
    *
+   * <p>Use {@link #scopedTo(Node)} instead if the node is only queried, to avoid the copy.
+   *
    * @param node the Node to be imported and used to create a new DOM Document
    * @throws ParserConfigurationException if a DocumentBuilder cannot be created with the required
    *     configuration
    */
   public XmlDocument(Node node) throws ParserConfigurationException {
-    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-    factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-    factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-    factory.setNamespaceAware(true);
-    xpathInstance.setNamespaceContext(new LegalDocMLDeContext());
-    DocumentBuilder builder = factory.newDocumentBuilder();
-    Document newDocument = builder.newDocument();
-    Node importedNode = newDocument.importNode(node, true);
-    newDocument.appendChild(importedNode);
-    document = newDocument;
+    this(importIntoNewDocument(node));
+  }
+
+  private XmlDocument(Document document) {
+    this(document, document);
+  }
+
+  private XmlDocument(Document document, Node context) {
+    this.document = document;
+    this.context = context;
+  }
+
+  /**
+   * Creates an XmlDocument that evaluates XPath expressions relative to the given node, without
+   * copying it into a new document. Relative expressions like {@code .//*} only see the node and
+   * its descendants, while absolute expressions still see the whole document the node belongs to.
+   * Modifications change that document.
+   *
+   * @param node the node to evaluate XPath expressions against
+   * @return an XmlDocument scoped to the node
+   */
+  public static XmlDocument scopedTo(Node node) {
+    return new XmlDocument(
+        node instanceof Document owner ? owner : node.getOwnerDocument(), node);
   }
 
   /**
@@ -85,7 +109,7 @@ public class XmlDocument {
    * @throws XPathExpressionException if the given XPath expression cannot be evaluated
    */
   public String getSimpleElementByXpath(String xpath) throws XPathExpressionException {
-    Node node = (Node) xpathInstance.evaluate(xpath, document, XPathConstants.NODE);
+    Node node = (Node) evaluate(xpath, context, XPathConstants.NODE);
     return node != null ? node.getTextContent() : null;
   }
 
@@ -99,7 +123,7 @@ public class XmlDocument {
    * @throws XPathExpressionException if the given XPath expression cannot be evaluated
    */
   public boolean getElementExistByXpath(String xpath) throws XPathExpressionException {
-    return (boolean) xpathInstance.evaluate(xpath, document, XPathConstants.BOOLEAN);
+    return (boolean) evaluate(xpath, context, XPathConstants.BOOLEAN);
   }
 
   /**
@@ -111,7 +135,7 @@ public class XmlDocument {
    * @throws XPathExpressionException if the given XPath expression cannot be evaluated
    */
   public NodeList getNodesByXpath(String xpath) throws XPathExpressionException {
-    return (NodeList) xpathInstance.evaluate(xpath, document, XPathConstants.NODESET);
+    return (NodeList) evaluate(xpath, context, XPathConstants.NODESET);
   }
 
   /**
@@ -122,7 +146,7 @@ public class XmlDocument {
    * @return an {@code Optional} containing the first matching node, or empty if no match is found
    */
   public Optional<Node> getFirstMatchedNodeByXpath(String xpath) {
-    return getFirstMatchedNodeByXpath(xpath, document);
+    return getFirstMatchedNodeByXpath(xpath, context);
   }
 
   /**
@@ -135,7 +159,7 @@ public class XmlDocument {
    */
   public Optional<Node> getFirstMatchedNodeByXpath(String xpath, Node item) {
     try {
-      return Optional.ofNullable((Node) xpathInstance.evaluate(xpath, item, XPathConstants.NODE));
+      return Optional.ofNullable((Node) evaluate(xpath, item, XPathConstants.NODE));
     } catch (XPathExpressionException _) {
       return Optional.empty();
     }
@@ -243,7 +267,7 @@ public class XmlDocument {
    * @throws XPathExpressionException if the given XPath expression cannot be evaluated
    */
   public String extractCleanedText(String xPath) throws XPathExpressionException {
-    NodeList nodes = (NodeList) xpathInstance.evaluate(xPath, document, XPathConstants.NODESET);
+    NodeList nodes = getNodesByXpath(xPath);
     final List<String> textItems =
         XmlDocument.asList(nodes).stream().map(Node::getTextContent).toList();
     return String.join(" ", textItems).replaceAll("\\s+", " ").trim();
@@ -293,4 +317,53 @@ public class XmlDocument {
       logger.warn(String.format("Error removing nodes by xpath: %s", xPath), exception);
     }
   }
+
+  private static Object evaluate(String xpath, Node item, QName returnType)
+      throws XPathExpressionException {
+    return compiledXPaths.get().compile(xpath).evaluate(item, returnType);
+  }
+
+  private static DocumentBuilder documentBuilder() throws ParserConfigurationException {
+    DocumentBuilder builder = documentBuilders.get();
+    if (builder == null) {
+      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+      factory.setNamespaceAware(true);
+      factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+      factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+      builder = factory.newDocumentBuilder();
+      documentBuilders.set(builder);
+    }
+    return builder;
+  }
+
+  private static Document importIntoNewDocument(Node node) throws ParserConfigurationException {
+    Document newDocument = documentBuilder().newDocument();
+    Node importedNode = newDocument.importNode(node, true);
+    newDocument.appendChild(importedNode);
+    return newDocument;
+  }
+
+  /** The compiled XPath expressions of one thread, dropping the least recently used ones. */
+  private static final class CompiledXPaths extends LinkedHashMap<String, XPathExpression> {
+    private final transient XPath xpath = XPathFactory.newInstance().newXPath();
+
+    private CompiledXPaths() {
+      super(16, 0.75f, true);
+      xpath.setNamespaceContext(new LegalDocMLDeContext());
+    }
+
+    private XPathExpression compile(String expression) throws XPathExpressionException {
+      XPathExpression compiled = get(expression);
+      if (compiled == null) {
+        compiled = xpath.compile(expression);
+        put(expression, compiled);
+      }
+      return compiled;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+      return size() > MAX_COMPILED_XPATHS;
+    }
+  }
 }
@@ -0,0 +1,118 @@
+package de.bund.digitalservice.ris.search.integration.config.ratelimiting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.search.config.ratelimiting.OpenSearchRateLimitStore;
+import de.bund.digitalservice.ris.search.config.ratelimiting.RateLimit;
+import de.bund.digitalservice.ris.search.config.ratelimiting.RateLimitDecision;
+import de.bund.digitalservice.ris.search.integration.config.ContainersIntegrationBase;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.client.indices.GetIndexRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+@Tag("integration")
+class OpenSearchRateLimitStoreTest extends ContainersIntegrationBase {
+
+  private static final String INDEX = "rate_limits_test";
+  private static final RateLimit LIMIT = new RateLimit(10, Duration.ofSeconds(10));
+
+  @Autowired private RestHighLevelClient restHighLevelClient;
+
+  private final AtomicReference<Instant> now = new AtomicReference<>(Instant.EPOCH);
+
+  @AfterEach
+  void deleteIndex() throws IOException {
+    if (restHighLevelClient.indices().exists(new GetIndexRequest(INDEX), RequestOptions.DEFAULT)) {
+      restHighLevelClient.indices().delete(new DeleteIndexRequest(INDEX), RequestOptions.DEFAULT);
+    }
+  }
+
+  @Test
+  void itSharesTheBucketBetweenStores() {
+    OpenSearchRateLimitStore first = store();
+    OpenSearchRateLimitStore second = store();
+
+    assertThat(first.tryConsume("default:1.2.3.4", 8, LIMIT))
+        .isEqualTo(new RateLimitDecision(true, 10, 2, 8, 0));
+    RateLimitDecision denied = second.tryConsume("default:1.2.3.4", 3, LIMIT);
+
+    assertThat(denied).isEqualTo(new RateLimitDecision(false, 10, 2, 8, 1));
+  }
+
+  @Test
+  void itRefillsTheBucketOverTime() {
+    OpenSearchRateLimitStore store = store();
+    store.tryConsume("default:1.2.3.4", 10, LIMIT);
+
+    now.set(Instant.EPOCH.plusMillis(2500));
+
+    assertThat(store.tryConsume("default:1.2.3.4", 1, LIMIT).remaining()).isEqualTo(1);
+  }
+
+  @Test
+  void concurrentRequestsNeverTakeTheSameTokens() throws Exception {
+    OpenSearchRateLimitStore store = store();
+    List<Callable<Boolean>> requests = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      requests.add(() -> store.tryConsume("default:1.2.3.4", 1, LIMIT).allowed());
+    }
+
+    long allowed;
+    try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+      allowed =
+          executor.invokeAll(requests).stream().filter(OpenSearchRateLimitStoreTest::get).count();
+    }
+
+    assertThat(allowed).isEqualTo(10);
+  }
+
+  @Test
+  void itRemovesFullBuckets() throws IOException {
+    OpenSearchRateLimitStore store = store();
+    store.tryConsume("default:1.2.3.4", 5, LIMIT);
+    store.tryConsume("default:5.6.7.8", 1, LIMIT);
+
+    now.set(Instant.EPOCH.plusMillis(2000));
+    restHighLevelClient.indices().refresh(new RefreshRequest(INDEX), RequestOptions.DEFAULT);
+    store.removeFullBuckets();
+
+    assertThat(exists("default:1.2.3.4")).isTrue();
+    assertThat(exists("default:5.6.7.8")).isFalse();
+  }
+
+  private OpenSearchRateLimitStore store() {
+    return new OpenSearchRateLimitStore(restHighLevelClient, INDEX, now::get);
+  }
+
+  private boolean exists(String key) throws IOException {
+    return restHighLevelClient.exists(new GetRequest(INDEX, key), RequestOptions.DEFAULT);
+  }
+
+  private static boolean get(Future<Boolean> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
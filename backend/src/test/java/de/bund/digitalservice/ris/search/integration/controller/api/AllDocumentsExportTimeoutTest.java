@@ -0,0 +1,75 @@
+package de.bund.digitalservice.ris.search.integration.controller.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+import com.jayway.jsonpath.JsonPath;
+import de.bund.digitalservice.ris.search.config.ApiConfig;
+import de.bund.digitalservice.ris.search.integration.config.ContainersIntegrationBase;
+import de.bund.digitalservice.ris.search.service.AllDocumentsService;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"spring.mvc.async.request-timeout=100ms", "search-cursor.export-batch-size=1"})
+@Tag("integration")
+class AllDocumentsExportTimeoutTest extends ContainersIntegrationBase {
+
+  private static final Duration BATCH_DELAY = Duration.ofMillis(500);
+
+  @MockitoSpyBean private AllDocumentsService allDocumentsService;
+
+  @LocalServerPort private int port;
+
+  @BeforeEach
+  void setup() {
+    resetRepositories();
+    doAnswer(
+            invocation -> {
+              Thread.sleep(BATCH_DELAY);
+              return invocation.callRealMethod();
+            })
+        .when(allDocumentsService)
+        .searchAllDocumentsAfter(any(), any(), anyInt(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should stream all batches of an export past the async request timeout")
+  void shouldStreamAllBatchesPastTheAsyncRequestTimeout() throws Exception {
+    // An actual HttpClient is needed instead of mockMvc, as only tomcat times async requests out
+    try (HttpClient client = HttpClient.newHttpClient()) {
+      int totalItems =
+          JsonPath.parse(send(client, ApiConfig.Paths.DOCUMENT + "?searchTerm=Test").body())
+              .read("$.totalItems", Integer.class);
+      // one batch per document, so the export takes seconds, long after the request timed out
+      assertThat(totalItems).isGreaterThanOrEqualTo(5);
+
+      HttpResponse<String> export =
+          send(client, ApiConfig.Paths.DOCUMENT_EXPORT + "?searchTerm=Test");
+
+      assertThat(export.statusCode()).isEqualTo(200);
+      assertThat(export.body().lines()).hasSize(totalItems);
+    }
+  }
+
+  private HttpResponse<String> send(HttpClient client, String path)
+      throws IOException, InterruptedException {
+    HttpRequest request =
+        HttpRequest.newBuilder().uri(URI.create("http://localhost:" + port + path)).GET().build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+}
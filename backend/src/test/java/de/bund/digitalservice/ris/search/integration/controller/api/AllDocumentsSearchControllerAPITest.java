@@ -12,6 +12,7 @@ import static org.hamcrest.Matchers.oneOf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.jayway.jsonpath.DocumentContext;
@@ -26,6 +27,7 @@ import de.bund.digitalservice.ris.search.models.opensearch.AdministrativeDirecti
 import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationUnit;
 import de.bund.digitalservice.ris.search.models.opensearch.Literature;
 import de.bund.digitalservice.ris.search.service.IndexNormsService;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -45,6 +47,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
@@ -329,4 +332,107 @@ class AllDocumentsSearchControllerAPITest extends ContainersIntegrationBase {
                     "$.member[2].item.legislationIdentifier",
                     equalTo("eli/bund/bgbl-1/1991/s102/2020-01-01/1/deu"))));
   }
+
+  @Test
+  @DisplayName("Should page through all results with cursors")
+  void shouldPageThroughAllResultsWithCursors() throws Exception {
+    int totalItems =
+        JsonPath.parse(
+                mockMvc
+                    .perform(get(ApiConfig.Paths.DOCUMENT).contentType(MediaType.APPLICATION_JSON))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString())
+            .read("$.totalItems", Integer.class);
+
+    List<String> ids = new ArrayList<>();
+    String next = ApiConfig.Paths.DOCUMENT + "?cursor=*&size=2";
+    while (next != null) {
+      DocumentContext page =
+          JsonPath.parse(
+              mockMvc
+                  .perform(get(next).contentType(MediaType.APPLICATION_JSON))
+                  .andExpectAll(
+                      status().isOk(),
+                      jsonPath("$.view.previous").doesNotExist(),
+                      jsonPath("$.view.last").doesNotExist())
+                  .andReturn()
+                  .getResponse()
+                  .getContentAsString());
+      ids.addAll(page.read("$.member[*].item['@id']"));
+      next = page.read("$.view.next");
+    }
+
+    assertThat(ids).hasSize(totalItems).doesNotHaveDuplicates();
+  }
+
+  @Test
+  @DisplayName("Should reject invalid cursors")
+  void shouldRejectInvalidCursors() throws Exception {
+    mockMvc
+        .perform(
+            get(ApiConfig.Paths.DOCUMENT + "?cursor=invalid")
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpectAll(
+            status().isUnprocessableEntity(),
+            jsonPath("$.errors[0].code", equalTo("invalid_cursor")));
+  }
+
+  @Test
+  @DisplayName("Should reject cursors of a search with other parameters or another sort")
+  void shouldRejectCursorsOfAnotherSearch() throws Exception {
+    String next =
+        JsonPath.parse(
+                mockMvc
+                    .perform(
+                        get(ApiConfig.Paths.DOCUMENT + "?searchTerm=Test&cursor=*&size=1")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString())
+            .read("$.view.next");
+    String cursor = next.substring(next.indexOf("cursor=") + "cursor=".length()).split("&")[0];
+
+    for (String otherSearch : List.of("?searchTerm=Gesetz", "?searchTerm=Test&sort=date")) {
+      mockMvc
+          .perform(
+              get(ApiConfig.Paths.DOCUMENT + otherSearch + "&size=1&cursor=" + cursor)
+                  .contentType(MediaType.APPLICATION_JSON))
+          .andExpectAll(
+              status().isUnprocessableEntity(),
+              jsonPath("$.errors[0].code", equalTo("invalid_cursor")));
+    }
+  }
+
+  @Test
+  @DisplayName("Should export all results as newline delimited JSON")
+  void shouldExportAllResults() throws Exception {
+    DocumentContext search =
+        JsonPath.parse(
+            mockMvc
+                .perform(
+                    get(ApiConfig.Paths.DOCUMENT + "?searchTerm=Test")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+    int totalItems = search.read("$.totalItems", Integer.class);
+    List<Object> items = search.read("$.member[*].item");
+
+    MvcResult result =
+        mockMvc
+            .perform(get(ApiConfig.Paths.DOCUMENT_EXPORT + "?searchTerm=Test"))
+            .andExpect(request().asyncStarted())
+            .andDo(MvcResult::getAsyncResult)
+            .andExpectAll(status().isOk(), content().contentType("application/x-ndjson"))
+            .andReturn();
+
+    List<String> lines =
+        result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+    assertThat(lines).hasSize(totalItems);
+    // serialized like the members of the JSON response
+    assertThat(lines)
+        .map(line -> JsonPath.parse(line).read("$.item"))
+        .containsExactlyInAnyOrderElementsOf(items);
+  }
 }
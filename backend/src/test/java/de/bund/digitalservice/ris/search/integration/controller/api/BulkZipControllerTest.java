@@ -9,7 +9,10 @@ import de.bund.digitalservice.ris.search.config.ApiConfig;
 import de.bund.digitalservice.ris.search.integration.config.ContainersIntegrationBase;
 import de.bund.digitalservice.ris.search.models.DocumentKind;
 import de.bund.digitalservice.ris.search.schema.ZipDataCatalogSchema;
+import de.bund.digitalservice.ris.search.schema.ZipDataSetSchema;
 import de.bund.digitalservice.ris.search.service.BulkExportService;
+import de.bund.digitalservice.ris.search.service.SnapshotManifest;
+import java.time.Instant;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -70,4 +73,38 @@ class BulkZipControllerTest extends ContainersIntegrationBase {
             expectedPrefix + "legislation_2026-01-02T00:00:00.zip",
             expectedPrefix + "literature_2026-01-02T00:00:00.zip");
   }
+
+  @Test
+  @DisplayName("Should return the base and deltas of a snapshot with a manifest")
+  void endpointShouldReturnTheLayersOfTheManifest() throws Exception {
+    for (String key : publicFilesBucket.getAllKeys()) {
+      publicFilesBucket.delete(key);
+    }
+    // a newer base without manifest must not replace the base of the manifest
+    publicFilesBucket.save(BulkExportService.BULK_ZIP_PREFIX + CASE_LAW + "_2026-01-03.zip", "");
+    SnapshotManifest manifest =
+        SnapshotManifest.ofBase("snapshots/case-law_base.zip", Instant.EPOCH)
+            .withDelta(new SnapshotManifest.Delta("snapshots/deltas/case-law_1.zip", "a", "b"))
+            .withDelta(new SnapshotManifest.Delta("snapshots/deltas/case-law_2.zip", "b", "c"));
+    publicFilesBucket.save(
+        BulkExportService.getManifestKey(CASE_LAW), objectMapper.writeValueAsString(manifest));
+
+    String responseJson =
+        mockMvc
+            .perform(get(ApiConfig.Paths.BULK_ZIP_LINKS).contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    ZipDataSetSchema caseLaw =
+        objectMapper.readValue(responseJson, ZipDataCatalogSchema.class).dataSet().get(1);
+    assertThat(caseLaw.distribution().contentUrl())
+        .isEqualTo("s3-endpoint/public/snapshots/case-law_base.zip");
+    assertThat(caseLaw.hasPart())
+        .extracting(part -> part.distribution().contentUrl())
+        .containsExactly(
+            "s3-endpoint/public/snapshots/deltas/case-law_1.zip",
+            "s3-endpoint/public/snapshots/deltas/case-law_2.zip");
+  }
 }
@@ -0,0 +1,96 @@
+package de.bund.digitalservice.ris.search.integration.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.search.integration.config.ContainersIntegrationBase;
+import de.bund.digitalservice.ris.search.utils.CustomGermanAnalyzer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.client.indices.AnalyzeRequest;
+import org.opensearch.client.indices.AnalyzeResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/** Compares the in-process analyzer with the analyzer of the OpenSearch indexes. */
+@SpringBootTest
+@Tag("integration")
+class CustomGermanAnalyzerParityTest extends ContainersIntegrationBase {
+
+  @Autowired private RestHighLevelClient restHighLevelClient;
+
+  private final CustomGermanAnalyzer localAnalyzer = CustomGermanAnalyzer.fromTemplate();
+
+  @AfterAll
+  void tearDown() {
+    localAnalyzer.close();
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "hello world",
+        "  leading space trailing\nspace ",
+        "Kündigung des Mietvertrags wegen Eigenbedarfs",
+        "Größere Übungsplätze für Ärzte",
+        "§ 823 Abs. 1 BGB",
+        "Bußgeld 100 € bis 1.000,50€",
+        "BGH Urteil vom 01.02.2024 - VIII ZR 123/22",
+        "Bundesgerichtshof",
+        "OVG Thüringen ThürOVG",
+        "Gemeinsamer Senat der obersten Gerichtshöfe des Bundes GmS-OGB",
+        "Gr.S. GrS Großer Senat",
+        "VERFG MV Verfassungsgericht Mecklenburg-Vorpommern",
+        "Staatsgerichtshof (Landesverfassungsgericht)",
+        "abgasreduzierend Abgas Reduzierend",
+        "ECLI:DE:BGH:2024:010224UVIIIZR123.22.0",
+        "eli/bund/bgbl-1/2020/s1126/2020-08-04/1/deu",
+        "Straße Strasse STRASSE",
+        "naïve Café Œuvre",
+        "BVerfG, 1 BvR 2011/94",
+        "Beschlüsse Entscheidungen Urteile"
+      })
+  void itTokenizesLikeOpenSearch(String text) throws IOException {
+    AnalyzeRequest request =
+        AnalyzeRequest.withIndexAnalyzer("norms", CustomGermanAnalyzer.ANALYZER_NAME, text);
+    SortedMap<Integer, Set<String>> expected = new TreeMap<>();
+    for (AnalyzeResponse.AnalyzeToken token :
+        restHighLevelClient.indices().analyze(request, RequestOptions.DEFAULT).getTokens()) {
+      expected
+          .computeIfAbsent(token.getPosition(), position -> new TreeSet<>())
+          .add(token.getTerm());
+    }
+
+    // expanded synonyms share a position, their order within a position may differ
+    assertThat(localTokensByPosition(text)).containsExactlyElementsOf(expected.values());
+  }
+
+  private List<Set<String>> localTokensByPosition(String text) throws IOException {
+    SortedMap<Integer, Set<String>> tokens = new TreeMap<>();
+    try (TokenStream stream = localAnalyzer.tokenStream("", text)) {
+      CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+      PositionIncrementAttribute increment = stream.addAttribute(PositionIncrementAttribute.class);
+      stream.reset();
+      int position = -1;
+      while (stream.incrementToken()) {
+        position += increment.getPositionIncrement();
+        tokens.computeIfAbsent(position, key -> new TreeSet<>()).add(term.toString());
+      }
+      stream.end();
+    }
+    return new ArrayList<>(tokens.values());
+  }
+}
@@ -1,13 +1,20 @@
 package de.bund.digitalservice.ris.search.integration.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import de.bund.digitalservice.ris.search.integration.config.ContainersIntegrationBase;
+import de.bund.digitalservice.ris.search.repository.objectstorage.LiteratureBucket;
+import de.bund.digitalservice.ris.search.service.IndexLiteratureService;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.opensearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.client.RequestOptions;
@@ -16,11 +23,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "indexing.full-rebuild.enabled=true")
 @AutoConfigureMockMvc
 @Tag("integration")
 class IndexAliasServiceTest extends ContainersIntegrationBase {
   @Autowired private RestHighLevelClient restHighLevelClient;
+  @Autowired private IndexLiteratureService indexLiteratureService;
+  @Autowired private LiteratureBucket literatureBucket;
+
+  @AfterEach
+  void tearDown() {
+    resetBuckets();
+    resetRepositories();
+  }
 
   @Test
   @DisplayName("Writes to an alias should go to the correct index")
@@ -32,4 +49,24 @@ class IndexAliasServiceTest extends ContainersIntegrationBase {
             RequestOptions.DEFAULT);
     assertThat(response.getShardId().getIndexName()).startsWith("norms_");
   }
+
+  @Test
+  @DisplayName("A rebuild with files which can't be parsed should keep the alias on the old index")
+  void testRebuildWithUnparseableFilesKeepsTheAlias() throws IOException {
+    Set<String> currentIndices = indicesOfAlias("literature");
+    literatureBucket.save("XXLU000000099.akn.xml", "this will not parse");
+
+    assertThatThrownBy(() -> indexLiteratureService.reindexAll(Instant.now().toString()))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(indicesOfAlias("literature")).isNotEmpty().isEqualTo(currentIndices);
+  }
+
+  private Set<String> indicesOfAlias(String alias) throws IOException {
+    return restHighLevelClient
+        .indices()
+        .getAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT)
+        .getAliases()
+        .keySet();
+  }
 }
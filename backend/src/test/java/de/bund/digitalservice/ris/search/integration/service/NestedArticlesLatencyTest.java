@@ -0,0 +1,184 @@
+package de.bund.digitalservice.ris.search.integration.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.search.integration.config.ContainersIntegrationBase;
+import de.bund.digitalservice.ris.search.mapper.NormLdmlToOpenSearchMapper;
+import de.bund.digitalservice.ris.search.models.api.parameters.NormsSearchParams;
+import de.bund.digitalservice.ris.search.models.api.parameters.UniversalSearchParams;
+import de.bund.digitalservice.ris.search.models.opensearch.Article;
+import de.bund.digitalservice.ris.search.models.opensearch.Norm;
+import de.bund.digitalservice.ris.search.service.ArticleService;
+import de.bund.digitalservice.ris.search.service.NormsService;
+import de.bund.digitalservice.ris.search.service.SimpleSearchQueryBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchPage;
+
+/**
+ * Compares the latency of norm searches with article matches from a second query on the articles
+ * index and from the articles nested in the norms index, on the norms of the e2e-data fixtures.
+ * The medians and 95th percentiles of both are logged, only their results are asserted.
+ */
+@SpringBootTest
+@Tag("integration")
+class NestedArticlesLatencyTest extends ContainersIntegrationBase {
+
+  private static final Logger logger = LogManager.getLogger(NestedArticlesLatencyTest.class);
+
+  private static final List<String> SEARCH_TERMS =
+      List.of("Gesetz", "Verordnung", "Bund", "Anlage", "Inkrafttreten", "Änderung");
+  private static final int WARMUP_ROUNDS = 20;
+  private static final int MEASURED_ROUNDS = 100;
+
+  @Autowired private ElasticsearchOperations operations;
+  @Autowired private RestHighLevelClient restHighLevelClient;
+  @Autowired private SimpleSearchQueryBuilder simpleSearchQueryBuilder;
+  @Autowired private ArticleService articleService;
+
+  @Value("${opensearch.norms-index-name}")
+  private String normsIndexName;
+
+  private final List<Article> e2eArticles = new ArrayList<>();
+  private Set<String> e2eNormIds;
+  private NormsService separateArticles;
+  private NormsService nestedArticles;
+
+  @BeforeAll
+  void indexE2eNorms() throws IOException {
+    Path root = Paths.get(System.getProperty("user.dir")).resolve("e2e-data/norm");
+    List<Norm> norms;
+    try (Stream<Path> files = Files.walk(root)) {
+      norms =
+          files
+              .filter(file -> file.getFileName().toString().startsWith("regelungstext-"))
+              .map(file -> parseNorm(root, file))
+              .flatMap(Optional::stream)
+              .toList();
+    }
+    e2eNormIds = norms.stream().map(Norm::getId).collect(Collectors.toSet());
+    norms.forEach(norm -> e2eArticles.addAll(norm.getArticles()));
+    normsRepository.saveAll(norms);
+    articlesRepository.saveAll(e2eArticles);
+
+    separateArticles = normsService(false);
+    nestedArticles = normsService(true);
+  }
+
+  @AfterAll
+  void removeE2eArticles() {
+    // the articles index isn't cleared by the other tests
+    articlesRepository.deleteAll(e2eArticles);
+  }
+
+  @Test
+  void itComparesTheLatencyOfSeparateAndNestedArticleMatches() {
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      for (String searchTerm : SEARCH_TERMS) {
+        search(separateArticles, searchTerm);
+        search(nestedArticles, searchTerm);
+      }
+    }
+
+    long[] separateNanos = new long[MEASURED_ROUNDS * SEARCH_TERMS.size()];
+    long[] nestedNanos = new long[separateNanos.length];
+    int sample = 0;
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      for (String searchTerm : SEARCH_TERMS) {
+        separateNanos[sample] = timed(separateArticles, searchTerm);
+        nestedNanos[sample] = timed(nestedArticles, searchTerm);
+        sample++;
+      }
+    }
+
+    logger.info(
+        "Norm searches on the e2e-data norms, {} searches each: separate {}, nested {}",
+        separateNanos.length,
+        summary(separateNanos),
+        summary(nestedNanos));
+
+    for (String searchTerm : SEARCH_TERMS) {
+      // the nested query doesn't score, so both find the same norms with the same article matches
+      assertThat(articleMatchesOfE2eNorms(nestedArticles, searchTerm))
+          .isNotEmpty()
+          .containsExactlyEntriesOf(articleMatchesOfE2eNorms(separateArticles, searchTerm));
+    }
+  }
+
+  private NormsService normsService(boolean nested) {
+    return new NormsService(
+        normsRepository,
+        normsBucket,
+        operations,
+        restHighLevelClient,
+        simpleSearchQueryBuilder,
+        articleService,
+        normsIndexName,
+        nested);
+  }
+
+  private static Optional<Norm> parseNorm(Path root, Path file) {
+    try {
+      return NormLdmlToOpenSearchMapper.parseNorm(
+          root.relativize(file).toString(), Files.readString(file), Map.of(), false);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static SearchPage<Norm> search(NormsService normsService, String searchTerm) {
+    UniversalSearchParams params = new UniversalSearchParams();
+    params.setSearchTerm(searchTerm);
+    return normsService.simpleSearchNorms(params, new NormsSearchParams(), PageRequest.of(0, 10));
+  }
+
+  private static long timed(NormsService normsService, String searchTerm) {
+    long start = System.nanoTime();
+    search(normsService, searchTerm);
+    return System.nanoTime() - start;
+  }
+
+  /** Maps the ids of the e2e norms found, in their order, to whether they have article matches. */
+  private Map<String, Boolean> articleMatchesOfE2eNorms(
+      NormsService normsService, String searchTerm) {
+    Map<String, Boolean> articleMatches = new LinkedHashMap<>();
+    for (SearchHit<Norm> hit : search(normsService, searchTerm).getContent()) {
+      if (e2eNormIds.contains(hit.getId())) {
+        articleMatches.put(
+            hit.getId(), hit.getInnerHits().get(ArticleService.TOP_THREE_ARTICLES) != null);
+      }
+    }
+    return articleMatches;
+  }
+
+  private static String summary(long[] nanos) {
+    long[] sorted = nanos.clone();
+    Arrays.sort(sorted);
+    return "median %.2f ms, p95 %.2f ms"
+        .formatted(sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.95)] / 1e6);
+  }
+}
@@ -0,0 +1,124 @@
+package de.bund.digitalservice.ris.search.integration.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.search.integration.config.ContainersIntegrationBase;
+import de.bund.digitalservice.ris.search.models.api.parameters.NormsSearchParams;
+import de.bund.digitalservice.ris.search.models.api.parameters.UniversalSearchParams;
+import de.bund.digitalservice.ris.search.models.opensearch.AbstractSearchEntity;
+import de.bund.digitalservice.ris.search.models.opensearch.Article;
+import de.bund.digitalservice.ris.search.models.opensearch.Norm;
+import de.bund.digitalservice.ris.search.service.AdvancedSearchService;
+import de.bund.digitalservice.ris.search.service.AllDocumentsService;
+import de.bund.digitalservice.ris.search.service.NormsService;
+import de.bund.digitalservice.ris.search.utils.eli.ExpressionEli;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "norms-search.nested-articles=true")
+@AutoConfigureMockMvc
+@Tag("integration")
+class NestedArticlesSearchTest extends ContainersIntegrationBase {
+
+  private static final String EXPRESSION_ELI = "eli/bund/bgbl-1/1000/test/2000-10-06/2/deu";
+
+  @Autowired private NormsService normsService;
+  @Autowired private AllDocumentsService allDocumentsService;
+  @Autowired private AdvancedSearchService advancedSearchService;
+
+  @Test
+  void itReturnsTheArticleMatchesOfASimpleSearch() {
+    UniversalSearchParams params = new UniversalSearchParams();
+    params.setSearchTerm("text");
+
+    var result =
+        normsService.simpleSearchNorms(params, new NormsSearchParams(), PageRequest.of(0, 10));
+
+    assertThat(result.getContent()).hasSize(1);
+    var articleHits = articleHits(result.getContent().getFirst());
+    assertThat(articleHits).hasSize(2);
+    assertThat(articleHits.getFirst().getHighlightField("text"))
+        .containsExactly("example <mark>text</mark> 1");
+    assertThat(articleHits.get(1).getHighlightField("text"))
+        .containsExactly("example <mark>text</mark> 2");
+    Article firstArticle = (Article) articleHits.getFirst().getContent();
+    assertThat(firstArticle.getName()).isEqualTo("§ 1 Example article");
+    assertThat(firstArticle.getEId()).isEqualTo("art-z1");
+  }
+
+  @Test
+  void itReturnsTheArticleMatchesOfAllDocuments() {
+    UniversalSearchParams params = new UniversalSearchParams();
+    params.setSearchTerm("text");
+
+    var result = allDocumentsService.simpleSearchAllDocuments(params, PageRequest.of(0, 10), null);
+
+    SearchHit<AbstractSearchEntity> normHit =
+        result.getContent().stream()
+            .filter(hit -> hit.getContent() instanceof Norm)
+            .findFirst()
+            .orElseThrow();
+    var articleHits = articleHits(normHit);
+    assertThat(articleHits).hasSize(2);
+    assertThat(articleHits)
+        .allSatisfy(hit -> assertThat(hit.getContent()).isInstanceOf(Article.class));
+    assertThat(articleHits.getFirst().getHighlightField("text"))
+        .containsExactly("example <mark>text</mark> 1");
+  }
+
+  @Test
+  void itReturnsTheArticleMatchesOfAnAdvancedSearch() {
+    var searchHit =
+        advancedSearchService
+            .searchNorm("expression_eli:2000-10-06 AND test OR example", Pageable.unpaged())
+            .getSearchHits()
+            .getSearchHit(0);
+
+    var articleHits = articleHits(searchHit);
+    assertThat(articleHits)
+        .map(hit -> hit.getHighlightField("name").getFirst())
+        .containsExactly("§ 1 <mark>Example</mark> article", "§ 2 <mark>Example</mark> article");
+  }
+
+  @Test
+  void itReturnsNoArticleMatchesWithoutMatchingArticles() {
+    var searchHit =
+        advancedSearchService
+            .searchNorm("expression_eli:2000-10-06", Pageable.unpaged())
+            .getSearchHits()
+            .getSearchHit(0);
+
+    assertThat(searchHit.getInnerHits().get("top_three_articles")).isNull();
+  }
+
+  @Test
+  void itReadsTheArticlesOfANormFromTheNormsIndex() {
+    var expressionEli =
+        new ExpressionEli("bund", "bgbl-1", "1000", "test", LocalDate.of(2000, 10, 6), 2, "deu");
+
+    var norm = normsService.getByExpressionEli(expressionEli);
+
+    assertThat(norm).isPresent();
+    assertThat(norm.get().getExpressionEli()).isEqualTo(EXPRESSION_ELI);
+    assertThat(norm.get().getArticles())
+        .extracting(Article::getEId)
+        .containsExactly("art-z1", "art-z2");
+  }
+
+  private static List<SearchHit<?>> articleHits(SearchHit<?> normHit) {
+    SearchHits<?> articles = normHit.getInnerHits().get("top_three_articles");
+    assertThat(articles).isNotNull();
+    return List.copyOf(articles.getSearchHits());
+  }
+}
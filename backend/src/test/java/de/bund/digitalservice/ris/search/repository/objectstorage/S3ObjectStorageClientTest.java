@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -13,10 +14,17 @@ import static org.mockito.Mockito.when;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.channels.Channels;
 import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -164,12 +172,18 @@ class S3ObjectStorageClientTest {
     verify(s3Client, times(3))
         .uploadPart(uploadPartRequestCaptor.capture(), requestBodyCaptor.capture());
     List<UploadPartRequest> capturedUploadRequests = uploadPartRequestCaptor.getAllValues();
-
-    assertThat(capturedUploadRequests).map(UploadPartRequest::partNumber).containsExactly(1, 2, 3);
-    assertThat(requestBodyCaptor.getAllValues())
-        .map(RequestBody::optionalContentLength)
-        .map(Optional::get)
-        .containsExactly(PART_SIZE, PART_SIZE, 100L);
+    List<RequestBody> capturedBodies = requestBodyCaptor.getAllValues();
+
+    // the parts are uploaded concurrently, so they are compared in any order
+    assertThat(
+            IntStream.range(0, capturedUploadRequests.size())
+                .mapToObj(
+                    i ->
+                        Map.entry(
+                            capturedUploadRequests.get(i).partNumber(),
+                            capturedBodies.get(i).optionalContentLength().orElseThrow())))
+        .containsExactlyInAnyOrder(
+            Map.entry(1, PART_SIZE), Map.entry(2, PART_SIZE), Map.entry(3, 100L));
 
     verify(s3Client).completeMultipartUpload(completeRequestCaptor.capture());
     CompleteMultipartUploadRequest capturedCompleteRequest = completeRequestCaptor.getValue();
@@ -238,6 +252,85 @@ class S3ObjectStorageClientTest {
     assertThat(abortRequestCaptor.getValue()).isEqualTo(expectedAbortRequest);
   }
 
+  @Test
+  void putStream_uploadsPartsConcurrently() throws IOException {
+    byte[] data = new byte[(int) PART_SIZE * 3];
+    InputStream inputStream = new ByteArrayInputStream(data);
+
+    when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+        .thenReturn(CreateMultipartUploadResponse.builder().uploadId(UPLOAD_ID).build());
+
+    // every part upload waits until a second upload is in flight
+    CountDownLatch inFlight = new CountDownLatch(2);
+    AtomicInteger concurrentUploads = new AtomicInteger();
+    AtomicInteger maxConcurrentUploads = new AtomicInteger();
+    when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+        .thenAnswer(
+            s -> {
+              maxConcurrentUploads.accumulateAndGet(
+                  concurrentUploads.incrementAndGet(), Math::max);
+              inFlight.countDown();
+              inFlight.await(5, TimeUnit.SECONDS);
+              concurrentUploads.decrementAndGet();
+              UploadPartRequest part = s.getArgument(0);
+              return UploadPartResponse.builder().eTag("etag-part-" + part.partNumber()).build();
+            });
+
+    when(s3Client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+        .thenReturn(CompleteMultipartUploadResponse.builder().build());
+
+    assertThat(s3Service.putStream(OBJECT_KEY, inputStream)).isEqualTo(data.length);
+
+    assertThat(maxConcurrentUploads.get())
+        .isBetween(2, S3ObjectStorageClient.UPLOAD_CONCURRENCY + 1);
+    verify(s3Client).completeMultipartUpload(completeRequestCaptor.capture());
+    assertThat(completeRequestCaptor.getValue().multipartUpload().parts())
+        .map(CompletedPart::partNumber)
+        .containsExactly(1, 2, 3);
+  }
+
+  @Test
+  void putStream_readFails_abortsUploadAndThrowsIOException() {
+    InputStream inputStream =
+        new SequenceInputStream(
+            new ByteArrayInputStream(new byte[(int) PART_SIZE]),
+            new InputStream() {
+              @Override
+              public int read() throws IOException {
+                throw new IOException("The zip producer failed");
+              }
+            });
+
+    when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+        .thenReturn(CreateMultipartUploadResponse.builder().uploadId(UPLOAD_ID).build());
+    lenient()
+        .when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+        .thenReturn(UploadPartResponse.builder().eTag("etag-part-1").build());
+
+    IOException thrown =
+        assertThrows(IOException.class, () -> s3Service.putStream(OBJECT_KEY, inputStream));
+
+    assertEquals("The zip producer failed", thrown.getMessage());
+    verify(s3Client).abortMultipartUpload(abortRequestCaptor.capture());
+    assertThat(abortRequestCaptor.getValue()).isEqualTo(expectedAbortRequest);
+    verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+  }
+
+  @Test
+  void partSize_growsToStayWithinTheS3PartLimit() {
+    assertThat(S3ObjectStorageClient.partSize(1)).isEqualTo(PART_SIZE);
+    assertThat(S3ObjectStorageClient.partSize(1000)).isEqualTo(PART_SIZE);
+    assertThat(S3ObjectStorageClient.partSize(1001)).isEqualTo(PART_SIZE * 2);
+    assertThat(S3ObjectStorageClient.partSize(10_000)).isEqualTo(PART_SIZE * 256);
+
+    long capacity = 0;
+    for (int partNumber = 1; partNumber <= 10_000; partNumber++) {
+      capacity += S3ObjectStorageClient.partSize(partNumber);
+    }
+    // an upload of 10,000 parts holds more than 1 TiB
+    assertThat(capacity).isGreaterThan(1L << 40);
+  }
+
   @Test
   void readChunk_readsLessThanMaxBytes() throws IOException {
     byte[] data = "short".getBytes();
@@ -391,4 +484,33 @@ class S3ObjectStorageClientTest {
     verify(s3Client).listObjectsV2(captor.capture());
     assertThat(captor.getValue().prefix()).isEqualTo(prefix);
   }
+
+  @Test
+  void streamKeysByPrefix_requestsTheNextPageOnlyWhenTheCurrentOneIsConsumed() {
+    ListObjectsV2Response page1 =
+        ListObjectsV2Response.builder()
+            .isTruncated(true)
+            .nextContinuationToken("token-1")
+            .contents(S3Object.builder().key("a.xml").build())
+            .build();
+    ListObjectsV2Response page2 =
+        ListObjectsV2Response.builder()
+            .isTruncated(false)
+            .contents(S3Object.builder().key("b.xml").build())
+            .build();
+
+    when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+        .thenReturn(page1)
+        .thenReturn(page2);
+
+    try (Stream<String> keys = s3Service.streamKeysByPrefix("")) {
+      Iterator<String> iterator = keys.iterator();
+      assertThat(iterator.next()).isEqualTo("a.xml");
+      verify(s3Client, times(1)).listObjectsV2(any(ListObjectsV2Request.class));
+
+      assertThat(iterator.next()).isEqualTo("b.xml");
+      assertThat(iterator.hasNext()).isFalse();
+      verify(s3Client, times(2)).listObjectsV2(any(ListObjectsV2Request.class));
+    }
+  }
 }
@@ -0,0 +1,67 @@
+package de.bund.digitalservice.ris.search.unit.config.ratelimiting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.search.config.ratelimiting.LocalRateLimitStore;
+import de.bund.digitalservice.ris.search.config.ratelimiting.RateLimit;
+import de.bund.digitalservice.ris.search.config.ratelimiting.RateLimitDecision;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class LocalRateLimitStoreTest {
+
+  private static final RateLimit LIMIT = new RateLimit(10, Duration.ofSeconds(10));
+
+  private final AtomicReference<Instant> now = new AtomicReference<>(Instant.EPOCH);
+  private final LocalRateLimitStore store = new LocalRateLimitStore(now::get);
+
+  @Test
+  void aNewBucketStartsFull() {
+    RateLimitDecision decision = store.tryConsume("default:1.2.3.4", 1, LIMIT);
+
+    assertThat(decision).isEqualTo(new RateLimitDecision(true, 10, 9, 1, 0));
+  }
+
+  @Test
+  void itDeniesRequestsCostingMoreThanTheRemainingTokens() {
+    store.tryConsume("default:1.2.3.4", 8, LIMIT);
+
+    RateLimitDecision decision = store.tryConsume("default:1.2.3.4", 3, LIMIT);
+
+    assertThat(decision.allowed()).isFalse();
+    assertThat(decision.remaining()).isEqualTo(2);
+    assertThat(decision.retryAfterSeconds()).isEqualTo(1);
+    assertThat(decision.resetSeconds()).isEqualTo(8);
+  }
+
+  @Test
+  void itRefillsTheBucketOverTime() {
+    store.tryConsume("default:1.2.3.4", 10, LIMIT);
+    assertThat(store.tryConsume("default:1.2.3.4", 1, LIMIT).allowed()).isFalse();
+
+    now.set(Instant.EPOCH.plusMillis(2500));
+    RateLimitDecision decision = store.tryConsume("default:1.2.3.4", 1, LIMIT);
+
+    assertThat(decision.allowed()).isTrue();
+    assertThat(decision.remaining()).isEqualTo(1);
+  }
+
+  @Test
+  void itNeverRefillsAboveTheCapacity() {
+    store.tryConsume("default:1.2.3.4", 1, LIMIT);
+
+    now.set(Instant.EPOCH.plus(Duration.ofHours(1)));
+
+    assertThat(store.tryConsume("default:1.2.3.4", 1, LIMIT).remaining()).isEqualTo(9);
+  }
+
+  @Test
+  void itKeepsABucketPerKey() {
+    store.tryConsume("default:1.2.3.4", 10, LIMIT);
+
+    assertThat(store.tryConsume("default:5.6.7.8", 1, LIMIT).allowed()).isTrue();
+    assertThat(store.tryConsume("feedback:1.2.3.4", 1, LIMIT).allowed()).isTrue();
+  }
+}
@@ -0,0 +1,152 @@
+package de.bund.digitalservice.ris.search.unit.config.ratelimiting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.bund.digitalservice.ris.search.config.ratelimiting.DefaultRateLimitInterceptor;
+import de.bund.digitalservice.ris.search.config.ratelimiting.FeedbackRateLimitInterceptor;
+import de.bund.digitalservice.ris.search.config.ratelimiting.LocalRateLimitStore;
+import de.bund.digitalservice.ris.search.config.ratelimiting.RateLimitInterceptor;
+import de.bund.digitalservice.ris.search.config.ratelimiting.RateLimitProperties;
+import de.bund.digitalservice.ris.search.config.ratelimiting.RateLimitStore;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitInterceptorTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void setUp() {
+    Metrics.addRegistry(registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Metrics.removeRegistry(registry);
+  }
+
+  @Test
+  void itReportsTheBucketInTheHeaders() throws IOException {
+    RateLimitInterceptor interceptor = new DefaultRateLimitInterceptor(5, 60);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertThat(interceptor.preHandle(request("/v1/legislation"), response, new Object())).isTrue();
+
+    assertThat(response.getHeader(RateLimitInterceptor.LIMIT_HEADER)).isEqualTo("5");
+    assertThat(response.getHeader(RateLimitInterceptor.REMAINING_HEADER)).isEqualTo("4");
+    assertThat(response.getHeader(RateLimitInterceptor.RESET_HEADER)).isEqualTo("12");
+    assertThat(response.getHeader(RateLimitInterceptor.RETRY_AFTER_HEADER)).isNull();
+  }
+
+  @Test
+  void itRejectsRequestsAboveTheLimit() throws IOException {
+    RateLimitInterceptor interceptor = new DefaultRateLimitInterceptor(2, 10);
+    interceptor.preHandle(request("/v1/legislation"), new MockHttpServletResponse(), new Object());
+    interceptor.preHandle(request("/v1/legislation"), new MockHttpServletResponse(), new Object());
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertThat(interceptor.preHandle(request("/v1/legislation"), response, new Object()))
+        .isFalse();
+
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getHeader(RateLimitInterceptor.REMAINING_HEADER)).isEqualTo("0");
+    assertThat(response.getHeader(RateLimitInterceptor.RETRY_AFTER_HEADER)).isEqualTo("5");
+    assertThat(
+            registry.counter(RateLimitInterceptor.REJECTED_METRIC, "limiter", "default").count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void itTakesTheCostOfTheFirstMatchingRoute() throws IOException {
+    RateLimitInterceptor interceptor =
+        new DefaultRateLimitInterceptor(
+            20,
+            60,
+            new LocalRateLimitStore(),
+            properties(routeCost("/v1/**/*.zip", 10), routeCost("/v1/case-law/**", 2)));
+
+    MockHttpServletResponse zip = new MockHttpServletResponse();
+    interceptor.preHandle(request("/v1/case-law/KORE123.zip"), zip, new Object());
+    MockHttpServletResponse caseLaw = new MockHttpServletResponse();
+    interceptor.preHandle(request("/v1/case-law"), caseLaw, new Object());
+    MockHttpServletResponse other = new MockHttpServletResponse();
+    interceptor.preHandle(request("/v1/legislation"), other, new Object());
+
+    assertThat(zip.getHeader(RateLimitInterceptor.REMAINING_HEADER)).isEqualTo("10");
+    assertThat(caseLaw.getHeader(RateLimitInterceptor.REMAINING_HEADER)).isEqualTo("8");
+    assertThat(other.getHeader(RateLimitInterceptor.REMAINING_HEADER)).isEqualTo("7");
+  }
+
+  @Test
+  void itLimitsRoutesCostingMoreThanTheCapacityToAFullBucket() throws IOException {
+    RateLimitInterceptor interceptor =
+        new DefaultRateLimitInterceptor(
+            5, 60, new LocalRateLimitStore(), properties(routeCost("/**", 10)));
+
+    assertThat(
+            interceptor.preHandle(
+                request("/v1/legislation"), new MockHttpServletResponse(), new Object()))
+        .isTrue();
+  }
+
+  @Test
+  void itKeepsTheHeadersOfTheStricterLimiter() throws IOException {
+    RateLimitInterceptor feedback = new FeedbackRateLimitInterceptor(5, 60);
+    RateLimitInterceptor defaultLimiter = new DefaultRateLimitInterceptor(600, 60);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    feedback.preHandle(request("/v1/feedback"), response, new Object());
+    defaultLimiter.preHandle(request("/v1/feedback"), response, new Object());
+
+    assertThat(response.getHeader(RateLimitInterceptor.LIMIT_HEADER)).isEqualTo("5");
+  }
+
+  @Test
+  void itAllowsRequestsWhenTheStoreFails() throws IOException {
+    RateLimitStore store = mock(RateLimitStore.class);
+    when(store.tryConsume(anyString(), anyInt(), any()))
+        .thenThrow(new IllegalStateException("store down"));
+    RateLimitInterceptor interceptor = new FeedbackRateLimitInterceptor(1, 60, store);
+
+    assertThat(
+            interceptor.preHandle(
+                request("/v1/feedback"), new MockHttpServletResponse(), new Object()))
+        .isTrue();
+    assertThat(
+            registry
+                .counter(RateLimitInterceptor.STORE_ERRORS_METRIC, "limiter", "feedback")
+                .count())
+        .isEqualTo(1);
+  }
+
+  private static MockHttpServletRequest request(String path) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+    request.setRemoteAddr("1.2.3.4");
+    return request;
+  }
+
+  private static RateLimitProperties properties(RateLimitProperties.RouteCost... routeCosts) {
+    RateLimitProperties properties = new RateLimitProperties();
+    properties.setRouteCosts(List.of(routeCosts));
+    return properties;
+  }
+
+  private static RateLimitProperties.RouteCost routeCost(String pattern, int cost) {
+    RateLimitProperties.RouteCost routeCost = new RateLimitProperties.RouteCost();
+    routeCost.setPattern(pattern);
+    routeCost.setCost(cost);
+    return routeCost;
+  }
+}
@@ -11,11 +11,14 @@ import de.bund.digitalservice.ris.html.service.xslt.SliLiteratureXsltTransformer
 import de.bund.digitalservice.ris.search.controller.api.LiteratureController;
 import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
 import de.bund.digitalservice.ris.search.service.LiteratureService;
+import de.bund.digitalservice.ris.search.service.RenderedHtmlCache;
+import java.time.Duration;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +32,10 @@ class LiteratureControllerTest {
 
   @Mock SliLiteratureXsltTransformer sliTransformer;
 
+  @Spy
+  RenderedHtmlCache htmlCache =
+      new RenderedHtmlCache("literature", null, null, false, false, 0, Duration.ZERO, "test");
+
   @Test
   void itCallsTheUliTransformer() throws ObjectStoreServiceException {
 
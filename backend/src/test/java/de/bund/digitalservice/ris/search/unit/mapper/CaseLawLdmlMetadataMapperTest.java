@@ -0,0 +1,121 @@
+package de.bund.digitalservice.ris.search.unit.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.search.exception.OpenSearchMapperException;
+import de.bund.digitalservice.ris.search.mapper.CaseLawLdmlMetadataMapper;
+import de.bund.digitalservice.ris.search.mapper.CaseLawLdmlToOpenSearchMapper;
+import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationUnit;
+import de.bund.digitalservice.ris.search.utils.CaseLawLdmlTemplateUtils;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Differential test of the metadata extraction for the ECLI crawler: every case law file must
+ * yield the same document number, ECLI, court type and decision date as the full mapping, and be
+ * skipped exactly when the full mapping fails.
+ */
+class CaseLawLdmlMetadataMapperTest {
+
+  private final CaseLawLdmlTemplateUtils caseLawLdmlTemplateUtils = new CaseLawLdmlTemplateUtils();
+
+  private static Stream<Path> corpus() throws IOException {
+    Path root = Paths.get(System.getProperty("user.dir")).resolve("e2e-data/caselaw");
+    try (Stream<Path> files = Files.walk(root)) {
+      return files.filter(file -> file.toString().endsWith(".xml")).toList().stream();
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("corpus")
+  void itMapsTheCorpusLikeTheFullMapping(Path file) throws IOException {
+    assertSameMetadata(Files.readAllBytes(file));
+  }
+
+  @Test
+  void itMapsTheTemplateLikeTheFullMapping() throws IOException {
+    for (Map<String, Object> context :
+        List.of(
+            Map.<String, Object>of(),
+            Map.<String, Object>of(
+                "documentNumber",
+                "KORE000001234",
+                "ecli",
+                "ECLI:DE:BGH:2025:1111111",
+                "courtType",
+                "BGH",
+                "decisionDate",
+                "2025-01-01"),
+            Map.<String, Object>of("hideMeta", true))) {
+      assertSameMetadata(
+          caseLawLdmlTemplateUtils.getXmlFromTemplate(context).getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void itReadsTheMetadata() throws IOException {
+    String xml =
+        caseLawLdmlTemplateUtils.getXmlFromTemplate(
+            Map.of("ecli", "ECLI:DE:BGH:2025:1111111", "courtType", "BGH"));
+
+    Optional<CaseLawDocumentationUnit> unit =
+        CaseLawLdmlMetadataMapper.mapEcliMetadata(xml.getBytes(StandardCharsets.UTF_8));
+
+    assertThat(unit).isPresent();
+    assertThat(unit.get().documentNumber()).isEqualTo("testDocNumber");
+    assertThat(unit.get().ecli()).isEqualTo("ECLI:DE:BGH:2025:1111111");
+    assertThat(unit.get().courtType()).isEqualTo("BGH");
+    assertThat(unit.get().decisionDate()).isEqualTo(LocalDate.of(2020, Month.JANUARY, 1));
+  }
+
+  @Test
+  void itSkipsMalformedFiles() throws IOException {
+    String xml = caseLawLdmlTemplateUtils.getXmlFromTemplate(null);
+    String truncated = xml.substring(0, xml.indexOf("<akn:header>"));
+
+    for (String file : List.of(truncated, "not xml", "")) {
+      assertThat(CaseLawLdmlMetadataMapper.mapEcliMetadata(file.getBytes(StandardCharsets.UTF_8)))
+          .isEmpty();
+    }
+  }
+
+  private static void assertSameMetadata(byte[] file) {
+    Optional<CaseLawDocumentationUnit> expected;
+    try {
+      expected = Optional.of(new CaseLawLdmlToOpenSearchMapper().fromByteArray(file));
+    } catch (OpenSearchMapperException _) {
+      expected = Optional.empty();
+    }
+
+    Optional<CaseLawDocumentationUnit> actual = CaseLawLdmlMetadataMapper.mapEcliMetadata(file);
+
+    assertThat(actual.isPresent()).isEqualTo(expected.isPresent());
+    if (expected.isPresent()) {
+      assertThat(actual.get())
+          .extracting(
+              CaseLawDocumentationUnit::id,
+              CaseLawDocumentationUnit::documentNumber,
+              CaseLawDocumentationUnit::ecli,
+              CaseLawDocumentationUnit::courtType,
+              CaseLawDocumentationUnit::decisionDate)
+          .containsExactly(
+              expected.get().id(),
+              expected.get().documentNumber(),
+              expected.get().ecli(),
+              expected.get().courtType(),
+              expected.get().decisionDate());
+    }
+  }
+}
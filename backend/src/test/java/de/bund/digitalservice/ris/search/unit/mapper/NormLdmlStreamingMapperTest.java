@@ -0,0 +1,142 @@
+package de.bund.digitalservice.ris.search.unit.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.bund.digitalservice.ris.builder.NormTestDataBuilder;
+import de.bund.digitalservice.ris.builder.models.common.AknP;
+import de.bund.digitalservice.ris.search.mapper.NormLdmlToOpenSearchMapper;
+import de.bund.digitalservice.ris.search.models.opensearch.Norm;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Differential test of the StAX extraction of norms: every norm of the test corpus must be mapped
+ * to the same {@link Norm} as by the DOM path, apart from the indexing timestamps.
+ */
+class NormLdmlStreamingMapperTest {
+
+  private static final List<String> CORPORA =
+      List.of("e2e-data/norm", "src/test/resources/data/LDML/norm");
+
+  private static Stream<Arguments> corpus() throws IOException {
+    Stream.Builder<Arguments> arguments = Stream.builder();
+    for (String corpus : CORPORA) {
+      Path root = Paths.get(System.getProperty("user.dir")).resolve(corpus);
+      try (Stream<Path> files = Files.walk(root)) {
+        for (Path file : files.filter(NormLdmlStreamingMapperTest::isMainFile).toList()) {
+          arguments.add(Arguments.of(root.relativize(file).toString(), root));
+        }
+      }
+    }
+    return arguments.build();
+  }
+
+  private static boolean isMainFile(Path path) {
+    String fileName = path.getFileName().toString();
+    return fileName.endsWith(".xml") && !fileName.startsWith("anlage-");
+  }
+
+  @ParameterizedTest
+  @MethodSource("corpus")
+  void itMapsTheCorpusLikeTheDomPath(String fileName, Path root) throws IOException {
+    String xml = Files.readString(root.resolve(fileName));
+    Map<String, String> attachments = readAttachments(root, root.resolve(fileName).getParent());
+
+    assertSameNorm(fileName, xml, attachments, true);
+  }
+
+  @Test
+  void itMapsBuiltNormsWithAttachmentsLikeTheDomPath() {
+    NormTestDataBuilder builder =
+        NormTestDataBuilder.builder()
+            .eli("eli/bund/bgbl-1/1962/s514/2010-04-27/1/deu/2010-04-27/regelungstext-1.xml")
+            .officialTitle("(Verordnung zur Durchführung)")
+            .shortTitle("Kurztitel (", ")")
+            .officialAbbreviation("ABK")
+            .inForceDate("2000-01-01")
+            .outOfForceDate("2000-01-07")
+            .legislationDate("1962-07-15")
+            .datePublished("1962-07-20")
+            .risAbbreviation("RISABK")
+            .fullCitation("Verordnung vom 15. Juli 1962 (BGBl. I S. 514)")
+            .formula("Es verordnet die Bundesregierung:")
+            .defaultArticle()
+            .article(
+                "§ 2",
+                "2000-01-01",
+                null,
+                "art-z2",
+                article -> article.addHeading("Heading 2", null).addParagraph("Mit Text.", "(1)"))
+            .conclusion("Der Bundeskanzler")
+            .attachment(
+                "eli/bund/bgbl-1/1962/s514/2010-04-27/1/deu/2010-04-27/offenestruktur-1.xml",
+                "Anlage T1",
+                "(zu § 1)",
+                "",
+                List.of(new AknP("This text appears in the attachment.")));
+
+    assertSameNorm("", builder.buildNormXml(), builder.buildAttachmentXmls(), true);
+  }
+
+  @Test
+  void itSkipsTheSameNormsAsTheDomPath() {
+    for (NormTestDataBuilder builder :
+        List.of(
+            NormTestDataBuilder.builder().bedingtesInkrafttreten(),
+            NormTestDataBuilder.builder().gegenstandslos())) {
+      String xml = builder.buildNormXml();
+
+      assertThat(NormLdmlToOpenSearchMapper.parseNorm("", xml, Map.of(), false, true)).isEmpty();
+      assertSameNorm("", xml, Map.of(), false);
+    }
+  }
+
+  private static Map<String, String> readAttachments(Path root, Path directory)
+      throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> file.getFileName().toString().startsWith("anlage-"))
+          .collect(
+              Collectors.toMap(
+                  file -> root.relativize(file).toString(),
+                  NormLdmlStreamingMapperTest::readString));
+    }
+  }
+
+  private static String readString(Path file) {
+    try {
+      return Files.readString(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void assertSameNorm(
+      String fileName, String xml, Map<String, String> attachments, boolean mapped) {
+    for (boolean isPrototype : List.of(false, true)) {
+      Optional<Norm> dom =
+          NormLdmlToOpenSearchMapper.parseNorm(fileName, xml, attachments, isPrototype, false);
+      // two failed parses compare equal, so whether the DOM path maps the norm is asserted first
+      assertThat(dom.isPresent()).as("norm mapped by the DOM path").isEqualTo(mapped);
+      Optional<Norm> streaming =
+          NormLdmlToOpenSearchMapper.parseNorm(fileName, xml, attachments, isPrototype, true);
+
+      assertThat(streaming)
+          .usingRecursiveComparison()
+          .ignoringFieldsMatchingRegexes(".*indexedAt")
+          .isEqualTo(dom);
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package de.bund.digitalservice.ris.search.unit.mapper;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import de.bund.digitalservice.ris.search.mapper.PartialCollectionViewMapper;
 import de.bund.digitalservice.ris.search.schema.PartialCollectionViewSchema;
@@ -54,4 +55,24 @@ class PartialCollectionViewMapperTest {
     assertEquals(lastPageId, middlePage.next());
     assertEquals(middlePageId, lastPage.previous());
   }
+
+  @Test
+  @DisplayName("links to the first and the next page of a search paged with cursors")
+  void fromCursor() {
+    PartialCollectionViewSchema page = PartialCollectionViewMapper.fromCursor("/item", 5, "abc");
+
+    assertEquals("/item?cursor=*&size=5", page.first());
+    assertEquals("/item?cursor=abc&size=5", page.next());
+    assertNull(page.previous());
+    assertNull(page.last());
+  }
+
+  @Test
+  @DisplayName("has no next link on the last page of a search paged with cursors")
+  void fromCursorLastPage() {
+    PartialCollectionViewSchema page = PartialCollectionViewMapper.fromCursor("/item", 5, null);
+
+    assertEquals("/item?cursor=*&size=5", page.first());
+    assertNull(page.next());
+  }
 }
@@ -0,0 +1,81 @@
+package de.bund.digitalservice.ris.search.unit.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.bund.digitalservice.ris.search.exception.CustomValidationException;
+import de.bund.digitalservice.ris.search.models.SearchCursor;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.Sort;
+
+class SearchCursorTest {
+
+  @Test
+  void itReadsTheCursorOfItsToken() throws CustomValidationException {
+    SearchCursor cursor =
+        new SearchCursor("pit-id", List.of(1.5, 1700000000000L, "doc-1"), "search-hash");
+
+    String token = cursor.encode();
+
+    assertThat(token).matches("[A-Za-z0-9_-]+");
+    assertThat(SearchCursor.decode(token)).isEqualTo(cursor);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"not base64!", "bm8ganNvbg", "e30"})
+  void itRejectsTokensWhichAreNoCursor(String token) {
+    assertThatThrownBy(() -> SearchCursor.decode(token))
+        .isInstanceOf(CustomValidationException.class);
+  }
+
+  @Test
+  void itRejectsCursorsWithoutSearchHash() {
+    String token =
+        Base64.getUrlEncoder()
+            .encodeToString(
+                "{\"pointInTimeId\":\"pit-id\",\"searchAfter\":[1]}"
+                    .getBytes(StandardCharsets.UTF_8));
+
+    assertThatThrownBy(() -> SearchCursor.decode(token))
+        .isInstanceOf(CustomValidationException.class);
+  }
+
+  @Test
+  void itHashesSearchesByAllTheirParameters() {
+    String hash = SearchCursor.hashSearch("Test", LocalDate.of(2024, 1, 1), Sort.by("date"));
+
+    assertThat(SearchCursor.hashSearch("Test", LocalDate.of(2024, 1, 1), Sort.by("date")))
+        .isEqualTo(hash);
+    assertThat(SearchCursor.hashSearch("Test", LocalDate.of(2024, 1, 2), Sort.by("date")))
+        .isNotEqualTo(hash);
+    assertThat(SearchCursor.hashSearch("Test", LocalDate.of(2024, 1, 1), Sort.unsorted()))
+        .isNotEqualTo(hash);
+    assertThat(SearchCursor.hashSearch("null", null))
+        .isNotEqualTo(SearchCursor.hashSearch(null, null));
+  }
+
+  @Test
+  void itRejectsCursorsOfAnotherSearch() throws CustomValidationException {
+    SearchCursor cursor = new SearchCursor("pit-id", List.of(1), SearchCursor.hashSearch("Test"));
+
+    cursor.checkSearch(SearchCursor.hashSearch("Test"));
+    assertThatThrownBy(() -> cursor.checkSearch(SearchCursor.hashSearch("Other")))
+        .isInstanceOf(CustomValidationException.class);
+  }
+
+  @Test
+  void itRejectsCursorsWithoutSortValues() {
+    String token =
+        Base64.getUrlEncoder()
+            .encodeToString("{\"pointInTimeId\":\"pit-id\"}".getBytes(StandardCharsets.UTF_8));
+
+    assertThatThrownBy(() -> SearchCursor.decode(token))
+        .isInstanceOf(CustomValidationException.class);
+  }
+}
@@ -0,0 +1,70 @@
+package de.bund.digitalservice.ris.search.unit.models.ldml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.bund.digitalservice.ris.LoadXmlUtils;
+import de.bund.digitalservice.ris.SharedTestConstants;
+import de.bund.digitalservice.ris.search.mapper.SliLiteratureLdmlToOpenSearchMapper;
+import de.bund.digitalservice.ris.search.models.ldml.LdmlBindings;
+import de.bund.digitalservice.ris.search.models.ldml.literature.sli.LiteratureLdml;
+import de.bund.digitalservice.ris.search.models.opensearch.Literature;
+import jakarta.xml.bind.DataBindingException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class LdmlBindingsTest {
+
+  private static final String VALID_XML =
+      LoadXmlUtils.loadXmlAsString(Literature.class, "XXLS000000001.akn.xml");
+  private static final Instant NOW = SharedTestConstants.TIMESTAMP_2024_01_01_AS_INSTANT;
+
+  @Test
+  void itUnmarshalsStringsBytesAndStreamsTheSameWay() {
+    byte[] bytes = VALID_XML.getBytes(StandardCharsets.UTF_8);
+    Literature expected = SliLiteratureLdmlToOpenSearchMapper.mapLdml(VALID_XML, NOW);
+
+    assertThat(expected.documentNumber()).isEqualTo("XXLS000000001");
+    assertThat(SliLiteratureLdmlToOpenSearchMapper.mapLdml(new ByteArrayInputStream(bytes), NOW))
+        .isEqualTo(expected);
+    assertThat(LdmlBindings.unmarshal(bytes, LiteratureLdml.class).getDoc()).isNotNull();
+  }
+
+  @Test
+  void itUnmarshalsConcurrentlyWithPooledUnmarshallers() throws Exception {
+    Literature expected = SliLiteratureLdmlToOpenSearchMapper.mapLdml(VALID_XML, NOW);
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+      List<Future<Literature>> results =
+          IntStream.range(0, 32)
+              .mapToObj(
+                  i ->
+                      executor.submit(
+                          () -> SliLiteratureLdmlToOpenSearchMapper.mapLdml(VALID_XML, NOW)))
+              .toList();
+      for (Future<Literature> result : results) {
+        assertThat(result.get()).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void itThrowsDataBindingExceptionForMalformedXml() {
+    assertThatThrownBy(() -> LdmlBindings.unmarshal("<akn:akomaNtoso", LiteratureLdml.class))
+        .isInstanceOf(DataBindingException.class);
+  }
+
+  @Test
+  void itBuildsTheContextsOfAllLdmlTypes() {
+    LdmlBindings.warmUp();
+
+    assertThat(LdmlBindings.LDML_TYPES).hasSize(4);
+  }
+}
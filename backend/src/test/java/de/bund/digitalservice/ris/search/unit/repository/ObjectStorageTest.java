@@ -6,11 +6,13 @@ import static org.mockito.Mockito.when;
 
 import de.bund.digitalservice.ris.search.exception.NoSuchKeyException;
 import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
 import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorage;
 import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorageClient;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +20,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 
 @ExtendWith(MockitoExtension.class)
 class ObjectStorageTest {
@@ -70,4 +75,34 @@ class ObjectStorageTest {
     storage.getObjects(List.of("key1"));
     assertThat(Thread.currentThread().isInterrupted()).isTrue();
   }
+
+  @Test
+  void getReadsObjectsOfAnnouncedLength() throws Exception {
+    byte[] testdata = "testdata".getBytes(StandardCharsets.UTF_8);
+    when(client.getStream("key1")).thenReturn(s3Stream(testdata, testdata.length));
+    when(client.getStream("key2")).thenReturn(s3Stream(testdata, 4));
+    when(client.getStream("key3")).thenReturn(s3Stream(testdata, 100));
+
+    assertThat(storage.get("key1")).hasValueSatisfying(b -> assertThat(b).isEqualTo(testdata));
+    assertThat(storage.get("key2")).hasValueSatisfying(b -> assertThat(b).isEqualTo(testdata));
+    assertThat(storage.get("key3")).hasValueSatisfying(b -> assertThat(b).isEqualTo(testdata));
+  }
+
+  @Test
+  void getAllKeyInfosByPrefixStripsTheVersionPrefix() {
+    ObjectStorage versioned =
+        new ObjectStorage(client, LogManager.getLogger(ObjectStorageTest.class), "v1/");
+    Instant modified = Instant.parse("2025-01-01T00:00:00Z");
+    when(client.listByPrefixWithLastModified("v1/XXLU01"))
+        .thenReturn(List.of(new ObjectKeyInfo("v1/XXLU01/XXLU01.xml", modified)));
+
+    assertThat(versioned.getAllKeyInfosByPrefix("XXLU01"))
+        .containsExactly(new ObjectKeyInfo("XXLU01/XXLU01.xml", modified));
+  }
+
+  private static ResponseInputStream<GetObjectResponse> s3Stream(byte[] content, long length) {
+    return new ResponseInputStream<>(
+        GetObjectResponse.builder().contentLength(length).build(),
+        AbortableInputStream.create(new ByteArrayInputStream(content)));
+  }
 }
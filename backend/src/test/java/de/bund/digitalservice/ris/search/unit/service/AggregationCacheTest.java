@@ -0,0 +1,159 @@
+package de.bund.digitalservice.ris.search.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.bund.digitalservice.ris.search.exception.OpenSearchFetchException;
+import de.bund.digitalservice.ris.search.service.AggregationCache;
+import de.bund.digitalservice.ris.search.service.AggregationCaches;
+import de.bund.digitalservice.ris.search.service.IndexSyncedEvent;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AggregationCacheTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AtomicInteger loads = new AtomicInteger();
+  private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+  @BeforeEach
+  void setUp() {
+    Metrics.addRegistry(registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Metrics.removeRegistry(registry);
+  }
+
+  private AggregationCache<String, String> cache(AggregationCaches caches) {
+    return cache(caches, "courts");
+  }
+
+  private AggregationCache<String, String> cache(AggregationCaches caches, String name) {
+    return caches.create(
+        name,
+        prefix -> {
+          if (failure.get() != null) {
+            throw failure.get();
+          }
+          return prefix + loads.incrementAndGet();
+        });
+  }
+
+  private static AggregationCaches caches(boolean enabled) {
+    return new AggregationCaches(enabled, Duration.ofHours(1), 100, Runnable::run);
+  }
+
+  @Test
+  void itServesCachedResultsUntilRefreshed() {
+    AggregationCaches caches = caches(true);
+    AggregationCache<String, String> cache = cache(caches);
+
+    assertThat(cache.get("bgh")).isEqualTo("bgh1");
+    assertThat(cache.get("bgh")).isEqualTo("bgh1");
+    assertThat(cache.get("olg")).isEqualTo("olg2");
+
+    caches.refreshAll();
+
+    assertThat(cache.get("bgh")).isIn("bgh3", "bgh4");
+    assertThat(cache.get("olg")).isIn("olg3", "olg4");
+    assertThat(loads).hasValue(4);
+  }
+
+  @Test
+  void itDropsKeysNotRequestedSinceThePreviousRefresh() {
+    AggregationCaches caches = caches(true);
+    AggregationCache<String, String> cache = cache(caches);
+    cache.get("bgh");
+    cache.get("olg");
+    caches.refreshAll();
+    assertThat(loads).hasValue(4);
+
+    cache.get("bgh");
+    caches.refreshAll();
+    caches.refreshAll();
+
+    // bgh is refreshed once, as it wasn't requested again after the second refresh
+    assertThat(loads).hasValue(5);
+    assertThat(cache.get("olg")).isEqualTo("olg6");
+  }
+
+  @Test
+  void itRefreshesAfterAnIndexSync() {
+    AggregationCaches caches = caches(true);
+    AggregationCache<String, String> cache = cache(caches);
+    cache.get("bgh");
+
+    caches.onIndexSynced(new IndexSyncedEvent("caselaw_status.json"));
+
+    assertThat(cache.get("bgh")).isEqualTo("bgh2");
+  }
+
+  @Test
+  void itKeepsTheStaleResultIfARefreshFails() {
+    AggregationCaches caches = caches(true);
+    AggregationCache<String, String> cache = cache(caches);
+    cache.get("bgh");
+    failure.set(new OpenSearchFetchException("cluster down"));
+
+    caches.refreshAll();
+
+    assertThat(cache.get("bgh")).isEqualTo("bgh1");
+  }
+
+  @Test
+  void itDoesNotCacheFailedLoads() {
+    AggregationCache<String, String> cache = cache(caches(true));
+    failure.set(new OpenSearchFetchException("cluster down"));
+
+    assertThatThrownBy(() -> cache.get("bgh")).isInstanceOf(OpenSearchFetchException.class);
+
+    failure.set(null);
+    assertThat(cache.get("bgh")).isEqualTo("bgh1");
+  }
+
+  @Test
+  void itRunsEveryAggregationWhenDisabled() {
+    AggregationCaches caches = caches(false);
+    AggregationCache<String, String> cache = cache(caches);
+
+    cache.get("bgh");
+    cache.get("bgh");
+    caches.refreshAll();
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void itRecordsHitsMissesAndRefreshDurations() {
+    // meters are registered once per name in the global registry, so this cache has its own name
+    AggregationCache<String, String> cache = cache(caches(true), "metrics-test");
+
+    cache.get("bgh");
+    cache.get("bgh");
+    cache.get("bgh");
+
+    assertThat(gets("hit")).isEqualTo(2);
+    assertThat(gets("miss")).isEqualTo(1);
+    assertThat(registry.get(AggregationCache.REFRESH_METRIC).tag("cache", "metrics-test").timer())
+        .extracting(Timer::count)
+        .isEqualTo(1L);
+  }
+
+  private double gets(String result) {
+    return registry
+        .get("cache.gets")
+        .tag("cache", "metrics-test")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
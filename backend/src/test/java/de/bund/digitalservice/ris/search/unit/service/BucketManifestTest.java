@@ -0,0 +1,157 @@
+package de.bund.digitalservice.ris.search.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.bund.digitalservice.ris.search.exception.NoSuchKeyException;
+import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
+import de.bund.digitalservice.ris.search.repository.objectstorage.NormsBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorage;
+import de.bund.digitalservice.ris.search.service.BucketManifest;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BucketManifestTest {
+
+  private static final String MANIFEST_KEY = "manifests/norms.txt.gz";
+
+  @Mock NormsBucket bucket;
+  @Mock ObjectStorage manifestStorage;
+
+  private final AtomicReference<byte[]> storedManifest = new AtomicReference<>();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // lenient, as the disabled manifest never touches its storage
+    lenient()
+        .when(manifestStorage.putStream(anyString(), any(InputStream.class)))
+        .thenAnswer(
+            invocation -> {
+              InputStream stream = invocation.getArgument(1);
+              storedManifest.set(stream.readAllBytes());
+              return (long) storedManifest.get().length;
+            });
+    lenient()
+        .when(manifestStorage.getStream(MANIFEST_KEY))
+        .thenAnswer(
+            invocation -> {
+              if (storedManifest.get() == null) {
+                throw new NoSuchKeyException("no manifest", null);
+              }
+              return new BufferedInputStream(new ByteArrayInputStream(storedManifest.get()));
+            });
+    lenient()
+        .doAnswer(
+            invocation -> {
+              storedManifest.set(null);
+              return null;
+            })
+        .when(manifestStorage)
+        .delete(MANIFEST_KEY);
+  }
+
+  private BucketManifest<NormsBucket> manifest(boolean enabled, Duration maxAge) {
+    return new BucketManifest<>(bucket, manifestStorage, "norms", enabled, maxAge);
+  }
+
+  private static List<String> keys(BucketManifest<?> manifest) {
+    try (Stream<String> keys = manifest.streamAllKeys()) {
+      return keys.toList();
+    }
+  }
+
+  @Test
+  void itListsTheBucketWhenDisabled() {
+    when(bucket.streamAllKeys()).thenReturn(Stream.of("a.xml", "changelogs/log.json"));
+
+    assertThat(keys(manifest(false, Duration.ofHours(1)))).containsExactly("a.xml");
+    verify(manifestStorage, never()).delete(anyString());
+  }
+
+  @Test
+  void itListsTheBucketOnlyOnceWhileTheManifestIsCurrent() {
+    when(bucket.streamAllKeys()).thenReturn(Stream.of("a.xml", "b.xml", "changelogs/log.json"));
+    BucketManifest<NormsBucket> manifest = manifest(true, Duration.ofHours(1));
+
+    assertThat(keys(manifest)).containsExactly("a.xml", "b.xml");
+    assertThat(keys(manifest)).containsExactly("a.xml", "b.xml");
+    verify(bucket, times(1)).streamAllKeys();
+  }
+
+  @Test
+  void itRebuildsAnOutdatedManifest() {
+    when(bucket.streamAllKeys())
+        .thenReturn(Stream.of("a.xml"))
+        .thenReturn(Stream.of("a.xml", "b.xml"));
+    BucketManifest<NormsBucket> manifest = manifest(true, Duration.ZERO);
+
+    assertThat(keys(manifest)).containsExactly("a.xml");
+    assertThat(keys(manifest)).containsExactly("a.xml", "b.xml");
+  }
+
+  @Test
+  void itAppliesChangelogs() {
+    when(bucket.streamAllKeys()).thenReturn(Stream.of("a.xml", "b.xml", "c.xml"));
+    BucketManifest<NormsBucket> manifest = manifest(true, Duration.ofHours(1));
+    manifest.reconcile();
+
+    manifest.apply(
+        new Changelog(
+            new HashSet<>(Set.of("b.xml", "d.xml")), new HashSet<>(Set.of("c.xml")), false));
+
+    assertThat(keys(manifest)).containsExactly("a.xml", "b.xml", "d.xml");
+    verify(bucket, times(1)).streamAllKeys();
+  }
+
+  @Test
+  void itKeepsTheKeysOfADocumentTogether() {
+    when(bucket.streamAllKeys()).thenReturn(Stream.of("a/1.xml", "b/1.xml", "b/2.xml", "c/1.xml"));
+    BucketManifest<NormsBucket> manifest = manifest(true, Duration.ofHours(1));
+    manifest.reconcile();
+
+    manifest.apply(
+        new Changelog(new HashSet<>(Set.of("b/2.xml", "b/3.xml")), new HashSet<>(), false));
+
+    assertThat(keys(manifest))
+        .containsExactly("a/1.xml", "b/1.xml", "b/2.xml", "b/3.xml", "c/1.xml");
+  }
+
+  @Test
+  void itDiscardsTheManifestOnChangeAll() {
+    when(bucket.streamAllKeys()).thenReturn(Stream.of("a.xml"));
+    BucketManifest<NormsBucket> manifest = manifest(true, Duration.ofHours(1));
+    manifest.reconcile();
+
+    manifest.apply(new Changelog(new HashSet<>(), new HashSet<>(), true));
+
+    verify(manifestStorage, times(1)).delete(MANIFEST_KEY);
+    assertThat(storedManifest.get()).isNull();
+  }
+
+  @Test
+  void itIgnoresChangelogsWithoutAManifest() throws Exception {
+    manifest(true, Duration.ofHours(1))
+        .apply(new Changelog(new HashSet<>(Set.of("a.xml")), new HashSet<>(), false));
+
+    verify(manifestStorage, never()).putStream(anyString(), any(InputStream.class));
+  }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.matches;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -11,20 +12,28 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.bund.digitalservice.ris.ZipTestUtils;
 import de.bund.digitalservice.ris.search.exception.NoSuchKeyException;
+import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
 import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorage;
+import de.bund.digitalservice.ris.search.service.BucketManifest;
 import de.bund.digitalservice.ris.search.service.BulkExportService;
+import de.bund.digitalservice.ris.search.service.SnapshotManifest;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 
 class BulkExportServiceTest {
@@ -32,13 +41,16 @@ class BulkExportServiceTest {
   private static final Clock clock =
       Clock.fixed(Instant.parse("2024-01-01T12:00:00.123Z"), ZoneId.of("UTC"));
 
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
   @Test
   void updateLatestZip_successfulZipAndUpload() throws IOException {
+    BucketManifest<?> sourceManifest = mock(BucketManifest.class);
     ObjectStorage sourceBucket = mock(ObjectStorage.class);
     ObjectStorage destinationBucket = mock(ObjectStorage.class);
     String outputName = "test-export";
 
-    when(sourceBucket.getAllKeys()).thenReturn(List.of("file1.txt", "file2.pdf"));
+    when(sourceManifest.streamAllKeys()).thenReturn(Stream.of("file1.txt", "file2.pdf"));
     final byte[] bytes1 = "This is the content of file 1.".getBytes();
     when(sourceBucket.get("file1.txt")).thenReturn(Optional.of(bytes1));
     final byte[] bytes2 = "%PDF-1.5...".getBytes();
@@ -57,12 +69,13 @@ class BulkExportServiceTest {
             });
 
     BulkExportService bulkExportService =
-        new BulkExportService(sourceBucket, destinationBucket, outputName);
+        new BulkExportService(
+            sourceManifest, sourceBucket, destinationBucket, outputName, objectMapper);
 
     boolean actual = bulkExportService.updateLatestZip(clock.instant());
     assertThat(actual).isTrue();
 
-    verify(sourceBucket, times(1)).getAllKeys();
+    verify(sourceManifest, times(1)).streamAllKeys();
     verify(sourceBucket, times(1)).get("file1.txt");
     verify(sourceBucket, times(1)).get("file2.pdf");
     verify(destinationBucket, times(1)).getAllKeysByPrefix(anyString());
@@ -77,14 +90,52 @@ class BulkExportServiceTest {
         .containsExactly(Map.entry("file1.txt", bytes1), Map.entry("file2.pdf", bytes2));
   }
 
+  @Test
+  void updateLatestZip_withParallelDeflate_writesTheSameFiles() throws IOException {
+    BucketManifest<?> sourceManifest = mock(BucketManifest.class);
+    ObjectStorage sourceBucket = mock(ObjectStorage.class);
+    ObjectStorage destinationBucket = mock(ObjectStorage.class);
+
+    Map<String, byte[]> expected = new HashMap<>();
+    for (int i = 0; i < 200; i++) {
+      String key = "file" + i + ".xml";
+      byte[] content = ("<doc>" + "content ".repeat(i) + "</doc>").getBytes();
+      expected.put(key, content);
+      when(sourceBucket.get(key)).thenReturn(Optional.of(content));
+    }
+    when(sourceManifest.streamAllKeys()).thenReturn(expected.keySet().stream().sorted());
+    when(destinationBucket.getAllKeysByPrefix(anyString())).thenReturn(Collections.emptyList());
+
+    AtomicReference<Map<String, byte[]>> files = new AtomicReference<>();
+    when(destinationBucket.putStream(anyString(), any(InputStream.class)))
+        .thenAnswer(
+            i -> {
+              files.set(ZipTestUtils.readZipStream(i.getArgument(1)));
+              return -1L;
+            });
+
+    BulkExportService bulkExportService =
+        new BulkExportService(
+            sourceManifest,
+            sourceBucket,
+            destinationBucket,
+            "test-export",
+            new BulkExportService.Compression(9, 4),
+            objectMapper);
+
+    assertThat(bulkExportService.updateLatestZip(clock.instant())).isTrue();
+    assertThat(files.get()).containsExactlyInAnyOrderEntriesOf(expected);
+  }
+
   @Test
   void updateLatestZip_withObsoleteFiles_shouldDeleteThem() throws IOException {
+    BucketManifest<?> sourceManifest = mock(BucketManifest.class);
     ObjectStorage sourceBucket = mock(ObjectStorage.class);
     ObjectStorage destinationBucket = mock(ObjectStorage.class);
     String outputName = "test-export";
     String file1Content = "Some content";
 
-    when(sourceBucket.getAllKeys()).thenReturn(List.of("file1.txt"));
+    when(sourceManifest.streamAllKeys()).thenReturn(Stream.of("file1.txt"));
     when(sourceBucket.get("file1.txt")).thenReturn(Optional.of(file1Content.getBytes()));
     when(destinationBucket.getAllKeysByPrefix(anyString()))
         .thenReturn(
@@ -96,12 +147,13 @@ class BulkExportServiceTest {
     doNothing().when(destinationBucket).delete(anyString());
 
     BulkExportService bulkExportService =
-        new BulkExportService(sourceBucket, destinationBucket, outputName);
+        new BulkExportService(
+            sourceManifest, sourceBucket, destinationBucket, outputName, objectMapper);
 
     boolean actual = bulkExportService.updateLatestZip(clock.instant());
     assertThat(actual).isTrue();
 
-    verify(sourceBucket, times(1)).getAllKeys();
+    verify(sourceManifest, times(1)).streamAllKeys();
     verify(sourceBucket, times(1)).get("file1.txt");
     verify(destinationBucket, times(1)).getAllKeysByPrefix(anyString());
     verify(destinationBucket, times(1)).putStream(anyString(), any(InputStream.class));
@@ -112,15 +164,17 @@ class BulkExportServiceTest {
   @Test
   void updateLatestZip_sourceBucketThrowsIOException_shouldPropagateException()
       throws IOException, NoSuchKeyException {
+    BucketManifest<?> sourceManifest = mock(BucketManifest.class);
     ObjectStorage sourceBucket = mock(ObjectStorage.class);
     ObjectStorage destinationBucket = mock(ObjectStorage.class);
     String outputName = "test-export";
 
-    when(sourceBucket.getAllKeys())
+    when(sourceManifest.streamAllKeys())
         .thenThrow(new RuntimeException("The mock source bucket does not want to list files"));
 
     BulkExportService bulkExportService =
-        new BulkExportService(sourceBucket, destinationBucket, outputName);
+        new BulkExportService(
+            sourceManifest, sourceBucket, destinationBucket, outputName, objectMapper);
 
     Instant timestamp = clock.instant();
     assertThrows(RuntimeException.class, () -> bulkExportService.updateLatestZip(timestamp));
@@ -133,17 +187,19 @@ class BulkExportServiceTest {
   @Test
   void updateLatestZip_destinationBucketPutStreamThrowsIOException_shouldReturnWithFalse()
       throws IOException {
+    BucketManifest<?> sourceManifest = mock(BucketManifest.class);
     ObjectStorage sourceBucket = mock(ObjectStorage.class);
     ObjectStorage destinationBucket = mock(ObjectStorage.class);
 
-    when(sourceBucket.getAllKeys()).thenReturn(List.of("file.xml"));
+    when(sourceManifest.streamAllKeys()).thenReturn(Stream.of("file.xml"));
     when(sourceBucket.get("file.xml")).thenReturn(Optional.of("content".getBytes()));
     when(destinationBucket.getAllKeysByPrefix(anyString())).thenReturn(Collections.emptyList());
     when(destinationBucket.putStream(anyString(), any(InputStream.class)))
         .thenThrow(new IOException("The mock destination bucket threw an exception"));
 
     BulkExportService bulkExportService =
-        new BulkExportService(sourceBucket, destinationBucket, "test-export");
+        new BulkExportService(
+            sourceManifest, sourceBucket, destinationBucket, "test-export", objectMapper);
 
     boolean actual = bulkExportService.updateLatestZip(clock.instant());
     assertThat(actual).isFalse();
@@ -151,13 +207,15 @@ class BulkExportServiceTest {
 
   @Test
   void updateLatestZip_emptySourceBucket_shouldReturnEarlyWithTrue() {
+    BucketManifest<?> sourceManifest = mock(BucketManifest.class);
     ObjectStorage sourceBucket = mock(ObjectStorage.class);
     ObjectStorage destinationBucket = mock(ObjectStorage.class);
 
-    when(sourceBucket.getAllKeys()).thenReturn(List.of());
+    when(sourceManifest.streamAllKeys()).thenReturn(Stream.empty());
 
     BulkExportService bulkExportService =
-        new BulkExportService(sourceBucket, destinationBucket, "test-export");
+        new BulkExportService(
+            sourceManifest, sourceBucket, destinationBucket, "test-export", objectMapper);
 
     boolean actual = bulkExportService.updateLatestZip(clock.instant());
     assertThat(actual).isTrue();
@@ -165,16 +223,147 @@ class BulkExportServiceTest {
 
   @Test
   void updateLatestZip_whenContentOfKeyIsNotFound_shouldReturnFalse() {
+    BucketManifest<?> sourceManifest = mock(BucketManifest.class);
     ObjectStorage sourceBucket = mock(ObjectStorage.class);
     ObjectStorage destinationBucket = mock(ObjectStorage.class);
 
-    when(sourceBucket.getAllKeys()).thenReturn(List.of("file"));
+    when(sourceManifest.streamAllKeys()).thenReturn(Stream.of("file"));
     when(sourceBucket.get("file")).thenReturn(Optional.empty());
 
     BulkExportService bulkExportService =
-        new BulkExportService(sourceBucket, destinationBucket, "test-export");
+        new BulkExportService(
+            sourceManifest, sourceBucket, destinationBucket, "test-export", objectMapper);
 
     boolean actual = bulkExportService.updateLatestZip(clock.instant());
     assertThat(actual).isFalse();
   }
+
+  @Test
+  void updateLatestZip_writesTheManifestAndDeletesTheDeltas() throws IOException {
+    BucketManifest<?> sourceManifest = mock(BucketManifest.class);
+    ObjectStorage sourceBucket = mock(ObjectStorage.class);
+    ObjectStorage destinationBucket = mock(ObjectStorage.class);
+
+    when(sourceManifest.streamAllKeys()).thenReturn(Stream.of("file.xml"));
+    when(sourceBucket.get("file.xml")).thenReturn(Optional.of("content".getBytes()));
+    when(destinationBucket.getAllKeysByPrefix(anyString()))
+        .thenReturn(List.of("snapshots/test-export_old.zip"));
+    SnapshotManifest oldManifest =
+        SnapshotManifest.ofBase("snapshots/test-export_old.zip", Instant.EPOCH)
+            .withDelta(
+                new SnapshotManifest.Delta("snapshots/deltas/test-export_delta.zip", "from", "to"));
+    when(destinationBucket.getFileAsString("snapshots/manifests/test-export.json"))
+        .thenReturn(Optional.of(objectMapper.writeValueAsString(oldManifest)));
+    when(destinationBucket.putStream(anyString(), any(InputStream.class))).thenReturn(0L);
+
+    BulkExportService bulkExportService =
+        new BulkExportService(
+            sourceManifest, sourceBucket, destinationBucket, "test-export", objectMapper);
+
+    Instant timestamp = clock.instant();
+    assertThat(bulkExportService.updateLatestZip(timestamp)).isTrue();
+
+    String newBase = "snapshots/test-export_" + timestamp + ".zip";
+    verify(destinationBucket)
+        .save(
+            "snapshots/manifests/test-export.json",
+            objectMapper.writeValueAsString(SnapshotManifest.ofBase(newBase, timestamp)));
+    verify(destinationBucket).delete("snapshots/test-export_old.zip");
+    verify(destinationBucket).delete("snapshots/deltas/test-export_delta.zip");
+    verify(destinationBucket, times(0)).delete(newBase);
+  }
+
+  @Test
+  void updateDeltaZip_zipsTheChangesAndAppendsThemToTheManifest() throws IOException {
+    BucketManifest<?> sourceManifest = mock(BucketManifest.class);
+    ObjectStorage sourceBucket = mock(ObjectStorage.class);
+    ObjectStorage destinationBucket = mock(ObjectStorage.class);
+
+    SnapshotManifest manifest =
+        SnapshotManifest.ofBase("snapshots/test-export_base.zip", Instant.EPOCH);
+    when(destinationBucket.getFileAsString("snapshots/manifests/test-export.json"))
+        .thenReturn(Optional.of(objectMapper.writeValueAsString(manifest)));
+    final byte[] changedBytes = "changed".getBytes();
+    when(sourceBucket.get("changed.xml")).thenReturn(Optional.of(changedBytes));
+
+    AtomicReference<Map<String, byte[]>> files = new AtomicReference<>();
+    when(destinationBucket.putStream(
+            eq("snapshots/deltas/test-export_2024-01-01T12:00:00.123Z.zip"),
+            any(InputStream.class)))
+        .thenAnswer(
+            i -> {
+              files.set(ZipTestUtils.readZipStream(i.getArgument(1)));
+              return -1L;
+            });
+
+    Changelog changes = new Changelog();
+    changes.setChanged(
+        new HashSet<>(List.of("changed.xml", "changelogs/2024-01-01T11:00:00Z-norm.json")));
+    changes.setDeleted(new HashSet<>(List.of("deleted-b.xml", "deleted-a.xml")));
+
+    BulkExportService bulkExportService =
+        new BulkExportService(
+            sourceManifest, sourceBucket, destinationBucket, "test-export", objectMapper);
+
+    Instant from = Instant.parse("2024-01-01T00:00:00Z");
+    assertThat(bulkExportService.updateDeltaZip(from, clock.instant(), changes)).isTrue();
+
+    assertThat(files.get())
+        .containsOnly(
+            Map.entry("changed.xml", changedBytes),
+            Map.entry(
+                BulkExportService.DELETED_FILES_ENTRY,
+                "deleted-a.xml\ndeleted-b.xml\n".getBytes(StandardCharsets.UTF_8)));
+    SnapshotManifest expectedManifest =
+        manifest.withDelta(
+            new SnapshotManifest.Delta(
+                "snapshots/deltas/test-export_2024-01-01T12:00:00.123Z.zip",
+                from.toString(),
+                clock.instant().toString()));
+    verify(destinationBucket)
+        .save(
+            "snapshots/manifests/test-export.json",
+            objectMapper.writeValueAsString(expectedManifest));
+    verify(destinationBucket, times(0)).delete(anyString());
+  }
+
+  @Test
+  void updateDeltaZip_withOnlyChangelogs_shouldNotAddADelta() throws IOException {
+    BucketManifest<?> sourceManifest = mock(BucketManifest.class);
+    ObjectStorage sourceBucket = mock(ObjectStorage.class);
+    ObjectStorage destinationBucket = mock(ObjectStorage.class);
+
+    SnapshotManifest manifest =
+        SnapshotManifest.ofBase("snapshots/test-export_base.zip", Instant.EPOCH);
+    when(destinationBucket.getFileAsString("snapshots/manifests/test-export.json"))
+        .thenReturn(Optional.of(objectMapper.writeValueAsString(manifest)));
+    Changelog changes = new Changelog();
+    changes.setChanged(new HashSet<>(List.of("changelogs/2024-01-01T11:00:00Z-norm.json")));
+
+    BulkExportService bulkExportService =
+        new BulkExportService(
+            sourceManifest, sourceBucket, destinationBucket, "test-export", objectMapper);
+
+    Instant from = Instant.parse("2024-01-01T00:00:00Z");
+    assertThat(bulkExportService.updateDeltaZip(from, clock.instant(), changes)).isTrue();
+    verify(destinationBucket, times(0)).putStream(anyString(), any(InputStream.class));
+    verify(destinationBucket, times(0)).save(anyString(), anyString());
+  }
+
+  @Test
+  void updateDeltaZip_withoutManifest_shouldReturnFalse() throws IOException {
+    BucketManifest<?> sourceManifest = mock(BucketManifest.class);
+    ObjectStorage sourceBucket = mock(ObjectStorage.class);
+    ObjectStorage destinationBucket = mock(ObjectStorage.class);
+
+    when(destinationBucket.getFileAsString(anyString())).thenReturn(Optional.empty());
+
+    BulkExportService bulkExportService =
+        new BulkExportService(
+            sourceManifest, sourceBucket, destinationBucket, "test-export", objectMapper);
+
+    Instant timestamp = clock.instant();
+    assertThat(bulkExportService.updateDeltaZip(timestamp, timestamp, new Changelog())).isFalse();
+    verify(destinationBucket, times(0)).putStream(anyString(), any(InputStream.class));
+  }
 }
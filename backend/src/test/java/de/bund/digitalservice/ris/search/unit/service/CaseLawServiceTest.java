@@ -11,11 +11,15 @@ import de.bund.digitalservice.ris.search.exception.OpenSearchMapperException;
 import de.bund.digitalservice.ris.search.mapper.CaseLawLdmlToOpenSearchMapper;
 import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationUnit;
 import de.bund.digitalservice.ris.search.repository.objectstorage.CaseLawBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
 import de.bund.digitalservice.ris.search.repository.objectstorage.StorageObject;
 import de.bund.digitalservice.ris.search.repository.opensearch.CaseLawRepository;
+import de.bund.digitalservice.ris.search.service.AggregationCaches;
 import de.bund.digitalservice.ris.search.service.CaseLawService;
 import de.bund.digitalservice.ris.search.service.SimpleSearchQueryBuilder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
@@ -46,7 +50,8 @@ class CaseLawServiceTest {
             operationsMock,
             configurations,
             marshaller,
-            new SimpleSearchQueryBuilder(null));
+            new SimpleSearchQueryBuilder(null),
+            new AggregationCaches(true, Duration.ofHours(1), 100, Runnable::run));
   }
 
   @Test
@@ -74,10 +79,13 @@ class CaseLawServiceTest {
   @Test
   @DisplayName("Should return all filenames for document number if not in prototype environment")
   void shouldReturnAllFilenamesForADocumentNumberIfNotInPrototypeEnvironment() {
-    List<String> expectedResult = List.of("FOO.xml", "FOO-image.png");
-    when(caseLawBucketMock.getAllKeysByPrefix("FOO")).thenReturn(expectedResult);
+    List<ObjectKeyInfo> expectedResult =
+        List.of(
+            new ObjectKeyInfo("FOO.xml", Instant.EPOCH),
+            new ObjectKeyInfo("FOO-image.png", Instant.EPOCH));
+    when(caseLawBucketMock.getAllKeyInfosByPrefix("FOO")).thenReturn(expectedResult);
 
-    var actual = caseLawService.getAllFilenamesByDocumentNumber("FOO");
+    var actual = caseLawService.getAllFileInfosByDocumentNumber("FOO");
     Assertions.assertEquals(expectedResult, actual);
   }
 
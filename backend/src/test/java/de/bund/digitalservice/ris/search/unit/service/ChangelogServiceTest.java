@@ -20,6 +20,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -73,8 +74,8 @@ class ChangelogServiceTest {
     String changelogFile2 =
         ChangelogService.CHANGELOGS_PREFIX + now.plus(2, ChronoUnit.HOURS) + "-changelog.json";
 
-    when(bucket.getAllKeysByPrefix(ChangelogService.CHANGELOGS_PREFIX))
-        .thenReturn(List.of(olderChangelogFile, changelogFile2, changelogFile1));
+    when(bucket.streamKeysByPrefixAfter(ChangelogService.CHANGELOGS_PREFIX, lastSuccess))
+        .thenReturn(Stream.of(olderChangelogFile, changelogFile2, changelogFile1));
 
     List<String> changelogs = changelogService.getNewChangelogsPaths(lastSuccess);
     assertThat(changelogs)
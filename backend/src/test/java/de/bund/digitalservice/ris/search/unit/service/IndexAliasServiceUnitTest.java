@@ -0,0 +1,171 @@
+package de.bund.digitalservice.ris.search.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.bund.digitalservice.ris.search.config.opensearch.Configurations;
+import de.bund.digitalservice.ris.search.service.IndexAliasService;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.opensearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.admin.indices.forcemerge.ForceMergeRequest;
+import org.opensearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.opensearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.client.GetAliasesResponse;
+import org.opensearch.client.IndicesClient;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.client.core.CountRequest;
+import org.opensearch.client.core.CountResponse;
+import org.opensearch.client.indices.CreateIndexRequest;
+import org.opensearch.client.indices.GetIndexRequest;
+import org.opensearch.client.indices.GetIndexResponse;
+import org.opensearch.cluster.metadata.AliasMetadata;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+
+@ExtendWith(MockitoExtension.class)
+class IndexAliasServiceUnitTest {
+
+  private static final String ALIAS = "norms";
+  private static final String CURRENT_INDEX = "norms_2024-01-01-000000";
+  private static final String REBUILD_INDEX = "norms_2024-02-01-000000";
+
+  @Mock RestHighLevelClient client;
+  @Mock IndicesClient indices;
+  @Mock ElasticsearchOperations operations;
+
+  private IndexAliasService service;
+
+  @BeforeEach
+  void setUp() {
+    Configurations configurations = new Configurations();
+    configurations.setDocumentsAliasName("documents");
+    service = new IndexAliasService(client, operations, configurations, true, 0.99);
+    when(client.indices()).thenReturn(indices);
+  }
+
+  @Test
+  void itCreatesTheRebuildIndexWithoutReplicasAndRefreshes() throws IOException {
+    givenAliasPointsTo(CURRENT_INDEX);
+    GetIndexResponse existing = mock(GetIndexResponse.class);
+    when(existing.getIndices())
+        .thenReturn(
+            new String[] {CURRENT_INDEX, "norms_2023-12-01-000000", "norms_e2e_2024-01-01"});
+    when(indices.get(any(GetIndexRequest.class), any(RequestOptions.class))).thenReturn(existing);
+
+    String indexName = service.createRebuildIndex(ALIAS);
+
+    assertThat(indexName).matches("norms_\\d{4}-\\d{2}-\\d{2}-\\d{6}");
+    ArgumentCaptor<CreateIndexRequest> created = ArgumentCaptor.forClass(CreateIndexRequest.class);
+    verify(indices).create(created.capture(), any(RequestOptions.class));
+    assertThat(created.getValue().index()).isEqualTo(indexName);
+    assertThat(created.getValue().settings().get("index.number_of_replicas")).isEqualTo("0");
+    assertThat(created.getValue().settings().get("index.refresh_interval")).isEqualTo("-1");
+    // only the abandoned rebuild of this alias is removed
+    assertThat(deletedIndices()).containsExactly("norms_2023-12-01-000000");
+  }
+
+  @Test
+  void itDeletesARebuildIndexWithTooFewDocuments() throws IOException {
+    givenRebuildIndexHolds(98);
+
+    assertThatThrownBy(() -> service.activateRebuiltIndex(ALIAS, REBUILD_INDEX, 100, true))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("98 of 100");
+
+    assertThat(deletedIndices()).containsExactly(REBUILD_INDEX);
+    verify(indices, never())
+        .updateAliases(any(IndicesAliasesRequest.class), any(RequestOptions.class));
+    verify(indices, never()).forcemerge(any(ForceMergeRequest.class), any(RequestOptions.class));
+  }
+
+  @Test
+  void itSwapsBothAliasesAndRemovesThePreviousIndex() throws IOException {
+    givenRebuildIndexHolds(100);
+    givenAliasPointsTo(CURRENT_INDEX);
+    GetSettingsResponse settings = mock(GetSettingsResponse.class);
+    when(settings.getSetting(CURRENT_INDEX, "index.number_of_replicas")).thenReturn("2");
+    when(indices.getSettings(any(GetSettingsRequest.class), any(RequestOptions.class)))
+        .thenReturn(settings);
+
+    service.activateRebuiltIndex(ALIAS, REBUILD_INDEX, 100, true);
+
+    verify(indices).forcemerge(any(ForceMergeRequest.class), any(RequestOptions.class));
+    ArgumentCaptor<UpdateSettingsRequest> updated =
+        ArgumentCaptor.forClass(UpdateSettingsRequest.class);
+    verify(indices).putSettings(updated.capture(), any(RequestOptions.class));
+    assertThat(updated.getValue().settings().get("index.number_of_replicas")).isEqualTo("2");
+
+    ArgumentCaptor<IndicesAliasesRequest> aliases =
+        ArgumentCaptor.forClass(IndicesAliasesRequest.class);
+    verify(indices).updateAliases(aliases.capture(), any(RequestOptions.class));
+    List<AliasActions> actions = aliases.getValue().getAliasActions();
+    assertThat(actions)
+        .extracting(AliasActions::actionType, action -> List.of(action.indices()))
+        .containsExactly(
+            tuple(AliasActions.Type.ADD, List.of(REBUILD_INDEX)),
+            tuple(AliasActions.Type.ADD, List.of(REBUILD_INDEX)),
+            tuple(AliasActions.Type.REMOVE_INDEX, List.of(CURRENT_INDEX)));
+    assertThat(actions.get(0).aliases()).containsExactly(ALIAS);
+    assertThat(actions.get(1).aliases()).containsExactly("documents");
+    verify(indices, never()).delete(any(DeleteIndexRequest.class), any(RequestOptions.class));
+  }
+
+  @Test
+  void itDeletesAnIndex() throws IOException {
+    service.deleteIndex(REBUILD_INDEX);
+
+    assertThat(deletedIndices()).containsExactly(REBUILD_INDEX);
+  }
+
+  @Test
+  void itOnlyLogsAFailedDelete() throws IOException {
+    when(indices.delete(any(DeleteIndexRequest.class), any(RequestOptions.class)))
+        .thenThrow(new IOException("unavailable"));
+
+    service.deleteIndex(REBUILD_INDEX);
+
+    verify(indices).delete(any(DeleteIndexRequest.class), any(RequestOptions.class));
+  }
+
+  private void givenAliasPointsTo(String index) throws IOException {
+    GetAliasesResponse response = mock(GetAliasesResponse.class);
+    when(response.getAliases()).thenReturn(Map.of(index, Set.<AliasMetadata>of()));
+    when(indices.getAlias(any(GetAliasesRequest.class), any(RequestOptions.class)))
+        .thenReturn(response);
+  }
+
+  private void givenRebuildIndexHolds(long documents) throws IOException {
+    CountResponse count = mock(CountResponse.class);
+    when(count.getCount()).thenReturn(documents);
+    when(client.count(any(CountRequest.class), any(RequestOptions.class))).thenReturn(count);
+  }
+
+  private List<String> deletedIndices() throws IOException {
+    ArgumentCaptor<DeleteIndexRequest> deleted = ArgumentCaptor.forClass(DeleteIndexRequest.class);
+    verify(indices, atLeast(0))
+        .delete(deleted.capture(), any(RequestOptions.class));
+    return deleted.getAllValues().stream()
+        .flatMap(request -> List.of(request.indices()).stream())
+        .toList();
+  }
+}
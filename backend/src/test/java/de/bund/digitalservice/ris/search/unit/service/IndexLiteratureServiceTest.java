@@ -1,7 +1,10 @@
 package de.bund.digitalservice.ris.search.unit.service;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -14,11 +17,13 @@ import de.bund.digitalservice.ris.search.models.opensearch.Literature;
 import de.bund.digitalservice.ris.search.repository.objectstorage.LiteratureBucket;
 import de.bund.digitalservice.ris.search.repository.objectstorage.StorageObject;
 import de.bund.digitalservice.ris.search.repository.opensearch.LiteratureRepository;
+import de.bund.digitalservice.ris.search.service.IndexAliasService;
 import de.bund.digitalservice.ris.search.service.IndexLiteratureService;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 import org.assertj.core.util.Sets;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +38,7 @@ class IndexLiteratureServiceTest {
 
   @Mock LiteratureBucket bucket;
   @Mock LiteratureRepository repo;
+  @Mock IndexAliasService indexAliasService;
 
   @Test
   void reindexAllIgnoresInvalidFiles() throws ObjectStoreServiceException {
@@ -42,7 +48,7 @@ class IndexLiteratureServiceTest {
         LoadXmlUtils.loadXmlAsString(Literature.class, filenameA).getBytes(StandardCharsets.UTF_8);
 
     var keys = List.of(filenameA, filenameB);
-    when(this.bucket.getAllKeys()).thenReturn(keys);
+    when(this.bucket.streamAllKeys()).thenReturn(keys.stream());
     when(this.bucket.getObjects(keys))
         .thenReturn(
             List.of(
@@ -74,7 +80,8 @@ class IndexLiteratureServiceTest {
     final byte[] xml =
         LoadXmlUtils.loadXmlAsString(Literature.class, filenameA).getBytes(StandardCharsets.UTF_8);
 
-    when(this.bucket.getAllKeys()).thenReturn(List.of(filenameA, filenameB, filenameC, filenameD));
+    when(this.bucket.streamAllKeys())
+        .thenReturn(Stream.of(filenameA, filenameB, filenameC, filenameD));
     when(this.bucket.getObjects(List.of(filenameA, filenameB, filenameC, filenameD)))
         .thenReturn(
             List.of(
@@ -96,6 +103,60 @@ class IndexLiteratureServiceTest {
     verify(repo, times(1)).deleteByIndexedAtBefore(startingTimestamp);
   }
 
+  @Test
+  void reindexAllRebuildsIntoAFreshIndexWhenEnabled() throws ObjectStoreServiceException {
+    var filename = "XXLU000000001.akn.xml";
+    final byte[] xml =
+        LoadXmlUtils.loadXmlAsString(Literature.class, filename).getBytes(StandardCharsets.UTF_8);
+    when(this.bucket.streamAllKeys()).thenReturn(Stream.of(filename));
+    when(this.bucket.getObjects(List.of(filename)))
+        .thenReturn(List.of(new StorageObject(filename, Optional.of(xml))));
+    when(indexAliasService.isFullRebuildEnabled()).thenReturn(true);
+    when(indexAliasService.getAliasName(Literature.class)).thenReturn("literature");
+    when(indexAliasService.createRebuildIndex("literature"))
+        .thenReturn("literature_2024-01-01-120000");
+
+    this.service.reindexAll(SharedTestConstants.TIMESTAMP_2024_01_01_AS_STRING);
+
+    verify(indexAliasService, times(1))
+        .save(
+            argThat(arg -> arg.size() == 1 && arg.getFirst() instanceof Literature),
+            eq("literature_2024-01-01-120000"));
+    verify(indexAliasService, times(1))
+        .activateRebuiltIndex("literature", "literature_2024-01-01-120000", 1, true);
+    verify(repo, never()).saveAll(any());
+    verify(repo, never()).deleteByIndexedAtBefore(any());
+  }
+
+  @Test
+  void reindexAllExpectsFilesWhichCantBeParsedInTheRebuiltIndex()
+      throws ObjectStoreServiceException {
+    var filenameA = "XXLU000000001.akn.xml";
+    var filenameB = "XXLU000000002.akn.xml";
+    final byte[] xml =
+        LoadXmlUtils.loadXmlAsString(Literature.class, filenameA).getBytes(StandardCharsets.UTF_8);
+    when(this.bucket.streamAllKeys()).thenReturn(Stream.of(filenameA, filenameB));
+    when(this.bucket.getObjects(List.of(filenameA, filenameB)))
+        .thenReturn(
+            List.of(
+                new StorageObject(filenameA, Optional.of(xml)),
+                new StorageObject(
+                    filenameB,
+                    Optional.of("this will not parse".getBytes(StandardCharsets.UTF_8)))));
+    when(indexAliasService.isFullRebuildEnabled()).thenReturn(true);
+    when(indexAliasService.getAliasName(Literature.class)).thenReturn("literature");
+    when(indexAliasService.createRebuildIndex("literature"))
+        .thenReturn("literature_2024-01-01-120000");
+
+    this.service.reindexAll(SharedTestConstants.TIMESTAMP_2024_01_01_AS_STRING);
+
+    // only one entity is written, but the index must hold both files to replace the current one
+    verify(indexAliasService, times(1))
+        .save(argThat(arg -> arg.size() == 1), eq("literature_2024-01-01-120000"));
+    verify(indexAliasService, times(1))
+        .activateRebuiltIndex("literature", "literature_2024-01-01-120000", 2, true);
+  }
+
   @Test
   void itCanReindexFromOneSpecificChangelog() throws ObjectStoreServiceException {
     final String xmlFileName = "XXLU000000001.akn.xml";
@@ -153,9 +214,9 @@ class IndexLiteratureServiceTest {
 
   @Test
   void itReturnsRightNumberOfFiles() {
-    when(this.bucket.getAllKeys())
+    when(this.bucket.streamAllKeys())
         .thenReturn(
-            List.of(
+            Stream.of(
                 "XXLU000000001.akn.xml",
                 "XXLU000000002.akn.xml",
                 "changelogs/2025-03-26T14:13:34.096304815Z-literature.json"));
@@ -1,43 +1,77 @@
 package de.bund.digitalservice.ris.search.unit.service;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import de.bund.digitalservice.ris.builder.NormTestDataBuilder;
 import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
+import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
+import de.bund.digitalservice.ris.search.models.opensearch.Norm;
 import de.bund.digitalservice.ris.search.repository.objectstorage.NormsBucket;
 import de.bund.digitalservice.ris.search.repository.opensearch.ArticlesRepository;
 import de.bund.digitalservice.ris.search.repository.opensearch.NormsRepository;
 import de.bund.digitalservice.ris.search.service.IndexNormsService;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.Environment;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
 
 @ExtendWith(MockitoExtension.class)
 class IndexNormsServiceTest {
 
-  @InjectMocks IndexNormsService service;
-
   @Mock NormsBucket bucket;
   @Mock Environment environment;
   @Mock NormsRepository repo;
   @Mock ArticlesRepository articlesRepository;
+  @Mock ElasticsearchOperations operations;
+  @Mock IndexOperations normsIndexOperations;
+
+  IndexNormsService service;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(operations.indexOps(Norm.class)).thenReturn(normsIndexOperations);
+    service = service(4, 200);
+  }
+
+  private IndexNormsService service(int parallelism, int cleanupBatchSize) {
+    return new IndexNormsService(
+        environment,
+        bucket,
+        repo,
+        articlesRepository,
+        operations,
+        parallelism,
+        cleanupBatchSize,
+        false);
+  }
 
   @Test
   void reindexAllIgnoresInvalidFiles() throws ObjectStoreServiceException {
     String validEli = "eli/bund/bgbl-1/1992/s101/1992-01-01/1/deu/1992-01-02/regelungstext-1.xml";
     when(this.bucket.getAllKeysByPrefix("eli/")).thenReturn(List.of(validEli, "eli/not_an_eli"));
-    when(this.bucket.getFileAsString(validEli))
-        .thenReturn(Optional.of(NormTestDataBuilder.builder().eli(validEli).buildNormXml()));
+    when(this.bucket.get(validEli)).thenReturn(Optional.of(buildNormXml(validEli)));
 
     String startingTimestamp = "2024-01-01T12:00:00Z";
     this.service.reindexAll(startingTimestamp);
@@ -54,14 +88,129 @@ class IndexNormsServiceTest {
     verify(repo, times(1)).deleteByIndexedAtBefore(startingTimestamp);
   }
 
+  @Test
+  void reindexAllIndexesOtherWorksButFailsWhenOneWorkFails() {
+    String failingEli =
+        "eli/bund/bgbl-1/1991/s101/1991-01-01/1/deu/1991-01-01/regelungstext-1.xml";
+    String validEli = "eli/bund/bgbl-1/1992/s101/1992-01-01/1/deu/1992-01-02/regelungstext-1.xml";
+    when(this.bucket.getAllKeysByPrefix("eli/")).thenReturn(List.of(failingEli, validEli));
+    when(this.bucket.get(failingEli)).thenThrow(new IllegalStateException("broken"));
+    when(this.bucket.get(validEli)).thenReturn(Optional.of(buildNormXml(validEli)));
+
+    String startingTimestamp = "2024-01-01T12:00:00Z";
+    assertThatThrownBy(() -> this.service.reindexAll(startingTimestamp))
+        .isInstanceOf(IllegalStateException.class);
+
+    verify(repo, times(1))
+        .deleteByWorkEliInAndIndexedAtBefore(
+            List.of("eli/bund/bgbl-1/1992/s101"), startingTimestamp);
+    // the existing norms of the failed work must survive
+    verify(repo, never()).deleteByIndexedAtBefore(any());
+  }
+
+  @Test
+  void indexChangelogFailsWhenOneWorkFails() {
+    String failingEli =
+        "eli/bund/bgbl-1/1991/s101/1991-01-01/1/deu/1991-01-01/regelungstext-1.xml";
+    when(this.bucket.getAllKeysByPrefix("eli/bund/bgbl-1/1991/s101/"))
+        .thenReturn(List.of(failingEli));
+    when(this.bucket.get(failingEli)).thenThrow(new IllegalStateException("broken"));
+    Changelog changelog = new Changelog();
+    changelog.setChanged(new HashSet<>(Set.of(failingEli)));
+
+    assertThatThrownBy(() -> this.service.indexChangelog(changelog))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void itCleansUpOutdatedExpressionsOfManyWorksTogether() {
+    List<String> elis =
+        IntStream.rangeClosed(1, 3)
+            .mapToObj(
+                i ->
+                    "eli/bund/bgbl-1/1992/s10%d/1992-01-01/1/deu/1992-01-02/regelungstext-1.xml"
+                        .formatted(i))
+            .toList();
+    when(this.bucket.getAllKeysByPrefix("eli/")).thenReturn(elis);
+    for (String eli : elis) {
+      when(this.bucket.get(eli)).thenReturn(Optional.of(buildNormXml(eli)));
+    }
+
+    service(1, 2).reindexAll("2024-01-01T12:00:00Z");
+
+    verify(repo, times(2)).deleteByWorkEliInAndIndexedAtBefore(any(), any());
+    verify(articlesRepository, times(2)).deleteByWorkEliInAndIndexedAtBefore(any(), any());
+  }
+
+  @Test
+  void itRetriesAFailedCleanupBatchAndFailsTheRun() {
+    List<String> elis =
+        IntStream.rangeClosed(1, 3)
+            .mapToObj(
+                i ->
+                    "eli/bund/bgbl-1/1992/s10%d/1992-01-01/1/deu/1992-01-02/regelungstext-1.xml"
+                        .formatted(i))
+            .toList();
+    when(this.bucket.getAllKeysByPrefix("eli/")).thenReturn(elis);
+    for (String eli : elis) {
+      when(this.bucket.get(eli)).thenReturn(Optional.of(buildNormXml(eli)));
+    }
+    doThrow(new IllegalStateException("unavailable"))
+        .doNothing()
+        .when(repo)
+        .deleteByWorkEliInAndIndexedAtBefore(any(), any());
+
+    IndexNormsService batchedService = service(1, 2);
+    assertThatThrownBy(() -> batchedService.reindexAll("2024-01-01T12:00:00Z"))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Outdated expressions");
+
+    // every work was indexed, and the failed batch was retried together with the last work
+    verify(repo, times(3)).saveAll(any());
+    verify(repo)
+        .deleteByWorkEliInAndIndexedAtBefore(
+            argThat(workElis -> workElis.size() == 3), eq("2024-01-01T12:00:00Z"));
+    verify(repo, never()).deleteByIndexedAtBefore(any());
+  }
+
+  @Test
+  void itKeepsTheArticlesOutOfAnIndexWithoutNestedMapping() {
+    String validEli = "eli/bund/bgbl-1/1992/s101/1992-01-01/1/deu/1992-01-02/regelungstext-1.xml";
+    when(this.bucket.getAllKeysByPrefix("eli/")).thenReturn(List.of(validEli));
+    when(this.bucket.get(validEli)).thenReturn(Optional.of(buildNormXml(validEli)));
+    when(normsIndexOperations.getMapping())
+        .thenReturn(Map.of("properties", Map.of("articles", Map.of("type", "object"))));
+
+    this.service.reindexAll("2024-01-01T12:00:00Z");
+
+    verify(repo).saveAll(argThat(norms -> norms.iterator().next().getArticles() == null));
+  }
+
+  @Test
+  void itNestsTheArticlesInAnIndexWithNestedMapping() {
+    String validEli = "eli/bund/bgbl-1/1992/s101/1992-01-01/1/deu/1992-01-02/regelungstext-1.xml";
+    when(this.bucket.getAllKeysByPrefix("eli/")).thenReturn(List.of(validEli));
+    when(this.bucket.get(validEli)).thenReturn(Optional.of(buildNormXml(validEli)));
+    when(normsIndexOperations.getMapping())
+        .thenReturn(Map.of("properties", Map.of("articles", Map.of("type", "nested"))));
+
+    this.service.reindexAll("2024-01-01T12:00:00Z");
+
+    verify(repo).saveAll(argThat(norms -> norms.iterator().next().getArticles() != null));
+  }
+
   @Test
   void itReturnsRightNumberOfFiles() {
-    when(this.bucket.getAllKeysByPrefix("eli/"))
+    when(this.bucket.streamKeysByPrefix("eli/"))
         .thenReturn(
-            List.of(
+            Stream.of(
                 "eli/bund/bgbl-1/2013/s323/2018-07-02/2/deu/2025-03-08/regelungstext-1.xml",
                 "eli/bund/bgbl-1/2013/s4098/2022-03-15/2/deu/2025-03-08/regelungstext-1.xml",
                 "eli/bund/bgbl-1/2013/s1925/2015-10-12/2/deu/2025-03-08/offenestruktur-1.xml"));
     assertThat(service.getNumberOfIndexableDocumentsInBucket()).isEqualTo(2);
   }
+
+  private static byte[] buildNormXml(String eli) {
+    return NormTestDataBuilder.builder().eli(eli).buildNormXml().getBytes(StandardCharsets.UTF_8);
+  }
 }
@@ -3,6 +3,7 @@ package de.bund.digitalservice.ris.search.unit.service;
 import static de.bund.digitalservice.ris.search.service.NormIndexSyncJob.NORM_STATUS_FILENAME;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -12,13 +13,20 @@ import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
 import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
 import de.bund.digitalservice.ris.search.repository.objectstorage.NormsBucket;
 import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectStorage;
+import de.bund.digitalservice.ris.search.service.BucketManifest;
 import de.bund.digitalservice.ris.search.service.ChangelogService;
 import de.bund.digitalservice.ris.search.service.IndexNormsService;
 import de.bund.digitalservice.ris.search.service.IndexStatusService;
 import de.bund.digitalservice.ris.search.service.IndexSyncJob;
+import de.bund.digitalservice.ris.search.service.IndexSyncedEvent;
 import de.bund.digitalservice.ris.search.service.IndexingState;
 import de.bund.digitalservice.ris.search.service.Job;
+import de.bund.digitalservice.ris.search.service.RenderedHtmlCache;
+import de.bund.digitalservice.ris.search.service.ZipArchiveCache;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.assertj.core.util.Sets;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +36,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 @ExtendWith(OutputCaptureExtension.class)
@@ -37,6 +46,10 @@ class IndexSyncJobTest {
   @Mock NormsBucket normsBucket;
   @Mock IndexNormsService indexNormsService;
   @Mock ChangelogService<? extends ObjectStorage> changelogService;
+  @Mock BucketManifest<NormsBucket> bucketManifest;
+  @Mock RenderedHtmlCache htmlCache;
+  @Mock ZipArchiveCache zipCache;
+  @Mock ApplicationEventPublisher eventPublisher;
 
   IndexSyncJob normIndexSyncJob;
 
@@ -44,7 +57,14 @@ class IndexSyncJobTest {
   void setup() {
     normIndexSyncJob =
         new IndexSyncJob(
-            indexStatusService, changelogService, indexNormsService, NORM_STATUS_FILENAME);
+            indexStatusService,
+            changelogService,
+            bucketManifest,
+            htmlCache,
+            zipCache,
+            indexNormsService,
+            NORM_STATUS_FILENAME);
+    normIndexSyncJob.setApplicationEventPublisher(eventPublisher);
   }
 
   @Test
@@ -74,7 +94,8 @@ class IndexSyncJobTest {
   @Test
   void itLogsAWarningWhenTheNumberInBucketAnIndexDiffer(CapturedOutput output) {
     when(indexNormsService.getNumberOfIndexedEntities()).thenReturn(100);
-    when(indexNormsService.getNumberOfIndexableDocumentsInBucket()).thenReturn(99);
+    when(bucketManifest.streamAllKeys()).thenReturn(Stream.of("file.xml"));
+    when(indexNormsService.countIndexableDocuments(any())).thenReturn(99);
 
     var time = SharedTestConstants.TIMESTAMP_2024_01_01_AS_INSTANT;
     normIndexSyncJob.alertOnNumberMismatch(new IndexingState(time.toString(), time.toString()));
@@ -84,10 +105,117 @@ class IndexSyncJobTest {
     assertThat(output).contains(expectedOutput);
   }
 
+  @Test
+  void itAppliesProcessedChangelogsToTheManifestAndCaches() throws ObjectStoreServiceException {
+    Changelog changelog = new Changelog();
+    changelog.setChanged(Sets.newHashSet(List.of("identifier1")));
+    String changelogFile = "changelogs/2024-01-02T00:00:00Z-norm.json";
+    var time = SharedTestConstants.TIMESTAMP_2024_01_01_AS_STRING;
+    IndexingState state = new IndexingState("changelogs/" + time, time);
+    when(changelogService.getNewChangelogsPaths(state.lastProcessedChangelogFile()))
+        .thenReturn(List.of(changelogFile));
+    when(changelogService.parseOneChangelog(changelogFile)).thenReturn(Optional.of(changelog));
+
+    normIndexSyncJob.fetchAndProcessChanges(state);
+
+    verify(indexNormsService, times(1)).indexChangelog(changelog);
+    verify(bucketManifest, times(1)).apply(changelog);
+    verify(htmlCache, times(1)).invalidate(changelog);
+    verify(zipCache, times(1)).invalidate(changelog);
+  }
+
+  @Test
+  void itFoldsPendingChangelogsAndCheckpointsOnce() throws ObjectStoreServiceException {
+    List<String> files = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      String file = "changelogs/2024-01-0%dT00:00:00Z-norm.json".formatted(i);
+      files.add(file);
+      Changelog changelog = new Changelog();
+      // the same document is changed by every changelog, the last one deletes the first file
+      if (i < 5) {
+        changelog.setChanged(Sets.newHashSet(List.of("changed.xml", "file" + i + ".xml")));
+      } else {
+        changelog.setChanged(Sets.newHashSet(List.of("changed.xml")));
+        changelog.setDeleted(Sets.newHashSet(List.of("file1.xml")));
+      }
+      when(changelogService.parseOneChangelog(file)).thenReturn(Optional.of(changelog));
+    }
+    var time = SharedTestConstants.TIMESTAMP_2024_01_01_AS_STRING;
+    IndexingState state = new IndexingState("changelogs/" + time, time);
+    when(changelogService.getNewChangelogsPaths(state.lastProcessedChangelogFile()))
+        .thenReturn(files);
+
+    normIndexSyncJob.fetchAndProcessChanges(state);
+
+    Changelog expected = new Changelog();
+    expected.setChanged(
+        Sets.newHashSet(List.of("changed.xml", "file2.xml", "file3.xml", "file4.xml")));
+    expected.setDeleted(Sets.newHashSet(List.of("file1.xml")));
+    verify(indexNormsService, times(1)).indexChangelog(expected);
+    verify(indexNormsService, times(1)).indexChangelog(any());
+    verify(bucketManifest, times(1)).apply(expected);
+    verify(indexStatusService, times(1))
+        .updateLastProcessedChangelog(NORM_STATUS_FILENAME, files.getLast());
+  }
+
+  @Test
+  void itReindexesAllOnceIfAPendingChangelogChangesAll() throws ObjectStoreServiceException {
+    Changelog changed = new Changelog();
+    changed.setChanged(Sets.newHashSet(List.of("file.xml")));
+    Changelog changeAll = new Changelog();
+    changeAll.setChangeAll(true);
+    List<String> files =
+        List.of(
+            "changelogs/2024-01-02T00:00:00Z-norm.json",
+            "changelogs/2024-01-03T00:00:00Z-norm.json");
+    when(changelogService.parseOneChangelog(files.get(0))).thenReturn(Optional.of(changed));
+    when(changelogService.parseOneChangelog(files.get(1))).thenReturn(Optional.of(changeAll));
+    var time = SharedTestConstants.TIMESTAMP_2024_01_01_AS_STRING;
+    IndexingState state = new IndexingState("changelogs/" + time, time);
+    when(changelogService.getNewChangelogsPaths(state.lastProcessedChangelogFile()))
+        .thenReturn(files);
+
+    normIndexSyncJob.fetchAndProcessChanges(state);
+
+    verify(indexNormsService, times(1)).reindexAll(time);
+    verify(indexNormsService, never()).indexChangelog(any());
+    verify(indexStatusService, times(1))
+        .updateLastProcessedChangelog(NORM_STATUS_FILENAME, files.get(1));
+  }
+
+  @Test
+  void itRejectsAChangelogWithDuplicateIdsBeforeFolding() {
+    Changelog changelog = new Changelog();
+    changelog.setChanged(Sets.newHashSet(List.of("identifier1")));
+    changelog.setDeleted(Sets.newHashSet(List.of("identifier1")));
+    String changelogFile = "changelogs/2024-01-02T00:00:00Z-norm.json";
+    var time = SharedTestConstants.TIMESTAMP_2024_01_01_AS_STRING;
+    IndexingState state = new IndexingState("changelogs/" + time, time);
+    when(changelogService.getNewChangelogsPaths(state.lastProcessedChangelogFile()))
+        .thenReturn(List.of(changelogFile));
+    when(changelogService.parseOneChangelog(changelogFile)).thenReturn(Optional.of(changelog));
+
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> normIndexSyncJob.fetchAndProcessChanges(state));
+    verify(indexNormsService, never()).indexChangelog(any());
+  }
+
   @Test
   void itReturnsErrorOnObjectStoreServiceException() throws ObjectStoreServiceException {
 
     when(indexStatusService.loadStatus(any())).thenThrow(new ObjectStoreServiceException("mock"));
     Assertions.assertEquals(Job.ReturnCode.ERROR, normIndexSyncJob.runJob());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void itPublishesAnEventAfterASuccessfulSync() throws ObjectStoreServiceException {
+    var time = SharedTestConstants.TIMESTAMP_2024_01_01_AS_STRING;
+    when(indexStatusService.loadStatus(NORM_STATUS_FILENAME))
+        .thenReturn(new IndexingState("changelogs/" + time, time));
+
+    Assertions.assertEquals(Job.ReturnCode.SUCCESS, normIndexSyncJob.runJob());
+
+    verify(eventPublisher).publishEvent(new IndexSyncedEvent(NORM_STATUS_FILENAME));
   }
 }
@@ -0,0 +1,136 @@
+package de.bund.digitalservice.ris.search.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
+import de.bund.digitalservice.ris.search.repository.objectstorage.StorageObject;
+import de.bund.digitalservice.ris.search.service.IndexingPipeline;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class IndexingPipelineTest {
+
+  private static List<StorageObject> fetch(List<String> keys) {
+    return keys.stream()
+        .map(key -> new StorageObject(key, Optional.of(key.getBytes(StandardCharsets.UTF_8))))
+        .toList();
+  }
+
+  private static Optional<String> parse(StorageObject object) {
+    return object.bytes().map(bytes -> new String(bytes, StandardCharsets.UTF_8).toUpperCase());
+  }
+
+  @Test
+  void itIndexesEveryParsedFileExactlyOnce() {
+    List<String> keys = IntStream.range(0, 1000).mapToObj(i -> "file" + i).toList();
+    ConcurrentLinkedQueue<List<String>> written = new ConcurrentLinkedQueue<>();
+
+    new IndexingPipeline<>(
+            IndexingPipelineTest::fetch, IndexingPipelineTest::parse, written::add, 30, 4, 2)
+        .run(keys);
+
+    assertThat(written.stream().flatMap(List::stream).toList())
+        .containsExactlyInAnyOrderElementsOf(keys.stream().map(String::toUpperCase).toList());
+    assertThat(written).hasSize(34);
+  }
+
+  @Test
+  void itSkipsFilesWhichCantBeParsed() {
+    ConcurrentLinkedQueue<List<String>> written = new ConcurrentLinkedQueue<>();
+
+    long count =
+        new IndexingPipeline<String>(
+                IndexingPipelineTest::fetch,
+                object -> object.key().equals("b") ? Optional.empty() : parse(object),
+                written::add,
+                100,
+                2,
+                2)
+            .run(Stream.of("a", "b", "c"));
+
+    assertThat(written).containsExactly(List.of("A", "C"));
+    assertThat(count).isEqualTo(2);
+  }
+
+  @Test
+  void itIndexesALazyStreamOfFilesAndCountsThem() {
+    ConcurrentLinkedQueue<List<String>> written = new ConcurrentLinkedQueue<>();
+
+    long count =
+        new IndexingPipeline<>(
+                IndexingPipelineTest::fetch, IndexingPipelineTest::parse, written::add, 10, 2, 2)
+            .run(IntStream.range(0, 25).mapToObj(i -> "file" + i));
+
+    assertThat(count).isEqualTo(25);
+    assertThat(written.stream().mapToInt(List::size).sum()).isEqualTo(25);
+    assertThat(written).hasSize(3);
+  }
+
+  @Test
+  void itDoesNothingWithoutFiles() {
+    ConcurrentLinkedQueue<List<String>> written = new ConcurrentLinkedQueue<>();
+
+    new IndexingPipeline<>(
+            IndexingPipelineTest::fetch, IndexingPipelineTest::parse, written::add, 100, 2, 2)
+        .run(List.of());
+
+    assertThat(written).isEmpty();
+  }
+
+  @Test
+  void itRethrowsFailuresOfTheFetchStage() {
+    IndexingPipeline<String> pipeline =
+        new IndexingPipeline<>(
+            keys -> {
+              throw new ObjectStoreServiceException("bucket unavailable");
+            },
+            IndexingPipelineTest::parse,
+            batch -> {},
+            100,
+            2,
+            2);
+    List<String> keys = List.of("a");
+
+    assertThrows(ObjectStoreServiceException.class, () -> pipeline.run(keys));
+  }
+
+  @Test
+  void itRethrowsFailuresOfTheIndexStage() {
+    List<String> keys = IntStream.range(0, 100).mapToObj(i -> "file" + i).toList();
+    IndexingPipeline<String> pipeline =
+        new IndexingPipeline<>(
+            IndexingPipelineTest::fetch,
+            IndexingPipelineTest::parse,
+            batch -> {
+              throw new IllegalStateException("index unavailable");
+            },
+            10,
+            2,
+            1);
+
+    assertThrows(IllegalStateException.class, () -> pipeline.run(keys));
+  }
+
+  @Test
+  void itFailsWhenInterrupted() {
+    List<String> keys = List.of("a");
+    ConcurrentLinkedQueue<List<String>> written = new ConcurrentLinkedQueue<>();
+    IndexingPipeline<String> pipeline =
+        new IndexingPipeline<>(
+            IndexingPipelineTest::fetch, IndexingPipelineTest::parse, written::add, 100, 2, 2);
+
+    Thread.currentThread().interrupt();
+    try {
+      assertThrows(IllegalStateException.class, () -> pipeline.run(keys));
+      assertThat(Thread.currentThread().isInterrupted()).isTrue();
+    } finally {
+      Thread.interrupted();
+    }
+  }
+}
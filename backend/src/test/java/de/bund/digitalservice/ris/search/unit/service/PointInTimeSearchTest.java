@@ -0,0 +1,163 @@
+package de.bund.digitalservice.ris.search.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.bund.digitalservice.ris.search.exception.CustomValidationException;
+import de.bund.digitalservice.ris.search.models.SearchCursor;
+import de.bund.digitalservice.ris.search.service.PointInTimeSearch;
+import de.bund.digitalservice.ris.search.service.PointInTimeSearch.CursorPage;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.data.client.orhlc.NativeSearchQuery;
+import org.opensearch.data.client.orhlc.NativeSearchQueryBuilder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.UncategorizedElasticsearchException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.SearchHitsImpl;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+
+@ExtendWith(MockitoExtension.class)
+class PointInTimeSearchTest {
+
+  private static final IndexCoordinates INDEX = IndexCoordinates.of("documents");
+  private static final Duration KEEP_ALIVE = Duration.ofMinutes(5);
+  private static final String SEARCH_HASH = SearchCursor.hashSearch("Test", Sort.unsorted());
+
+  @Mock ElasticsearchOperations operations;
+
+  private PointInTimeSearch pointInTimeSearch;
+
+  @BeforeEach
+  void setUp() {
+    pointInTimeSearch = new PointInTimeSearch(operations, KEEP_ALIVE);
+  }
+
+  @Test
+  void itAddsTheIdAsTieBreaker() {
+    Sort sort = PointInTimeSearch.withTieBreaker(Sort.by(Sort.Order.desc("_score")));
+
+    assertThat(sort).containsExactly(Sort.Order.desc("_score"), Sort.Order.asc("_id"));
+  }
+
+  @Test
+  void itOpensAPointInTimeForTheFirstPage() throws CustomValidationException {
+    when(operations.openPointInTime(INDEX, KEEP_ALIVE, false)).thenReturn("pit-1");
+    when(operations.search(any(NativeSearchQuery.class), eq(String.class), eq(INDEX)))
+        .thenReturn(hits("pit-2", hit("a", 2.0, "a"), hit("b", 1.0, "b")));
+    NativeSearchQuery query = query(2);
+
+    CursorPage<String> page =
+        pointInTimeSearch.search(query, String.class, INDEX, null, SEARCH_HASH);
+
+    assertThat(query.getPointInTime().id()).isEqualTo("pit-1");
+    assertThat(query.getSearchAfter()).isNull();
+    assertThat(page.searchHits().getSearchHits()).hasSize(2);
+    assertThat(page.next()).isEqualTo(new SearchCursor("pit-2", List.of(1.0, "b"), SEARCH_HASH));
+    verify(operations, never()).closePointInTime(anyString());
+  }
+
+  @Test
+  void itSearchesAfterTheCursor() throws CustomValidationException {
+    when(operations.search(any(NativeSearchQuery.class), eq(String.class), eq(INDEX)))
+        .thenReturn(hits("pit-1", hit("c", 0.5, "c")));
+    NativeSearchQuery query = query(2);
+
+    CursorPage<String> page =
+        pointInTimeSearch.search(
+            query,
+            String.class,
+            INDEX,
+            new SearchCursor("pit-1", List.of(1.0, "b"), SEARCH_HASH),
+            SEARCH_HASH);
+
+    assertThat(query.getPointInTime().id()).isEqualTo("pit-1");
+    assertThat(query.getSearchAfter()).containsExactly(1.0, "b");
+    verify(operations, never()).openPointInTime(any(), any(), any());
+    assertThat(page.next()).isNull();
+    verify(operations).closePointInTime("pit-1");
+  }
+
+  @Test
+  void itRejectsExpiredCursors() {
+    when(operations.search(any(NativeSearchQuery.class), eq(String.class), eq(INDEX)))
+        .thenThrow(
+            new UncategorizedElasticsearchException(
+                "search failed",
+                new OpenSearchStatusException("No search context found", RestStatus.NOT_FOUND)));
+
+    SearchCursor cursor = new SearchCursor("pit-1", List.of(1.0, "b"), SEARCH_HASH);
+    assertThatThrownBy(
+            () -> pointInTimeSearch.search(query(2), String.class, INDEX, cursor, SEARCH_HASH))
+        .isInstanceOf(CustomValidationException.class);
+  }
+
+  @Test
+  void itRejectsCursorsOfAnotherSearch() {
+    SearchCursor cursor = new SearchCursor("pit-1", List.of(1.0, "b"), SEARCH_HASH);
+    String otherSearch = SearchCursor.hashSearch("Test", Sort.by("date"));
+
+    assertThatThrownBy(
+            () -> pointInTimeSearch.search(query(2), String.class, INDEX, cursor, otherSearch))
+        .isInstanceOfSatisfying(
+            CustomValidationException.class,
+            e -> assertThat(e.getErrors().getFirst().code()).isEqualTo("invalid_cursor"));
+    verify(operations, never()).search(any(NativeSearchQuery.class), any(), any());
+  }
+
+  @Test
+  void itClosesThePointInTimeIfTheFirstPageFails() {
+    when(operations.openPointInTime(INDEX, KEEP_ALIVE, false)).thenReturn("pit-1");
+    when(operations.search(any(NativeSearchQuery.class), eq(String.class), eq(INDEX)))
+        .thenThrow(
+            new UncategorizedElasticsearchException(
+                "search failed", new IllegalStateException("connection reset")));
+
+    assertThatThrownBy(
+            () -> pointInTimeSearch.search(query(2), String.class, INDEX, null, SEARCH_HASH))
+        .isInstanceOf(UncategorizedElasticsearchException.class);
+    verify(operations).closePointInTime("pit-1");
+  }
+
+  private static NativeSearchQuery query(int size) {
+    return new NativeSearchQueryBuilder().withPageable(PageRequest.of(0, size)).build();
+  }
+
+  private static SearchHit<String> hit(String id, Object... sortValues) {
+    return new SearchHit<>(
+        "documents", id, null, 1f, sortValues, Map.of(), null, null, null, null, id);
+  }
+
+  @SafeVarargs
+  private static SearchHits<String> hits(String pointInTimeId, SearchHit<String>... hits) {
+    return new SearchHitsImpl<>(
+        hits.length,
+        TotalHitsRelation.EQUAL_TO,
+        1f,
+        Duration.ZERO,
+        null,
+        pointInTimeId,
+        List.of(hits),
+        null,
+        null,
+        null);
+  }
+}
@@ -0,0 +1,182 @@
+package de.bund.digitalservice.ris.search.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
+import de.bund.digitalservice.ris.search.repository.objectstorage.CaseLawBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
+import de.bund.digitalservice.ris.search.repository.objectstorage.PortalBucket;
+import de.bund.digitalservice.ris.search.service.RenderedHtmlCache;
+import de.bund.digitalservice.ris.search.service.RenderedHtmlCache.RenderedHtml;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RenderedHtmlCacheTest {
+
+  private static final String SOURCE_KEY = "KORE000000000/KORE000000000.xml";
+  private static final byte[] SOURCE = "<xml/>".getBytes(StandardCharsets.UTF_8);
+  private static final Instant MODIFIED = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Mock CaseLawBucket caseLawBucket;
+  @Mock PortalBucket portalBucket;
+
+  private final AtomicInteger renderings = new AtomicInteger();
+  private final Function<byte[], String> renderer =
+      bytes -> {
+        renderings.incrementAndGet();
+        return "<html>" + new String(bytes, StandardCharsets.UTF_8) + "</html>";
+      };
+
+  private RenderedHtmlCache cache(boolean enabled, boolean persisted) {
+    return new RenderedHtmlCache(
+        "caselaw",
+        caseLawBucket,
+        portalBucket,
+        enabled,
+        persisted,
+        1_000_000,
+        Duration.ofMinutes(1),
+        "v1");
+  }
+
+  @Test
+  void itRendersEveryRequestWhenDisabled() {
+    RenderedHtmlCache cache = cache(false, false);
+
+    cache.getOrRender(SOURCE_KEY, "", () -> Optional.of(SOURCE), renderer);
+    cache.getOrRender(SOURCE_KEY, "", () -> Optional.of(SOURCE), renderer);
+
+    assertThat(renderings).hasValue(2);
+  }
+
+  @Test
+  void itRendersEachVariantOnce() {
+    RenderedHtmlCache cache = cache(true, false);
+
+    Optional<RenderedHtml> first =
+        cache.getOrRender(SOURCE_KEY, "a", () -> Optional.of(SOURCE), renderer);
+    Optional<RenderedHtml> second =
+        cache.getOrRender(SOURCE_KEY, "a", () -> Optional.of(SOURCE), renderer);
+    cache.getOrRender(SOURCE_KEY, "b", () -> Optional.of(SOURCE), renderer);
+
+    assertThat(renderings).hasValue(2);
+    assertThat(first).isPresent();
+    assertThat(second).contains(first.get());
+    assertThat(first.get().eTag()).isNotBlank();
+  }
+
+  @Test
+  void itDoesNotCacheMissingDocuments() {
+    RenderedHtmlCache cache = cache(true, false);
+    AtomicInteger lookups = new AtomicInteger();
+
+    for (int i = 0; i < 2; i++) {
+      Optional<RenderedHtml> html =
+          cache.getOrRender(
+              SOURCE_KEY,
+              "",
+              () -> {
+                lookups.incrementAndGet();
+                return Optional.empty();
+              },
+              renderer);
+      assertThat(html).isEmpty();
+    }
+
+    assertThat(lookups).hasValue(2);
+  }
+
+  @Test
+  void itRendersAgainAfterAChangelogTouchedTheSource() {
+    RenderedHtmlCache cache = cache(true, false);
+    cache.getOrRender(SOURCE_KEY, "", () -> Optional.of(SOURCE), renderer);
+
+    cache.invalidate(new Changelog(new HashSet<>(Set.of(SOURCE_KEY)), new HashSet<>(), false));
+    cache.getOrRender(SOURCE_KEY, "", () -> Optional.of(SOURCE), renderer);
+
+    assertThat(renderings).hasValue(2);
+  }
+
+  @Test
+  void itServesPersistedHtmlWithoutRendering() {
+    when(caseLawBucket.getAllKeyInfosByPrefix(SOURCE_KEY))
+        .thenReturn(List.of(new ObjectKeyInfo(SOURCE_KEY, MODIFIED)));
+    when(portalBucket.getFileAsString(anyString())).thenReturn(Optional.of("<html>stored</html>"));
+    RenderedHtmlCache cache = cache(true, true);
+
+    Optional<RenderedHtml> html =
+        cache.getOrRender(SOURCE_KEY, "", () -> Optional.of(SOURCE), renderer);
+
+    assertThat(html.map(RenderedHtml::html)).contains("<html>stored</html>");
+    assertThat(renderings).hasValue(0);
+    verify(portalBucket, never()).save(anyString(), anyString());
+  }
+
+  @Test
+  void itPersistsRenderedHtmlAndRemovesItOnChanges() {
+    when(caseLawBucket.getAllKeyInfosByPrefix(SOURCE_KEY))
+        .thenReturn(List.of(new ObjectKeyInfo(SOURCE_KEY, MODIFIED)));
+    when(portalBucket.getFileAsString(anyString())).thenReturn(Optional.empty());
+    String persistedKey = "html-cache/caselaw/" + SOURCE_KEY + "/0123.html";
+    when(portalBucket.streamKeysByPrefix("html-cache/caselaw/" + SOURCE_KEY + "/"))
+        .thenReturn(Stream.of(persistedKey));
+    RenderedHtmlCache cache = cache(true, true);
+
+    cache.getOrRender(SOURCE_KEY, "", () -> Optional.of(SOURCE), renderer);
+    cache.invalidate(new Changelog(new HashSet<>(), new HashSet<>(Set.of(SOURCE_KEY)), false));
+
+    verify(portalBucket).save(anyString(), eq("<html><xml/></html>"));
+    verify(portalBucket).delete(persistedKey);
+  }
+
+  @Test
+  void itKeysPersistedHtmlByTheSourceVersion() {
+    when(caseLawBucket.getAllKeyInfosByPrefix(SOURCE_KEY))
+        .thenReturn(List.of(new ObjectKeyInfo(SOURCE_KEY, MODIFIED)))
+        .thenReturn(List.of(new ObjectKeyInfo(SOURCE_KEY, MODIFIED.plusSeconds(1))));
+    when(portalBucket.getFileAsString(anyString())).thenReturn(Optional.empty());
+    List<String> persistedKeys = new ArrayList<>();
+    doAnswer(invocation -> persistedKeys.add(invocation.getArgument(0)))
+        .when(portalBucket)
+        .save(anyString(), anyString());
+
+    // separate caches, like two instances sharing the portal bucket
+    cache(true, true).getOrRender(SOURCE_KEY, "", () -> Optional.of(SOURCE), renderer);
+    cache(true, true).getOrRender(SOURCE_KEY, "", () -> Optional.of(SOURCE), renderer);
+
+    assertThat(persistedKeys).hasSize(2).doesNotHaveDuplicates();
+    assertThat(persistedKeys).allMatch(key -> key.startsWith("html-cache/caselaw/" + SOURCE_KEY));
+  }
+
+  @Test
+  void itDoesNotPersistHtmlOfMissingSources() {
+    when(caseLawBucket.getAllKeyInfosByPrefix(SOURCE_KEY)).thenReturn(List.of());
+    RenderedHtmlCache cache = cache(true, true);
+
+    Optional<RenderedHtml> html = cache.getOrRender(SOURCE_KEY, "", Optional::empty, renderer);
+
+    assertThat(html).isEmpty();
+    verify(portalBucket, never()).getFileAsString(anyString());
+    verify(portalBucket, never()).save(anyString(), anyString());
+  }
+}
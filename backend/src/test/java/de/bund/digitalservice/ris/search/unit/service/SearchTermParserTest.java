@@ -0,0 +1,65 @@
+package de.bund.digitalservice.ris.search.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import de.bund.digitalservice.ris.search.models.ParsedSearchTerm;
+import de.bund.digitalservice.ris.search.service.SearchTermParser;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.client.IndicesClient;
+import org.opensearch.client.RequestOptions;
+import org.opensearch.client.RestHighLevelClient;
+import org.opensearch.client.indices.AnalyzeRequest;
+import org.opensearch.client.indices.AnalyzeResponse;
+import org.opensearch.data.client.orhlc.AbstractOpenSearchConfiguration;
+
+class SearchTermParserTest {
+
+  private RestHighLevelClient client;
+  private AbstractOpenSearchConfiguration configuration;
+
+  @BeforeEach
+  void setUp() {
+    client = mock(RestHighLevelClient.class);
+    configuration = mock(AbstractOpenSearchConfiguration.class);
+    when(configuration.opensearchClient()).thenReturn(client);
+  }
+
+  @Test
+  void itTokenizesWithoutCallingOpenSearch() {
+    SearchTermParser parser = new SearchTermParser(configuration, true, 100);
+
+    ParsedSearchTerm result = parser.parse("hello \"quoted world\" space");
+
+    assertThat(result.unquotedTokens()).containsExactly("hello", "spac");
+    assertThat(result.quotedSearchPhrases()).containsExactly("quoted world");
+    verifyNoInteractions(client);
+  }
+
+  @Test
+  void itCallsTheAnalyzeApiOncePerTerm() throws IOException {
+    IndicesClient indices = mock(IndicesClient.class);
+    AnalyzeResponse response = mock(AnalyzeResponse.class);
+    AnalyzeResponse.AnalyzeToken token = mock(AnalyzeResponse.AnalyzeToken.class);
+    when(client.indices()).thenReturn(indices);
+    when(indices.analyze(any(AnalyzeRequest.class), any(RequestOptions.class)))
+        .thenReturn(response);
+    when(response.getTokens()).thenReturn(List.of(token));
+    when(token.getTerm()).thenReturn("hello");
+    SearchTermParser parser = new SearchTermParser(configuration, false, 100);
+
+    parser.parse("Hello");
+    ParsedSearchTerm result = parser.parse("Hello");
+
+    assertThat(result.unquotedTokens()).containsExactly("hello");
+    verify(indices, times(1)).analyze(any(AnalyzeRequest.class), any(RequestOptions.class));
+  }
+}
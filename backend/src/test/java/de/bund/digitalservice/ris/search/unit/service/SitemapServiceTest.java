@@ -2,24 +2,32 @@ package de.bund.digitalservice.ris.search.unit.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import de.bund.digitalservice.ris.SharedTestConstants;
+import de.bund.digitalservice.ris.search.exception.NoSuchKeyException;
 import de.bund.digitalservice.ris.search.models.DocumentKind;
+import de.bund.digitalservice.ris.search.models.sitemap.SitemapPage;
 import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
 import de.bund.digitalservice.ris.search.repository.objectstorage.PortalBucket;
 import de.bund.digitalservice.ris.search.service.SitemapService;
 import de.bund.digitalservice.ris.search.utils.eli.EliFile;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -54,16 +62,16 @@ class SitemapServiceTest {
   }
 
   @Test
-  void testCreateCaseLawBatchSitemap() {
+  void testCreateCaseLawBatchSitemap() throws IOException {
     sitemapService.createBatchSitemap(
         1, List.of("caselaw/KORE12315.xml"), DocumentKind.CASE_LAW, "case-law");
-    verify(portalBucket).save(eq("sitemaps/case-law/1.xml"), anyString());
+    verify(portalBucket).putStream(eq("sitemaps/case-law/1.xml"), any());
   }
 
   @Test
-  void testCreateCaseLawIndexSitemap() {
+  void testCreateCaseLawIndexSitemap() throws IOException {
     sitemapService.createIndexSitemap(2, DocumentKind.CASE_LAW);
-    verify(portalBucket).save(eq("sitemaps/case-law/index.xml"), anyString());
+    verify(portalBucket).putStream(eq("sitemaps/case-law/index.xml"), any());
   }
 
   @Test
@@ -73,16 +81,16 @@ class SitemapServiceTest {
   }
 
   @Test
-  void testCreateLiteratureBatchSitemap() {
+  void testCreateLiteratureBatchSitemap() throws IOException {
     sitemapService.createBatchSitemap(
         1, List.of("literature/XXLU000001.xml"), DocumentKind.LITERATURE, "literature");
-    verify(portalBucket).save(eq("sitemaps/literature/1.xml"), anyString());
+    verify(portalBucket).putStream(eq("sitemaps/literature/1.xml"), any());
   }
 
   @Test
-  void testCreateLiteratureIndexSitemap() {
+  void testCreateLiteratureIndexSitemap() throws IOException {
     sitemapService.createIndexSitemap(2, DocumentKind.LITERATURE);
-    verify(portalBucket).save(eq("sitemaps/literature/index.xml"), anyString());
+    verify(portalBucket).putStream(eq("sitemaps/literature/index.xml"), any());
   }
 
   @Test
@@ -107,15 +115,15 @@ class SitemapServiceTest {
   }
 
   @Test
-  void testCreateNormsBatchSitemap() {
+  void testCreateNormsBatchSitemap() throws IOException {
     sitemapService.createBatchSitemap(1, List.of(""), DocumentKind.LEGISLATION, "norms");
-    verify(portalBucket).save(eq("sitemaps/norms/1.xml"), anyString());
+    verify(portalBucket).putStream(eq("sitemaps/norms/1.xml"), any());
   }
 
   @Test
-  void testCreateNormsIndexSitemap() {
+  void testCreateNormsIndexSitemap() throws IOException {
     sitemapService.createIndexSitemap(2, DocumentKind.LEGISLATION);
-    verify(portalBucket).save(eq("sitemaps/norms/index.xml"), anyString());
+    verify(portalBucket).putStream(eq("sitemaps/norms/index.xml"), any());
   }
 
   @Test
@@ -135,4 +143,79 @@ class SitemapServiceTest {
     verify(portalBucket, never()).delete(newFile.key());
     verify(portalBucket, never()).delete(nowFile.key());
   }
+
+  @Test
+  void testGenerateIndexXmlWithLastModified() throws IOException {
+    ArgumentCaptor<InputStream> content = ArgumentCaptor.forClass(InputStream.class);
+
+    sitemapService.createIndexSitemap(
+        List.of(LocalDate.of(2025, 1, 2), LocalDate.of(2025, 3, 4)), DocumentKind.CASE_LAW);
+
+    verify(portalBucket).putStream(eq("sitemaps/case-law/index.xml"), content.capture());
+    String indexXml = new String(content.getValue().readAllBytes(), StandardCharsets.UTF_8);
+    assertTrue(
+        indexXml.contains(
+            "<url><loc>https://test.local/v1/sitemaps/case-law/2.xml</loc>"
+                + "<lastmod>2025-03-04</lastmod></url>"));
+  }
+
+  @Test
+  void testGenerateSitemapEscapesIds() {
+    String sitemap = sitemapService.generateSitemap(List.of("a&b"), "case-law");
+    assertTrue(sitemap.contains("<loc>https://test.local/case-law/a&amp;b</loc>"));
+    assertTrue(
+        sitemap.contains("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">"));
+  }
+
+  @Test
+  void testSavedPagesCanBeRead() throws Exception {
+    List<SitemapPage> pages =
+        List.of(
+            new SitemapPage(LocalDate.of(2025, 1, 2), List.of("KORE1", "KORE2")),
+            new SitemapPage(LocalDate.of(2025, 3, 4), List.of()),
+            new SitemapPage(LocalDate.of(2025, 5, 6), List.of("KORE3")));
+    ArgumentCaptor<InputStream> content = ArgumentCaptor.forClass(InputStream.class);
+
+    sitemapService.savePages(pages, DocumentKind.CASE_LAW);
+
+    verify(portalBucket).putStream(eq("sitemap-pages/case-law.txt.gz"), content.capture());
+    when(portalBucket.getStream("sitemap-pages/case-law.txt.gz"))
+        .thenReturn(new BufferedInputStream(content.getValue()));
+    assertEquals(Optional.of(pages), sitemapService.readPages(DocumentKind.CASE_LAW));
+  }
+
+  @Test
+  void testMissingPagesAreEmpty() throws Exception {
+    when(portalBucket.getStream("sitemap-pages/norms.txt.gz"))
+        .thenThrow(new NoSuchKeyException("sitemap-pages/norms.txt.gz", null));
+
+    assertEquals(Optional.empty(), sitemapService.readPages(DocumentKind.LEGISLATION));
+  }
+
+  @Test
+  void testDeletePages() {
+    sitemapService.deletePages(DocumentKind.CASE_LAW);
+
+    verify(portalBucket).delete("sitemap-pages/case-law.txt.gz");
+  }
+
+  @Test
+  void testDeleteBatchSitemapsAfter() {
+    when(portalBucket.getAllKeysByPrefix("sitemaps/norms/"))
+        .thenReturn(
+            List.of(
+                "sitemaps/norms/1.xml",
+                "sitemaps/norms/2.xml",
+                "sitemaps/norms/3.xml",
+                "sitemaps/norms/10.xml",
+                "sitemaps/norms/index.xml"));
+
+    sitemapService.deleteBatchSitemapsAfter(2, DocumentKind.LEGISLATION);
+
+    verify(portalBucket).delete("sitemaps/norms/3.xml");
+    verify(portalBucket).delete("sitemaps/norms/10.xml");
+    verify(portalBucket, never()).delete("sitemaps/norms/1.xml");
+    verify(portalBucket, never()).delete("sitemaps/norms/2.xml");
+    verify(portalBucket, never()).delete("sitemaps/norms/index.xml");
+  }
 }
@@ -1,28 +1,38 @@
 package de.bund.digitalservice.ris.search.unit.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import de.bund.digitalservice.ris.search.exception.ObjectStoreServiceException;
 import de.bund.digitalservice.ris.search.models.DocumentKind;
+import de.bund.digitalservice.ris.search.models.sitemap.SitemapPage;
 import de.bund.digitalservice.ris.search.repository.objectstorage.AdministrativeDirectiveBucket;
 import de.bund.digitalservice.ris.search.repository.objectstorage.CaseLawBucket;
 import de.bund.digitalservice.ris.search.repository.objectstorage.LiteratureBucket;
 import de.bund.digitalservice.ris.search.repository.objectstorage.NormsBucket;
+import de.bund.digitalservice.ris.search.service.BucketManifest;
+import de.bund.digitalservice.ris.search.service.Job;
 import de.bund.digitalservice.ris.search.service.SitemapService;
 import de.bund.digitalservice.ris.search.service.SitemapsUpdateJob;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.system.OutputCaptureExtension;
@@ -32,16 +42,25 @@ import org.springframework.test.util.ReflectionTestUtils;
 @ExtendWith(OutputCaptureExtension.class)
 class SitemapsUpdateJobTest {
 
-  @Mock AdministrativeDirectiveBucket administrativeDirectiveBucket;
-  @Mock CaseLawBucket caseLawBucket;
-  @Mock LiteratureBucket literatureBucket;
-  @Mock NormsBucket normsBucket;
+  @Mock BucketManifest<AdministrativeDirectiveBucket> administrativeDirectiveManifest;
+  @Mock BucketManifest<CaseLawBucket> caseLawManifest;
+  @Mock BucketManifest<LiteratureBucket> literatureManifest;
+  @Mock BucketManifest<NormsBucket> normsManifest;
   @Mock SitemapService sitemapService;
 
-  @InjectMocks SitemapsUpdateJob sitemapsUpdateJob;
+  private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+
+  SitemapsUpdateJob sitemapsUpdateJob;
 
   @BeforeEach
   void setup() {
+    sitemapsUpdateJob =
+        new SitemapsUpdateJob(
+            administrativeDirectiveManifest,
+            caseLawManifest,
+            literatureManifest,
+            normsManifest,
+            sitemapService);
     ReflectionTestUtils.setField(sitemapsUpdateJob, "urlsPerPage", 1);
   }
 
@@ -62,10 +81,11 @@ class SitemapsUpdateJobTest {
               + "/1992-01-01/1/deu/1992-01-02/regelungstext-verkuendung-1.xml");
     }
 
-    when(administrativeDirectiveBucket.getAllKeys()).thenReturn(administrativeDirective);
-    when(caseLawBucket.getAllKeys()).thenReturn(caseLawKeys);
-    when(literatureBucket.getAllKeys()).thenReturn(literatureKeys);
-    when(normsBucket.getAllKeys()).thenReturn(normsKeys);
+    when(administrativeDirectiveManifest.streamAllKeys())
+        .thenReturn(administrativeDirective.stream());
+    when(caseLawManifest.streamAllKeys()).thenReturn(caseLawKeys.stream());
+    when(literatureManifest.streamAllKeys()).thenReturn(literatureKeys.stream());
+    when(normsManifest.streamAllKeys()).thenReturn(normsKeys.stream());
 
     sitemapsUpdateJob.runJob();
 
@@ -109,10 +129,10 @@ class SitemapsUpdateJobTest {
             "eli/bund/bgbl-1/1992/s101/1992-01-01/1/deu/1992-01-02/NOT_VALID/regelungstext-1.xml",
             "eli/bund/bgbl-1/1992/s101/1992-01-01/1/deu/1992-01-02/NOT_VALID/something-else.xml");
 
-    when(administrativeDirectiveBucket.getAllKeys()).thenReturn(vvKeys);
-    when(caseLawBucket.getAllKeys()).thenReturn(caselawKeys);
-    when(literatureBucket.getAllKeys()).thenReturn(literatureKeys);
-    when(normsBucket.getAllKeys()).thenReturn(normsKeys);
+    when(administrativeDirectiveManifest.streamAllKeys()).thenReturn(vvKeys.stream());
+    when(caseLawManifest.streamAllKeys()).thenReturn(caselawKeys.stream());
+    when(literatureManifest.streamAllKeys()).thenReturn(literatureKeys.stream());
+    when(normsManifest.streamAllKeys()).thenReturn(normsKeys.stream());
 
     sitemapsUpdateJob.runJob();
 
@@ -128,14 +148,15 @@ class SitemapsUpdateJobTest {
             "eli/bund/bgbl-1/1992/s101/1992-01-01/1/deu/1992-01-02/regelungstext-2.xml",
             "eli/bund/bgbl-1/1992/s101/1992-01-01/1/deu/1992-01-02/anlage-regelungstext-1.xml");
 
-    when(normsBucket.getAllKeys()).thenReturn(normsKeys);
+    when(normsManifest.streamAllKeys()).thenReturn(normsKeys.stream());
 
-    sitemapsUpdateJob.createSitemaps(normsBucket, DocumentKind.LEGISLATION);
+    sitemapsUpdateJob.createSitemaps(normsManifest, DocumentKind.LEGISLATION);
 
     verify(sitemapService, times(1)).createBatchSitemap(anyInt(), anyList(), any(), anyString());
     verify(sitemapService, times(1))
         .createBatchSitemap(anyInt(), anyList(), eq(DocumentKind.LEGISLATION), anyString());
     verify(sitemapService, times(1)).createIndexSitemap(1, DocumentKind.LEGISLATION);
+    verify(sitemapService).deletePages(DocumentKind.LEGISLATION);
   }
 
   @Test
@@ -145,9 +166,9 @@ class SitemapsUpdateJobTest {
             "eli/bund/bgbl-1/1992/s101/1992-01-01/1/deu/1992-01-02/regelungstext-verkuendung-1.xml",
             "eli/bund/bgbl-1/1992/s101/1992-01-01/1/deu/1992-03-10/regelungstext-verkuendung-1.xml");
 
-    when(normsBucket.getAllKeys()).thenReturn(normsKeys);
+    when(normsManifest.streamAllKeys()).thenReturn(normsKeys.stream());
 
-    sitemapsUpdateJob.createSitemaps(normsBucket, DocumentKind.LEGISLATION);
+    sitemapsUpdateJob.createSitemaps(normsManifest, DocumentKind.LEGISLATION);
 
     verify(sitemapService, times(1)).createBatchSitemap(anyInt(), anyList(), any(), anyString());
     verify(sitemapService, times(1))
@@ -155,4 +176,120 @@ class SitemapsUpdateJobTest {
     verify(sitemapService, times(1)).createIndexSitemap(anyInt(), any());
     verify(sitemapService, times(1)).createIndexSitemap(1, DocumentKind.LEGISLATION);
   }
+
+  @Test
+  void incrementalUpdateWritesAllSitemapsWithoutSavedPages() {
+    ReflectionTestUtils.setField(sitemapsUpdateJob, "incremental", true);
+    ReflectionTestUtils.setField(sitemapsUpdateJob, "urlsPerPage", 2);
+    when(caseLawManifest.streamAllKeys())
+        .thenReturn(caseLawKeys("KORE1", "KORE2", "KORE3", "KORE3"));
+    when(sitemapService.readPages(DocumentKind.CASE_LAW)).thenReturn(Optional.empty());
+
+    sitemapsUpdateJob.createSitemaps(caseLawManifest, DocumentKind.CASE_LAW);
+
+    verify(sitemapService)
+        .createBatchSitemap(1, List.of("KORE1", "KORE2"), DocumentKind.CASE_LAW, "case-law");
+    verify(sitemapService)
+        .createBatchSitemap(2, List.of("KORE3"), DocumentKind.CASE_LAW, "case-law");
+    verify(sitemapService).createIndexSitemap(List.of(TODAY, TODAY), DocumentKind.CASE_LAW);
+    verify(sitemapService).deleteBatchSitemapsAfter(2, DocumentKind.CASE_LAW);
+    verify(sitemapService)
+        .savePages(
+            List.of(
+                new SitemapPage(TODAY, List.of("KORE1", "KORE2")),
+                new SitemapPage(TODAY, List.of("KORE3"))),
+            DocumentKind.CASE_LAW);
+    verify(sitemapService, never()).deletePages(any());
+  }
+
+  @Test
+  void incrementalUpdateOnlyWritesSitemapsWithAddedOrRemovedIds() {
+    ReflectionTestUtils.setField(sitemapsUpdateJob, "incremental", true);
+    ReflectionTestUtils.setField(sitemapsUpdateJob, "urlsPerPage", 2);
+    LocalDate lastRun = LocalDate.of(2025, 1, 1);
+    when(caseLawManifest.streamAllKeys())
+        .thenReturn(caseLawKeys("KORE1", "KORE2", "KORE4", "KORE5", "KORE6", "KORE7"));
+    when(sitemapService.readPages(DocumentKind.CASE_LAW))
+        .thenReturn(
+            Optional.of(
+                List.of(
+                    new SitemapPage(lastRun, List.of("KORE1", "KORE2")),
+                    new SitemapPage(lastRun, List.of("KORE3", "KORE4")),
+                    new SitemapPage(lastRun, List.of("KORE5", "KORE6")))));
+
+    sitemapsUpdateJob.createSitemaps(caseLawManifest, DocumentKind.CASE_LAW);
+
+    verify(sitemapService, times(1)).createBatchSitemap(anyInt(), anyList(), any(), anyString());
+    verify(sitemapService)
+        .createBatchSitemap(2, List.of("KORE4", "KORE7"), DocumentKind.CASE_LAW, "case-law");
+    verify(sitemapService)
+        .createIndexSitemap(List.of(lastRun, TODAY, lastRun), DocumentKind.CASE_LAW);
+    verify(sitemapService, never()).deleteBatchSitemapsAfter(anyInt(), any());
+    verify(sitemapService)
+        .savePages(
+            List.of(
+                new SitemapPage(lastRun, List.of("KORE1", "KORE2")),
+                new SitemapPage(TODAY, List.of("KORE4", "KORE7")),
+                new SitemapPage(lastRun, List.of("KORE5", "KORE6"))),
+            DocumentKind.CASE_LAW);
+  }
+
+  @Test
+  void incrementalUpdateRemovesEmptySitemapsAtTheEnd() {
+    ReflectionTestUtils.setField(sitemapsUpdateJob, "incremental", true);
+    ReflectionTestUtils.setField(sitemapsUpdateJob, "urlsPerPage", 2);
+    LocalDate lastRun = LocalDate.of(2025, 1, 1);
+    when(caseLawManifest.streamAllKeys()).thenReturn(caseLawKeys("KORE1"));
+    when(sitemapService.readPages(DocumentKind.CASE_LAW))
+        .thenReturn(
+            Optional.of(
+                List.of(
+                    new SitemapPage(lastRun, List.of("KORE1")),
+                    new SitemapPage(lastRun, List.of("KORE2")))));
+
+    sitemapsUpdateJob.createSitemaps(caseLawManifest, DocumentKind.CASE_LAW);
+
+    verify(sitemapService, never()).createBatchSitemap(anyInt(), anyList(), any(), anyString());
+    verify(sitemapService).createIndexSitemap(List.of(lastRun), DocumentKind.CASE_LAW);
+    verify(sitemapService).deleteBatchSitemapsAfter(1, DocumentKind.CASE_LAW);
+  }
+
+  @Test
+  void incrementalRunWithoutChangesWritesNothing() {
+    ReflectionTestUtils.setField(sitemapsUpdateJob, "incremental", true);
+    List<SitemapPage> pages = List.of(new SitemapPage(LocalDate.of(2025, 1, 1), List.of("KORE1")));
+    when(administrativeDirectiveManifest.streamAllKeys()).thenReturn(Stream.empty());
+    when(caseLawManifest.streamAllKeys()).thenReturn(caseLawKeys("KORE1"));
+    when(literatureManifest.streamAllKeys()).thenReturn(Stream.empty());
+    when(normsManifest.streamAllKeys()).thenReturn(Stream.empty());
+    when(sitemapService.readPages(any())).thenReturn(Optional.of(List.of()));
+    when(sitemapService.readPages(DocumentKind.CASE_LAW)).thenReturn(Optional.of(pages));
+
+    assertThat(sitemapsUpdateJob.runJob()).isEqualTo(Job.ReturnCode.SUCCESS);
+
+    verify(sitemapService, never()).createBatchSitemap(anyInt(), anyList(), any(), anyString());
+    verify(sitemapService, never()).createIndexSitemap(anyList(), any());
+    verify(sitemapService, never()).savePages(anyList(), any());
+    verify(sitemapService, never()).deleteSitemapFiles(any(Instant.class));
+  }
+
+  @Test
+  void failingDocumentKindDoesNotStopTheOthers() {
+    when(administrativeDirectiveManifest.streamAllKeys()).thenReturn(Stream.empty());
+    when(caseLawManifest.streamAllKeys()).thenReturn(caseLawKeys("KORE1"));
+    when(literatureManifest.streamAllKeys()).thenReturn(Stream.empty());
+    when(normsManifest.streamAllKeys()).thenThrow(new ObjectStoreServiceException("failed"));
+
+    assertThat(sitemapsUpdateJob.runJob()).isEqualTo(Job.ReturnCode.ERROR);
+
+    verify(sitemapService)
+        .createBatchSitemap(1, List.of("KORE1"), DocumentKind.CASE_LAW, "case-law");
+    verify(sitemapService).createIndexSitemap(1, DocumentKind.CASE_LAW);
+    verify(sitemapService, never()).createIndexSitemap(anyInt(), eq(DocumentKind.LEGISLATION));
+    verify(sitemapService, never()).deleteSitemapFiles(any(Instant.class));
+  }
+
+  private static Stream<String> caseLawKeys(String... documentNumbers) {
+    return Arrays.stream(documentNumbers).map(number -> "case-law/" + number + ".xml");
+  }
 }
@@ -4,11 +4,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import de.bund.digitalservice.ris.search.exception.OpenSearchFetchException;
+import de.bund.digitalservice.ris.search.service.AggregationCaches;
 import de.bund.digitalservice.ris.search.service.StatisticsService;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Map;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.io.entity.StringEntity;
@@ -24,6 +28,8 @@ class StatisticsServiceTest {
   private RestHighLevelClient client;
   private RestClient lowLevelClient;
   private StatisticsService statisticsService;
+  private final AggregationCaches aggregationCaches =
+      new AggregationCaches(true, Duration.ofHours(1), 100, Runnable::run);
 
   @BeforeEach
   void setUp() {
@@ -38,7 +44,12 @@ class StatisticsServiceTest {
 
     statisticsService =
         new StatisticsService(
-            client, normsIndex, literatureIndex, caselawsIndex, administrativeDirectiveIndex);
+            client,
+            normsIndex,
+            literatureIndex,
+            caselawsIndex,
+            administrativeDirectiveIndex,
+            aggregationCaches);
   }
 
   @Test
@@ -86,6 +97,24 @@ class StatisticsServiceTest {
     assertEquals("Failed to fetch count for index norms", ex.getMessage());
   }
 
+  @Test
+  void testGetAllCountsIsServedFromTheCacheUntilRefreshed() throws Exception {
+    when(lowLevelClient.performRequest(any(Request.class)))
+        .thenReturn(mockResponse("[{\"alias\":\"norms\"}]"))
+        .thenReturn(mockResponse("{\"count\":123}"))
+        .thenReturn(mockResponse("[{\"alias\":\"norms\"}]"))
+        .thenReturn(mockResponse("{\"count\":124}"));
+
+    assertEquals(Map.of("norms", 123L), statisticsService.getAllCounts());
+    assertEquals(Map.of("norms", 123L), statisticsService.getAllCounts());
+    verify(lowLevelClient, times(2)).performRequest(any(Request.class));
+
+    aggregationCaches.refreshAll();
+
+    assertEquals(Map.of("norms", 124L), statisticsService.getAllCounts());
+    verify(lowLevelClient, times(4)).performRequest(any(Request.class));
+  }
+
   private Response mockResponse(String json) {
     Response response = mock(Response.class);
     when(response.getEntity()).thenReturn(new StringEntity(json, ContentType.APPLICATION_JSON));
@@ -0,0 +1,173 @@
+package de.bund.digitalservice.ris.search.unit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.bund.digitalservice.ris.search.exception.NoSuchKeyException;
+import de.bund.digitalservice.ris.search.importer.changelog.Changelog;
+import de.bund.digitalservice.ris.search.repository.objectstorage.ObjectKeyInfo;
+import de.bund.digitalservice.ris.search.repository.objectstorage.PortalBucket;
+import de.bund.digitalservice.ris.search.service.ZipArchiveCache;
+import de.bund.digitalservice.ris.search.service.ZipArchiveCache.ArchiveWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ZipArchiveCacheTest {
+
+  private static final String PREFIX = "eli/bund/bgbl-1/2020/s1/2020-06-19/1/deu/2020-06-19";
+  private static final List<String> KEYS =
+      List.of(PREFIX + "/regelungstext-1.xml", PREFIX + "/anlage-regelungstext-1.xml");
+  private static final Instant MODIFIED = Instant.parse("2020-06-19T10:00:00Z");
+  private static final List<ObjectKeyInfo> FILES =
+      KEYS.stream().map(key -> new ObjectKeyInfo(key, MODIFIED)).toList();
+
+  @Mock PortalBucket portalBucket;
+
+  private final AtomicInteger builds = new AtomicInteger();
+  private final ArchiveWriter writer =
+      (keys, outputStream) -> {
+        builds.incrementAndGet();
+        outputStream.write(String.join(",", keys).getBytes(StandardCharsets.UTF_8));
+      };
+
+  private ZipArchiveCache cache(boolean enabled, int maxBytes) {
+    return new ZipArchiveCache("norms", portalBucket, enabled, maxBytes);
+  }
+
+  @Test
+  void itBuildsEveryArchiveWhenDisabled() throws IOException, NoSuchKeyException {
+    ZipArchiveCache cache = cache(false, 1000);
+
+    assertThat(write(cache)).isEqualTo(String.join(",", KEYS));
+    write(cache);
+
+    assertThat(builds).hasValue(2);
+    verify(portalBucket, never()).getStream(anyString());
+    verify(portalBucket, never()).putStream(anyString(), any());
+  }
+
+  @Test
+  void itStoresTheArchiveWhileWritingIt() throws IOException, NoSuchKeyException {
+    ZipArchiveCache cache = cache(true, 1000);
+    when(portalBucket.getStream(anyString())).thenThrow(new NoSuchKeyException("missing", null));
+    AtomicReference<String> storedKey = new AtomicReference<>();
+    AtomicReference<String> stored = new AtomicReference<>();
+    when(portalBucket.putStream(anyString(), any()))
+        .thenAnswer(
+            invocation -> {
+              storedKey.set(invocation.getArgument(0));
+              InputStream content = invocation.getArgument(1);
+              stored.set(new String(content.readAllBytes(), StandardCharsets.UTF_8));
+              return 0L;
+            });
+
+    assertThat(write(cache)).isEqualTo(String.join(",", KEYS));
+
+    assertThat(storedKey.get()).matches("zip-cache/norms/" + PREFIX + "/[0-9a-f]{32}\\.zip");
+    assertThat(stored.get()).isEqualTo(String.join(",", KEYS));
+  }
+
+  @Test
+  void itServesTheStoredArchive() throws IOException, NoSuchKeyException {
+    ZipArchiveCache cache = cache(true, 1000);
+    when(portalBucket.getStream(anyString()))
+        .thenReturn(
+            new DataInputStream(
+                new ByteArrayInputStream("stored".getBytes(StandardCharsets.UTF_8))));
+
+    assertThat(write(cache)).isEqualTo("stored");
+
+    assertThat(builds).hasValue(0);
+    verify(portalBucket, never()).putStream(anyString(), any());
+  }
+
+  @Test
+  void itDoesNotStoreLargeArchives() throws IOException, NoSuchKeyException {
+    ZipArchiveCache cache = cache(true, 10);
+    when(portalBucket.getStream(anyString())).thenThrow(new NoSuchKeyException("missing", null));
+
+    assertThat(write(cache)).isEqualTo(String.join(",", KEYS));
+
+    verify(portalBucket, never()).putStream(anyString(), any());
+  }
+
+  @Test
+  void itKeysTheArchiveByTheVersionsOfItsFiles() throws IOException, NoSuchKeyException {
+    ZipArchiveCache cache = cache(true, 1000);
+    when(portalBucket.getStream(anyString())).thenThrow(new NoSuchKeyException("missing", null));
+    List<String> storedKeys = new ArrayList<>();
+    when(portalBucket.putStream(anyString(), any()))
+        .thenAnswer(
+            invocation -> {
+              storedKeys.add(invocation.getArgument(0));
+              return 0L;
+            });
+    List<ObjectKeyInfo> changedFiles =
+        List.of(FILES.getFirst(), new ObjectKeyInfo(KEYS.get(1), MODIFIED.plusSeconds(1)));
+
+    cache.writeArchive(PREFIX, FILES, new ByteArrayOutputStream(), writer);
+    cache.writeArchive(PREFIX, FILES, new ByteArrayOutputStream(), writer);
+    cache.writeArchive(PREFIX, changedFiles, new ByteArrayOutputStream(), writer);
+
+    assertThat(storedKeys).hasSize(3);
+    assertThat(storedKeys.get(1)).isEqualTo(storedKeys.get(0));
+    assertThat(storedKeys.get(2)).isNotEqualTo(storedKeys.get(0));
+  }
+
+  @Test
+  void itRemovesTheArchivesOfTouchedPrefixes() {
+    ZipArchiveCache cache = cache(true, 1000);
+    String touched = "zip-cache/norms/" + PREFIX + "/0123.zip";
+    String untouched = "zip-cache/norms/eli/bund/bgbl-1/2021/s2/2021-01-01/1/deu/2021-01-01/4.zip";
+    when(portalBucket.streamKeysByPrefix("zip-cache/norms/"))
+        .thenReturn(Stream.of(touched, untouched));
+    Changelog changelog = new Changelog();
+    changelog.setChanged(new HashSet<>(Set.of(PREFIX + "/regelungstext-1.xml")));
+
+    cache.invalidate(changelog);
+
+    verify(portalBucket).delete(touched);
+    verify(portalBucket, never()).delete(untouched);
+  }
+
+  @Test
+  void itRemovesAllArchivesOnChangeAll() {
+    ZipArchiveCache cache = cache(true, 1000);
+    when(portalBucket.streamKeysByPrefix("zip-cache/norms/"))
+        .thenReturn(Stream.of("zip-cache/norms/a/1.zip", "zip-cache/norms/b/2.zip"));
+    Changelog changelog = new Changelog();
+    changelog.setChangeAll(true);
+
+    cache.invalidate(changelog);
+
+    verify(portalBucket).delete("zip-cache/norms/a/1.zip");
+    verify(portalBucket).delete("zip-cache/norms/b/2.zip");
+  }
+
+  private String write(ZipArchiveCache cache) throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    cache.writeArchive(PREFIX, FILES, outputStream, writer);
+    return outputStream.toString(StandardCharsets.UTF_8);
+  }
+}
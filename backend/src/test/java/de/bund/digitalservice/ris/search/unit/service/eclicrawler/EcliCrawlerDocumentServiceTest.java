@@ -17,19 +17,24 @@ import de.bund.digitalservice.ris.search.models.eclicrawler.ecli.Metadata;
 import de.bund.digitalservice.ris.search.models.eclicrawler.sitemap.Sitemap;
 import de.bund.digitalservice.ris.search.models.eclicrawler.sitemap.Url;
 import de.bund.digitalservice.ris.search.models.eclicrawler.sitemapindex.Sitemapindex;
-import de.bund.digitalservice.ris.search.models.opensearch.CaseLawDocumentationUnit;
 import de.bund.digitalservice.ris.search.models.opensearch.EcliCrawlerDocument;
 import de.bund.digitalservice.ris.search.repository.objectstorage.CaseLawBucket;
+import de.bund.digitalservice.ris.search.repository.objectstorage.StorageObject;
 import de.bund.digitalservice.ris.search.repository.opensearch.EcliCrawlerDocumentRepository;
 import de.bund.digitalservice.ris.search.service.CaseLawIndexSyncJob;
-import de.bund.digitalservice.ris.search.service.CaseLawService;
 import de.bund.digitalservice.ris.search.service.eclicrawler.EcliCrawlerDocumentService;
 import de.bund.digitalservice.ris.search.service.eclicrawler.EcliSitemapWriter;
+import de.bund.digitalservice.ris.search.utils.CaseLawLdmlTemplateUtils;
 import jakarta.xml.bind.JAXBException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.apache.commons.collections4.IteratorUtils;
@@ -46,7 +51,6 @@ class EcliCrawlerDocumentServiceTest {
   @Mock EcliCrawlerDocumentRepository repository;
   @Mock CaseLawIndexSyncJob syncJob;
   @Mock CaseLawBucket caseLawBucket;
-  @Mock CaseLawService caselawService;
   @Mock EcliSitemapWriter sitemapWriter;
 
   EcliCrawlerDocumentService documentService;
@@ -57,16 +61,27 @@ class EcliCrawlerDocumentServiceTest {
   void setup() {
     documentService =
         new EcliCrawlerDocumentService(
-            caseLawBucket, repository, caselawService, sitemapWriter, frontendUrl);
+            caseLawBucket, repository, sitemapWriter, frontendUrl);
   }
 
-  private CaseLawDocumentationUnit getTestDocUnit(String docNumber) {
-    return CaseLawDocumentationUnit.builder()
-        .documentNumber(docNumber)
-        .ecli("ECLI:DE:XX:2025:1111111")
-        .courtType("BGH")
-        .decisionDate(LocalDate.of(2025, Month.JANUARY, 1))
-        .build();
+  private StorageObject getTestLdml(String key, String docNumber) {
+    try {
+      String xml =
+          new CaseLawLdmlTemplateUtils()
+              .getXmlFromTemplate(
+                  Map.of(
+                      "documentNumber",
+                      docNumber,
+                      "ecli",
+                      "ECLI:DE:XX:2025:1111111",
+                      "courtType",
+                      "BGH",
+                      "decisionDate",
+                      "2025-01-01"));
+      return new StorageObject(key, Optional.of(xml.getBytes(StandardCharsets.UTF_8)));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
   private EcliCrawlerDocument getTestDocument(String ecli, String docNumber, boolean isPublished) {
@@ -87,14 +102,15 @@ class EcliCrawlerDocumentServiceTest {
     List<String> filenames =
         IntStream.range(0, 11000).mapToObj(i -> "file_" + i + "/file_" + i + ".xml").toList();
 
-    when(caseLawBucket.getAllKeys()).thenReturn(filenames);
+    when(caseLawBucket.streamAllKeys()).thenReturn(filenames.stream());
 
-    // Dynamically map any incoming list of keys to mock units
-    when(caselawService.getFromBucket(anyList()))
+    // Dynamically map any incoming list of keys to case law files
+    StorageObject ldml = getTestLdml("docNumber/docNumber.xml", "docNumber");
+    when(caseLawBucket.getObjects(anyList()))
         .thenAnswer(
             invocation -> {
               List<String> keys = invocation.getArgument(0);
-              return keys.stream().map(_ -> getTestDocUnit("docNumber")).toList();
+              return keys.stream().map(_ -> ldml).toList();
             });
 
     when(sitemapWriter.writeUrlsToSitemap(eq(day), any(), eq(1)))
@@ -138,8 +154,8 @@ class EcliCrawlerDocumentServiceTest {
     var expectedCretedDocument = getTestDocument("ECLI:DE:XX:2025:1111111", "createdDoc", true);
     var expectedDeletedDocument = getTestDocument("ECLI:DE:XX:2025:1111112", "deletedDoc", false);
 
-    when(caselawService.getFromBucket(List.of(createdFilename)))
-        .thenReturn(List.of(getTestDocUnit("createdDoc")));
+    when(caseLawBucket.getObjects(List.of(createdFilename)))
+        .thenReturn(List.of(getTestLdml(createdFilename, "createdDoc")));
     when(repository.findByFilename(List.of(deletedFilename)))
         .thenReturn(Stream.of(expectedDeletedDocument));
 
@@ -12,6 +12,7 @@ import java.io.DataInputStream;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -82,4 +83,44 @@ class ZipManagerTest {
           zipInputStream.getNextEntry(), "Zip file should not contain additional entries.");
     }
   }
+
+  @Test
+  @DisplayName("Writes the entries in the order of the keys while downloading them concurrently")
+  void writesEntriesInKeyOrder() throws IOException, NoSuchKeyException {
+    List<String> keys = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      String key = "bar/baz/file-%02d.xml".formatted(i);
+      keys.add(key);
+      when(bucketMock.getStream(key)).thenReturn(createFilterInputStream("content " + i));
+    }
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ZipManager.writeZipArchive(bucketMock, keys, outputStream);
+
+    try (ZipInputStream zipInputStream =
+        new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+      for (int i = 0; i < keys.size(); i++) {
+        assertZipEntry(zipInputStream.getNextEntry(), zipInputStream, keys.get(i), "content " + i);
+      }
+      Assertions.assertNull(zipInputStream.getNextEntry());
+    }
+  }
+
+  @Test
+  @DisplayName("Fails if an object can't be downloaded")
+  void failsOnMissingObject() throws NoSuchKeyException {
+    when(bucketMock.getStream("bar/baz/FOO.xml")).thenReturn(createFilterInputStream("xml"));
+    when(bucketMock.getStream("bar/baz/missing.png"))
+        .thenThrow(new NoSuchKeyException("missing", null));
+    List<String> keys = List.of("bar/baz/FOO.xml", "bar/baz/missing.png");
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    IOException exception =
+        Assertions.assertThrows(
+            IOException.class, () -> ZipManager.writeZipArchive(bucketMock, keys, outputStream));
+
+    Assertions.assertInstanceOf(IOException.class, exception.getCause());
+    Assertions.assertEquals(
+        "error adding item with key bar/baz/missing.png", exception.getCause().getMessage());
+  }
 }
@@ -7,8 +7,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -47,4 +53,20 @@ class AdministrativeDirectiveXsltTransformerServiceTest {
     var actualDocument = Jsoup.parse(result);
     assertThat(actualDocument.html()).isEqualTo(expectedDocument.html());
   }
+
+  @Test
+  void itTransformsConcurrentlyWithTheSharedCompiledStylesheet() throws Exception {
+    byte[] bytes = Files.readAllBytes(Paths.get(resourcesBasePath, "example1", "directive.xml"));
+    String expected = service.transform(bytes);
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+      List<Future<String>> results =
+          IntStream.range(0, 16)
+              .mapToObj(i -> executor.submit(() -> service.transform(bytes)))
+              .toList();
+      for (Future<String> result : results) {
+        assertThat(result.get()).isEqualTo(expected);
+      }
+    }
+  }
 }
@@ -0,0 +1,84 @@
+package de.bund.digitalservice.ris.search.unit.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bund.digitalservice.ris.search.utils.CustomGermanAnalyzer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CustomGermanAnalyzerTest {
+
+  private static CustomGermanAnalyzer analyzer;
+
+  @BeforeAll
+  static void setUp() {
+    analyzer = CustomGermanAnalyzer.fromTemplate();
+  }
+
+  @AfterAll
+  static void tearDown() {
+    analyzer.close();
+  }
+
+  @Test
+  void itLowercasesAndStems() {
+    assertThat(analyzer.tokenize("Hello World")).containsExactly("hello", "world");
+    assertThat(analyzer.tokenize("leading space before after"))
+        .containsExactly("leading", "spac", "befor", "aft");
+  }
+
+  @Test
+  void itFoldsUmlauts() {
+    assertThat(analyzer.tokenize("Übung")).containsExactly("ubung");
+  }
+
+  @Test
+  void itReplacesParagraphAndEuroSigns() {
+    assertThat(analyzer.tokenize("§ 823")).containsExactly("paragraph", "823");
+    assertThat(analyzer.tokenize("100 €")).containsExactly("100", "eur");
+  }
+
+  @Test
+  void itExpandsCourtTypeSynonyms() {
+    assertThat(analyzer.tokenize("BGH")).containsExactlyInAnyOrder("bgh", "bundesgerichtshof");
+    assertThat(analyzer.tokenize("Bundesgerichtshof"))
+        .containsExactlyInAnyOrder("bgh", "bundesgerichtshof");
+  }
+
+  @Test
+  void itExpandsMultiWordSynonyms() {
+    assertThat(analyzer.tokenize("Abgasreduzierend"))
+        .containsExactlyInAnyOrder("abgasreduzierend", "abgas", "reduzierend");
+  }
+
+  @Test
+  void itReturnsNoTokensForBlankText() {
+    assertThat(analyzer.tokenize(" ")).isEmpty();
+  }
+
+  @Test
+  void itRejectsUnsupportedFilters() throws Exception {
+    var analysis =
+        new ObjectMapper()
+            .readTree(
+                """
+                {
+                  "analyzer": {
+                    "custom_german_analyzer": {
+                      "type": "custom",
+                      "tokenizer": "standard",
+                      "filter": ["lowercase", "shingles"]
+                    }
+                  },
+                  "filter": { "shingles": { "type": "shingle" } }
+                }
+                """);
+
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(
+            () -> CustomGermanAnalyzer.fromAnalysisSettings(analysis, "custom_german_analyzer"));
+  }
+}
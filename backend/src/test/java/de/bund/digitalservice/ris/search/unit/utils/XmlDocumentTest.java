@@ -4,8 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import de.bund.digitalservice.ris.search.utils.XmlDocument;
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPathExpressionException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.w3c.dom.Node;
@@ -112,4 +118,59 @@ class XmlDocumentTest {
     XmlDocument xmlDocument = new XmlDocument(xml.getBytes());
     assertThat(xmlDocument.getNonEmptyElementByXpath("/xml/value")).isEmpty();
   }
+
+  @Test
+  void scopedToEvaluatesRelativeExpressionsWithinTheNode()
+      throws ParserConfigurationException, IOException, SAXException, XPathExpressionException {
+    String xml = "<xml><test><text>First</text></test><test><text>Second</text></test></xml>";
+    XmlDocument xmlDocument = new XmlDocument(xml.getBytes());
+    Node second = xmlDocument.getNodesByXpath("/xml/test").item(1);
+
+    XmlDocument scoped = XmlDocument.scopedTo(second);
+
+    assertThat(scoped.getSimpleElementByXpath(".//*[local-name()='text']")).isEqualTo("Second");
+    assertThat(scoped.getSimpleElementByXpath("//*[local-name()='text']")).isEqualTo("First");
+  }
+
+  @Test
+  void scopedToModifiesTheOriginalDocument()
+      throws ParserConfigurationException, IOException, SAXException, XPathExpressionException {
+    String xml = "<xml><test><text>Test</text></test></xml>";
+    XmlDocument xmlDocument = new XmlDocument(xml.getBytes());
+    Node test = xmlDocument.getFirstMatchedNodeByXpath("/xml/test").orElseThrow();
+
+    XmlDocument.scopedTo(test).replaceNodesByXpathWithString("./text", "New Text");
+
+    assertThat(xmlDocument.getSimpleElementByXpath("/xml/test")).isEqualTo("New Text");
+  }
+
+  @Test
+  void nodeConstructorCopiesTheNode()
+      throws ParserConfigurationException, IOException, SAXException, XPathExpressionException {
+    String xml = "<xml><test><text>Test</text></test></xml>";
+    XmlDocument xmlDocument = new XmlDocument(xml.getBytes());
+    Node test = xmlDocument.getFirstMatchedNodeByXpath("/xml/test").orElseThrow();
+
+    new XmlDocument(test).removeNodesByXpath("//text");
+
+    assertThat(xmlDocument.getSimpleElementByXpath("/xml/test")).isEqualTo("Test");
+  }
+
+  @Test
+  void evaluatesConcurrently() throws Exception {
+    try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+      List<Future<String>> results =
+          IntStream.range(0, 64)
+              .mapToObj(
+                  i ->
+                      executor.submit(
+                          () ->
+                              new XmlDocument(("<xml><value>" + i + "</value></xml>").getBytes())
+                                  .getSimpleElementByXpath("/xml/value")))
+              .toList();
+      for (int i = 0; i < results.size(); i++) {
+        assertThat(results.get(i).get()).isEqualTo(String.valueOf(i));
+      }
+    }
+  }
 }